@@ -50,6 +50,8 @@ KW_ORDER : 'ORDER';
 KW_GROUP : 'GROUP';
 KW_FILL : 'FILL';
 KW_BY : 'BY';
+KW_ASC : 'ASC';
+KW_DESC : 'DESC';
 
 KW_LIMIT : 'LIMIT';
 KW_OFFSET : 'OFFSET';
@@ -86,6 +88,10 @@ KW_LINEAR : 'LINEAR';
 KW_PREVIOUS : 'PREVIOUS';
 KW_PASSWORD: 'PASSWORD';
 KW_DESCRIBE: 'DESCRIBE';
+KW_EXPLAIN: 'EXPLAIN';
+KW_ANALYZE: 'ANALYZE';
+KW_SLOW: 'SLOW';
+KW_QUERIES: 'QUERIES';
 KW_PROPERTY: 'PROPERTY';
 KW_ADD: 'ADD';
 KW_LABEL: 'LABEL' ;
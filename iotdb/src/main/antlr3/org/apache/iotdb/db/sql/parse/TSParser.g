@@ -77,6 +77,10 @@ TOK_ALL;
 TOK_SLIMIT;
 TOK_SOFFSET;
 TOK_LIMIT;
+TOK_OFFSET;
+TOK_ORDER_BY;
+TOK_EXPLAIN;
+TOK_SHOW_SLOW_QUERIES;
 
 /*
   BELOW IS THE METADATA TOKEN
@@ -131,6 +135,9 @@ ArrayList<ParseError> errors = new ArrayList<ParseError>();
         xlateMap.put("KW_LIKE", "LIKE");
 
         xlateMap.put("KW_BY", "BY");
+        xlateMap.put("KW_ORDER", "ORDER");
+        xlateMap.put("KW_ASC", "ASC");
+        xlateMap.put("KW_DESC", "DESC");
         xlateMap.put("KW_GROUP", "GROUP");
         xlateMap.put("KW_FILL", "FILL");
         xlateMap.put("KW_LINEAR", "LINEAR");
@@ -159,6 +166,10 @@ ArrayList<ParseError> errors = new ArrayList<ParseError>();
         xlateMap.put("KW_CREATE", "CREATE");
 
         xlateMap.put("KW_DESCRIBE", "DESCRIBE");
+        xlateMap.put("KW_EXPLAIN", "EXPLAIN");
+        xlateMap.put("KW_ANALYZE", "ANALYZE");
+        xlateMap.put("KW_SLOW", "SLOW");
+        xlateMap.put("KW_QUERIES", "QUERIES");
 
         xlateMap.put("KW_TO", "TO");
         xlateMap.put("KW_ON", "ON");
@@ -332,6 +343,8 @@ execStatement
     | updateStatement
     | insertStatement
     | queryStatement
+    | explainStatement
+    | showStatement
     | metadataStatement
     | mergeStatement
 //    | loadStatement
@@ -474,8 +487,21 @@ queryStatement
    :
    selectClause
    whereClause?
+   orderByClause?
    specialClause?
-   -> ^(TOK_QUERY selectClause whereClause? specialClause?)
+   -> ^(TOK_QUERY selectClause whereClause? orderByClause? specialClause?)
+   ;
+
+explainStatement
+   :
+   KW_EXPLAIN (analyze=KW_ANALYZE)? queryStatement
+   -> ^(TOK_EXPLAIN queryStatement $analyze?)
+   ;
+
+showStatement
+   :
+   KW_SHOW KW_SLOW KW_QUERIES
+   -> ^(TOK_SHOW_SLOW_QUERIES)
    ;
 
 specialClause
@@ -740,15 +766,22 @@ fillClause
     -> ^(TOK_FILL typeClause+)
     ;
 
+orderByClause
+    :
+    KW_ORDER KW_BY KW_TIME (order=KW_DESC | order=KW_ASC)?
+    -> ^(TOK_ORDER_BY $order?)
+    ;
+
 limitClause
     :
     KW_LIMIT N=NonNegativeInteger offsetClause?
-    -> ^(TOK_LIMIT $N)
+    -> ^(TOK_LIMIT $N) offsetClause?
     ;
 
 offsetClause
     :
     KW_OFFSET OFFSETValue=NonNegativeInteger
+    -> ^(TOK_OFFSET $OFFSETValue)
     ;
 
 slimitClause
@@ -20,9 +20,11 @@ package org.apache.iotdb.db.concurrent;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.thrift.server.TThreadPoolServer.Args;
 
 /**
@@ -48,6 +50,18 @@ public class IoTDBThreadPoolFactory {
     return Executors.newFixedThreadPool(nthreads, new IoTThreadFactory(poolName, handler));
   }
 
+  /**
+   * a fixed size thread pool whose waiting tasks are run in their natural order instead of FIFO,
+   * so the tasks given to {@link ThreadPoolExecutor#execute(Runnable)} must be Comparable.
+   *
+   * @param poolName - the name of thread pool
+   * @return fixed size thread pool
+   */
+  public static ThreadPoolExecutor newFixedPriorityThreadPool(int nthreads, String poolName) {
+    return new ThreadPoolExecutor(nthreads, nthreads, 0L, TimeUnit.MILLISECONDS,
+        new PriorityBlockingQueue<>(), new IoTThreadFactory(poolName));
+  }
+
   /**
    * see {@link Executors#newSingleThreadExecutor(java.util.concurrent.ThreadFactory)}.
    *
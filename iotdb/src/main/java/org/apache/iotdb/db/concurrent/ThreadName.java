@@ -33,6 +33,10 @@ public enum ThreadName {
   STAT_MONITOR("StatMonitor-ServerServiceImpl"),
   FLUSH_SERVICE("Flush-ServerServiceImpl"),
   FLUSH_SUB_TASK_SERVICE("Flush-SubTask-ServerServiceImpl"),
+  QUERY_SERVICE("Query-ServerServiceImpl"),
+  BATCH_SERVICE("Batch-ServerServiceImpl"),
+  SCAN_QUERY_SCHEDULER("Scan-Query-Scheduler"),
+  POINT_QUERY_SCHEDULER("Point-Query-Scheduler"),
   WAL_DAEMON("IoTDB-MultiFileLogNodeManager-Sync-Thread"),
   WAL_FORCE_DAEMON("IoTDB-MultiFileLogNodeManager-Force-Thread"),
   INDEX_SERVICE("Index-ServerServiceImpl"),
@@ -22,7 +22,9 @@ import java.io.File;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.service.TSServiceImpl;
 import org.slf4j.Logger;
@@ -43,6 +45,26 @@ public class IoTDBConfig {
    */
   private int rpcPort = 6667;
 
+  /**
+   * Thrift server of the JDBC service, one of THREAD_POOL, SELECTOR and HSHA.
+   */
+  private String rpcServerType = "THREAD_POOL";
+
+  /**
+   * Number of selector threads of the SELECTOR server.
+   */
+  private int rpcSelectorThreadNum = 2;
+
+  /**
+   * Number of worker threads of the SELECTOR and HSHA servers.
+   */
+  private int rpcWorkerThreadNum = 64;
+
+  /**
+   * Whether the JDBC service uses TCompactProtocol instead of TBinaryProtocol.
+   */
+  private boolean rpcThriftCompressionEnable = false;
+
   /**
    * Memory allocated for the read process
    */
@@ -134,6 +156,82 @@ public class IoTDBConfig {
    */
   private int concurrentFlushThread = Runtime.getRuntime().availableProcessors();
 
+  /**
+   * How many threads can concurrently evaluate the series of a query. When <= 0, use CPU core
+   * number.
+   */
+  private int concurrentQueryThread = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * How many threads can concurrently parse the statements of a batch and insert them into
+   * different storage groups. When <= 0, use CPU core number.
+   */
+  private int concurrentBatchThread = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * The intervals (in ms) by which the points of a storage group are aggregated when its memtables
+   * are flushed, so that GROUP BY queries can read the pre-aggregated buckets instead of the raw
+   * points. The storage groups absent here have no rollup.
+   */
+  private Map<String, long[]> rollupIntervals = new HashMap<>();
+
+  /**
+   * The memory size (in byte) of the results of aggregation and GROUP BY queries kept for the
+   * repeated queries. 0 disables the cache.
+   */
+  private long queryResultCacheSize = 0;
+
+  /**
+   * How long (in ms) a query waits for the other queries to release memory when the memory
+   * allocated for read is not enough, before it fails.
+   */
+  private long readMemoryWaitTimeInMs = 10000;
+
+  /**
+   * How many queries scanning series can be evaluated at the same time. When <= 0, use CPU core
+   * number.
+   */
+  private int maxConcurrentQuery = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * How many point queries, i.e. the queries of a single timestamp, can be evaluated at the same
+   * time. When <= 0, use CPU core number.
+   */
+  private int maxConcurrentPointQuery = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * How many new queries can wait for the busy query threads, beyond which the new queries are
+   * rejected.
+   */
+  private int queryQueueSize = 1000;
+
+  /**
+   * How many queries a user can open at the same time. 0 means no limit.
+   */
+  private int maxConcurrentQueryPerUser = 0;
+
+  /**
+   * How long (in ms) a query can run before it is stopped and its resources are released. A session
+   * may set its own timeout by "set query timeout to x". 0 means no timeout.
+   */
+  private long queryTimeoutThreshold = 0;
+
+  /**
+   * The statements running longer than this (in ms) are written to the slow query log and kept
+   * for "show slow queries".
+   */
+  private long slowQueryThreshold = 5000;
+
+  /**
+   * How many of the latest slow queries are kept in memory for "show slow queries".
+   */
+  private int slowQueryRecordNum = 100;
+
+  /**
+   * How many parsed plans of the repeated statements are cached, 0 disables the cache.
+   */
+  private int planCacheSize = 1000;
+
   private ZoneId zoneID = ZoneId.systemDefault();
 
   /**
@@ -303,6 +401,38 @@ public class IoTDBConfig {
     this.rpcPort = rpcPort;
   }
 
+  public String getRpcServerType() {
+    return rpcServerType;
+  }
+
+  public void setRpcServerType(String rpcServerType) {
+    this.rpcServerType = rpcServerType;
+  }
+
+  public int getRpcSelectorThreadNum() {
+    return rpcSelectorThreadNum;
+  }
+
+  void setRpcSelectorThreadNum(int rpcSelectorThreadNum) {
+    this.rpcSelectorThreadNum = rpcSelectorThreadNum;
+  }
+
+  public int getRpcWorkerThreadNum() {
+    return rpcWorkerThreadNum;
+  }
+
+  void setRpcWorkerThreadNum(int rpcWorkerThreadNum) {
+    this.rpcWorkerThreadNum = rpcWorkerThreadNum;
+  }
+
+  public boolean isRpcThriftCompressionEnable() {
+    return rpcThriftCompressionEnable;
+  }
+
+  public void setRpcThriftCompressionEnable(boolean rpcThriftCompressionEnable) {
+    this.rpcThriftCompressionEnable = rpcThriftCompressionEnable;
+  }
+
   public boolean isEnableWal() {
     return enableWal;
   }
@@ -395,6 +525,113 @@ public class IoTDBConfig {
     this.concurrentFlushThread = concurrentFlushThread;
   }
 
+  public int getConcurrentQueryThread() {
+    return concurrentQueryThread;
+  }
+
+  void setConcurrentQueryThread(int concurrentQueryThread) {
+    this.concurrentQueryThread = concurrentQueryThread;
+  }
+
+  public int getConcurrentBatchThread() {
+    return concurrentBatchThread;
+  }
+
+  void setConcurrentBatchThread(int concurrentBatchThread) {
+    this.concurrentBatchThread = concurrentBatchThread;
+  }
+
+  /**
+   * @return the rollup intervals of the storage group, or null if it has no rollup
+   */
+  public long[] getRollupIntervals(String storageGroup) {
+    return rollupIntervals.get(storageGroup);
+  }
+
+  public void setRollupIntervals(Map<String, long[]> rollupIntervals) {
+    this.rollupIntervals = rollupIntervals;
+  }
+
+  public long getReadMemoryWaitTimeInMs() {
+    return readMemoryWaitTimeInMs;
+  }
+
+  public void setReadMemoryWaitTimeInMs(long readMemoryWaitTimeInMs) {
+    this.readMemoryWaitTimeInMs = readMemoryWaitTimeInMs;
+  }
+
+  public int getMaxConcurrentQuery() {
+    return maxConcurrentQuery;
+  }
+
+  void setMaxConcurrentQuery(int maxConcurrentQuery) {
+    this.maxConcurrentQuery = maxConcurrentQuery;
+  }
+
+  public int getMaxConcurrentPointQuery() {
+    return maxConcurrentPointQuery;
+  }
+
+  void setMaxConcurrentPointQuery(int maxConcurrentPointQuery) {
+    this.maxConcurrentPointQuery = maxConcurrentPointQuery;
+  }
+
+  public int getQueryQueueSize() {
+    return queryQueueSize;
+  }
+
+  public void setQueryQueueSize(int queryQueueSize) {
+    this.queryQueueSize = queryQueueSize;
+  }
+
+  public int getMaxConcurrentQueryPerUser() {
+    return maxConcurrentQueryPerUser;
+  }
+
+  public void setMaxConcurrentQueryPerUser(int maxConcurrentQueryPerUser) {
+    this.maxConcurrentQueryPerUser = maxConcurrentQueryPerUser;
+  }
+
+  public long getQueryTimeoutThreshold() {
+    return queryTimeoutThreshold;
+  }
+
+  public void setQueryTimeoutThreshold(long queryTimeoutThreshold) {
+    this.queryTimeoutThreshold = queryTimeoutThreshold;
+  }
+
+  public long getSlowQueryThreshold() {
+    return slowQueryThreshold;
+  }
+
+  public void setSlowQueryThreshold(long slowQueryThreshold) {
+    this.slowQueryThreshold = slowQueryThreshold;
+  }
+
+  public int getSlowQueryRecordNum() {
+    return slowQueryRecordNum;
+  }
+
+  public void setSlowQueryRecordNum(int slowQueryRecordNum) {
+    this.slowQueryRecordNum = slowQueryRecordNum;
+  }
+
+  public int getPlanCacheSize() {
+    return planCacheSize;
+  }
+
+  public void setPlanCacheSize(int planCacheSize) {
+    this.planCacheSize = planCacheSize;
+  }
+
+  public long getQueryResultCacheSize() {
+    return queryResultCacheSize;
+  }
+
+  public void setQueryResultCacheSize(long queryResultCacheSize) {
+    this.queryResultCacheSize = queryResultCacheSize;
+  }
+
   void setZoneID(ZoneId zoneID) {
     this.zoneID = zoneID;
   }
@@ -57,6 +57,9 @@ public class IoTDBConstant {
   // for cluster, set read consistency level
   public static final String SET_READ_CONSISTENCY_LEVEL_PATTERN = "set\\s+read.*level.*";
 
+  // set the timeout (in ms) of the following queries of a session
+  public static final String SET_QUERY_TIMEOUT_PATTERN = "set\\s+query\\s+timeout\\s+to\\s+(\\d+)";
+
   public static final String ROLE = "Role";
   public static final String USER = "User";
   public static final String PRIVILEGE = "Privilege";
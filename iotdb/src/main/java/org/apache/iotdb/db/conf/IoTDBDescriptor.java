@@ -24,6 +24,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import org.apache.iotdb.db.utils.FilePathUtils;
 import org.slf4j.Logger;
@@ -123,6 +125,16 @@ public class IoTDBDescriptor {
       conf.setRpcPort(Integer.parseInt(properties.getProperty("rpc_port",
           Integer.toString(conf.getRpcPort()))));
 
+      conf.setRpcServerType(properties.getProperty("rpc_server_type", conf.getRpcServerType())
+          .trim().toUpperCase());
+      conf.setRpcSelectorThreadNum(Integer.parseInt(properties.getProperty(
+          "rpc_selector_thread_num", Integer.toString(conf.getRpcSelectorThreadNum()))));
+      conf.setRpcWorkerThreadNum(Integer.parseInt(properties.getProperty(
+          "rpc_worker_thread_num", Integer.toString(conf.getRpcWorkerThreadNum()))));
+      conf.setRpcThriftCompressionEnable(Boolean.parseBoolean(properties.getProperty(
+          "rpc_thrift_compression_enable",
+          Boolean.toString(conf.isRpcThriftCompressionEnable()))));
+
       conf.setEnableParameterAdapter(
           Boolean.parseBoolean(properties.getProperty("enable_parameter_adapter",
               Boolean.toString(conf.isEnableParameterAdapter()))));
@@ -204,6 +216,70 @@ public class IoTDBDescriptor {
         conf.setConcurrentFlushThread(Runtime.getRuntime().availableProcessors());
       }
 
+      conf.setConcurrentQueryThread(Integer
+          .parseInt(properties.getProperty("concurrent_query_thread",
+              Integer.toString(conf.getConcurrentQueryThread()))));
+
+      if (conf.getConcurrentQueryThread() <= 0) {
+        conf.setConcurrentQueryThread(Runtime.getRuntime().availableProcessors());
+      }
+
+      conf.setConcurrentBatchThread(Integer
+          .parseInt(properties.getProperty("concurrent_batch_thread",
+              Integer.toString(conf.getConcurrentBatchThread()))));
+
+      if (conf.getConcurrentBatchThread() <= 0) {
+        conf.setConcurrentBatchThread(Runtime.getRuntime().availableProcessors());
+      }
+
+      initRollupIntervals(properties);
+
+      conf.setReadMemoryWaitTimeInMs(Long
+          .parseLong(properties.getProperty("read_memory_wait_time_in_ms",
+              Long.toString(conf.getReadMemoryWaitTimeInMs())).trim()));
+
+      conf.setQueryResultCacheSize(Long
+          .parseLong(properties.getProperty("query_result_cache_size",
+              Long.toString(conf.getQueryResultCacheSize())).trim()));
+
+      conf.setMaxConcurrentQuery(Integer
+          .parseInt(properties.getProperty("max_concurrent_query",
+              Integer.toString(conf.getMaxConcurrentQuery())).trim()));
+      if (conf.getMaxConcurrentQuery() <= 0) {
+        conf.setMaxConcurrentQuery(Runtime.getRuntime().availableProcessors());
+      }
+
+      conf.setMaxConcurrentPointQuery(Integer
+          .parseInt(properties.getProperty("max_concurrent_point_query",
+              Integer.toString(conf.getMaxConcurrentPointQuery())).trim()));
+      if (conf.getMaxConcurrentPointQuery() <= 0) {
+        conf.setMaxConcurrentPointQuery(Runtime.getRuntime().availableProcessors());
+      }
+
+      conf.setQueryQueueSize(Integer
+          .parseInt(properties.getProperty("query_queue_size",
+              Integer.toString(conf.getQueryQueueSize())).trim()));
+
+      conf.setMaxConcurrentQueryPerUser(Integer
+          .parseInt(properties.getProperty("max_concurrent_query_per_user",
+              Integer.toString(conf.getMaxConcurrentQueryPerUser())).trim()));
+
+      conf.setQueryTimeoutThreshold(Long
+          .parseLong(properties.getProperty("query_timeout_threshold",
+              Long.toString(conf.getQueryTimeoutThreshold())).trim()));
+
+      conf.setSlowQueryThreshold(Long
+          .parseLong(properties.getProperty("slow_query_threshold",
+              Long.toString(conf.getSlowQueryThreshold())).trim()));
+
+      conf.setSlowQueryRecordNum(Integer
+          .parseInt(properties.getProperty("slow_query_record_num",
+              Integer.toString(conf.getSlowQueryRecordNum())).trim()));
+
+      conf.setPlanCacheSize(Integer
+          .parseInt(properties.getProperty("plan_cache_size",
+              Integer.toString(conf.getPlanCacheSize())).trim()));
+
       conf.setmManagerCacheSize(Integer
           .parseInt(properties.getProperty("schema_manager_cache_size",
               Integer.toString(conf.getmManagerCacheSize())).trim()));
@@ -244,6 +320,42 @@ public class IoTDBDescriptor {
     }
   }
 
+  /**
+   * parse "rollup_intervals", e.g. "root.sg1=60000,3600000;root.sg2=60000".
+   */
+  private void initRollupIntervals(Properties properties) {
+    String rollupIntervals = properties.getProperty("rollup_intervals", "").trim();
+    Map<String, long[]> intervalMap = new HashMap<>();
+    for (String definition : rollupIntervals.split(";")) {
+      if (definition.trim().isEmpty()) {
+        continue;
+      }
+      String[] storageGroupAndIntervals = definition.split("=");
+      if (storageGroupAndIntervals.length != 2) {
+        logger.warn("Ignore the invalid rollup definition {}", definition);
+        continue;
+      }
+      String[] intervalStrs = storageGroupAndIntervals[1].split(",");
+      long[] intervals = new long[intervalStrs.length];
+      boolean valid = true;
+      try {
+        for (int i = 0; i < intervals.length; i++) {
+          intervals[i] = Long.parseLong(intervalStrs[i].trim());
+          valid &= intervals[i] > 0;
+        }
+      } catch (NumberFormatException e) {
+        logger.warn("Ignore the invalid rollup definition {}", definition);
+        continue;
+      }
+      if (!valid) {
+        logger.warn("Ignore the rollup definition {}, intervals must be positive", definition);
+        continue;
+      }
+      intervalMap.put(storageGroupAndIntervals[0].trim(), intervals);
+    }
+    conf.setRollupIntervals(intervalMap);
+  }
+
   private void initMemoryAllocate(Properties properties) {
     String memoryAllocateProportion = properties.getProperty("write_read_free_memory_proportion");
     if (memoryAllocateProportion != null) {
@@ -21,7 +21,8 @@ package org.apache.iotdb.db.cost.statistic;
 public enum Operation {
   EXECUTE_BATCH("EXECUTE_BATCH"),
   EXECUTE_ONE_SQL_IN_BATCH("EXECUTE_ONE_SQL_IN_BATCH"),
-  EXECUTE_QUERY("EXECUTE_QUERY");
+  EXECUTE_QUERY("EXECUTE_QUERY"),
+  QUERY_QUEUE_WAIT("QUERY_QUEUE_WAIT");
 
   public String getName() {
     return name;
@@ -20,13 +20,22 @@ package org.apache.iotdb.db.engine;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.apache.commons.io.FileUtils;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.QueryResultCache;
+import org.apache.iotdb.db.engine.pool.BatchTaskPoolManager;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.engine.storagegroup.StorageGroupProcessor;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
@@ -143,6 +152,7 @@ public class StorageEngine implements IService {
    */
   public synchronized void reset() {
     processorMap.clear();
+    QueryResultCache.getInstance().clear();
   }
 
 
@@ -168,6 +178,78 @@ public class StorageEngine implements IService {
     return storageGroupProcessor.insert(insertPlan);
   }
 
+  /**
+   * insert a batch of InsertPlans. The plans of each storage group are inserted in order under a
+   * single lock, and different storage groups are inserted in parallel. A storage group failing
+   * with an exception does not affect the results of the others.
+   *
+   * @return whether each plan is inserted
+   */
+  public boolean[] insertBatch(List<InsertPlan> insertPlans) throws StorageEngineException {
+    Map<StorageGroupProcessor, List<Integer>> processorIndexes = new LinkedHashMap<>();
+    for (int i = 0; i < insertPlans.size(); i++) {
+      StorageGroupProcessor storageGroupProcessor = getProcessor(insertPlans.get(i).getDeviceId());
+      processorIndexes.computeIfAbsent(storageGroupProcessor, p -> new ArrayList<>()).add(i);
+    }
+
+    boolean[] results = new boolean[insertPlans.size()];
+    List<Future<?>> futures = new ArrayList<>();
+    Iterator<Entry<StorageGroupProcessor, List<Integer>>> iterator =
+        processorIndexes.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<StorageGroupProcessor, List<Integer>> entry = iterator.next();
+      Callable<Void> task = () -> {
+        List<Integer> indexes = entry.getValue();
+        List<InsertPlan> plans = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+          plans.add(insertPlans.get(index));
+        }
+        boolean[] groupResults = entry.getKey().insertBatch(plans);
+        for (int i = 0; i < indexes.size(); i++) {
+          results[indexes.get(i)] = groupResults[i];
+        }
+        return null;
+      };
+      if (iterator.hasNext()) {
+        futures.add(BatchTaskPoolManager.getInstance().submit(task));
+      } else {
+        // the last storage group is inserted by the current thread
+        try {
+          task.call();
+        } catch (Exception e) {
+          // the plans of the storage group are reported as failed
+          logger.error("Failed to insert a batch into a storage group", e);
+        }
+      }
+    }
+    // wait for all the storage groups before returning, so no result changes afterwards
+    boolean isInterrupted = false;
+    for (Future<?> future : futures) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          isInterrupted = true;
+        } catch (ExecutionException e) {
+          logger.error("Failed to insert a batch into a storage group", e.getCause());
+          break;
+        }
+      }
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+    return results;
+  }
+
+  /**
+   * This function is just for unit test.
+   */
+  public void setProcessor(String storageGroupName, StorageGroupProcessor processor) {
+    processorMap.put(storageGroupName, processor);
+  }
+
   /**
    * only for unit test
    */
@@ -209,6 +291,13 @@ public class StorageEngine implements IService {
   }
 
 
+  /**
+   * get the latest flushed time of a device, see {@link StorageGroupProcessor#getLatestFlushedTime}.
+   */
+  public long getLatestFlushedTime(String deviceId) throws StorageEngineException {
+    return getProcessor(deviceId).getLatestFlushedTime(deviceId);
+  }
+
   /**
    * begin a query on a given deviceId. Any TsFile contains such device should not be deleted at
    * once after merge.
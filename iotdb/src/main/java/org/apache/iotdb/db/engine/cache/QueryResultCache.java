@@ -0,0 +1,380 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.exception.PathErrorException;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.qp.physical.crud.AggregationPlan;
+import org.apache.iotdb.db.qp.physical.crud.GroupByPlan;
+import org.apache.iotdb.tsfile.exception.filter.QueryFilterOptimizationException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.ExpressionType;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.expression.util.ExpressionOptimizer;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class caches the results of aggregation and GROUP BY queries without value filters, so that
+ * the queries repeated by dashboards are not recomputed from the files.
+ * <p>
+ * Only the rows aggregating data no later than the latest flushed time of all the queried devices
+ * are kept: such data only changes by out-of-order insertions and deletions, which invalidate the
+ * entries through {@link #invalidate(String, long)}. For a GROUP BY query, the cached rows are
+ * returned first and the windows after them, which may still be updated by the sequential
+ * insertions, are computed by a query of the remaining intervals.
+ */
+public class QueryResultCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryResultCache.class);
+
+  /**
+   * estimated memory size of a RowRecord and of each of its fields.
+   */
+  private static final long ROW_SIZE = 32;
+  private static final long FIELD_SIZE = 48;
+
+  /**
+   * key: the normalized plan, value: the cached rows. Accessed in LRU order.
+   */
+  private LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private long usedMemory = 0;
+
+  /**
+   * key: storage group name, value: the times the data of the storage group is invalidated. A
+   * query result is not cached if any of its storage groups is invalidated during the query.
+   */
+  private Map<String, Long> versions = new HashMap<>();
+
+  private QueryResultCache() {
+  }
+
+  public static QueryResultCache getInstance() {
+    return QueryResultCacheHolder.INSTANCE;
+  }
+
+  public boolean isEnabled() {
+    return IoTDBDescriptor.getInstance().getConfig().getQueryResultCacheSize() > 0;
+  }
+
+  /**
+   * look up the cached rows of a query.
+   *
+   * @return null if the query can not be cached
+   */
+  public Lookup lookup(AggregationPlan plan)
+      throws StorageEngineException, PathErrorException, QueryFilterOptimizationException {
+    if (!isEnabled()) {
+      return null;
+    }
+    Filter timeFilter = null;
+    if (plan.getExpression() != null) {
+      IExpression expression = ExpressionOptimizer.getInstance()
+          .optimize(plan.getExpression().clone(), plan.getPaths());
+      if (expression.getType() != ExpressionType.GLOBAL_TIME) {
+        return null;
+      }
+      timeFilter = ((GlobalTimeExpression) expression).getFilter();
+    }
+
+    List<String> storageGroups = new ArrayList<>();
+    List<String> devices = new ArrayList<>();
+    for (Path path : plan.getPaths()) {
+      String storageGroup = MManager.getInstance().getStorageGroupNameByPath(path.getDevice());
+      if (!storageGroups.contains(storageGroup)) {
+        storageGroups.add(storageGroup);
+      }
+      if (!devices.contains(path.getDevice())) {
+        devices.add(path.getDevice());
+      }
+    }
+    String key = getKey(plan, timeFilter);
+
+    // take the versions before the flushed times, so that any invalidation after the flushed
+    // times are read is noticed when the result is put
+    Map<String, Long> queryVersions = new HashMap<>();
+    Entry entry;
+    synchronized (this) {
+      for (String storageGroup : storageGroups) {
+        queryVersions.put(storageGroup, versions.getOrDefault(storageGroup, 0L));
+      }
+      entry = cache.get(key);
+    }
+    long stableTime = Long.MAX_VALUE;
+    for (String device : devices) {
+      stableTime = Math.min(stableTime, StorageEngine.getInstance().getLatestFlushedTime(device));
+    }
+
+    if (!(plan instanceof GroupByPlan)) {
+      if (entry != null) {
+        return new Lookup(key, queryVersions, entry, null, stableTime);
+      }
+      // the result is stable only if the data after the flushed time is not queried
+      boolean cacheable = timeFilter != null && stableTime != Long.MAX_VALUE
+          && !timeFilter.satisfyStartEndTime(stableTime + 1, Long.MAX_VALUE);
+      return cacheable ? new Lookup(key, queryVersions, null, plan, stableTime) : null;
+    }
+
+    GroupByPlan groupByPlan = (GroupByPlan) plan;
+    if (entry == null || entry.rows.isEmpty()) {
+      return new Lookup(key, queryVersions, null, groupByPlan, stableTime);
+    }
+    // query the intervals after the last cached window
+    long cachedEnd = getWindowEnd(groupByPlan,
+        entry.rows.get(entry.rows.size() - 1).getTimestamp());
+    List<Pair<Long, Long>> remainingIntervals = new ArrayList<>();
+    for (Pair<Long, Long> interval : groupByPlan.getIntervals()) {
+      if (interval.right >= cachedEnd) {
+        remainingIntervals.add(new Pair<>(Math.max(interval.left, cachedEnd), interval.right));
+      }
+    }
+    GroupByPlan remainingPlan = null;
+    if (!remainingIntervals.isEmpty()) {
+      remainingPlan = new GroupByPlan();
+      remainingPlan.setPaths(groupByPlan.getPaths());
+      remainingPlan.setAggregations(groupByPlan.getAggregations());
+      remainingPlan.setExpression(groupByPlan.getExpression());
+      remainingPlan.setUnit(groupByPlan.getUnit());
+      remainingPlan.setOrigin(groupByPlan.getOrigin());
+      remainingPlan.setIntervals(remainingIntervals);
+    }
+    return new Lookup(key, queryVersions, entry, remainingPlan, stableTime);
+  }
+
+  /**
+   * the exclusive end of the window of a GROUP BY row.
+   */
+  private static long getWindowEnd(GroupByPlan plan, long rowTime) {
+    return plan.getOrigin()
+        + (Math.floorDiv(rowTime - plan.getOrigin(), plan.getUnit()) + 1) * plan.getUnit();
+  }
+
+  private static String getKey(AggregationPlan plan, Filter timeFilter) {
+    StringBuilder builder = new StringBuilder();
+    builder.append(plan.getOperatorType());
+    for (int i = 0; i < plan.getPaths().size(); i++) {
+      builder.append(',').append(plan.getAggregations().get(i).toLowerCase())
+          .append('(').append(plan.getPaths().get(i).getFullPath()).append(')');
+    }
+    builder.append(" where ").append(timeFilter);
+    if (plan instanceof GroupByPlan) {
+      GroupByPlan groupByPlan = (GroupByPlan) plan;
+      builder.append(" group by ").append(groupByPlan.getUnit()).append(',')
+          .append(groupByPlan.getOrigin());
+      for (Pair<Long, Long> interval : groupByPlan.getIntervals()) {
+        builder.append(",[").append(interval.left).append(',').append(interval.right).append(']');
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * invalidate the cached results covering data of a storage group since the given time. Called
+   * when data of the storage group is inserted out of order or deleted.
+   */
+  public synchronized void invalidate(String storageGroup, long fromTime) {
+    versions.merge(storageGroup, 1L, Long::sum);
+    Iterator<Entry> iterator = cache.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.storageGroups.contains(storageGroup) && entry.stableTime >= fromTime) {
+        usedMemory -= entry.memorySize;
+        iterator.remove();
+      }
+    }
+  }
+
+  private synchronized void put(String key, Map<String, Long> queryVersions, Entry entry) {
+    for (Map.Entry<String, Long> version : queryVersions.entrySet()) {
+      if (!version.getValue().equals(versions.getOrDefault(version.getKey(), 0L))) {
+        return;
+      }
+    }
+    long capacity = IoTDBDescriptor.getInstance().getConfig().getQueryResultCacheSize();
+    if (entry.memorySize > capacity) {
+      return;
+    }
+    Entry old = cache.put(key, entry);
+    if (old != null) {
+      usedMemory -= old.memorySize;
+    }
+    usedMemory += entry.memorySize;
+    Iterator<Entry> iterator = cache.values().iterator();
+    while (usedMemory > capacity && iterator.hasNext()) {
+      usedMemory -= iterator.next().memorySize;
+      iterator.remove();
+    }
+    logger.debug("Cached the result of {}, {} results in cache", key, cache.size());
+  }
+
+  public synchronized void clear() {
+    cache.clear();
+    versions.clear();
+    usedMemory = 0;
+  }
+
+  private static class Entry {
+
+    private List<String> storageGroups;
+    private long stableTime;
+    private List<RowRecord> rows;
+    private List<TSDataType> dataTypes;
+    private long memorySize;
+
+    private Entry(List<String> storageGroups, long stableTime, List<RowRecord> rows,
+        List<TSDataType> dataTypes) {
+      this.storageGroups = storageGroups;
+      this.stableTime = stableTime;
+      this.rows = rows;
+      this.dataTypes = dataTypes;
+      this.memorySize = rows.size() * (ROW_SIZE + FIELD_SIZE * dataTypes.size());
+    }
+  }
+
+  /**
+   * The result of looking up a query: the cached rows, if any, and the plan computing the rest of
+   * the result.
+   */
+  public class Lookup {
+
+    private String key;
+    private Map<String, Long> queryVersions;
+    private Entry entry;
+    private AggregationPlan remainingPlan;
+    /**
+     * the latest time of the data aggregated by the cached rows
+     */
+    private long stableTime;
+
+    private Lookup(String key, Map<String, Long> queryVersions, Entry entry,
+        AggregationPlan remainingPlan, long stableTime) {
+      this.key = key;
+      this.queryVersions = queryVersions;
+      this.entry = entry;
+      this.remainingPlan = remainingPlan;
+      this.stableTime = stableTime;
+    }
+
+    /**
+     * @return null if all the result is cached
+     */
+    public AggregationPlan getRemainingPlan() {
+      return remainingPlan;
+    }
+
+    /**
+     * @return the number of the rows served from the cache, 0 if nothing is cached
+     */
+    public int getCachedRowNum() {
+      return entry == null ? 0 : entry.rows.size();
+    }
+
+    /**
+     * wrap the result of the remaining plan to return the cached rows first, and to cache the
+     * stable rows once all the result is read.
+     *
+     * @param remaining the result of {@link #getRemainingPlan()}, null if there is no remaining
+     * plan
+     */
+    public QueryDataSet wrap(List<Path> paths, QueryDataSet remaining) {
+      return new CachedQueryDataSet(this, paths, remaining);
+    }
+  }
+
+  private class CachedQueryDataSet extends QueryDataSet {
+
+    private Lookup lookup;
+    private QueryDataSet remaining;
+    private int cachedIndex = 0;
+    private List<RowRecord> stableRows;
+    private boolean stable = true;
+
+    private CachedQueryDataSet(Lookup lookup, List<Path> paths, QueryDataSet remaining) {
+      super(paths, remaining != null ? remaining.getDataTypes() : lookup.entry.dataTypes);
+      this.lookup = lookup;
+      this.remaining = remaining;
+      // a hit of an aggregation or a GROUP BY result entirely cached needs no update
+      if (remaining != null) {
+        stableRows = lookup.entry != null ? new ArrayList<>(lookup.entry.rows) : new ArrayList<>();
+      }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      if (lookup.entry != null && cachedIndex < lookup.entry.rows.size()) {
+        return true;
+      }
+      if (remaining != null && remaining.hasNext()) {
+        return true;
+      }
+      if (stableRows != null && !stableRows.isEmpty()) {
+        List<String> storageGroups = new ArrayList<>(lookup.queryVersions.keySet());
+        put(lookup.key, lookup.queryVersions,
+            new Entry(storageGroups, lookup.stableTime, stableRows, dataTypes));
+      }
+      stableRows = null;
+      return false;
+    }
+
+    @Override
+    public RowRecord next() throws IOException {
+      if (lookup.entry != null && cachedIndex < lookup.entry.rows.size()) {
+        return lookup.entry.rows.get(cachedIndex++);
+      }
+      RowRecord record = remaining.next();
+      if (stableRows != null && stable) {
+        if (lookup.remainingPlan instanceof GroupByPlan && getWindowEnd(
+            (GroupByPlan) lookup.remainingPlan, record.getTimestamp()) - 1 > lookup.stableTime) {
+          // the windows after are not stable either
+          stable = false;
+        } else {
+          stableRows.add(record);
+        }
+      }
+      return record;
+    }
+  }
+
+  /*
+   * Singleton pattern
+   */
+  private static class QueryResultCacheHolder {
+
+    private QueryResultCacheHolder() {
+    }
+
+    private static final QueryResultCache INSTANCE = new QueryResultCache();
+  }
+}
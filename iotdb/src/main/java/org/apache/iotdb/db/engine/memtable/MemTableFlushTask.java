@@ -15,14 +15,18 @@
 package org.apache.iotdb.db.engine.memtable;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.pool.FlushSubTaskPoolManager;
 import org.apache.iotdb.db.exception.FlushRunTimeException;
 import org.apache.iotdb.db.utils.datastructure.TVList;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.ChunkRollup;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.chunk.ChunkBuffer;
 import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
@@ -49,6 +53,11 @@ public class MemTableFlushTask {
   private IMemTable memTable;
   private FileSchema fileSchema;
 
+  /**
+   * the intervals of the rollups computed for each series, null if the storage group has none
+   */
+  private long[] rollupIntervals;
+
   private volatile boolean noMoreEncodingTask = false;
   private volatile boolean noMoreIOTask = false;
 
@@ -57,6 +66,8 @@ public class MemTableFlushTask {
     this.fileSchema = fileSchema;
     this.writer = writer;
     this.storageGroup = storageGroup;
+    this.rollupIntervals = IoTDBDescriptor.getInstance().getConfig()
+        .getRollupIntervals(storageGroup);
     subTaskPoolManager.submit(encodingTask);
     this.ioTaskFuture = subTaskPoolManager.submit(ioTask);
     logger.debug("flush task of Storage group {} memtable {} is created ",
@@ -97,7 +108,7 @@ public class MemTableFlushTask {
 
   private Runnable encodingTask = new Runnable() {
     private void writeOneSeries(TVList tvPairs, IChunkWriter seriesWriterImpl,
-        TSDataType dataType){
+        ChunkRollup[] rollups, TSDataType dataType){
       for (int i = 0; i < tvPairs.size(); i++) {
         long time = tvPairs.getTime(i);
 
@@ -108,22 +119,46 @@ public class MemTableFlushTask {
 
         switch (dataType) {
           case BOOLEAN:
-            seriesWriterImpl.write(time, tvPairs.getBoolean(i));
+            boolean boolValue = tvPairs.getBoolean(i);
+            seriesWriterImpl.write(time, boolValue);
+            for (ChunkRollup rollup : rollups) {
+              rollup.update(time, boolValue);
+            }
             break;
           case INT32:
-            seriesWriterImpl.write(time, tvPairs.getInt(i));
+            int intValue = tvPairs.getInt(i);
+            seriesWriterImpl.write(time, intValue);
+            for (ChunkRollup rollup : rollups) {
+              rollup.update(time, intValue);
+            }
             break;
           case INT64:
-            seriesWriterImpl.write(time, tvPairs.getLong(i));
+            long longValue = tvPairs.getLong(i);
+            seriesWriterImpl.write(time, longValue);
+            for (ChunkRollup rollup : rollups) {
+              rollup.update(time, longValue);
+            }
             break;
           case FLOAT:
-            seriesWriterImpl.write(time, tvPairs.getFloat(i));
+            float floatValue = tvPairs.getFloat(i);
+            seriesWriterImpl.write(time, floatValue);
+            for (ChunkRollup rollup : rollups) {
+              rollup.update(time, floatValue);
+            }
             break;
           case DOUBLE:
-            seriesWriterImpl.write(time, tvPairs.getDouble(i));
+            double doubleValue = tvPairs.getDouble(i);
+            seriesWriterImpl.write(time, doubleValue);
+            for (ChunkRollup rollup : rollups) {
+              rollup.update(time, doubleValue);
+            }
             break;
           case TEXT:
-            seriesWriterImpl.write(time, tvPairs.getBinary(i));
+            Binary binaryValue = tvPairs.getBinary(i);
+            seriesWriterImpl.write(time, binaryValue);
+            for (ChunkRollup rollup : rollups) {
+              rollup.update(time, binaryValue);
+            }
             break;
           default:
             logger.error("Storage group {} does not support data type: {}", storageGroup,
@@ -167,7 +202,12 @@ public class MemTableFlushTask {
                 .getEmptyChunkBuffer(this, encodingMessage.right);
             IChunkWriter seriesWriter = new ChunkWriterImpl(encodingMessage.right, chunkBuffer,
                 PAGE_SIZE_THRESHOLD);
-            writeOneSeries(encodingMessage.left, seriesWriter, encodingMessage.right.getType());
+            ChunkRollup[] rollups = createRollups(encodingMessage.right.getType());
+            writeOneSeries(encodingMessage.left, seriesWriter, rollups,
+                encodingMessage.right.getType());
+            if (rollups.length > 0) {
+              chunkBuffer.setRollups(Arrays.asList(rollups));
+            }
             ioTaskQueue.add(seriesWriter);
             memSerializeTime += System.currentTimeMillis() - starTime;
           }
@@ -180,6 +220,17 @@ public class MemTableFlushTask {
     }
   };
 
+  private ChunkRollup[] createRollups(TSDataType dataType) {
+    if (rollupIntervals == null) {
+      return new ChunkRollup[0];
+    }
+    ChunkRollup[] rollups = new ChunkRollup[rollupIntervals.length];
+    for (int i = 0; i < rollups.length; i++) {
+      rollups[i] = new ChunkRollup(rollupIntervals[i], dataType);
+    }
+    return rollups;
+  }
+
   private Runnable ioTask = () -> {
       long ioTime = 0;
       boolean returnWhenNoTask = false;
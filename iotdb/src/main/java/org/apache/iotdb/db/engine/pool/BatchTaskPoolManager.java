@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.pool;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.service.IService;
+import org.apache.iotdb.db.service.ServiceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The thread pool shared by the batches of statements to parse the statements and to insert into
+ * different storage groups in parallel. The tasks must not wait for other tasks of this pool.
+ */
+public class BatchTaskPoolManager implements IService {
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchTaskPoolManager.class);
+
+  private static final int EXIT_WAIT_TIME = 60 * 1000;
+
+  private volatile ExecutorService pool;
+  private int threadCnt;
+
+  private BatchTaskPoolManager() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    this.threadCnt = config.getConcurrentBatchThread();
+    this.pool = IoTDBThreadPoolFactory
+        .newFixedThreadPool(threadCnt, ThreadName.BATCH_SERVICE.getName());
+  }
+
+  public static BatchTaskPoolManager getInstance() {
+    return InstanceHolder.instance;
+  }
+
+  /**
+   * Block new batch tasks and exit when all RUNNING THREADS AND TASKS IN THE QUEUE end.
+   *
+   * @param block if set to true, this method will wait for timeOut milliseconds.
+   * @param timeout block time out in milliseconds.
+   * @throws ProcessorException if timeOut is reached or being interrupted while waiting to exit.
+   */
+  public void close(boolean block, long timeout) throws ProcessorException {
+    pool.shutdown();
+    if (block) {
+      try {
+        if (!pool.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+          throw new ProcessorException("Batch thread pool doesn't exit after "
+              + timeout + " ms");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProcessorException("Interrupted while waiting batch thread pool to exit. ", e);
+      }
+    }
+  }
+
+  public <T> Future<T> submit(Callable<T> task) {
+    return pool.submit(task);
+  }
+
+  public int getThreadCnt() {
+    return threadCnt;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (pool.isShutdown()) {
+      pool = IoTDBThreadPoolFactory.newFixedThreadPool(threadCnt, ThreadName.BATCH_SERVICE.getName());
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    try {
+      close(true, EXIT_WAIT_TIME);
+    } catch (ProcessorException e) {
+      logger.error("Failed to stop {}", getID().getName(), e);
+    }
+  }
+
+  @Override
+  public ServiceType getID() {
+    return ServiceType.BATCH_TASK_POOL_SERVICE;
+  }
+
+  private static class InstanceHolder {
+
+    private InstanceHolder() {
+      //allowed to do nothing
+    }
+
+    private static BatchTaskPoolManager instance = new BatchTaskPoolManager();
+  }
+}
@@ -36,6 +36,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.conf.directories.DirectoryManager;
 import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.cache.QueryResultCache;
 import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
@@ -272,8 +273,13 @@ public class StorageGroupProcessor {
       latestFlushedTimeForEachDevice.putIfAbsent(insertPlan.getDeviceId(), Long.MIN_VALUE);
 
       // insert to sequence or unSequence file
-      return insertToTsFileProcessor(insertPlan,
-          insertPlan.getTime() > latestFlushedTimeForEachDevice.get(insertPlan.getDeviceId()));
+      boolean sequence =
+          insertPlan.getTime() > latestFlushedTimeForEachDevice.get(insertPlan.getDeviceId());
+      if (!sequence) {
+        // the cached query results over the flushed data are stale
+        QueryResultCache.getInstance().invalidate(storageGroupName, insertPlan.getTime());
+      }
+      return insertToTsFileProcessor(insertPlan, sequence);
     } catch (IOException e) {
       logger.error("insert tsRecord to unsealed data file failed, because {}", e.getMessage(), e);
       return false;
@@ -282,11 +288,100 @@ public class StorageGroupProcessor {
     }
   }
 
+  /**
+   * insert a batch of InsertPlans of this storage group under a single lock. The consecutive plans
+   * of the sequence or the unsequence files are inserted into their TsFileProcessor together, which
+   * writes their wals at once. Like the plans inserted one by one, the plans after a failed one are
+   * not inserted.
+   *
+   * @return whether each plan is inserted
+   */
+  public boolean[] insertBatch(List<InsertPlan> insertPlans) {
+    boolean[] results = new boolean[insertPlans.size()];
+    boolean[] sequences = new boolean[insertPlans.size()];
+    writeLock();
+    try {
+      long minUnSequenceTime = Long.MAX_VALUE;
+      for (int i = 0; i < insertPlans.size(); i++) {
+        InsertPlan insertPlan = insertPlans.get(i);
+        latestTimeForEachDevice.putIfAbsent(insertPlan.getDeviceId(), Long.MIN_VALUE);
+        latestFlushedTimeForEachDevice.putIfAbsent(insertPlan.getDeviceId(), Long.MIN_VALUE);
+        sequences[i] =
+            insertPlan.getTime() > latestFlushedTimeForEachDevice.get(insertPlan.getDeviceId());
+        if (!sequences[i]) {
+          minUnSequenceTime = Math.min(minUnSequenceTime, insertPlan.getTime());
+        }
+      }
+      if (minUnSequenceTime != Long.MAX_VALUE) {
+        // the cached query results over the flushed data are stale
+        QueryResultCache.getInstance().invalidate(storageGroupName, minUnSequenceTime);
+      }
+      int start = 0;
+      while (start < insertPlans.size()) {
+        int end = start + 1;
+        while (end < insertPlans.size() && sequences[end] == sequences[start]) {
+          end++;
+        }
+        if (!insertBatchToTsFileProcessor(insertPlans.subList(start, end), start,
+            sequences[start], results)) {
+          break;
+        }
+        start = end;
+      }
+    } catch (IOException e) {
+      logger.error("insert tsRecords to unsealed data file failed, because {}", e.getMessage(), e);
+    } finally {
+      writeUnlock();
+    }
+    return results;
+  }
+
+  /**
+   * insert the plans of the batch from the given index into the working TsFileProcessor, all of
+   * which are inserted or none.
+   */
+  private boolean insertBatchToTsFileProcessor(List<InsertPlan> insertPlans, int startIndex,
+      boolean sequence, boolean[] results) throws IOException {
+    TsFileProcessor tsFileProcessor = getWorkTsFileProcessor(sequence);
+    if (tsFileProcessor == null || !tsFileProcessor.insertBatch(insertPlans)) {
+      return false;
+    }
+    for (int i = 0; i < insertPlans.size(); i++) {
+      InsertPlan insertPlan = insertPlans.get(i);
+      if (latestTimeForEachDevice.get(insertPlan.getDeviceId()) < insertPlan.getTime()) {
+        latestTimeForEachDevice.put(insertPlan.getDeviceId(), insertPlan.getTime());
+      }
+      results[startIndex + i] = true;
+    }
+    checkMemTableSize(tsFileProcessor, sequence);
+    return true;
+  }
+
   private boolean insertToTsFileProcessor(InsertPlan insertPlan, boolean sequence)
       throws IOException {
-    TsFileProcessor tsFileProcessor;
-    boolean result;
+    TsFileProcessor tsFileProcessor = getWorkTsFileProcessor(sequence);
+    if (tsFileProcessor == null) {
+      return false;
+    }
+
+    // insert TsFileProcessor
+    boolean result = tsFileProcessor.insert(insertPlan);
 
+    // try to update the latest time of the device of this tsRecord
+    if (result && latestTimeForEachDevice.get(insertPlan.getDeviceId()) < insertPlan.getTime()) {
+      latestTimeForEachDevice.put(insertPlan.getDeviceId(), insertPlan.getTime());
+    }
+
+    checkMemTableSize(tsFileProcessor, sequence);
+    return result;
+  }
+
+  /**
+   * @return the working TsFileProcessor of the sequence or unsequence files, which is created if
+   * absent, or null if the disk space is insufficient
+   */
+  private TsFileProcessor getWorkTsFileProcessor(boolean sequence) throws IOException {
+    TsFileProcessor tsFileProcessor;
     try {
       if (sequence) {
         if (workSequenceTsFileProcessor == null) {
@@ -306,17 +401,12 @@ public class StorageGroupProcessor {
     } catch (DiskSpaceInsufficientException e) {
       logger.error("disk space is insufficient when creating TsFile processor, change system mode to read-only", e);
       IoTDBDescriptor.getInstance().getConfig().setReadOnly(true);
-      return false;
-    }
-
-    // insert TsFileProcessor
-    result = tsFileProcessor.insert(insertPlan);
-
-    // try to update the latest time of the device of this tsRecord
-    if (result && latestTimeForEachDevice.get(insertPlan.getDeviceId()) < insertPlan.getTime()) {
-      latestTimeForEachDevice.put(insertPlan.getDeviceId(), insertPlan.getTime());
+      return null;
     }
+    return tsFileProcessor;
+  }
 
+  private void checkMemTableSize(TsFileProcessor tsFileProcessor, boolean sequence) {
     // check memtable size and may asyncTryToFlush the work memtable
     if (tsFileProcessor.shouldFlush()) {
       logger.info("The memtable size {} reaches the threshold, async flush it to tsfile: {}",
@@ -329,7 +419,6 @@ public class StorageGroupProcessor {
         tsFileProcessor.asyncFlush();
       }
     }
-    return result;
   }
 
   private TsFileProcessor createTsFileProcessor(boolean sequence)
@@ -403,6 +492,7 @@ public class StorageGroupProcessor {
       this.unSequenceFileList.clear();
       this.latestFlushedTimeForEachDevice.clear();
       this.latestTimeForEachDevice.clear();
+      QueryResultCache.getInstance().invalidate(storageGroupName, Long.MIN_VALUE);
     } catch (IOException e) {
       logger.error("Cannot delete files in storage group {}, because", storageGroupName, e);
     } finally {
@@ -444,6 +534,21 @@ public class StorageGroupProcessor {
     }
   }
 
+  /**
+   * get the latest time of the data of a device which have been flushed or are being flushed, the
+   * data no later than which can only be changed by out-of-order insertions and deletions.
+   *
+   * @return Long.MIN_VALUE if no data of the device is flushed
+   */
+  public long getLatestFlushedTime(String deviceId) {
+    insertLock.readLock().lock();
+    try {
+      return latestFlushedTimeForEachDevice.getOrDefault(deviceId, Long.MIN_VALUE);
+    } finally {
+      insertLock.readLock().unlock();
+    }
+  }
+
   // TODO need a read lock, please consider the concurrency with flush manager threads.
   public QueryDataSource query(String deviceId, String measurementId, QueryContext context) {
     insertLock.readLock().lock();
@@ -487,7 +592,10 @@ public class StorageGroupProcessor {
         closeQueryLock.readLock().lock();
         try {
           if (tsFileResource.isClosed()) {
-            tsfileResourcesForQuery.add(tsFileResource);
+            // skip sealed files whose bloom filter rules the series out
+            if (tsFileResource.mayContainSeries(deviceId, measurementId)) {
+              tsfileResourcesForQuery.add(tsFileResource);
+            }
           } else {
             // left: in-memory data, right: meta of disk data
             Pair<ReadOnlyMemChunk, List<ChunkMetaData>> pair;
@@ -553,6 +661,7 @@ public class StorageGroupProcessor {
 
       deleteDataInFiles(sequenceFileList, deletion, updatedModFiles);
       deleteDataInFiles(unSequenceFileList, deletion, updatedModFiles);
+      QueryResultCache.getInstance().invalidate(storageGroupName, Long.MIN_VALUE);
 
     } catch (Exception e) {
       // roll back
@@ -33,6 +33,7 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.conf.adapter.CompressionRatio;
 import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.engine.memtable.IMemTable;
+import org.apache.iotdb.db.engine.memtable.IWritableMemChunk;
 import org.apache.iotdb.db.engine.memtable.MemSeriesLazyMerger;
 import org.apache.iotdb.db.engine.memtable.MemTableFlushTask;
 import org.apache.iotdb.db.engine.memtable.NotifyFlushMemTable;
@@ -46,6 +47,7 @@ import org.apache.iotdb.db.exception.TsFileProcessorException;
 import org.apache.iotdb.db.qp.constant.DatetimeUtils;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.QueryMemoryManager;
 import org.apache.iotdb.db.rescon.MemTablePool;
 import org.apache.iotdb.db.utils.QueryUtils;
 import org.apache.iotdb.db.writelog.manager.MultiFileLogNodeManager;
@@ -165,6 +167,42 @@ public class TsFileProcessor {
     return true;
   }
 
+  /**
+   * insert the data of a batch of InsertPlans into the workingMemtable in order, whose wals are
+   * written at once.
+   *
+   * @param insertPlans physical plans of insertion
+   * @return succeed or fail, for all the plans
+   */
+  public boolean insertBatch(List<InsertPlan> insertPlans) {
+
+    if (workMemTable == null) {
+      workMemTable = MemTablePool.getInstance().getAvailableMemTable(this);
+
+      // no empty memtable, return failure
+      if (workMemTable == null) {
+        return false;
+      }
+    }
+
+    if (IoTDBDescriptor.getInstance().getConfig().isEnableWal()) {
+      try {
+        getLogNode().write(insertPlans);
+      } catch (IOException e) {
+        logger.error("write WAL failed", e);
+        return false;
+      }
+    }
+    for (InsertPlan insertPlan : insertPlans) {
+      tsFileResource.updateStartTime(insertPlan.getDeviceId(), insertPlan.getTime());
+      if (!sequence) {
+        tsFileResource.updateEndTime(insertPlan.getDeviceId(), insertPlan.getTime());
+      }
+      workMemTable.insert(insertPlan);
+    }
+    return true;
+  }
+
   /**
    * Delete data which belongs to the timeseries `deviceId.measurementId` and the timestamp of which
    * <= 'timestamp' in the deletion. <br/>
@@ -439,6 +477,7 @@ public class TsFileProcessor {
 
     tsFileResource.serialize();
     writer.endFile(fileSchema);
+    tsFileResource.setBloomFilter(writer.getBloomFilter());
 
     // remove this processor from Closing list in StorageGroupProcessor,
     // mark the TsFileResource closed, no need writer anymore
@@ -519,6 +558,7 @@ public class TsFileProcessor {
         if (flushingMemTable.isSignalMemTable()) {
           continue;
         }
+        reserveMemChunk(flushingMemTable, deviceId, measurementId, dataType, context);
         ReadOnlyMemChunk memChunk = flushingMemTable
             .query(deviceId, measurementId, dataType, props);
         if (memChunk != null) {
@@ -526,6 +566,7 @@ public class TsFileProcessor {
         }
       }
       if (workMemTable != null) {
+        reserveMemChunk(workMemTable, deviceId, measurementId, dataType, context);
         ReadOnlyMemChunk memChunk = workMemTable.query(deviceId, measurementId, dataType, props);
         if (memChunk != null) {
           memSeriesLazyMerger.addMemSeries(memChunk);
@@ -551,4 +592,20 @@ public class TsFileProcessor {
     }
   }
 
+  /**
+   * reserve the memory of the snapshot of a series in a memtable for the query before it is
+   * copied. As the insertions are blocked while the snapshot is taken, the query does not wait for
+   * the memory but fails at once if it is not enough.
+   */
+  private void reserveMemChunk(IMemTable memTable, String deviceId, String measurementId,
+      TSDataType dataType, QueryContext context) {
+    Map<String, IWritableMemChunk> deviceMemChunks = memTable.getMemTableMap().get(deviceId);
+    IWritableMemChunk memChunk = deviceMemChunks == null ? null
+        : deviceMemChunks.get(measurementId);
+    if (memChunk != null) {
+      context.reserveMemoryWithoutWaiting(
+          QueryMemoryManager.estimateMemChunkSize(memChunk.count(), dataType));
+    }
+  }
+
 }
@@ -30,13 +30,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import org.apache.iotdb.db.engine.cache.TsFileMetadataUtils;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class TsFileResource {
 
+  private static final Logger logger = LoggerFactory.getLogger(TsFileResource.class);
+
   private File file;
 
   public static final String RESOURCE_SUFFIX = ".resource";
@@ -69,6 +76,14 @@ public class TsFileResource {
    */
   private ReadOnlyMemChunk readOnlyMemChunk;
 
+  /**
+   * Bloom filter over the series paths of a sealed tsfile. It is set when the file is sealed by
+   * this instance, or lazily read from the file footer at the first query.
+   */
+  private volatile BloomFilter bloomFilter;
+
+  private volatile boolean bloomFilterLoaded = false;
+
   public TsFileResource(File file) {
     this.file = file;
     this.startTimeMap = new HashMap<>();
@@ -183,6 +198,45 @@ public class TsFileResource {
     return startTimeMap.containsKey(deviceId);
   }
 
+  /**
+   * check whether the series may exist in this file. For a sealed file the bloom filter in its
+   * footer is consulted, so a query can skip the file without touching any device metadata.
+   *
+   * @return false if the series is definitely not in this file
+   */
+  public boolean mayContainSeries(String deviceId, String measurementId) {
+    if (!containsDevice(deviceId)) {
+      return false;
+    }
+    if (!closed) {
+      return true;
+    }
+    BloomFilter filter = getBloomFilter();
+    return filter == null || filter.contains(new Path(deviceId, measurementId).getFullPath());
+  }
+
+  private BloomFilter getBloomFilter() {
+    if (!bloomFilterLoaded) {
+      synchronized (this) {
+        if (!bloomFilterLoaded) {
+          try {
+            bloomFilter = TsFileMetadataUtils.getTsFileMetaData(file.getPath()).getBloomFilter();
+          } catch (IOException e) {
+            // fall back to reading the device metadata
+            logger.warn("Cannot read the bloom filter of {}", file, e);
+          }
+          bloomFilterLoaded = true;
+        }
+      }
+    }
+    return bloomFilter;
+  }
+
+  public synchronized void setBloomFilter(BloomFilter bloomFilter) {
+    this.bloomFilter = bloomFilter;
+    this.bloomFilterLoaded = true;
+  }
+
   public File getFile() {
     return file;
   }
@@ -77,6 +77,12 @@ public class MManager {
   private long maxSeriesNumberAmongStorageGroup;
   private boolean initialized;
 
+  /**
+   * increased by every change of the metadata under the write lock, so that the caches derived from
+   * the metadata, e.g. the cached plans, can tell whether they are outdated.
+   */
+  private volatile long metadataVersion = 0;
+
   private MManager() {
 
     schemaDir =
@@ -138,6 +144,7 @@ public class MManager {
     File logFile = new File(logFilePath);
 
     try {
+      metadataVersion++;
       initFromLog(logFile);
       seriesNumberInStorageGroups = mgraph.countSeriesNumberInEachStorageGroup();
       if (seriesNumberInStorageGroups.isEmpty()) {
@@ -178,6 +185,7 @@ public class MManager {
   public void clear() {
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       this.mgraph = new MGraph(ROOT_NAME);
       this.checkAndGetDataTypeCache.clear();
       this.mNodeCache.clear();
@@ -350,6 +358,7 @@ public class MManager {
 
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       mgraph.addPathToMTree(path, dataType, encoding, compressor, props);
       String storageName = mgraph.getStorageGroupNameByPath(path);
       int size = seriesNumberInStorageGroups.get(mgraph.getStorageGroupNameByPath(path));
@@ -498,6 +507,7 @@ public class MManager {
   private String deletePathFromMTree(String path) throws PathErrorException, IOException {
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       checkAndGetDataTypeCache.clear();
       mNodeCache.clear();
       String dataFileName = mgraph.deletePath(path);
@@ -533,6 +543,7 @@ public class MManager {
   public void setStorageLevelToMTree(String path) throws MetadataErrorException {
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       checkAndGetDataTypeCache.clear();
       mNodeCache.clear();
       IoTDBConfigDynamicAdapter.getInstance().addOrDeleteStorageGroup(1);
@@ -579,6 +590,7 @@ public class MManager {
 
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       mgraph.addAPTree(ptreeRootName);
       if (writeToLog) {
         BufferedWriter writer = getLogWriter();
@@ -599,6 +611,7 @@ public class MManager {
 
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       mgraph.addPathToPTree(path);
       if (writeToLog) {
         BufferedWriter writer = getLogWriter();
@@ -618,6 +631,7 @@ public class MManager {
 
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       mgraph.deletePath(path);
       if (writeToLog) {
         BufferedWriter writer = getLogWriter();
@@ -637,6 +651,7 @@ public class MManager {
 
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       mgraph.linkMNodeToPTree(path, mpath);
       if (writeToLog) {
         BufferedWriter writer = getLogWriter();
@@ -657,6 +672,7 @@ public class MManager {
 
     lock.writeLock().lock();
     try {
+      metadataVersion++;
       mgraph.unlinkMNodeFromPTree(path, mpath);
       if (writeToLog) {
         BufferedWriter writer = getLogWriter();
@@ -1200,6 +1216,14 @@ public class MManager {
     this.maxSeriesNumberAmongStorageGroup = maxSeriesNumberAmongStorageGroup;
   }
 
+  /**
+   * @return the version of the metadata, which increases on every change of the schema, so the
+   * objects built on the schema, e.g. the cached plans, know whether they are stale
+   */
+  public long getMetadataVersion() {
+    return metadataVersion;
+  }
+
   public long getMaximalSeriesNumberAmongStorageGroups() {
     return maxSeriesNumberAmongStorageGroup;
   }
@@ -39,6 +39,10 @@ public class MonitorConstants {
   private static final String FILE_SIZE = "file_size";
   public static final String FILE_SIZE_STORAGE_GROUP_NAME = STAT_STORAGE_GROUP_PREFIX
       + MONITOR_PATH_SEPARATOR + FILE_SIZE;
+  // statistic for the data skipped by queries
+  private static final String QUERY_PRUNING = "query_pruning";
+  public static final String QUERY_PRUNING_STORAGE_GROUP_NAME = STAT_STORAGE_GROUP_PREFIX
+      + MONITOR_PATH_SEPARATOR + QUERY_PRUNING;
   // statistic for insert module
   static final String FILE_NODE_MANAGER_PATH = "write.global";
   public static final String FILE_NODE_PATH = "write";
@@ -91,6 +95,10 @@ public class MonitorConstants {
     DISK_WRITE_SPEED, DISK_TPS
   }
 
+  public enum QueryPruningConstants {
+    SKIPPED_CHUNK_NUM, SKIPPED_POINT_NUM, SKIPPED_BYTES
+  }
+
   public enum FileSizeConstants {
     // TODO add multi data dir monitor
     WAL(new File(config.getWalFolder()).getAbsolutePath()),
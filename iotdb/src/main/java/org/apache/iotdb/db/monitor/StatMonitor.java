@@ -38,6 +38,7 @@ import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.monitor.MonitorConstants.FileNodeManagerStatConstants;
 import org.apache.iotdb.db.monitor.MonitorConstants.FileNodeProcessorStatConstants;
 import org.apache.iotdb.db.monitor.collector.FileSize;
+import org.apache.iotdb.db.monitor.collector.QueryPruningStatistics;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
 import org.apache.iotdb.db.service.IService;
 import org.apache.iotdb.db.service.ServiceType;
@@ -340,6 +341,7 @@ public class StatMonitor implements IService {
   class StatBackLoop implements Runnable {
 
     FileSize fileSize = FileSize.getInstance();
+    QueryPruningStatistics queryPruningStatistics = QueryPruningStatistics.getInstance();
 
     @Override
     public void run() {
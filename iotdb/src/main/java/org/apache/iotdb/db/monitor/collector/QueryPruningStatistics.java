@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.monitor.collector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.monitor.IStatistic;
+import org.apache.iotdb.db.monitor.MonitorConstants;
+import org.apache.iotdb.db.monitor.MonitorConstants.QueryPruningConstants;
+import org.apache.iotdb.db.monitor.StatMonitor;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is to collect how much data the queries skip by checking filters against chunk and
+ * page statistics, instead of decoding the data and checking the filter point by point. The
+ * numbers since the start are recorded by the stat monitor as root.stats.query_pruning.
+ */
+public class QueryPruningStatistics implements IStatistic {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryPruningStatistics.class);
+
+  private AtomicLong skippedChunkNum = new AtomicLong();
+  private AtomicLong skippedPointNum = new AtomicLong();
+  private AtomicLong skippedBytes = new AtomicLong();
+
+  private QueryPruningStatistics() {
+    if (IoTDBDescriptor.getInstance().getConfig().isEnableStatMonitor()) {
+      registerStatMetadata();
+      StatMonitor.getInstance()
+          .registerStatistics(MonitorConstants.QUERY_PRUNING_STORAGE_GROUP_NAME, this);
+    }
+  }
+
+  public static QueryPruningStatistics getInstance() {
+    return QueryPruningStatisticsHolder.INSTANCE;
+  }
+
+  /**
+   * @param chunkNum number of chunks skipped by their metadata
+   * @param pointNum number of points in the skipped chunks
+   * @param bytes bytes of page data skipped without being uncompressed
+   */
+  public void addSkipped(long chunkNum, long pointNum, long bytes) {
+    if (chunkNum != 0) {
+      skippedChunkNum.addAndGet(chunkNum);
+    }
+    if (pointNum != 0) {
+      skippedPointNum.addAndGet(pointNum);
+    }
+    if (bytes != 0) {
+      skippedBytes.addAndGet(bytes);
+    }
+  }
+
+  public long getSkippedChunkNum() {
+    return skippedChunkNum.get();
+  }
+
+  public long getSkippedPointNum() {
+    return skippedPointNum.get();
+  }
+
+  public long getSkippedBytes() {
+    return skippedBytes.get();
+  }
+
+  public void clear() {
+    skippedChunkNum.set(0);
+    skippedPointNum.set(0);
+    skippedBytes.set(0);
+  }
+
+  @Override
+  public Map<String, TSRecord> getAllStatisticsValue() {
+    TSRecord tsRecord = StatMonitor.convertToTSRecord(getStatParamsHashMap(),
+        MonitorConstants.QUERY_PRUNING_STORAGE_GROUP_NAME, System.currentTimeMillis());
+    Map<String, TSRecord> ret = new HashMap<>();
+    ret.put(MonitorConstants.QUERY_PRUNING_STORAGE_GROUP_NAME, tsRecord);
+    return ret;
+  }
+
+  @Override
+  public void registerStatMetadata() {
+    Map<String, String> hashMap = new HashMap<>();
+    for (String seriesPath : getAllPathForStatistic()) {
+      hashMap.put(seriesPath, MonitorConstants.DATA_TYPE_INT64);
+      try {
+        StorageEngine.getInstance().addTimeSeries(new Path(seriesPath),
+            TSDataType.valueOf(MonitorConstants.DATA_TYPE_INT64), TSEncoding.valueOf("RLE"),
+            CompressionType.valueOf(TSFileConfig.compressor), Collections.emptyMap());
+      } catch (StorageEngineException e) {
+        logger.error("Register Query Pruning Stats into storageEngine Failed.", e);
+      }
+    }
+    StatMonitor.getInstance().registerStatStorageGroup(hashMap);
+  }
+
+  @Override
+  public List<String> getAllPathForStatistic() {
+    List<String> list = new ArrayList<>();
+    for (QueryPruningConstants kind : QueryPruningConstants.values()) {
+      list.add(MonitorConstants.QUERY_PRUNING_STORAGE_GROUP_NAME
+          + MonitorConstants.MONITOR_PATH_SEPARATOR + kind.name());
+    }
+    return list;
+  }
+
+  @Override
+  public Map<String, AtomicLong> getStatParamsHashMap() {
+    Map<String, AtomicLong> statParamsMap = new HashMap<>();
+    statParamsMap.put(QueryPruningConstants.SKIPPED_CHUNK_NUM.name(),
+        new AtomicLong(skippedChunkNum.get()));
+    statParamsMap.put(QueryPruningConstants.SKIPPED_POINT_NUM.name(),
+        new AtomicLong(skippedPointNum.get()));
+    statParamsMap.put(QueryPruningConstants.SKIPPED_BYTES.name(),
+        new AtomicLong(skippedBytes.get()));
+    return statParamsMap;
+  }
+
+  @Override
+  public String toString() {
+    return "QueryPruningStatistics{" + "skippedChunkNum=" + skippedChunkNum + ", skippedPointNum="
+        + skippedPointNum + ", skippedBytes=" + skippedBytes + '}';
+  }
+
+  private static class QueryPruningStatisticsHolder {
+
+    private static final QueryPruningStatistics INSTANCE = new QueryPruningStatistics();
+  }
+}
@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.iotdb.db.exception.ArgsErrorException;
+import org.apache.iotdb.db.exception.MetadataErrorException;
+import org.apache.iotdb.db.exception.qp.QueryProcessorException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
+import org.apache.iotdb.db.qp.strategy.InsertStatementParser;
+
+/**
+ * <p>
+ * PlanCache keeps the parsed plans of the repeated statements, so that they skip the parsing, the
+ * logical optimization and the physical generation.
+ * </p>
+ * <p>
+ * The plans of the queries are cached by the text of the statement and the time zone, which the
+ * time literals are parsed in. The queries calling now() are not cached. The insertions are cached
+ * as templates by their part before "values", i.e. the device and the measurements, so that the
+ * insertions of new values only scan the values. An insertion whose values are not plain literals
+ * or whose time is not a positive integer is parsed as usual.
+ * </p>
+ * <p>
+ * The plans are derived from the metadata, e.g. "*" is expanded to the series, so the cache is
+ * dropped whenever the version of the metadata in {@link MManager} changes. The cached plans are
+ * shared by their executions and must not be modified.
+ * </p>
+ */
+public class PlanCache {
+
+  private static final String NOW = "now";
+
+  private final int maxSize;
+  private LruLinkedHashMap<PhysicalPlan> queryPlans;
+  private LruLinkedHashMap<InsertTemplate> insertTemplates;
+
+  /**
+   * the version of the metadata the cached plans are derived from.
+   */
+  private long metadataVersion;
+
+  public PlanCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.queryPlans = new LruLinkedHashMap<>(maxSize);
+    this.insertTemplates = new LruLinkedHashMap<>(maxSize);
+    this.metadataVersion = MManager.getInstance().getMetadataVersion();
+  }
+
+  /**
+   * get the plan of a statement from the cache, or generate it with the generator and cache it.
+   */
+  public PhysicalPlan get(String statement, ZoneId zoneId, PlanGenerator generator)
+      throws QueryProcessorException, ArgsErrorException, MetadataErrorException {
+    if (maxSize <= 0) {
+      return generator.generate();
+    }
+    // read before generating, so a plan generated concurrently with a change of the metadata is
+    // never cached as up to date
+    long version = MManager.getInstance().getMetadataVersion();
+
+    String insertPrefix = InsertStatementParser.getInsertPrefix(statement);
+    if (insertPrefix != null) {
+      return getInsertPlan(statement, insertPrefix, version, generator);
+    }
+    if (containsIgnoreCase(statement, NOW)) {
+      return generator.generate();
+    }
+    String key = zoneId + " " + statement;
+    PhysicalPlan plan = lookup(queryPlans, key, version);
+    if (plan == null) {
+      plan = generator.generate();
+      if (plan instanceof QueryPlan) {
+        put(queryPlans, key, plan, version);
+      }
+    }
+    return plan;
+  }
+
+  private PhysicalPlan getInsertPlan(String statement, String insertPrefix, long version,
+      PlanGenerator generator)
+      throws QueryProcessorException, ArgsErrorException, MetadataErrorException {
+    String[] values = InsertStatementParser.scanValues(statement, insertPrefix.length());
+    if (values == null) {
+      return generator.generate();
+    }
+    long time = parseTime(values[0]);
+    String[] measurementValues = Arrays.copyOfRange(values, 1, values.length);
+    InsertTemplate template = lookup(insertTemplates, insertPrefix, version);
+    if (template != null && time > 0
+        && template.measurements.length == measurementValues.length) {
+      return new InsertPlan(template.deviceId, time, template.measurements, measurementValues);
+    }
+
+    PhysicalPlan plan = generator.generate();
+    if (plan instanceof InsertPlan) {
+      InsertPlan insertPlan = (InsertPlan) plan;
+      // only the statements scanned the same as the parser does become templates
+      if (insertPlan.getTime() == time
+          && Arrays.equals(insertPlan.getValues(), measurementValues)) {
+        put(insertTemplates, insertPrefix,
+            new InsertTemplate(insertPlan.getDeviceId(), insertPlan.getMeasurements()), version);
+      }
+    }
+    return plan;
+  }
+
+  private synchronized <T> T lookup(LruLinkedHashMap<T> cache, String key, long version) {
+    checkVersion(version);
+    return cache.get(key);
+  }
+
+  private synchronized <T> void put(LruLinkedHashMap<T> cache, String key, T value,
+      long version) {
+    checkVersion(version);
+    if (version == metadataVersion) {
+      cache.put(key, value);
+    }
+  }
+
+  /**
+   * drop the cached plans if the metadata has changed since they are generated.
+   */
+  private void checkVersion(long version) {
+    if (version > metadataVersion) {
+      queryPlans.clear();
+      insertTemplates.clear();
+      metadataVersion = version;
+    }
+  }
+
+  public synchronized int size() {
+    return queryPlans.size() + insertTemplates.size();
+  }
+
+  /**
+   * @return the time, or -1 if it does not fit in a long
+   */
+  private static long parseTime(String text) {
+    try {
+      return Long.parseLong(text);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static boolean containsIgnoreCase(String statement, String word) {
+    for (int i = 0; i + word.length() <= statement.length(); i++) {
+      if (statement.regionMatches(true, i, word, 0, word.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * generates the plan of a statement on a cache miss.
+   */
+  @FunctionalInterface
+  public interface PlanGenerator {
+
+    PhysicalPlan generate()
+        throws QueryProcessorException, ArgsErrorException, MetadataErrorException;
+  }
+
+  private static class InsertTemplate {
+
+    private String deviceId;
+    private String[] measurements;
+
+    private InsertTemplate(String deviceId, String[] measurements) {
+      this.deviceId = deviceId;
+      this.measurements = measurements;
+    }
+  }
+
+  private static class LruLinkedHashMap<T> extends LinkedHashMap<String, T> {
+
+    private static final long serialVersionUID = -6213574237387367424L;
+    private static final float LOAD_FACTOR_MAP = 0.75f;
+    private final int maxCapacity;
+
+    private LruLinkedHashMap(int maxCapacity) {
+      super(Math.max(maxCapacity, 1), LOAD_FACTOR_MAP, true);
+      this.maxCapacity = maxCapacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+      return size() > maxCapacity;
+    }
+  }
+}
@@ -33,6 +33,7 @@ import org.apache.iotdb.db.qp.logical.RootOperator;
 import org.apache.iotdb.db.qp.logical.crud.FilterOperator;
 import org.apache.iotdb.db.qp.logical.crud.SFWOperator;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.strategy.InsertStatementParser;
 import org.apache.iotdb.db.qp.strategy.LogicalGenerator;
 import org.apache.iotdb.db.qp.strategy.PhysicalGenerator;
 import org.apache.iotdb.db.qp.strategy.optimizer.ConcatPathOptimizer;
@@ -66,15 +67,28 @@ public class QueryProcessor {
     return parseSQLToPhysicalPlan(sqlStr, config.getZoneID());
   }
 
+  /**
+   * the insertions of the common shape are parsed by {@link InsertStatementParser}, the other
+   * statements by the ANTLR parser.
+   */
   public PhysicalPlan parseSQLToPhysicalPlan(String sqlStr, ZoneId zoneId)
       throws QueryProcessorException, ArgsErrorException,
       MetadataErrorException {
-    AstNode astNode = parseSQLToAST(sqlStr);
+    PhysicalPlan plan = InsertStatementParser.parse(sqlStr);
+    return plan != null ? plan : parseASTToPhysicalPlan(parseSQLToAST(sqlStr), zoneId);
+  }
+
+  /**
+   * transform the ast tree of a statement, given by {@link #parseSQLToAST(String)}, into its
+   * optimized physical plan.
+   */
+  public PhysicalPlan parseASTToPhysicalPlan(AstNode astNode, ZoneId zoneId)
+      throws QueryProcessorException, ArgsErrorException,
+      MetadataErrorException {
     Operator operator = parseASTToOperator(astNode, zoneId);
     operator = logicalOptimize(operator, executor);
     PhysicalGenerator physicalGenerator = new PhysicalGenerator(executor);
-    PhysicalPlan qp = physicalGenerator.transformToPhysicalPlan(operator);
-    return qp;
+    return physicalGenerator.transformToPhysicalPlan(operator);
   }
 
   /**
@@ -102,7 +116,7 @@ public class QueryProcessor {
    * @throws IllegalASTFormatException
    *             exception in sql parsing
    */
-  private AstNode parseSQLToAST(String sqlStr) throws IllegalASTFormatException {
+  public AstNode parseSQLToAST(String sqlStr) throws IllegalASTFormatException {
     AstNode astTree;
     // parse string to ASTTree
     try {
@@ -138,6 +152,7 @@ public class QueryProcessor {
       case INSERT:
       case INDEX:
       case INDEXQUERY:
+      case SHOW_SLOW_QUERIES:
         return operator;
       case QUERY:
       case UPDATE:
@@ -19,13 +19,20 @@
 package org.apache.iotdb.db.qp.executor;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
+import org.apache.iotdb.db.engine.cache.QueryResultCache;
+import org.apache.iotdb.db.engine.cache.QueryResultCache.Lookup;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.MetadataErrorException;
 import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.qp.logical.Operator.OperatorType;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
 import org.apache.iotdb.db.qp.physical.crud.AggregationPlan;
 import org.apache.iotdb.db.qp.physical.crud.DeletePlan;
@@ -34,15 +41,35 @@ import org.apache.iotdb.db.qp.physical.crud.GroupByPlan;
 import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
 import org.apache.iotdb.db.qp.physical.sys.AuthorPlan;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.context.QueryStatistics;
+import org.apache.iotdb.db.query.control.SlowQueryManager;
+import org.apache.iotdb.db.query.control.SlowQueryRecord;
+import org.apache.iotdb.db.query.dataset.ListDataSet;
+import org.apache.iotdb.db.query.dataset.OffsetLimitDataSet;
 import org.apache.iotdb.db.query.executor.EngineQueryRouter;
 import org.apache.iotdb.db.query.executor.IEngineQueryRouter;
+import org.apache.iotdb.db.query.fill.IFill;
+import org.apache.iotdb.db.query.fill.LinearFill;
+import org.apache.iotdb.db.query.fill.PreviousFill;
 import org.apache.iotdb.tsfile.exception.filter.QueryFilterOptimizationException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.apache.iotdb.tsfile.read.expression.QueryExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 public abstract class AbstractQueryProcessExecutor implements IQueryProcessExecutor {
 
+  /**
+   * the column of the result of EXPLAIN, one line of the description per row.
+   */
+  public static final String EXPLAIN_COLUMN = "plan";
+
   protected IEngineQueryRouter queryRouter = new EngineQueryRouter();
 
   @Override
@@ -50,10 +77,14 @@ public abstract class AbstractQueryProcessExecutor implements IQueryProcessExecu
       throws IOException, StorageEngineException, PathErrorException,
       QueryFilterOptimizationException, ProcessorException {
 
-    if (queryPlan instanceof QueryPlan) {
+    if (queryPlan instanceof QueryPlan && ((QueryPlan) queryPlan).isExplain()) {
+      return processExplain((QueryPlan) queryPlan, context);
+    } else if (queryPlan instanceof QueryPlan) {
       return processDataQuery((QueryPlan) queryPlan, context);
     } else if (queryPlan instanceof AuthorPlan) {
       return processAuthorQuery((AuthorPlan) queryPlan, context);
+    } else if (queryPlan.getOperatorType() == OperatorType.SHOW_SLOW_QUERIES) {
+      return processShowSlowQueries();
     } else {
       throw new ProcessorException(String.format("Unrecognized query plan %s", queryPlan));
     }
@@ -62,18 +93,156 @@ public abstract class AbstractQueryProcessExecutor implements IQueryProcessExecu
   protected abstract QueryDataSet processAuthorQuery(AuthorPlan plan, QueryContext context)
       throws ProcessorException;
 
+  /**
+   * describe the physical plan of a query. For EXPLAIN ANALYZE, the query is also executed and
+   * the description is followed by the wall time of each stage and how each series is read, see
+   * {@link QueryStatistics}. Each line of the description is a row of the result.
+   */
+  private QueryDataSet processExplain(QueryPlan queryPlan, QueryContext context)
+      throws StorageEngineException, QueryFilterOptimizationException, PathErrorException,
+      ProcessorException, IOException {
+    List<String> lines = describePlan(queryPlan);
+    if (queryPlan.isAnalyze()) {
+      context.enableStatistics();
+      QueryStatistics statistics = context.getStatistics();
+      long startTime = System.currentTimeMillis();
+      QueryDataSet dataSet = processDataQuery(queryPlan, context);
+      statistics.addStageTime("initialize", startTime);
+
+      startTime = System.currentTimeMillis();
+      long rowNum = 0;
+      while (dataSet.hasNext()) {
+        dataSet.next();
+        rowNum++;
+      }
+      statistics.addStageTime("execute", startTime);
+      lines.add("Rows: " + rowNum);
+      lines.addAll(statistics.toLines());
+    }
+
+    ListDataSet dataSet = new ListDataSet(
+        Collections.singletonList(new Path(EXPLAIN_COLUMN)),
+        Collections.singletonList(TSDataType.TEXT));
+    for (int i = 0; i < lines.size(); i++) {
+      RowRecord record = new RowRecord(i);
+      Field field = new Field(TSDataType.TEXT);
+      field.setBinaryV(new Binary(lines.get(i)));
+      record.addField(field);
+      dataSet.putRecord(record);
+    }
+    return dataSet;
+  }
+
+  /**
+   * list the latest slow queries kept by {@link SlowQueryManager}, the latest first.
+   */
+  private QueryDataSet processShowSlowQueries() {
+    List<Path> paths = new ArrayList<>();
+    for (String column : SlowQueryRecord.COLUMNS) {
+      paths.add(new Path(column));
+    }
+    ListDataSet dataSet = new ListDataSet(paths, SlowQueryRecord.COLUMN_TYPES);
+    for (SlowQueryRecord record : SlowQueryManager.getInstance().getRecords()) {
+      dataSet.putRecord(record.toRowRecord());
+    }
+    return dataSet;
+  }
+
+  private List<String> describePlan(QueryPlan queryPlan) {
+    List<String> lines = new ArrayList<>();
+    List<String> series = new ArrayList<>();
+    for (int i = 0; i < queryPlan.getPaths().size(); i++) {
+      String path = queryPlan.getPaths().get(i).getFullPath();
+      series.add(queryPlan instanceof AggregationPlan
+          ? queryPlan.getAggregations().get(i) + "(" + path + ")" : path);
+    }
+
+    if (queryPlan instanceof GroupByPlan) {
+      GroupByPlan groupByPlan = (GroupByPlan) queryPlan;
+      StringBuilder intervals = new StringBuilder();
+      for (Pair<Long, Long> interval : groupByPlan.getIntervals()) {
+        intervals.append(" [").append(interval.left).append(", ").append(interval.right)
+            .append("]");
+      }
+      lines.add(String.format("Group by: unit %d ms, origin %d, intervals%s",
+          groupByPlan.getUnit(), groupByPlan.getOrigin(), intervals));
+    } else if (queryPlan instanceof AggregationPlan) {
+      lines.add("Aggregation");
+    } else if (queryPlan instanceof FillQueryPlan) {
+      FillQueryPlan fillQueryPlan = (FillQueryPlan) queryPlan;
+      lines.add("Fill: time " + fillQueryPlan.getQueryTime());
+      for (Entry<TSDataType, IFill> entry : fillQueryPlan.getFillType().entrySet()) {
+        lines.add(String.format("  %s: %s", entry.getKey(), describeFill(entry.getValue())));
+      }
+    } else {
+      lines.add("Raw data query: time " + (queryPlan.isAscending() ? "ascending" : "descending"));
+    }
+    lines.add("Series: " + String.join(", ", series));
+
+    IExpression expression = queryPlan.getExpression();
+    if (expression instanceof GlobalTimeExpression) {
+      lines.add("Time filter: " + expression + ", pushed down to the readers");
+    } else if (expression != null) {
+      lines.add("Value filter: " + expression + ", evaluated by a time generator");
+    }
+    if (queryPlan.hasRowConstraint()) {
+      lines.add(String.format("Limit: %d, offset: %d", queryPlan.getRowLimit(),
+          queryPlan.getRowOffset()));
+    }
+    return lines;
+  }
+
+  private String describeFill(IFill fill) {
+    if (fill instanceof PreviousFill) {
+      return String.format("previous, before %d ms", ((PreviousFill) fill).getBeforeRange());
+    }
+    LinearFill linearFill = (LinearFill) fill;
+    return String.format("linear, before %d ms, after %d ms", linearFill.getBeforeRange(),
+        linearFill.getAfterRange());
+  }
+
   private QueryDataSet processDataQuery(QueryPlan queryPlan, QueryContext context)
       throws StorageEngineException, QueryFilterOptimizationException, PathErrorException, ProcessorException, IOException {
+    QueryDataSet dataSet = processUnconstrainedQuery(queryPlan, context);
+    if (queryPlan.hasRowConstraint()) {
+      return new OffsetLimitDataSet(dataSet, queryPlan.getRowOffset(), queryPlan.getRowLimit());
+    }
+    return dataSet;
+  }
+
+  private QueryDataSet processUnconstrainedQuery(QueryPlan queryPlan, QueryContext context)
+      throws StorageEngineException, QueryFilterOptimizationException, PathErrorException, ProcessorException, IOException {
+    if (queryPlan instanceof AggregationPlan && QueryResultCache.getInstance().isEnabled()) {
+      Lookup lookup = QueryResultCache.getInstance().lookup((AggregationPlan) queryPlan);
+      if (lookup != null) {
+        AggregationPlan remainingPlan = lookup.getRemainingPlan();
+        if (context.getStatistics() != null && lookup.getCachedRowNum() > 0) {
+          // EXPLAIN ANALYZE reads no series for the cached rows
+          context.getStatistics().setCachedRows(lookup.getCachedRowNum(), remainingPlan != null);
+        }
+        QueryDataSet remaining =
+            remainingPlan == null ? null : processUncachedQuery(remainingPlan, context);
+        return lookup.wrap(queryPlan.getPaths(), remaining);
+      }
+    }
+    return processUncachedQuery(queryPlan, context);
+  }
+
+  private QueryDataSet processUncachedQuery(QueryPlan queryPlan, QueryContext context)
+      throws StorageEngineException, QueryFilterOptimizationException, PathErrorException, ProcessorException, IOException {
+    // the filters are optimized in place while evaluating, and the plan may be shared by the
+    // executions of a cached statement
+    IExpression expression =
+        queryPlan.getExpression() == null ? null : queryPlan.getExpression().clone();
     if (queryPlan instanceof GroupByPlan) {
       GroupByPlan groupByPlan = (GroupByPlan) queryPlan;
       return groupBy(groupByPlan.getPaths(), groupByPlan.getAggregations(),
-          groupByPlan.getExpression(), groupByPlan.getUnit(), groupByPlan.getOrigin(),
+          expression, groupByPlan.getUnit(), groupByPlan.getOrigin(),
           groupByPlan.getIntervals(), context);
     }
 
     if (queryPlan instanceof AggregationPlan) {
-      return aggregate(queryPlan.getPaths(), queryPlan.getAggregations(),
-          queryPlan.getExpression(), context);
+      return aggregate(queryPlan.getPaths(), queryPlan.getAggregations(), expression, context);
     }
 
     if (queryPlan instanceof FillQueryPlan) {
@@ -82,8 +251,8 @@ public abstract class AbstractQueryProcessExecutor implements IQueryProcessExecu
           fillQueryPlan.getFillType(), context);
     }
     QueryExpression queryExpression = QueryExpression.create().setSelectSeries(queryPlan.getPaths())
-            .setExpression(queryPlan.getExpression());
-    return queryRouter.query(queryExpression, context);
+            .setExpression(expression);
+    return queryRouter.query(queryExpression, queryPlan.isAscending(), context);
   }
 
 
@@ -114,6 +114,21 @@ public interface IQueryProcessExecutor {
    */
   boolean insert(InsertPlan insertPlan) throws ProcessorException;
 
+  /**
+   * check the measurements of an insertion against the schema and convert its values to their
+   * data types, the insertion can then be executed by {@link #insertBatch(List)}.
+   */
+  void checkInsert(InsertPlan insertPlan) throws ProcessorException;
+
+  /**
+   * execute a batch of insertions checked by {@link #checkInsert(InsertPlan)}, the insertions of
+   * different storage groups are executed in parallel. The insertions after a failed one into its
+   * storage group are not executed, and a storage group failing does not affect the others.
+   *
+   * @return whether each insertion is successful
+   */
+  boolean[] insertBatch(List<InsertPlan> insertPlans) throws ProcessorException;
+
   boolean judgePathExists(Path fullPath);
 
   /**
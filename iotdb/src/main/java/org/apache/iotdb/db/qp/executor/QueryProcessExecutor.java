@@ -202,7 +202,25 @@ public class QueryProcessExecutor extends AbstractQueryProcessExecutor {
   @Override
   public boolean insert(InsertPlan insertPlan)
       throws ProcessorException {
+    checkInsert(insertPlan);
+    try {
+      return storageEngine.insert(insertPlan);
+    } catch (StorageEngineException e) {
+      throw new ProcessorException(e);
+    }
+  }
+
+  @Override
+  public boolean[] insertBatch(List<InsertPlan> insertPlans) throws ProcessorException {
+    try {
+      return storageEngine.insertBatch(insertPlans);
+    } catch (StorageEngineException e) {
+      throw new ProcessorException(e);
+    }
+  }
 
+  @Override
+  public void checkInsert(InsertPlan insertPlan) throws ProcessorException {
     try {
       String[] measurementList = insertPlan.getMeasurements();
       String deviceId = insertPlan.getDeviceId();
@@ -227,9 +245,7 @@ public class QueryProcessExecutor extends AbstractQueryProcessExecutor {
         values[i] = checkValue(dataTypes[i], values[i]);
       }
       insertPlan.setDataTypes(dataTypes);
-      return storageEngine.insert(insertPlan);
-
-    } catch (PathErrorException | StorageEngineException e) {
+    } catch (PathErrorException e) {
       throw new ProcessorException(e);
     }
   }
@@ -39,6 +39,11 @@ public class QueryOperator extends SFWOperator {
   private int seriesLimit;
   private int seriesOffset;
   private boolean hasSlimit = false; // false if sql does not contain SLIMIT clause
+  private int rowLimit = 0; // 0 if sql does not contain LIMIT clause
+  private int rowOffset = 0;
+  private boolean ascending = true; // false if sql contains ORDER BY time DESC
+  private boolean explain = false; // true if sql starts with EXPLAIN
+  private boolean analyze = false; // true if sql starts with EXPLAIN ANALYZE
   public QueryOperator(int tokenIntType) {
     super(tokenIntType);
     operatorType = Operator.OperatorType.QUERY;
@@ -93,6 +98,46 @@ public class QueryOperator extends SFWOperator {
     return hasSlimit;
   }
 
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public void setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public boolean isAscending() {
+    return ascending;
+  }
+
+  public void setAscending(boolean ascending) {
+    this.ascending = ascending;
+  }
+
+  public boolean isExplain() {
+    return explain;
+  }
+
+  public void setExplain(boolean explain) {
+    this.explain = explain;
+  }
+
+  public boolean isAnalyze() {
+    return analyze;
+  }
+
+  public void setAnalyze(boolean analyze) {
+    this.analyze = analyze;
+  }
+
+  public void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+  }
+
   public long getUnit() {
     return unit;
   }
@@ -31,6 +31,24 @@ public class QueryPlan extends PhysicalPlan {
   private List<Path> paths = null;
   private IExpression expression = null;
 
+  /**
+   * the number of rows to return and to skip before, as in LIMIT and OFFSET. 0 if not constrained.
+   */
+  private int rowLimit = 0;
+  private int rowOffset = 0;
+
+  /**
+   * whether the rows are returned in ascending time order, false as in ORDER BY time DESC.
+   */
+  private boolean ascending = true;
+
+  /**
+   * whether the plan itself is returned instead of the rows, as in EXPLAIN, and whether the query
+   * is then executed to return how it reads the data as well, as in EXPLAIN ANALYZE.
+   */
+  private boolean explain = false;
+  private boolean analyze = false;
+
   public QueryPlan() {
     super(true);
     setOperatorType(Operator.OperatorType.QUERY);
@@ -67,4 +85,48 @@ public class QueryPlan extends PhysicalPlan {
   public void setPaths(List<Path> paths) {
     this.paths = paths;
   }
+
+  public int getRowLimit() {
+    return rowLimit;
+  }
+
+  public void setRowLimit(int rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  public void setRowOffset(int rowOffset) {
+    this.rowOffset = rowOffset;
+  }
+
+  public boolean hasRowConstraint() {
+    return rowLimit > 0 || rowOffset > 0;
+  }
+
+  public boolean isAscending() {
+    return ascending;
+  }
+
+  public void setAscending(boolean ascending) {
+    this.ascending = ascending;
+  }
+
+  public boolean isExplain() {
+    return explain;
+  }
+
+  public void setExplain(boolean explain) {
+    this.explain = explain;
+  }
+
+  public boolean isAnalyze() {
+    return analyze;
+  }
+
+  public void setAnalyze(boolean analyze) {
+    this.analyze = analyze;
+  }
 }
@@ -0,0 +1,367 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp.strategy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.apache.iotdb.db.qp.constant.SQLConstant;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.sql.parse.TSParser;
+
+/**
+ * <p>
+ * InsertStatementParser parses the insertions of the common shape, i.e. "insert into
+ * root.a.b(timestamp, s1, s2) values(1, 2.0, 'c')", into {@link InsertPlan}s directly, which skips
+ * building the ast tree and the logical operator of the statements.
+ * </p>
+ * <p>
+ * It follows the lexer of TSParser for the keywords, the identifiers and the literals, and accepts
+ * a subset of the grammar: the nodes of the device and the measurements are identifiers, the time is
+ * a positive integer and the values are numbers, booleans or strings. Any other statement, including
+ * an ill-formed insertion, is left to the ANTLR parser, which reports the errors.
+ * </p>
+ */
+public class InsertStatementParser {
+
+  private static final String KEYWORD_PREFIX = "KW_";
+  private static final String INSERT = "insert";
+  private static final String INTO = "into";
+  private static final String TIMESTAMP = "timestamp";
+  private static final String VALUES = "values";
+
+  /**
+   * the words the lexer never takes as identifiers, in upper case.
+   */
+  private static final Set<String> RESERVED_WORDS = new HashSet<>();
+
+  static {
+    for (String tokenName : TSParser.tokenNames) {
+      if (tokenName.startsWith(KEYWORD_PREFIX)) {
+        RESERVED_WORDS.add(tokenName.substring(KEYWORD_PREFIX.length()));
+      }
+    }
+    RESERVED_WORDS.add("TRUE");
+    RESERVED_WORDS.add("FALSE");
+  }
+
+  private final String statement;
+  private int pos;
+
+  private InsertStatementParser(String statement) {
+    this.statement = statement;
+  }
+
+  /**
+   * @return the plan of the insertion, or null if the statement is not an insertion of the common
+   * shape and should be parsed by the ANTLR parser
+   */
+  public static InsertPlan parse(String statement) {
+    return new InsertStatementParser(statement).parseInsert();
+  }
+
+  private InsertPlan parseInsert() {
+    if (!matchKeyword(INSERT) || !matchKeyword(INTO)) {
+      return null;
+    }
+    String deviceId = parseDevice();
+    if (deviceId == null || !matchChar('(') || !matchKeyword(TIMESTAMP)) {
+      return null;
+    }
+    List<String> measurements = new ArrayList<>();
+    while (matchChar(',')) {
+      String measurement = parseIdentifier();
+      if (measurement == null) {
+        return null;
+      }
+      measurements.add(measurement);
+    }
+    if (measurements.isEmpty() || !matchChar(')')) {
+      return null;
+    }
+
+    String[] values = scanValues(statement, pos);
+    if (values == null || values.length != measurements.size() + 1) {
+      return null;
+    }
+    long time;
+    try {
+      time = Long.parseLong(values[0]);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    if (time <= 0) {
+      return null;
+    }
+    String[] measurementValues = new String[measurements.size()];
+    System.arraycopy(values, 1, measurementValues, 0, measurementValues.length);
+    return new InsertPlan(deviceId, time, measurements.toArray(new String[0]), measurementValues);
+  }
+
+  private String parseDevice() {
+    if (!matchKeyword(SQLConstant.ROOT)) {
+      return null;
+    }
+    StringBuilder deviceId = new StringBuilder(SQLConstant.ROOT);
+    while (matchChar('.')) {
+      String node = parseIdentifier();
+      if (node == null) {
+        return null;
+      }
+      deviceId.append('.').append(node);
+    }
+    return deviceId.toString();
+  }
+
+  /**
+   * @return the identifier at the current position, or null if there is none or it is a keyword
+   */
+  private String parseIdentifier() {
+    pos = skipWhitespace(statement, pos);
+    if (pos >= statement.length() || !isIdentifierStart(statement.charAt(pos))) {
+      return null;
+    }
+    int end = skipIdentifier(statement, pos);
+    String identifier = statement.substring(pos, end);
+    if (RESERVED_WORDS.contains(identifier.toUpperCase(Locale.ENGLISH))) {
+      return null;
+    }
+    pos = end;
+    return identifier;
+  }
+
+  private boolean matchKeyword(String keyword) {
+    int start = skipWhitespace(statement, pos);
+    int end = start + keyword.length();
+    if (!statement.regionMatches(true, start, keyword, 0, keyword.length())
+        || skipIdentifier(statement, start) != end) {
+      return false;
+    }
+    pos = end;
+    return true;
+  }
+
+  private boolean matchChar(char c) {
+    int start = skipWhitespace(statement, pos);
+    if (start >= statement.length() || statement.charAt(start) != c) {
+      return false;
+    }
+    pos = start + 1;
+    return true;
+  }
+
+  /**
+   * @return the statement until the end of the list of the measurements, if the statement looks
+   * like "insert into device(timestamp, measurements) values(...)", otherwise null
+   */
+  public static String getInsertPrefix(String statement) {
+    int start = skipWhitespace(statement, 0);
+    if (!statement.regionMatches(true, start, INSERT, 0, INSERT.length())) {
+      return null;
+    }
+    int end = statement.indexOf(')', start);
+    if (end < 0) {
+      return null;
+    }
+    for (int i = start; i < end; i++) {
+      char c = statement.charAt(i);
+      if (c == '\'' || c == '"') {
+        return null;
+      }
+    }
+    int valuesStart = skipWhitespace(statement, end + 1);
+    if (!statement.regionMatches(true, valuesStart, VALUES, 0, VALUES.length())) {
+      return null;
+    }
+    return statement.substring(0, end + 1);
+  }
+
+  /**
+   * scan "values" and the literals in the parentheses after it as the lexer does.
+   *
+   * @param start the end of the list of the measurements
+   * @return the text of the time and the values, or null if the time is not an integer, a value is
+   * not a number, a boolean or a string, or the statement is not well formed
+   */
+  public static String[] scanValues(String statement, int start) {
+    int pos = skipWhitespace(statement, start);
+    if (!statement.regionMatches(true, pos, VALUES, 0, VALUES.length())) {
+      return null;
+    }
+    pos = skipWhitespace(statement, pos + VALUES.length());
+    if (pos >= statement.length() || statement.charAt(pos) != '(') {
+      return null;
+    }
+    List<String> values = new ArrayList<>();
+    while (true) {
+      pos = skipWhitespace(statement, pos + 1);
+      if (pos >= statement.length()) {
+        return null;
+      }
+      int end;
+      char c = statement.charAt(pos);
+      if (c == '\'' || c == '"') {
+        end = scanString(statement, pos);
+      } else {
+        end = scanLiteral(statement, pos);
+        if (!isNumberOrBoolean(statement, pos, end)) {
+          return null;
+        }
+      }
+      if (end < 0) {
+        return null;
+      }
+      values.add(statement.substring(pos, end));
+      pos = skipWhitespace(statement, end);
+      if (pos >= statement.length()) {
+        return null;
+      }
+      c = statement.charAt(pos);
+      if (c == ')') {
+        break;
+      }
+      if (c != ',') {
+        return null;
+      }
+    }
+    pos = skipWhitespace(statement, pos + 1);
+    if (pos < statement.length() && statement.charAt(pos) == ';') {
+      pos = skipWhitespace(statement, pos + 1);
+    }
+    if (pos < statement.length() || values.size() < 2
+        || !isInteger(values.get(0), 0, values.get(0).length())) {
+      return null;
+    }
+    return values.toArray(new String[0]);
+  }
+
+  /**
+   * @return the end of the string literal starting at start, or -1 if it is not closed
+   */
+  private static int scanString(String statement, int start) {
+    char quote = statement.charAt(start);
+    int pos = start + 1;
+    while (pos < statement.length()) {
+      char c = statement.charAt(pos);
+      char next = pos + 1 < statement.length() ? statement.charAt(pos + 1) : 0;
+      if ((c == '\\' && (next == '\\' || next == quote)) || (c == quote && next == quote)) {
+        pos += 2;
+      } else if (c == quote) {
+        return pos + 1;
+      } else {
+        pos++;
+      }
+    }
+    return -1;
+  }
+
+  private static int scanLiteral(String statement, int start) {
+    int pos = start;
+    while (pos < statement.length()) {
+      char c = statement.charAt(pos);
+      if (c == ',' || c == ')' || isWhitespace(c)) {
+        break;
+      }
+      pos++;
+    }
+    return pos;
+  }
+
+  /**
+   * whether the text is an integer, a float or a boolean of the lexer.
+   */
+  private static boolean isNumberOrBoolean(String statement, int start, int end) {
+    int length = end - start;
+    return isInteger(statement, start, end) || isFloat(statement, start, end)
+        || (length == 4 && statement.regionMatches(true, start, "true", 0, length))
+        || (length == 5 && statement.regionMatches(true, start, "false", 0, length));
+  }
+
+  private static boolean isInteger(String text, int start, int end) {
+    int pos = skipSign(text, start, end);
+    return pos < end && scanDigits(text, pos, end) == end;
+  }
+
+  private static boolean isFloat(String text, int start, int end) {
+    int pos = skipSign(text, start, end);
+    int dot = scanDigits(text, pos, end);
+    if (dot == pos || dot >= end || text.charAt(dot) != '.') {
+      return false;
+    }
+    int fractionEnd = scanDigits(text, dot + 1, end);
+    if (fractionEnd == dot + 1) {
+      return false;
+    }
+    if (fractionEnd == end) {
+      return true;
+    }
+    if (text.charAt(fractionEnd) != 'e' && text.charAt(fractionEnd) != 'E') {
+      return false;
+    }
+    int exponent = skipSign(text, fractionEnd + 1, end);
+    return exponent < end && scanDigits(text, exponent, end) == end;
+  }
+
+  private static int skipSign(String text, int start, int end) {
+    return start < end && (text.charAt(start) == '+' || text.charAt(start) == '-')
+        ? start + 1 : start;
+  }
+
+  private static int scanDigits(String text, int start, int end) {
+    int pos = start;
+    while (pos < end && isDigit(text.charAt(pos))) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private static int skipIdentifier(String statement, int start) {
+    int pos = start;
+    while (pos < statement.length() && (isIdentifierStart(statement.charAt(pos))
+        || isDigit(statement.charAt(pos)) || statement.charAt(pos) == '-')) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private static int skipWhitespace(String statement, int start) {
+    int pos = start;
+    while (pos < statement.length() && isWhitespace(statement.charAt(pos))) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * the white spaces of the lexer.
+   */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\r' || c == '\t' || c == '\n';
+  }
+}
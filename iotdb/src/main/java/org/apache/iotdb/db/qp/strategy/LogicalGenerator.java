@@ -36,6 +36,7 @@ import org.apache.iotdb.db.exception.qp.QueryProcessorException;
 import org.apache.iotdb.db.qp.constant.DatetimeUtils;
 import org.apache.iotdb.db.qp.constant.SQLConstant;
 import org.apache.iotdb.db.qp.constant.TSParserConstant;
+import org.apache.iotdb.db.qp.logical.Operator.OperatorType;
 import org.apache.iotdb.db.qp.logical.RootOperator;
 import org.apache.iotdb.db.qp.logical.crud.BasicFunctionOperator;
 import org.apache.iotdb.db.qp.logical.crud.DeleteOperator;
@@ -50,6 +51,7 @@ import org.apache.iotdb.db.qp.logical.sys.AuthorOperator;
 import org.apache.iotdb.db.qp.logical.sys.LoadDataOperator;
 import org.apache.iotdb.db.qp.logical.sys.MetadataOperator;
 import org.apache.iotdb.db.qp.logical.sys.PropertyOperator;
+import org.apache.iotdb.db.qp.logical.sys.ShowOperator;
 import org.apache.iotdb.db.query.fill.IFill;
 import org.apache.iotdb.db.query.fill.LinearFill;
 import org.apache.iotdb.db.query.fill.PreviousFill;
@@ -197,6 +199,19 @@ public class LogicalGenerator {
       case TSParser.TOK_LIMIT:
         analyzeLimit(astNode);
         return;
+      case TSParser.TOK_OFFSET:
+        analyzeOffset(astNode);
+        return;
+      case TSParser.TOK_ORDER_BY:
+        analyzeOrderBy(astNode);
+        return;
+      case TSParser.TOK_EXPLAIN:
+        analyzeExplain(astNode);
+        return;
+      case TSParser.TOK_SHOW_SLOW_QUERIES:
+        initializedOperator = new ShowOperator(SQLConstant.TOK_SHOW,
+            OperatorType.SHOW_SLOW_QUERIES);
+        return;
       case TSParser.TOK_SLIMIT:
         analyzeSlimit(astNode);
         return;
@@ -253,6 +268,34 @@ public class LogicalGenerator {
       throw new LogicalOperatorException(
           "LIMIT <N>: N must be a positive integer and can not be zero.");
     }
+    ((QueryOperator) initializedOperator).setRowLimit(rowsLimit);
+  }
+
+  private void analyzeOrderBy(AstNode astNode) {
+    // ORDER BY time is ascending unless DESC is given
+    boolean ascending = astNode.getChildCount() == 0
+        || astNode.getChild(0).getType() != TSParser.KW_DESC;
+    ((QueryOperator) initializedOperator).setAscending(ascending);
+  }
+
+  private void analyzeExplain(AstNode astNode)
+      throws QueryProcessorException, ArgsErrorException, MetadataErrorException {
+    // the first child is the query, followed by ANALYZE if it is given
+    analyze(astNode.getChild(0));
+    QueryOperator queryOperator = (QueryOperator) initializedOperator;
+    queryOperator.setExplain(true);
+    queryOperator.setAnalyze(astNode.getChildCount() > 1);
+  }
+
+  private void analyzeOffset(AstNode astNode) throws LogicalOperatorException {
+    AstNode unit = astNode.getChild(0);
+    try {
+      // NOTE rowsOffset is ensured to be a non negative integer after the lexical examination.
+      ((QueryOperator) initializedOperator)
+          .setRowOffset(Integer.parseInt(unit.getText().trim()));
+    } catch (NumberFormatException e) {
+      throw new LogicalOperatorException("OFFSET <OFFSETValue>: OFFSETValue should be Int32.");
+    }
   }
 
   private void analyzeList(AstNode astNode) {
@@ -45,6 +45,7 @@ import org.apache.iotdb.db.qp.physical.sys.AuthorPlan;
 import org.apache.iotdb.db.qp.physical.sys.LoadDataPlan;
 import org.apache.iotdb.db.qp.physical.sys.MetadataPlan;
 import org.apache.iotdb.db.qp.physical.sys.PropertyPlan;
+import org.apache.iotdb.db.qp.physical.sys.ShowPlan;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
 
@@ -75,6 +76,8 @@ public class PhysicalGenerator {
       case LOADDATA:
         LoadDataOperator loadData = (LoadDataOperator) operator;
         return new LoadDataPlan(loadData.getInputFilePath(), loadData.getMeasureType());
+      case SHOW_SLOW_QUERIES:
+        return new ShowPlan(operator.getType());
       case SET_STORAGE_GROUP:
       case CREATE_TIMESERIES:
       case DELETE_TIMESERIES:
@@ -234,6 +237,11 @@ public class PhysicalGenerator {
 
     QueryPlan queryPlan;
 
+    if (!queryOperator.isAscending() && (queryOperator.isGroupBy() || queryOperator.isFill())) {
+      throw new QueryProcessorException(
+          "ORDER BY time DESC is not supported for group by or fill queries");
+    }
+
     if (queryOperator.isGroupBy()) {
       queryPlan = new GroupByPlan();
       ((GroupByPlan) queryPlan).setUnit(queryOperator.getUnit());
@@ -260,6 +268,12 @@ public class PhysicalGenerator {
     // set selected paths
     List<Path> paths = queryOperator.getSelectedPaths();
     queryPlan.setPaths(paths);
+    queryPlan.setRowLimit(queryOperator.getRowLimit());
+    queryPlan.setRowOffset(queryOperator.getRowOffset());
+    // ignored by the aggregations, which return a single row
+    queryPlan.setAscending(queryOperator.isAscending());
+    queryPlan.setExplain(queryOperator.isExplain());
+    queryPlan.setAnalyze(queryOperator.isAnalyze());
 
     // transform filter operator to expression
     FilterOperator filterOperator = queryOperator.getFilterOperator();
@@ -121,8 +121,9 @@ public class LastAggrFunc extends AggregateFunction {
 
     long time = -1;
     Object lastVal = null;
+    Object[] values = dataReader.getValuesInTimestamps(timestamps, length);
     for (int i = 0; i < length; i++) {
-      Object value = dataReader.getValueInTimestamp(timestamps[i]);
+      Object value = values[i];
       if (value != null) {
         time = timestamps[i];
         lastVal = value;
@@ -25,6 +25,11 @@ import java.util.List;
 import java.util.Map;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.exception.QueryInterruptedException;
+import org.apache.iotdb.db.query.context.QueryStatistics.SeriesStatistics;
+import org.apache.iotdb.db.query.control.QueryMemoryManager;
+import org.apache.iotdb.db.query.control.SlowQueryRecord;
+import org.apache.iotdb.tsfile.read.common.Path;
 
 /**
  * QueryContext contains the shared information with in a query.
@@ -45,6 +50,26 @@ public class QueryContext {
 
   private long jobId;
 
+  /**
+   * the timeout (in ms) of the query and the time when it expires, 0 and Long.MAX_VALUE if the
+   * query has no timeout.
+   */
+  private long timeout = 0;
+  private long deadline = Long.MAX_VALUE;
+
+  private volatile boolean isCancelled = false;
+
+  /**
+   * how the query reads its series, null unless enabled by {@link #enableStatistics()}.
+   */
+  private QueryStatistics statistics;
+
+  /**
+   * the times and resources of the statement of the query for the slow query log, null if the
+   * query is not issued by a client.
+   */
+  private SlowQueryRecord slowQueryRecord;
+
   public QueryContext() {
   }
 
@@ -54,9 +79,11 @@ public class QueryContext {
 
   /**
    * Find the modifications of timeseries 'path' in 'modFile'. If they are not in the cache, read
-   * them from 'modFile' and put then into the cache.
+   * them from 'modFile' and put then into the cache. It is synchronized because the series of a
+   * query may be read by several threads.
    */
-  public List<Modification> getPathModifications(ModificationFile modFile, String path) {
+  public synchronized List<Modification> getPathModifications(ModificationFile modFile,
+      String path) {
 
     Map<String, List<Modification>> fileModifications =
         filePathModCache.computeIfAbsent(modFile.getFilePath(), k -> new HashMap<>());
@@ -87,4 +114,91 @@ public class QueryContext {
     return jobId;
   }
 
+  /**
+   * reserve memory for the data held by this query, see {@link QueryMemoryManager#reserve}.
+   */
+  public void reserveMemory(long size) {
+    QueryMemoryManager.getInstance().reserve(jobId, size);
+  }
+
+  /**
+   * reserve memory for the data held by this query without waiting, see {@link
+   * QueryMemoryManager#reserveWithoutWaiting}.
+   */
+  public void reserveMemoryWithoutWaiting(long size) {
+    QueryMemoryManager.getInstance().reserveWithoutWaiting(jobId, size);
+  }
+
+  public void releaseMemory(long size) {
+    QueryMemoryManager.getInstance().release(jobId, size);
+  }
+
+  /**
+   * let the query expire in timeout ms from now, a timeout <= 0 means no timeout.
+   */
+  public void setTimeout(long timeout) {
+    if (timeout > 0) {
+      this.timeout = timeout;
+      this.deadline = System.currentTimeMillis() + timeout;
+    } else {
+      this.timeout = 0;
+      this.deadline = Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * cancel the query, which stops at its next check of {@link #checkInterrupted()}. It may be
+   * called by any thread.
+   */
+  public void cancel() {
+    isCancelled = true;
+  }
+
+  /**
+   * check whether the query is cancelled or has run out of time. It is called in the loops of the
+   * data sets, executors and readers of the query, so that they stop promptly and the query
+   * releases its resources.
+   *
+   * @throws QueryInterruptedException if the query is cancelled or has expired
+   */
+  public void checkInterrupted() {
+    if (isCancelled) {
+      throw new QueryInterruptedException(String.format("Query %d is cancelled", jobId));
+    }
+    if (deadline != Long.MAX_VALUE && System.currentTimeMillis() > deadline) {
+      throw new QueryInterruptedException(String.format(
+          "Query %d runs longer than its timeout %d ms and is stopped", jobId, timeout));
+    }
+  }
+
+  /**
+   * collect the statistics of the query, as for EXPLAIN ANALYZE. It must be called before the
+   * readers of the query are created.
+   */
+  public void enableStatistics() {
+    statistics = new QueryStatistics();
+  }
+
+  /**
+   * @return null if the statistics are not enabled
+   */
+  public QueryStatistics getStatistics() {
+    return statistics;
+  }
+
+  public SlowQueryRecord getSlowQueryRecord() {
+    return slowQueryRecord;
+  }
+
+  public void setSlowQueryRecord(SlowQueryRecord slowQueryRecord) {
+    this.slowQueryRecord = slowQueryRecord;
+  }
+
+  /**
+   * @return the statistics of a series read by the query, null if the statistics are not enabled
+   */
+  public SeriesStatistics getSeriesStatistics(Path path) {
+    return statistics == null ? null : statistics.getSeriesStatistics(path);
+  }
+
 }
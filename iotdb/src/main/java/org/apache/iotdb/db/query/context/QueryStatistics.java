@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.context;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.apache.iotdb.tsfile.read.common.Path;
+
+/**
+ * QueryStatistics collects how a query reads its series, i.e. the files, chunks and pages read or
+ * skipped by their metadata, and the wall time of each stage of the query. It is only collected
+ * for EXPLAIN ANALYZE, see {@link QueryContext#enableStatistics()}. The series of a query may be
+ * read by several threads, so the methods are synchronized.
+ */
+public class QueryStatistics {
+
+  /**
+   * key: series path, value: the statistics of the series, in the order the series are first read.
+   */
+  private Map<String, SeriesStatistics> seriesStatisticsMap = new LinkedHashMap<>();
+
+  /**
+   * key: stage name, value: the wall time of the stage in ms, in the order of the stages.
+   */
+  private Map<String, Long> stageTimeMap = new LinkedHashMap<>();
+
+  /**
+   * the rows served from the result cache, for which no series is read, and whether the rest of
+   * the rows are queried.
+   */
+  private long cachedRowNum = 0;
+  private boolean isPartiallyCached = false;
+
+  public synchronized SeriesStatistics getSeriesStatistics(Path path) {
+    return seriesStatisticsMap.computeIfAbsent(path.getFullPath(), k -> new SeriesStatistics());
+  }
+
+  /**
+   * @param startTime the time when the stage starts, the stage ends now
+   */
+  public synchronized void addStageTime(String stage, long startTime) {
+    stageTimeMap.merge(stage, System.currentTimeMillis() - startTime, Long::sum);
+  }
+
+  /**
+   * @param isPartial whether the rest of the rows are queried
+   */
+  public synchronized void setCachedRows(long cachedRowNum, boolean isPartial) {
+    this.cachedRowNum = cachedRowNum;
+    this.isPartiallyCached = isPartial;
+  }
+
+  /**
+   * @return the statistics as lines of text, the result cache, the stages and then the series
+   */
+  public synchronized List<String> toLines() {
+    List<String> lines = new ArrayList<>();
+    if (cachedRowNum > 0) {
+      lines.add(String.format("Served from result cache: %d rows%s", cachedRowNum,
+          isPartiallyCached ? ", the rest queried" : ""));
+    }
+    for (Entry<String, Long> entry : stageTimeMap.entrySet()) {
+      lines.add(String.format("%s: %d ms", entry.getKey(), entry.getValue()));
+    }
+    for (Entry<String, SeriesStatistics> entry : seriesStatisticsMap.entrySet()) {
+      lines.add(entry.getKey() + ":");
+      lines.addAll(entry.getValue().toLines());
+    }
+    return lines;
+  }
+
+  public static class SeriesStatistics {
+
+    private long seqFileNum;
+    private long prunedSeqFileNum;
+    private long unseqFileNum;
+    private long prunedUnseqFileNum;
+    private long readChunkNum;
+    private long skippedChunkNum;
+    private long readPageNum;
+    private long skippedPageNum;
+    private long uncompressedBytes;
+    private long decodedPointNum;
+    private long memChunkNum;
+
+    /**
+     * the maximal number of unsequence chunks merged at the same time.
+     */
+    private int unseqMergeDepth;
+
+    private SeriesStatistics() {
+    }
+
+    /**
+     * @param isSeq whether the file is a sequence file
+     * @param isPruned whether the file is skipped by its time range
+     */
+    public synchronized void addFile(boolean isSeq, boolean isPruned) {
+      if (isSeq) {
+        seqFileNum++;
+        prunedSeqFileNum += isPruned ? 1 : 0;
+      } else {
+        unseqFileNum++;
+        prunedUnseqFileNum += isPruned ? 1 : 0;
+      }
+    }
+
+    public synchronized void addChunks(long readChunkNum, long skippedChunkNum) {
+      this.readChunkNum += readChunkNum;
+      this.skippedChunkNum += skippedChunkNum;
+    }
+
+    /**
+     * @param uncompressedBytes bytes of the pages read after uncompression
+     * @param decodedPointNum points decoded from the pages read
+     */
+    public synchronized void addPages(long readPageNum, long skippedPageNum,
+        long uncompressedBytes, long decodedPointNum) {
+      this.readPageNum += readPageNum;
+      this.skippedPageNum += skippedPageNum;
+      this.uncompressedBytes += uncompressedBytes;
+      this.decodedPointNum += decodedPointNum;
+    }
+
+    public synchronized void addMemChunk() {
+      memChunkNum++;
+    }
+
+    public synchronized void updateUnseqMergeDepth(int mergedChunkNum) {
+      unseqMergeDepth = Math.max(unseqMergeDepth, mergedChunkNum);
+    }
+
+    public synchronized long getReadChunkNum() {
+      return readChunkNum;
+    }
+
+    public synchronized long getSkippedChunkNum() {
+      return skippedChunkNum;
+    }
+
+    public synchronized long getPrunedSeqFileNum() {
+      return prunedSeqFileNum;
+    }
+
+    public synchronized long getDecodedPointNum() {
+      return decodedPointNum;
+    }
+
+    public synchronized int getUnseqMergeDepth() {
+      return unseqMergeDepth;
+    }
+
+    private synchronized List<String> toLines() {
+      List<String> lines = new ArrayList<>();
+      lines.add(String.format("  sequence files: %d, pruned: %d", seqFileNum, prunedSeqFileNum));
+      lines.add(String.format("  unsequence files: %d, pruned: %d", unseqFileNum,
+          prunedUnseqFileNum));
+      lines.add(String.format("  chunks read: %d, skipped: %d, in memory: %d", readChunkNum,
+          skippedChunkNum, memChunkNum));
+      lines.add(String.format("  pages read: %d, skipped: %d", readPageNum, skippedPageNum));
+      lines.add(String.format("  bytes uncompressed: %d, points decoded: %d", uncompressedBytes,
+          decodedPointNum));
+      lines.add(String.format("  unsequence merge depth: %d", unseqMergeDepth));
+      return lines;
+    }
+  }
+}
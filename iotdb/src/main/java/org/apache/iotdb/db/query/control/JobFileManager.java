@@ -70,6 +70,16 @@ public class JobFileManager {
     }
   }
 
+  /**
+   * @return the number of the files used by the job until it ends
+   */
+  public int getUsedFileNum(long jobId) {
+    Set<String> sealedFilePaths = sealedFilePathsMap.get(jobId);
+    Set<String> unsealedFilePaths = unsealedFilePathsMap.get(jobId);
+    return (sealedFilePaths == null ? 0 : sealedFilePaths.size())
+        + (unsealedFilePaths == null ? 0 : unsealedFilePaths.size());
+  }
+
   /**
    * Whenever the jdbc request is closed normally or abnormally, this method must be invoked. All file paths used by
    * this jdbc request must be cleared and thus the usage reference must be decreased.
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import java.io.IOException;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
+
+/**
+ * A ChunkLoader for the readers of a query which read the chunks one by one. Unlike
+ * <code>ChunkLoaderImpl</code>, which caches the loaded chunks until the query ends, it only keeps
+ * the last loaded chunk, whose memory is reserved in the {@link QueryMemoryManager} and released
+ * when the next chunk is loaded or the loader is closed.
+ * <p>
+ * The file reader is shared by the queries and managed by {@link FileReaderManager}, so it is not
+ * closed with the loader.
+ */
+public class QueryChunkLoader implements ChunkLoader {
+
+  private TsFileSequenceReader reader;
+  private QueryContext context;
+
+  private ChunkMetaData cachedMetaData;
+  private Chunk cachedChunk;
+  private long reservedSize;
+
+  public QueryChunkLoader(TsFileSequenceReader reader, QueryContext context) {
+    this.reader = reader;
+    this.context = context;
+  }
+
+  @Override
+  public Chunk getChunk(ChunkMetaData chunkMetaData) throws IOException {
+    if (!chunkMetaData.equals(cachedMetaData)) {
+      context.checkInterrupted();
+      release();
+      Chunk chunk = reader.readMemChunk(chunkMetaData);
+      long size = QueryMemoryManager.estimateChunkSize(chunk);
+      context.reserveMemory(size);
+      reservedSize = size;
+      cachedMetaData = chunkMetaData;
+      cachedChunk = chunk;
+    }
+    Chunk chunkRet = new Chunk(cachedChunk.getHeader(), cachedChunk.getData().duplicate());
+    chunkRet.setDeletedAt(chunkMetaData.getDeletedAt());
+    chunkRet.setPageIndex(cachedChunk.getPageIndex());
+    return chunkRet;
+  }
+
+  private void release() {
+    if (cachedChunk != null) {
+      context.releaseMemory(reservedSize);
+      reservedSize = 0;
+      cachedMetaData = null;
+      cachedChunk = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    release();
+  }
+}
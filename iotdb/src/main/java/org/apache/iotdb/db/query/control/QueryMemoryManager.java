@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.QueryMemoryExceededException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * QueryMemoryManager enforces the memory allocated for read (allocate_memory_for_read) on the
+ * queries. Before a query holds a large piece of data, i.e. a chunk read from disk, a snapshot of a
+ * memtable or a batch of results, it reserves the estimated memory of it here, and releases it
+ * once the data is not used. All memory reserved by a query is released when the query ends, in
+ * {@link QueryResourceManager#endQueryForGivenJob(long)}.
+ * </p>
+ * <p>
+ * When the free memory is not enough, a reservation waits at most read_memory_wait_time_in_ms for
+ * the other queries to release memory and then fails with a {@link QueryMemoryExceededException},
+ * instead of letting the queries exhaust the heap shared with the insertions.
+ * </p>
+ */
+public class QueryMemoryManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryMemoryManager.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  /**
+   * estimated memory size of a TimeValuePair, including its TsPrimitiveType.
+   */
+  private static final long TIME_VALUE_PAIR_SIZE = 64;
+
+  /**
+   * estimated memory size of a row of results and of each of its fields, counting both the
+   * RowRecord and the TSRowRecord converted from it.
+   */
+  private static final long ROW_SIZE = 64;
+  private static final long FIELD_SIZE = 96;
+
+  private long usedMemory = 0;
+
+  /**
+   * key: job id, value: the memory reserved by the job.
+   */
+  private Map<Long, Long> jobMemoryMap = new HashMap<>();
+
+  /**
+   * key: job id, value: the most memory reserved by the job at the same time.
+   */
+  private Map<Long, Long> jobPeakMemoryMap = new HashMap<>();
+
+  private QueryMemoryManager() {
+  }
+
+  public static QueryMemoryManager getInstance() {
+    return QueryMemoryManagerHolder.INSTANCE;
+  }
+
+  /**
+   * reserve memory for a job, wait for the other jobs to release memory if the free memory is not
+   * enough.
+   *
+   * @throws QueryMemoryExceededException if the memory is still not enough after waiting
+   */
+  public void reserve(long jobId, long size) {
+    reserve(jobId, size, config.getReadMemoryWaitTimeInMs());
+  }
+
+  /**
+   * reserve memory for a job without waiting, used when the caller holds locks that the other
+   * queries or the insertions may need.
+   *
+   * @throws QueryMemoryExceededException if the free memory is not enough
+   */
+  public void reserveWithoutWaiting(long jobId, long size) {
+    reserve(jobId, size, 0);
+  }
+
+  private synchronized void reserve(long jobId, long size, long waitTime) {
+    long totalMemory = config.getAllocateMemoryForRead();
+    long deadline = System.currentTimeMillis() + waitTime;
+    long remainingTime = waitTime;
+    while (usedMemory + size > totalMemory && size <= totalMemory && remainingTime > 0) {
+      try {
+        wait(remainingTime);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      remainingTime = deadline - System.currentTimeMillis();
+    }
+    if (usedMemory + size > totalMemory) {
+      logger.warn("Query {} cannot reserve {} bytes of memory, {} of {} bytes are used", jobId,
+          size, usedMemory, totalMemory);
+      throw new QueryMemoryExceededException(String.format(
+          "The query needs %d bytes of memory but only %d of the %d bytes allocated for read are "
+              + "free, please narrow down the query or retry later", size,
+          Math.max(totalMemory - usedMemory, 0), totalMemory));
+    }
+    usedMemory += size;
+    updatePeakMemory(jobId, jobMemoryMap.merge(jobId, size, Long::sum));
+  }
+
+  /**
+   * reserve memory for a batch of results to be sent, fewer rows are reserved if the free memory
+   * is not enough for all of them, but at least one.
+   *
+   * @return the number of rows reserved, whose memory is released by the caller once the batch is
+   * sent
+   */
+  public synchronized int reserveBatch(long jobId, int rowNum, int columnNum) {
+    long rowSize = ROW_SIZE + FIELD_SIZE * columnNum;
+    long freeMemory = config.getAllocateMemoryForRead() - usedMemory;
+    int reservedRowNum = (int) Math.max(Math.min(rowNum, freeMemory / rowSize), 1);
+    if (reservedRowNum < rowNum) {
+      logger.debug("Memory for read is not enough for {} rows of query {}, send {} rows", rowNum,
+          jobId, reservedRowNum);
+    }
+    usedMemory += reservedRowNum * rowSize;
+    updatePeakMemory(jobId, jobMemoryMap.merge(jobId, reservedRowNum * rowSize, Long::sum));
+    return reservedRowNum;
+  }
+
+  private void updatePeakMemory(long jobId, long jobMemory) {
+    jobPeakMemoryMap.merge(jobId, jobMemory, Math::max);
+  }
+
+  public static long estimateBatchSize(int rowNum, int columnNum) {
+    return rowNum * (ROW_SIZE + FIELD_SIZE * columnNum);
+  }
+
+  public synchronized void release(long jobId, long size) {
+    Long jobMemory = jobMemoryMap.get(jobId);
+    if (jobMemory == null) {
+      // the job has ended and released all its memory
+      return;
+    }
+    size = Math.min(size, jobMemory);
+    if (jobMemory == size) {
+      jobMemoryMap.remove(jobId);
+    } else {
+      jobMemoryMap.put(jobId, jobMemory - size);
+    }
+    usedMemory -= size;
+    notifyAll();
+  }
+
+  /**
+   * release all the memory reserved by a job when it ends.
+   */
+  public synchronized void releaseAll(long jobId) {
+    jobPeakMemoryMap.remove(jobId);
+    Long jobMemory = jobMemoryMap.remove(jobId);
+    if (jobMemory != null) {
+      usedMemory -= jobMemory;
+      notifyAll();
+    }
+  }
+
+  public synchronized long getUsedMemory() {
+    return usedMemory;
+  }
+
+  public synchronized long getJobMemory(long jobId) {
+    return jobMemoryMap.getOrDefault(jobId, 0L);
+  }
+
+  /**
+   * @return the most memory reserved by a job at the same time until it ends
+   */
+  public synchronized long getJobPeakMemory(long jobId) {
+    return jobPeakMemoryMap.getOrDefault(jobId, 0L);
+  }
+
+  /**
+   * estimate the memory of a chunk read from disk.
+   */
+  public static long estimateChunkSize(Chunk chunk) {
+    return (long) chunk.getHeader().getSerializedSize() + chunk.getData().capacity();
+  }
+
+  /**
+   * estimate the memory of a snapshot of a series in a memtable, including the copy of the points
+   * and the TimeValuePairs sorted from them.
+   */
+  public static long estimateMemChunkSize(long pointNum, TSDataType dataType) {
+    long pointSize;
+    switch (dataType) {
+      case BOOLEAN:
+        pointSize = 1;
+        break;
+      case INT32:
+      case FLOAT:
+        pointSize = 4;
+        break;
+      default:
+        // INT64, DOUBLE and the reference of a TEXT value
+        pointSize = 8;
+        break;
+    }
+    return pointNum * (Long.BYTES + pointSize + TIME_VALUE_PAIR_SIZE);
+  }
+
+  private static class QueryMemoryManagerHolder {
+
+    private QueryMemoryManagerHolder() {
+    }
+
+    private static final QueryMemoryManager INSTANCE = new QueryMemoryManager();
+  }
+}
@@ -169,11 +169,19 @@ public class QueryResourceManager {
     return queryDataSource;
   }
 
+  /**
+   * @return the number of the TsFiles read by a job until it ends
+   */
+  public int getUsedFileNum(long jobId) {
+    return filePathsManager.getUsedFileNum(jobId);
+  }
+
   /**
    * Whenever the jdbc request is closed normally or abnormally, this method must be invoked. All
    * query tokens created by this jdbc request must be cleared.
    */
   public void endQueryForGivenJob(long jobId) throws StorageEngineException {
+    QueryMemoryManager.getInstance().releaseAll(jobId);
     if (queryTokensMap.get(jobId) == null) {
       // no resource need to be released.
       return;
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * SlowQueryManager captures the statements running longer than slow_query_threshold. A slow
+ * statement is written to the slow query log, i.e. logs/log_slow_query.log, and kept in a ring
+ * buffer of the latest slow_query_record_num ones for "show slow queries".
+ * </p>
+ * <p>
+ * Every statement passes {@link #isSlow(SlowQueryRecord)}, which only compares its time with the
+ * threshold, and the statements are never blocked by each other: the slots of the ring buffer are
+ * claimed by an atomic counter and written atomically.
+ * </p>
+ */
+public class SlowQueryManager {
+
+  private static final Logger SLOW_QUERY_LOGGER = LoggerFactory.getLogger("SLOW_QUERY");
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private AtomicReferenceArray<SlowQueryRecord> records;
+
+  /**
+   * the number of slow queries recorded, whose remainder by the size of the ring buffer is the
+   * slot of the next one.
+   */
+  private AtomicLong recordNum = new AtomicLong();
+
+  private SlowQueryManager() {
+    this(config.getSlowQueryRecordNum());
+  }
+
+  SlowQueryManager(int maxRecordNum) {
+    records = new AtomicReferenceArray<>(Math.max(maxRecordNum, 0));
+  }
+
+  public static SlowQueryManager getInstance() {
+    return SlowQueryManagerHolder.INSTANCE;
+  }
+
+  public boolean isSlow(SlowQueryRecord record) {
+    return record.getTotalTime() >= config.getSlowQueryThreshold();
+  }
+
+  /**
+   * log and keep the record of a statement if it is slow.
+   */
+  public void record(SlowQueryRecord record) {
+    if (!isSlow(record)) {
+      return;
+    }
+    record.setStatement(normalize(record.getStatement()));
+    SLOW_QUERY_LOGGER.info("{} ms, user: {}, parse: {} ms, plan: {} ms, execute: {} ms, "
+            + "fetch: {} ms, files: {}, rows: {}, peak memory: {} B, statement: {}",
+        record.getTotalTime(), record.getUser(), record.getParseTime(), record.getPlanTime(),
+        record.getExecuteTime(), record.getFetchTime(), record.getFileNum(), record.getRowNum(),
+        record.getPeakMemory(), record.getStatement());
+    if (records.length() > 0) {
+      records.set((int) (recordNum.getAndIncrement() % records.length()), record);
+    }
+  }
+
+  /**
+   * @return the slow queries kept, the latest first. A query being recorded at the same time may
+   * be missed.
+   */
+  public List<SlowQueryRecord> getRecords() {
+    List<SlowQueryRecord> result = new ArrayList<>();
+    long num = recordNum.get();
+    for (long i = num - 1; i >= 0 && i >= num - records.length(); i--) {
+      SlowQueryRecord record = records.get((int) (i % records.length()));
+      if (record != null) {
+        result.add(record);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * normalize a statement for the slow query log: the literals are replaced by "?" so that the
+   * statements only differing in their values look the same, and the blanks are collapsed.
+   */
+  public static String normalize(String statement) {
+    StringBuilder builder = new StringBuilder(statement.length());
+    int i = 0;
+    while (i < statement.length()) {
+      char c = statement.charAt(i);
+      if (c == '\'' || c == '"') {
+        // a string, which ends at the same quote
+        int end = statement.indexOf(c, i + 1);
+        i = end < 0 ? statement.length() : end + 1;
+        builder.append('?');
+      } else if (Character.isDigit(c) && !isInIdentifier(builder)) {
+        // a number or a datetime such as 2019-01-01T00:00:00.000+08:00
+        while (i < statement.length() && isInLiteral(statement.charAt(i))) {
+          i++;
+        }
+        builder.append('?');
+      } else if (Character.isWhitespace(c)) {
+        while (i < statement.length() && Character.isWhitespace(statement.charAt(i))) {
+          i++;
+        }
+        if (builder.length() > 0 && i < statement.length()) {
+          builder.append(' ');
+        }
+      } else {
+        builder.append(c);
+        i++;
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * a digit following a letter, a digit, '_' or '.' belongs to an identifier or a path, e.g. s1
+   * or root.sg.1.
+   */
+  private static boolean isInIdentifier(StringBuilder builder) {
+    if (builder.length() == 0) {
+      return false;
+    }
+    char last = builder.charAt(builder.length() - 1);
+    return Character.isLetterOrDigit(last) || last == '_' || last == '.';
+  }
+
+  private static boolean isInLiteral(char c) {
+    return Character.isLetterOrDigit(c) || c == '.' || c == ':' || c == '-' || c == '+';
+  }
+
+  private static class SlowQueryManagerHolder {
+
+    private SlowQueryManagerHolder() {
+    }
+
+    private static final SlowQueryManager INSTANCE = new SlowQueryManager();
+  }
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Field;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.utils.Binary;
+
+/**
+ * SlowQueryRecord collects where the time of a statement goes, from parsing it to fetching the
+ * last batch of its results, and the resources it takes. It is filled by the RPC thread serving
+ * the statement and handed to {@link SlowQueryManager} when the statement ends.
+ */
+public class SlowQueryRecord {
+
+  /**
+   * the columns of "show slow queries", the start time of a statement is its timestamp.
+   */
+  public static final List<String> COLUMNS = Arrays.asList("statement", "user", "total_time",
+      "parse_time", "plan_time", "execute_time", "fetch_time", "file_num", "row_num",
+      "peak_memory");
+  public static final List<TSDataType> COLUMN_TYPES = Arrays.asList(TSDataType.TEXT,
+      TSDataType.TEXT, TSDataType.INT64, TSDataType.INT64, TSDataType.INT64, TSDataType.INT64,
+      TSDataType.INT64, TSDataType.INT64, TSDataType.INT64, TSDataType.INT64);
+
+  private String statement;
+  private String user;
+  private long startTime;
+
+  /**
+   * the time (in ms) of parsing the statement into an ast tree, of transforming the tree into a
+   * physical plan, of executing the plan and of fetching the results.
+   */
+  private long parseTime;
+  private long planTime;
+  private long executeTime;
+  private long fetchTime;
+
+  /**
+   * the number of TsFiles read, the number of rows returned and the most memory (in bytes)
+   * reserved by the query at the same time.
+   */
+  private int fileNum;
+  private long rowNum;
+  private long peakMemory;
+
+  public SlowQueryRecord(String statement, String user) {
+    this.statement = statement;
+    this.user = user;
+    this.startTime = System.currentTimeMillis();
+  }
+
+  public String getStatement() {
+    return statement;
+  }
+
+  void setStatement(String statement) {
+    this.statement = statement;
+  }
+
+  public String getUser() {
+    return user;
+  }
+
+  public long getStartTime() {
+    return startTime;
+  }
+
+  public long getTotalTime() {
+    return parseTime + planTime + executeTime + fetchTime;
+  }
+
+  public long getParseTime() {
+    return parseTime;
+  }
+
+  public void setParseTime(long parseTime) {
+    this.parseTime = parseTime;
+  }
+
+  public long getPlanTime() {
+    return planTime;
+  }
+
+  public void setPlanTime(long planTime) {
+    this.planTime = planTime;
+  }
+
+  public long getExecuteTime() {
+    return executeTime;
+  }
+
+  public void addExecuteTime(long executeTime) {
+    this.executeTime += executeTime;
+  }
+
+  public long getFetchTime() {
+    return fetchTime;
+  }
+
+  /**
+   * count a batch of results fetched.
+   */
+  public void addFetch(long fetchTime, int rowNum) {
+    this.fetchTime += fetchTime;
+    this.rowNum += rowNum;
+  }
+
+  public int getFileNum() {
+    return fileNum;
+  }
+
+  public void setFileNum(int fileNum) {
+    this.fileNum = fileNum;
+  }
+
+  public long getRowNum() {
+    return rowNum;
+  }
+
+  public long getPeakMemory() {
+    return peakMemory;
+  }
+
+  public void setPeakMemory(long peakMemory) {
+    this.peakMemory = peakMemory;
+  }
+
+  /**
+   * @return a row of "show slow queries", whose fields are in the order of {@link #COLUMNS}
+   */
+  public RowRecord toRowRecord() {
+    RowRecord record = new RowRecord(startTime);
+    addTextField(record, statement);
+    addTextField(record, user);
+    for (long value : new long[]{getTotalTime(), parseTime, planTime, executeTime, fetchTime,
+        fileNum, rowNum, peakMemory}) {
+      Field field = new Field(TSDataType.INT64);
+      field.setLongV(value);
+      record.addField(field);
+    }
+    return record;
+  }
+
+  private void addTextField(RowRecord record, String value) {
+    Field field = new Field(TSDataType.TEXT);
+    field.setBinaryV(new Binary(value));
+    record.addField(field);
+  }
+}
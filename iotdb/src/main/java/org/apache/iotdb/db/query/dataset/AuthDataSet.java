@@ -19,35 +19,14 @@
 
 package org.apache.iotdb.db.query.dataset;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
-import org.apache.iotdb.tsfile.read.common.RowRecord;
-import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
 
-public class AuthDataSet extends QueryDataSet {
-
-  private List<RowRecord> records = new ArrayList<>();
-  private int index = 0;
+public class AuthDataSet extends ListDataSet {
 
   public AuthDataSet(List<Path> paths,
       List<TSDataType> dataTypes) {
     super(paths, dataTypes);
   }
-
-  @Override
-  public boolean hasNext() throws IOException {
-    return index < records.size();
-  }
-
-  @Override
-  public RowRecord next() {
-    return records.get(index++);
-  }
-
-  public void putRecord(RowRecord newRecord) {
-    records.add(newRecord);
-  }
 }
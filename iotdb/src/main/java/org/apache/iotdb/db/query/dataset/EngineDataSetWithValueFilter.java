@@ -20,6 +20,7 @@ package org.apache.iotdb.db.query.dataset;
 
 import java.io.IOException;
 import java.util.List;
+import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.IReaderByTimestamp;
 import org.apache.iotdb.db.query.timegenerator.EngineTimeGenerator;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -30,10 +31,24 @@ import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
 
 public class EngineDataSetWithValueFilter extends QueryDataSet {
 
+  /**
+   * the number of the timestamps generated and looked up in the readers at a time.
+   */
+  private static final int TIME_BLOCK_SIZE = 1024;
+
   private EngineTimeGenerator timeGenerator;
   private List<IReaderByTimestamp> seriesReaderByTimestampList;
   private boolean hasCachedRowRecord;
   private RowRecord cachedRowRecord;
+  private QueryContext context;
+
+  private long[] timestamps = new long[TIME_BLOCK_SIZE];
+  /**
+   * values[i][j] is the value of the i-th series under timestamps[j].
+   */
+  private Object[][] values;
+  private int blockLength;
+  private int blockIndex;
 
   /**
    * constructor of EngineDataSetWithValueFilter.
@@ -42,12 +57,16 @@ public class EngineDataSetWithValueFilter extends QueryDataSet {
    * @param dataTypes time series data type
    * @param timeGenerator EngineTimeGenerator object
    * @param readers readers in List(IReaderByTimeStamp) structure
+   * @param context the context of the query, checked for interruption for each block of timestamps
    */
   public EngineDataSetWithValueFilter(List<Path> paths, List<TSDataType> dataTypes,
-      EngineTimeGenerator timeGenerator, List<IReaderByTimestamp> readers) {
+      EngineTimeGenerator timeGenerator, List<IReaderByTimestamp> readers,
+      QueryContext context) {
     super(paths, dataTypes);
     this.timeGenerator = timeGenerator;
     this.seriesReaderByTimestampList = readers;
+    this.context = context;
+    this.values = new Object[readers.size()][];
   }
 
   @Override
@@ -73,13 +92,12 @@ public class EngineDataSetWithValueFilter extends QueryDataSet {
    * @return if there has next row record.
    */
   private boolean cacheRowRecord() throws IOException {
-    while (timeGenerator.hasNext()) {
+    while (blockIndex < blockLength || readNextBlock()) {
       boolean hasField = false;
-      long timestamp = timeGenerator.next();
-      RowRecord rowRecord = new RowRecord(timestamp);
+      int row = blockIndex++;
+      RowRecord rowRecord = new RowRecord(timestamps[row]);
       for (int i = 0; i < seriesReaderByTimestampList.size(); i++) {
-        IReaderByTimestamp reader = seriesReaderByTimestampList.get(i);
-        Object value = reader.getValueInTimestamp(timestamp);
+        Object value = values[i][row];
         if (value == null) {
           rowRecord.addField(new Field(null));
         } else {
@@ -96,6 +114,21 @@ public class EngineDataSetWithValueFilter extends QueryDataSet {
     return hasCachedRowRecord;
   }
 
+  /**
+   * generate the next block of timestamps and look up the values of all series under them.
+   *
+   * @return false if there is no more timestamp
+   */
+  private boolean readNextBlock() throws IOException {
+    context.checkInterrupted();
+    blockLength = timeGenerator.nextTimes(timestamps);
+    blockIndex = 0;
+    for (int i = 0; i < seriesReaderByTimestampList.size(); i++) {
+      values[i] = seriesReaderByTimestampList.get(i).getValuesInTimestamps(timestamps, blockLength);
+    }
+    return blockLength > 0;
+  }
+
   public EngineTimeGenerator getTimeGenerator() {
     return timeGenerator;
   }
@@ -20,11 +20,14 @@
 package org.apache.iotdb.db.query.dataset;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
+import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.IPointReader;
+import org.apache.iotdb.db.query.reader.seriesRelated.SeriesReaderWithoutValueFilter;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TsPrimitiveType;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
@@ -47,6 +50,16 @@ public class EngineDataSetWithoutValueFilter extends QueryDataSet {
 
   private Set<Long> timeSet;
 
+  /**
+   * the context of the query reading the series, null if the readers hold the computed results.
+   */
+  private QueryContext context;
+
+  /**
+   * whether the readers and the rows are in ascending time order, or in descending order.
+   */
+  private boolean ascending;
+
   /**
    * constructor of EngineDataSetWithoutValueFilter.
    *
@@ -58,14 +71,34 @@ public class EngineDataSetWithoutValueFilter extends QueryDataSet {
   public EngineDataSetWithoutValueFilter(List<Path> paths, List<TSDataType> dataTypes,
                                          List<IPointReader> readers)
       throws IOException {
+    this(paths, dataTypes, readers, null);
+  }
+
+  /**
+   * constructor of EngineDataSetWithoutValueFilter reading the series of a query, which checks
+   * whether the query is interrupted for each row.
+   */
+  public EngineDataSetWithoutValueFilter(List<Path> paths, List<TSDataType> dataTypes,
+      List<IPointReader> readers, QueryContext context) throws IOException {
+    this(paths, dataTypes, readers, context, true);
+  }
+
+  /**
+   * @param ascending false if the readers provide their points in descending time order, and so
+   * are the rows returned
+   */
+  public EngineDataSetWithoutValueFilter(List<Path> paths, List<TSDataType> dataTypes,
+      List<IPointReader> readers, QueryContext context, boolean ascending) throws IOException {
     super(paths, dataTypes);
     this.seriesReaderWithoutValueFilterList = readers;
+    this.context = context;
+    this.ascending = ascending;
     initHeap();
   }
 
   private void initHeap() throws IOException {
     timeSet = new HashSet<>();
-    timeHeap = new PriorityQueue<>();
+    timeHeap = ascending ? new PriorityQueue<>() : new PriorityQueue<>(Collections.reverseOrder());
     cacheTimeValueList = new TimeValuePair[seriesReaderWithoutValueFilterList.size()];
 
     for (int i = 0; i < seriesReaderWithoutValueFilterList.size(); i++) {
@@ -85,16 +118,19 @@ public class EngineDataSetWithoutValueFilter extends QueryDataSet {
 
   @Override
   public RowRecord next() throws IOException {
-    long minTime = timeHeapGet();
+    if (context != null) {
+      context.checkInterrupted();
+    }
+    long nextTime = timeHeapGet();
 
-    RowRecord record = new RowRecord(minTime);
+    RowRecord record = new RowRecord(nextTime);
 
     for (int i = 0; i < seriesReaderWithoutValueFilterList.size(); i++) {
       IPointReader reader = seriesReaderWithoutValueFilterList.get(i);
       if (cacheTimeValueList[i] == null) {
         record.addField(new Field(null));
       } else {
-        if (cacheTimeValueList[i].getTimestamp() == minTime) {
+        if (cacheTimeValueList[i].getTimestamp() == nextTime) {
           record.addField(getField(cacheTimeValueList[i].getValue(), dataTypes.get(i)));
           if (seriesReaderWithoutValueFilterList.get(i).hasNext()) {
             cacheTimeValueList[i] = reader.next();
@@ -109,6 +145,42 @@ public class EngineDataSetWithoutValueFilter extends QueryDataSet {
     return record;
   }
 
+  /**
+   * skip the next rows. The rows of a single series are its points, which are skipped by chunks
+   * and pages when possible, see {@link SeriesReaderWithoutValueFilter#skipPoints(long)}.
+   *
+   * @return the number of rows skipped, which is less than rowNum only if the data set ends
+   */
+  public long skipRows(long rowNum) throws IOException {
+    if (context != null) {
+      context.checkInterrupted();
+    }
+    if (seriesReaderWithoutValueFilterList.size() != 1 || !(seriesReaderWithoutValueFilterList
+        .get(0) instanceof SeriesReaderWithoutValueFilter)) {
+      long skipped = 0;
+      while (skipped < rowNum && hasNext()) {
+        next();
+        skipped++;
+      }
+      return skipped;
+    }
+    if (rowNum == 0 || !hasNext()) {
+      return 0;
+    }
+
+    // the cached point is the first row
+    SeriesReaderWithoutValueFilter reader =
+        (SeriesReaderWithoutValueFilter) seriesReaderWithoutValueFilterList.get(0);
+    timeHeapGet();
+    cacheTimeValueList[0] = null;
+    long skipped = 1 + reader.skipPoints(rowNum - 1);
+    if (reader.hasNext()) {
+      cacheTimeValueList[0] = reader.next();
+      timeHeapPut(cacheTimeValueList[0].getTimestamp());
+    }
+    return skipped;
+  }
+
   private Field getField(TsPrimitiveType tsPrimitiveType, TSDataType dataType) {
     if (tsPrimitiveType == null) {
       return new Field(null);
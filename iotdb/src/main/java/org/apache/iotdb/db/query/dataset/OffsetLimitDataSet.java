@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.dataset;
+
+import java.io.IOException;
+import org.apache.iotdb.tsfile.read.common.RowRecord;
+import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
+
+/**
+ * OffsetLimitDataSet applies the LIMIT and OFFSET clauses of a query on the server, so that the
+ * rows before the offset are neither converted nor sent to the client, and the query stops reading
+ * once the limit is reached. The rows before the offset are skipped by chunks and pages when the
+ * query reads a single series without value filter, see
+ * {@link EngineDataSetWithoutValueFilter#skipRows(long)}.
+ */
+public class OffsetLimitDataSet extends QueryDataSet {
+
+  private QueryDataSet dataSet;
+
+  /**
+   * the rows not skipped yet before the offset.
+   */
+  private long rowOffset;
+
+  /**
+   * 0 if the number of rows is not limited.
+   */
+  private long rowLimit;
+  private long returnedRowNum = 0;
+
+  public OffsetLimitDataSet(QueryDataSet dataSet, long rowOffset, long rowLimit) {
+    super(dataSet.getPaths(), dataSet.getDataTypes());
+    this.dataSet = dataSet;
+    this.rowOffset = rowOffset;
+    this.rowLimit = rowLimit;
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    if (rowOffset > 0) {
+      skipOffset();
+    }
+    if (rowLimit > 0 && returnedRowNum >= rowLimit) {
+      return false;
+    }
+    return dataSet.hasNext();
+  }
+
+  private void skipOffset() throws IOException {
+    if (dataSet instanceof EngineDataSetWithoutValueFilter) {
+      ((EngineDataSetWithoutValueFilter) dataSet).skipRows(rowOffset);
+    } else {
+      for (long i = 0; i < rowOffset && dataSet.hasNext(); i++) {
+        dataSet.next();
+      }
+    }
+    rowOffset = 0;
+  }
+
+  @Override
+  public RowRecord next() throws IOException {
+    if (!hasNext()) {
+      throw new IOException("need to call hasNext() before calling next() in "
+          + "OffsetLimitDataSet.");
+    }
+    returnedRowNum++;
+    return dataSet.next();
+  }
+}
@@ -27,6 +27,7 @@ import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.query.factory.AggreFuncFactory;
 import org.apache.iotdb.db.query.aggregation.AggreResultData;
 import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Field;
@@ -37,6 +38,10 @@ import org.apache.iotdb.tsfile.utils.Pair;
 public abstract class GroupByEngineDataSet extends QueryDataSet {
 
   protected long jobId;
+  /**
+   * the context of the query, set by initGroupBy and checked for interruption while computing.
+   */
+  protected QueryContext context;
   protected List<Path> selectedSeries;
   private long unit;
   private long origin;
@@ -72,6 +72,7 @@ public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
   public void initGroupBy(QueryContext context, List<String> aggres, IExpression expression)
       throws StorageEngineException, PathErrorException, ProcessorException, IOException {
     initAggreFuction(aggres);
+    this.context = context;
 
     QueryResourceManager.getInstance().beginQueryOfGivenExpression(context.getJobId(), expression);
     QueryResourceManager
@@ -107,6 +108,7 @@ public class GroupByWithValueFilterDataSet extends GroupByEngineDataSet {
     }
 
     while (timestampGenerator.hasNext()) {
+      context.checkInterrupted();
       // construct timestamp array
       timeArrayLength = constructTimeArrayForOneCal(timestampArray, timeArrayLength);
 
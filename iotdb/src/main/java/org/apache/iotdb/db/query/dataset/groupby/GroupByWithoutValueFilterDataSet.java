@@ -21,7 +21,10 @@ package org.apache.iotdb.db.query.dataset.groupby;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
@@ -30,11 +33,15 @@ import org.apache.iotdb.db.query.aggregation.AggreResultData;
 import org.apache.iotdb.db.query.aggregation.AggregateFunction;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.QueryResourceManager;
+import org.apache.iotdb.db.query.pool.QueryTaskPoolManager;
 import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader;
 import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
+import org.apache.iotdb.db.utils.ChunkStatisticsUtils;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkRollup;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.Path;
@@ -44,14 +51,43 @@ import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.utils.Pair;
 
+/**
+ * GROUP BY without value filter. Every series is read in one pass over its data: a chunk or a page
+ * entirely inside a time window, and not overlapped by unsequence data, is aggregated from the
+ * statistics in its <code>ChunkMetaData</code> or <code>PageHeader</code> without being loaded or
+ * decoded, and only the pages across the window boundaries are decoded. A chunk across the window
+ * boundaries is not decoded either if it has a rollup whose buckets do not cross the boundaries,
+ * then the coarsest such rollup is aggregated instead.
+ * <p>
+ * The windows are computed in blocks of {@link #WINDOW_BLOCK_SIZE}, and the series, which are
+ * independent of each other, are computed in parallel by {@link QueryTaskPoolManager} for each
+ * block.
+ */
 public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
 
+  private static final int WINDOW_BLOCK_SIZE = 1024;
+
   private List<IPointReader> unSequenceReaderList;
   private List<IAggregateReader> sequenceReaderList;
-  private List<BatchData> batchDataList;
-  private List<Boolean> hasCachedSequenceDataList;
+  private BatchData[] batchDataArray;
+  private boolean[] hasCachedSequenceDataArray;
   private Filter timeFilter;
 
+  /**
+   * the chunk whose rollups are cached in chunkRollups, of each series
+   */
+  private ChunkMetaData[] rollupChunks;
+  private List<List<ChunkRollup>> chunkRollups;
+
+  private long[] windowStartTimes = new long[WINDOW_BLOCK_SIZE];
+  private long[] windowEndTimes = new long[WINDOW_BLOCK_SIZE];
+  private int windowNum;
+  private int windowIndex;
+  /**
+   * results[i][j] is the result of the i-th series in the j-th window of the current block
+   */
+  private AggreResultData[][] results;
+
   /**
    * constructor.
    */
@@ -61,12 +97,11 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
     this.unSequenceReaderList = new ArrayList<>();
     this.sequenceReaderList = new ArrayList<>();
     this.timeFilter = null;
-    this.hasCachedSequenceDataList = new ArrayList<>();
-    this.batchDataList = new ArrayList<>();
-    for (int i = 0; i < paths.size(); i++) {
-      hasCachedSequenceDataList.add(false);
-      batchDataList.add(null);
-    }
+    this.hasCachedSequenceDataArray = new boolean[paths.size()];
+    this.batchDataArray = new BatchData[paths.size()];
+    this.results = new AggreResultData[paths.size()][WINDOW_BLOCK_SIZE];
+    this.rollupChunks = new ChunkMetaData[paths.size()];
+    this.chunkRollups = new ArrayList<>(Collections.nCopies(paths.size(), null));
   }
 
   /**
@@ -75,6 +110,7 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
   public void initGroupBy(QueryContext context, List<String> aggres, IExpression expression)
       throws StorageEngineException, PathErrorException, ProcessorException, IOException {
     initAggreFuction(aggres);
+    this.context = context;
     // init reader
     QueryResourceManager.getInstance().beginQueryOfGivenQueryPaths(jobId, selectedSeries);
     if (expression != null) {
@@ -100,21 +136,24 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
 
   }
 
+  @Override
+  public boolean hasNext() {
+    return windowIndex < windowNum || super.hasNext();
+  }
+
   @Override
   public RowRecord next() throws IOException {
-    if (!hasCachedTimeInterval) {
-      throw new IOException("need to call hasNext() before calling next() "
-          + "in GroupByWithoutValueFilterDataSet.");
+    if (windowIndex >= windowNum) {
+      if (!hasCachedTimeInterval) {
+        throw new IOException("need to call hasNext() before calling next() "
+            + "in GroupByWithoutValueFilterDataSet.");
+      }
+      calcNextWindowBlock();
     }
-    hasCachedTimeInterval = false;
-    RowRecord record = new RowRecord(startTime);
+    int window = windowIndex++;
+    RowRecord record = new RowRecord(windowStartTimes[window]);
     for (int i = 0; i < functions.size(); i++) {
-      AggreResultData res;
-      try {
-        res = nextSeries(i);
-      } catch (ProcessorException e) {
-        throw new IOException(e);
-      }
+      AggreResultData res = results[i][window];
       if (res == null) {
         record.addField(new Field(null));
       } else {
@@ -124,22 +163,81 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
     return record;
   }
 
+  /**
+   * fetch the next block of windows starting from the one cached by hasNext(), and calculate the
+   * results of all the series in them.
+   */
+  private void calcNextWindowBlock() throws IOException {
+    context.checkInterrupted();
+    windowNum = 0;
+    windowIndex = 0;
+    do {
+      windowStartTimes[windowNum] = startTime;
+      windowEndTimes[windowNum] = endTime;
+      windowNum++;
+      hasCachedTimeInterval = false;
+    } while (windowNum < WINDOW_BLOCK_SIZE && super.hasNext());
+
+    if (functions.size() == 1) {
+      try {
+        calcSeriesInWindowBlock(0);
+      } catch (ProcessorException e) {
+        throw new IOException(e);
+      }
+      return;
+    }
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < functions.size(); i++) {
+      int idx = i;
+      futures.add(QueryTaskPoolManager.getInstance().submit(() -> {
+        calcSeriesInWindowBlock(idx);
+        return null;
+      }));
+    }
+    try {
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private void calcSeriesInWindowBlock(int idx) throws IOException, ProcessorException {
+    for (int i = 0; i < windowNum; i++) {
+      results[idx][i] = nextSeries(idx, windowStartTimes[i], windowEndTimes[i]);
+    }
+  }
+
   /**
    * calculate the group by result of the series indexed by idx.
    *
    * @param idx series id
+   * @param startTime the start time of the window, inclusive
+   * @param endTime the end time of the window, exclusive
    */
-  private AggreResultData nextSeries(int idx) throws IOException, ProcessorException {
+  private AggreResultData nextSeries(int idx, long startTime, long endTime)
+      throws IOException, ProcessorException {
     IPointReader unsequenceReader = unSequenceReaderList.get(idx);
     IAggregateReader sequenceReader = sequenceReaderList.get(idx);
     AggregateFunction function = functions.get(idx);
     function.init();
 
     // skip the points with timestamp less than startTime
-    skipBeforeStartTimeData(idx, sequenceReader, unsequenceReader);
+    skipBeforeStartTimeData(idx, sequenceReader, unsequenceReader, startTime, endTime, function);
 
     // cal group by in batch data
-    boolean finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader);
+    boolean finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader,
+        endTime);
     if (finishCheckSequenceData) {
       // check unsequence data
       function.calculateValueFromUnsequenceReader(unsequenceReader, endTime);
@@ -147,14 +245,48 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
     }
 
     // continue checking sequence data
-    while (sequenceReader.hasNext()) {
+    while (true) {
+      context.checkInterrupted();
+      // chunk not loaded yet
+      ChunkMetaData chunkMetaData = sequenceReader.nextChunkMetaData();
+      if (chunkMetaData != null) {
+        // no point in sequence data with a timestamp less than endTime
+        if (chunkMetaData.getStartTime() >= endTime) {
+          break;
+        }
+        PageHeader chunkHeader = ChunkStatisticsUtils.getChunkHeader(chunkMetaData);
+        if (chunkHeader != null && canUseHeader(chunkHeader.getMinTimestamp(),
+            chunkHeader.getMaxTimestamp(), startTime, endTime, unsequenceReader, function)) {
+          // cal using chunk metadata
+          function.calculateValueFromPageHeader(chunkHeader);
+          sequenceReader.skipChunkData();
+          continue;
+        }
+        ChunkRollup rollup = getRollup(idx, chunkMetaData, startTime, endTime, unsequenceReader,
+            function);
+        if (rollup != null) {
+          // cal using the rollup in chunk metadata
+          ChunkStatisticsUtils
+              .calculateValueFromRollup(rollup, startTime, endTime - 1, timeFilter, function);
+          if (chunkMetaData.getEndTime() >= endTime) {
+            // the rest of the chunk is left to the next windows
+            break;
+          }
+          sequenceReader.skipChunkData();
+          continue;
+        }
+      }
+
+      if (!sequenceReader.hasNext()) {
+        break;
+      }
       PageHeader pageHeader = sequenceReader.nextPageHeader();
 
       // memory data
       if (pageHeader == null) {
-        batchDataList.set(idx, sequenceReader.nextBatch());
-        hasCachedSequenceDataList.set(idx, true);
-        finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader);
+        batchDataArray[idx] = sequenceReader.nextBatch();
+        hasCachedSequenceDataArray[idx] = true;
+        finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader, endTime);
       } else {
         // page data
         long minTime = pageHeader.getMinTimestamp();
@@ -162,20 +294,22 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
         // no point in sequence data with a timestamp less than endTime
         if (minTime >= endTime) {
           finishCheckSequenceData = true;
-        } else if (canUseHeader(minTime, maxTime, unsequenceReader, function)) {
+        } else if (canUseHeader(minTime, maxTime, startTime, endTime, unsequenceReader,
+            function)) {
           // cal using page header
           function.calculateValueFromPageHeader(pageHeader);
           sequenceReader.skipPageData();
         } else {
           // cal using page data
-          batchDataList.set(idx, sequenceReader.nextBatch());
-          hasCachedSequenceDataList.set(idx, true);
-          finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader);
+          batchDataArray[idx] = sequenceReader.nextBatch();
+          hasCachedSequenceDataArray[idx] = true;
+          finishCheckSequenceData = calGroupByInBatchData(idx, function, unsequenceReader,
+              endTime);
         }
+      }
 
-        if (finishCheckSequenceData) {
-          break;
-        }
+      if (finishCheckSequenceData) {
+        break;
       }
     }
     // cal using unsequence data
@@ -189,13 +323,14 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
    * @param idx series index
    * @param function aggregate function of the series
    * @param unsequenceReader unsequence reader of the series
+   * @param endTime the end time of the window, exclusive
    * @return if all sequential data been computed
    */
   private boolean calGroupByInBatchData(int idx, AggregateFunction function,
-      IPointReader unsequenceReader)
+      IPointReader unsequenceReader, long endTime)
       throws IOException, ProcessorException {
-    BatchData batchData = batchDataList.get(idx);
-    boolean hasCachedSequenceData = hasCachedSequenceDataList.get(idx);
+    BatchData batchData = batchDataArray[idx];
+    boolean hasCachedSequenceData = hasCachedSequenceDataArray[idx];
     boolean finishCheckSequenceData = false;
     // there was unprocessed data in last batch
     if (hasCachedSequenceData && batchData.hasNext()) {
@@ -207,8 +342,7 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
     } else {
       hasCachedSequenceData = false;
     }
-    batchDataList.set(idx, batchData);
-    hasCachedSequenceDataList.set(idx, hasCachedSequenceData);
+    hasCachedSequenceDataArray[idx] = hasCachedSequenceData;
     return finishCheckSequenceData;
   }
 
@@ -218,28 +352,49 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
    * @param idx the index of series
    * @param sequenceReader sequence Reader
    * @param unsequenceReader unsequence Reader
+   * @param startTime the start time of the window
+   * @param endTime the end time of the window, exclusive
+   * @param function aggregate function of the series
    * @throws IOException exception when reading file
    */
   private void skipBeforeStartTimeData(int idx, IAggregateReader sequenceReader,
-      IPointReader unsequenceReader)
-      throws IOException {
+      IPointReader unsequenceReader, long startTime, long endTime, AggregateFunction function)
+      throws IOException, ProcessorException {
 
     // skip the unsequenceReader points with timestamp less than startTime
-    skipPointInUnsequenceData(unsequenceReader);
+    skipPointInUnsequenceData(unsequenceReader, startTime);
 
     // skip the cached batch data points with timestamp less than startTime
-    if (skipPointInBatchData(idx)) {
+    if (skipPointInBatchData(idx, startTime)) {
       return;
     }
 
     // skip the points in sequenceReader data whose timestamp are less than startTime
-    while (sequenceReader.hasNext()) {
+    while (true) {
+      // chunk not loaded yet
+      ChunkMetaData chunkMetaData = sequenceReader.nextChunkMetaData();
+      if (chunkMetaData != null) {
+        if (chunkMetaData.getEndTime() < startTime) {
+          sequenceReader.skipChunkData();
+          continue;
+        } else if (chunkMetaData.getStartTime() >= startTime) {
+          return;
+        } else if (getRollup(idx, chunkMetaData, startTime, endTime, unsequenceReader, function)
+            != null) {
+          // the window will be aggregated from the rollup, which is indexed by time
+          return;
+        }
+      }
+
+      if (!sequenceReader.hasNext()) {
+        return;
+      }
       PageHeader pageHeader = sequenceReader.nextPageHeader();
       // memory data
       if (pageHeader == null) {
-        batchDataList.set(idx, sequenceReader.nextBatch());
-        hasCachedSequenceDataList.set(idx, true);
-        if (skipPointInBatchData(idx)) {
+        batchDataArray[idx] = sequenceReader.nextBatch();
+        hasCachedSequenceDataArray[idx] = true;
+        if (skipPointInBatchData(idx, startTime)) {
           return;
         }
       } else {
@@ -254,9 +409,9 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
           return;
         }
         // the page has overlap with startTime
-        batchDataList.set(idx, sequenceReader.nextBatch());
-        hasCachedSequenceDataList.set(idx, true);
-        if (skipPointInBatchData(idx)) {
+        batchDataArray[idx] = sequenceReader.nextBatch();
+        hasCachedSequenceDataArray[idx] = true;
+        if (skipPointInBatchData(idx, startTime)) {
           return;
         }
       }
@@ -268,7 +423,8 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
    *
    * @param unsequenceReader unsequence reader
    */
-  private void skipPointInUnsequenceData(IPointReader unsequenceReader) throws IOException {
+  private void skipPointInUnsequenceData(IPointReader unsequenceReader, long startTime)
+      throws IOException {
     while (unsequenceReader.hasNext() && unsequenceReader.current().getTimestamp() < startTime) {
       unsequenceReader.next();
     }
@@ -280,10 +436,9 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
    * @param idx series index
    * @return whether has next in batch data
    */
-  private boolean skipPointInBatchData(int idx) {
-    BatchData batchData = batchDataList.get(idx);
-    boolean hasCachedSequenceData = hasCachedSequenceDataList.get(idx);
-    if (!hasCachedSequenceData) {
+  private boolean skipPointInBatchData(int idx, long startTime) {
+    BatchData batchData = batchDataArray[idx];
+    if (!hasCachedSequenceDataArray[idx]) {
       return false;
     }
 
@@ -291,18 +446,54 @@ public class GroupByWithoutValueFilterDataSet extends GroupByEngineDataSet {
     while (batchData.hasNext() && batchData.currentTime() < startTime) {
       batchData.next();
     }
-    batchDataList.set(idx, batchData);
     if (batchData.hasNext()) {
       return true;
     } else {
-      hasCachedSequenceDataList.set(idx, false);
+      hasCachedSequenceDataArray[idx] = false;
       return false;
     }
   }
 
-  private boolean canUseHeader(long minTime, long maxTime, IPointReader unSequenceReader,
-      AggregateFunction function)
+  /**
+   * Returns the coarsest rollup of the chunk that aggregates its points in the window exactly, or
+   * null if there is none or unsequence data overlaps with the chunk in the window. The unsequence
+   * data in the window before the chunk is aggregated in the meantime.
+   */
+  private ChunkRollup getRollup(int idx, ChunkMetaData chunkMetaData, long startTime,
+      long endTime, IPointReader unSequenceReader, AggregateFunction function)
       throws IOException, ProcessorException {
+    if (rollupChunks[idx] != chunkMetaData) {
+      rollupChunks[idx] = chunkMetaData;
+      chunkRollups.set(idx, chunkMetaData.getRollups());
+    }
+    ChunkRollup rollup = ChunkStatisticsUtils
+        .selectRollup(chunkRollups.get(idx), chunkMetaData, startTime, endTime - 1, timeFilter);
+    if (rollup == null) {
+      return null;
+    }
+
+    // cal unsequence data with timestamps before the chunk.
+    long minTime = Math.max(startTime, chunkMetaData.getStartTime());
+    long maxTime = Math.min(endTime - 1, chunkMetaData.getEndTime());
+    function.calculateValueFromUnsequenceReader(unSequenceReader, minTime);
+
+    if (unSequenceReader.hasNext() && unSequenceReader.current().getTimestamp() <= maxTime) {
+      return null;
+    }
+    return rollup;
+  }
+
+  /**
+   * Returns true if the data in [minTime, maxTime] can be aggregated by its statistics, that is
+   * the time range is entirely inside the window and the global time filter, and no unsequence
+   * data overlaps with it. The unsequence data before minTime is aggregated in the meantime.
+   */
+  private boolean canUseHeader(long minTime, long maxTime, long startTime, long endTime,
+      IPointReader unSequenceReader, AggregateFunction function)
+      throws IOException, ProcessorException {
+    if (minTime < startTime || maxTime >= endTime) {
+      return false;
+    }
     if (timeFilter != null && !timeFilter.containStartEndTime(minTime, maxTime)) {
       return false;
     }
@@ -44,7 +44,10 @@ import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader
 import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
 import org.apache.iotdb.db.query.reader.seriesRelated.SeriesReaderByTimestamp;
 import org.apache.iotdb.db.query.timegenerator.EngineTimeGenerator;
+import org.apache.iotdb.db.utils.ChunkStatisticsUtils;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkRollup;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Path;
@@ -124,7 +127,7 @@ public class AggregateEngineExecutor {
     //TODO use multi-thread
     for (int i = 0; i < selectedSeries.size(); i++) {
       AggreResultData aggreResultData = aggregateWithoutValueFilter(aggregateFunctions.get(i),
-          readersOfSequenceData.get(i), readersOfUnSequenceData.get(i), timeFilter);
+          readersOfSequenceData.get(i), readersOfUnSequenceData.get(i), timeFilter, context);
       aggreResultDataList.add(aggreResultData);
     }
     return constructDataSet(aggreResultDataList);
@@ -137,17 +140,33 @@ public class AggregateEngineExecutor {
    * @param sequenceReader sequence data reader
    * @param unSequenceReader unsequence data reader
    * @param filter time filter or null
+   * @param context query context, checked for interruption for each chunk and page
    * @return one series aggregate result data
    */
   private AggreResultData aggregateWithoutValueFilter(AggregateFunction function,
-      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter filter)
-      throws IOException, ProcessorException {
+      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter filter,
+      QueryContext context) throws IOException, ProcessorException {
     if (function instanceof MaxTimeAggrFunc || function instanceof LastAggrFunc) {
       return handleLastMaxTimeWithOutTimeGenerator(function, sequenceReader, unSequenceReader,
-          filter);
+          filter, context);
     }
 
-    while (sequenceReader.hasNext()) {
+    while (true) {
+      context.checkInterrupted();
+      // chunk not loaded yet
+      ChunkMetaData chunkMetaData = sequenceReader.nextChunkMetaData();
+      if (chunkMetaData != null
+          && calcFromChunkMetaData(function, chunkMetaData, unSequenceReader, filter)) {
+        sequenceReader.skipChunkData();
+        if (function.isCalculatedAggregationResult()) {
+          return function.getResult();
+        }
+        continue;
+      }
+
+      if (!sequenceReader.hasNext()) {
+        break;
+      }
       PageHeader pageHeader = sequenceReader.nextPageHeader();
       // judge if overlap with unsequence data
       if (canUseHeader(function, pageHeader, unSequenceReader, filter)) {
@@ -171,6 +190,45 @@ public class AggregateEngineExecutor {
     return function.getResult();
   }
 
+  /**
+   * calculate the aggregation of a chunk from its metadata, using the statistics of the whole chunk
+   * if it is entirely inside the time filter, or else its coarsest rollup whose buckets are either
+   * inside the time filter or outside it.
+   *
+   * @return false if the chunk must be loaded, i.e. some points of it are deleted, the statistics
+   * can not answer the time filter, or unsequence data overlaps with it
+   */
+  private boolean calcFromChunkMetaData(AggregateFunction function, ChunkMetaData chunkMetaData,
+      IPointReader unSequenceReader, Filter filter) throws IOException, ProcessorException {
+    long minTime = chunkMetaData.getStartTime();
+    long maxTime = chunkMetaData.getEndTime();
+    PageHeader chunkHeader = null;
+    ChunkRollup rollup = null;
+    if (filter == null || filter.containStartEndTime(minTime, maxTime)) {
+      chunkHeader = ChunkStatisticsUtils.getChunkHeader(chunkMetaData);
+    } else {
+      rollup = ChunkStatisticsUtils
+          .selectRollup(chunkMetaData.getRollups(), chunkMetaData, minTime, maxTime, filter);
+    }
+    if (chunkHeader == null && rollup == null) {
+      return false;
+    }
+
+    // cal unsequence data with timestamps between chunks.
+    function.calculateValueFromUnsequenceReader(unSequenceReader, minTime);
+    if (unSequenceReader.hasNext() && unSequenceReader.current().getTimestamp() <= maxTime) {
+      return false;
+    }
+
+    if (chunkHeader != null) {
+      function.calculateValueFromPageHeader(chunkHeader);
+    } else {
+      ChunkStatisticsUtils
+          .calculateValueFromRollup(rollup, minTime, maxTime, filter, function);
+    }
+    return true;
+  }
+
   /**
    * determine whether pageHeader can be used to compute aggregation results.
    */
@@ -207,11 +265,12 @@ public class AggregateEngineExecutor {
    * @return BatchData-aggregate result
    */
   private AggreResultData handleLastMaxTimeWithOutTimeGenerator(AggregateFunction function,
-      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter timeFilter)
-      throws IOException, ProcessorException {
+      IAggregateReader sequenceReader, IPointReader unSequenceReader, Filter timeFilter,
+      QueryContext context) throws IOException, ProcessorException {
     long lastBatchTimeStamp = Long.MIN_VALUE;
     boolean isChunkEnd = false;
     while (sequenceReader.hasNext()) {
+      context.checkInterrupted();
       PageHeader pageHeader = sequenceReader.nextPageHeader();
       // judge if overlap with unsequence data
       if (canUseHeader(function, pageHeader, unSequenceReader, timeFilter)) {
@@ -278,7 +337,7 @@ public class AggregateEngineExecutor {
     }
     List<AggreResultData> batchDataList = aggregateWithValueFilter(aggregateFunctions,
         timestampGenerator,
-        readersOfSelectedSeries);
+        readersOfSelectedSeries, context);
     return constructDataSet(batchDataList);
   }
 
@@ -288,19 +347,17 @@ public class AggregateEngineExecutor {
   private List<AggreResultData> aggregateWithValueFilter(
       List<AggregateFunction> aggregateFunctions,
       EngineTimeGenerator timestampGenerator,
-      List<IReaderByTimestamp> readersOfSelectedSeries)
+      List<IReaderByTimestamp> readersOfSelectedSeries, QueryContext context)
       throws IOException {
 
-    while (timestampGenerator.hasNext()) {
+    long[] timeArray = new long[aggregateFetchSize];
+    while (true) {
+      context.checkInterrupted();
 
       // generate timestamps for aggregate
-      long[] timeArray = new long[aggregateFetchSize];
-      int timeArrayLength = 0;
-      for (int cnt = 0; cnt < aggregateFetchSize; cnt++) {
-        if (!timestampGenerator.hasNext()) {
-          break;
-        }
-        timeArray[timeArrayLength++] = timestampGenerator.next();
+      int timeArrayLength = timestampGenerator.nextTimes(timeArray);
+      if (timeArrayLength == 0) {
+        break;
       }
 
       // cal part of aggregate result
@@ -56,6 +56,14 @@ public class EngineExecutor {
    */
   public QueryDataSet executeWithoutValueFilter(QueryContext context)
       throws StorageEngineException, IOException {
+    return executeWithoutValueFilter(context, true);
+  }
+
+  /**
+   * without filter or with global time filter, in ascending or descending time order.
+   */
+  public QueryDataSet executeWithoutValueFilter(QueryContext context, boolean ascending)
+      throws StorageEngineException, IOException {
     QueryResourceManager.getInstance()
         .beginQueryOfGivenQueryPaths(context.getJobId(), queryExpression.getSelectedSeries());
 
@@ -74,13 +82,14 @@ public class EngineExecutor {
         throw new StorageEngineException(e);
       }
 
-      IPointReader reader = new SeriesReaderWithoutValueFilter(path, timeFilter, context);
+      IPointReader reader = new SeriesReaderWithoutValueFilter(path, timeFilter, context, true,
+          ascending);
       readersOfSelectedSeries.add(reader);
     }
 
     try {
       return new EngineDataSetWithoutValueFilter(queryExpression.getSelectedSeries(), dataTypes,
-          readersOfSelectedSeries);
+          readersOfSelectedSeries, context, ascending);
     } catch (IOException e) {
       throw new StorageEngineException(e);
     }
@@ -117,7 +126,7 @@ public class EngineExecutor {
     }
     return new EngineDataSetWithValueFilter(queryExpression.getSelectedSeries(), dataTypes,
         timestampGenerator,
-        readersOfSelectedSeries);
+        readersOfSelectedSeries, context);
   }
 
 }
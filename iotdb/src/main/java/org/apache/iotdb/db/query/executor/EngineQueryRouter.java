@@ -52,6 +52,12 @@ public class EngineQueryRouter implements IEngineQueryRouter {
   @Override
   public QueryDataSet query(QueryExpression queryExpression, QueryContext context)
       throws StorageEngineException {
+    return query(queryExpression, true, context);
+  }
+
+  @Override
+  public QueryDataSet query(QueryExpression queryExpression, boolean ascending,
+      QueryContext context) throws StorageEngineException {
 
     if (queryExpression.hasQueryFilter()) {
       try {
@@ -61,7 +67,10 @@ public class EngineQueryRouter implements IEngineQueryRouter {
         EngineExecutor engineExecutor =
             new EngineExecutor(queryExpression);
         if (optimizedExpression.getType() == ExpressionType.GLOBAL_TIME) {
-          return engineExecutor.executeWithoutValueFilter(context);
+          return engineExecutor.executeWithoutValueFilter(context, ascending);
+        } else if (!ascending) {
+          throw new StorageEngineException(
+              "ORDER BY time DESC is not supported for queries with value filter");
         } else {
           return engineExecutor.executeWithValueFilter(context);
         }
@@ -73,7 +82,7 @@ public class EngineQueryRouter implements IEngineQueryRouter {
       EngineExecutor engineExecutor = new EngineExecutor(
           queryExpression);
       try {
-        return engineExecutor.executeWithoutValueFilter(context);
+        return engineExecutor.executeWithoutValueFilter(context, ascending);
       } catch (IOException e) {
         throw new StorageEngineException(e);
       }
@@ -42,6 +42,13 @@ public interface IEngineQueryRouter {
   QueryDataSet query(QueryExpression queryExpression, QueryContext context)
       throws StorageEngineException, PathErrorException;
 
+  /**
+   * Execute physical plan, returning the rows in ascending or descending time order. Only the
+   * queries without value filter can be executed in descending time order.
+   */
+  QueryDataSet query(QueryExpression queryExpression, boolean ascending, QueryContext context)
+      throws StorageEngineException, PathErrorException;
+
   /**
    * Execute aggregation query.
    */
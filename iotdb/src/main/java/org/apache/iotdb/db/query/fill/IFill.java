@@ -20,22 +20,41 @@
 package org.apache.iotdb.db.query.fill;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.QueryResourceManager;
+import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.db.query.reader.IPointReader;
+import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader;
+import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
 import org.apache.iotdb.db.query.reader.seriesRelated.SeriesReaderWithoutValueFilter;
+import org.apache.iotdb.db.utils.ChunkStatisticsUtils;
 import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.filter.TimeFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 
+/**
+ * The points around the query time are found by reading the series backward from the query time
+ * for the previous point and forward for the next one, so only the chunks next to the query time
+ * are read. When the nearest chunk is not overlapped by unsequence data, its point is taken from
+ * the first or last value in its statistics without loading the chunk.
+ */
 public abstract class IFill {
 
   long queryTime;
   TSDataType dataType;
 
-  IPointReader allDataReader;
+  private Path path;
+  private QueryContext context;
+  private QueryDataSource queryDataSource;
 
   public IFill(TSDataType dataType, long queryTime) {
     this.dataType = dataType;
@@ -47,13 +66,10 @@ public abstract class IFill {
 
   public abstract IFill copy(Path path);
 
-  public abstract void constructReaders(Path path, QueryContext context)
-      throws IOException, StorageEngineException;
-
-  void constructReaders(Path path, QueryContext context, long beforeRange)
-      throws IOException, StorageEngineException {
-    Filter timeFilter = constructFilter(beforeRange);
-    allDataReader = new SeriesReaderWithoutValueFilter(path, timeFilter, context);
+  public void constructReaders(Path path, QueryContext context) throws StorageEngineException {
+    this.path = path;
+    this.context = context;
+    this.queryDataSource = QueryResourceManager.getInstance().getQueryDataSource(path, context);
   }
 
   public abstract IPointReader getFillResult() throws IOException;
@@ -70,12 +86,87 @@ public abstract class IFill {
     this.queryTime = queryTime;
   }
 
-  private Filter constructFilter(long beforeRange) {
-    // if the fill time range is not set, beforeRange will be set to -1.
-    if (beforeRange == -1) {
+  /**
+   * get the last point not after the query time.
+   *
+   * @param beforeRange the point must be in [queryTime - beforeRange, queryTime], -1 if unbounded
+   * @return null if there is no such point
+   */
+  TimeValuePair getPreviousPoint(long beforeRange) throws IOException {
+    Filter timeFilter = TimeFilter.ltEq(queryTime);
+    if (beforeRange != -1) {
+      timeFilter = FilterFactory.and(TimeFilter.gtEq(queryTime - beforeRange), timeFilter);
+    }
+    return getFirstPoint(timeFilter, false);
+  }
+
+  /**
+   * get the first point after the query time.
+   *
+   * @param afterRange the point must be in (queryTime, queryTime + afterRange], -1 if unbounded
+   * @return null if there is no such point
+   */
+  TimeValuePair getNextPoint(long afterRange) throws IOException {
+    Filter timeFilter = TimeFilter.gt(queryTime);
+    if (afterRange != -1) {
+      timeFilter = FilterFactory.and(timeFilter, TimeFilter.ltEq(queryTime + afterRange));
+    }
+    return getFirstPoint(timeFilter, true);
+  }
+
+  private TimeValuePair getFirstPoint(Filter timeFilter, boolean ascending) throws IOException {
+    // the readers reverse the lists of the resources when reading backward
+    IAggregateReader seqReader = new SeqResourceIterateReader(path,
+        new ArrayList<>(queryDataSource.getSeqResources()), timeFilter, context, false,
+        !ascending);
+    IPointReader unseqReader = new UnseqResourceMergeReader(path,
+        new ArrayList<>(queryDataSource.getUnseqResources()), context, timeFilter, ascending);
+    try {
+      TimeValuePair pair = getFirstPointByStatistics(seqReader, unseqReader, timeFilter,
+          ascending);
+      if (pair != null) {
+        return pair;
+      }
+      IPointReader reader = new SeriesReaderWithoutValueFilter(seqReader, unseqReader, timeFilter,
+          ascending);
+      return reader.hasNext() ? reader.next() : null;
+    } finally {
+      unseqReader.close();
+    }
+  }
+
+  /**
+   * take the first point in the reading order from the statistics of the first sequence chunk if
+   * the chunk is entirely in the time range, has no deleted points and no unsequence point
+   * precedes or overlaps it.
+   *
+   * @return null if the point can not be decided by the statistics
+   */
+  private TimeValuePair getFirstPointByStatistics(IAggregateReader seqReader,
+      IPointReader unseqReader, Filter timeFilter, boolean ascending) throws IOException {
+    // null if the next data of the reader is in memory
+    ChunkMetaData chunkMetaData = seqReader.nextChunkMetaData();
+    // the first or last value in the statistics may have been deleted
+    if (chunkMetaData == null || chunkMetaData.getDeletedAt() >= chunkMetaData.getStartTime()) {
+      return null;
+    }
+    long time = ascending ? chunkMetaData.getStartTime() : chunkMetaData.getEndTime();
+    if (!timeFilter.satisfy(time, null)) {
+      return null;
+    }
+    if (unseqReader.hasNext()) {
+      long unseqTime = unseqReader.current().getTimestamp();
+      if (ascending ? unseqTime <= time : unseqTime >= time) {
+        return null;
+      }
+    }
+    PageHeader chunkHeader = ChunkStatisticsUtils.getChunkHeader(chunkMetaData);
+    if (chunkHeader == null) {
       return null;
     }
-    return TimeFilter.gtEq(queryTime - beforeRange);
+    Object value = ascending ? chunkHeader.getStatistics().getFirst()
+        : chunkHeader.getStatistics().getLast();
+    return new TimeValuePair(time, TsPrimitiveType.getByType(dataType, value));
   }
 
   class TimeValuePairPointReader implements IPointReader {
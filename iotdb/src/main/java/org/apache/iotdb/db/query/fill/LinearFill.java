@@ -20,9 +20,7 @@
 package org.apache.iotdb.db.query.fill;
 
 import java.io.IOException;
-import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.UnSupportedFillTypeException;
-import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TsPrimitiveType;
@@ -70,35 +68,16 @@ public class LinearFill extends IFill {
     return new LinearFill(dataType, queryTime, beforeRange, afterRange);
   }
 
-  @Override
-  public void constructReaders(Path path, QueryContext context)
-      throws IOException, StorageEngineException {
-    super.constructReaders(path, context, beforeRange);
-  }
-
   @Override
   public IPointReader getFillResult() throws IOException {
-    TimeValuePair beforePair = null;
-    TimeValuePair afterPair = null;
-    while (allDataReader.hasNext()) {
-      afterPair = allDataReader.next();
-      if (afterPair.getTimestamp() <= queryTime) {
-        beforePair = afterPair;
-      } else {
-        break;
-      }
-    }
-
+    TimeValuePair beforePair = getPreviousPoint(beforeRange);
     if (beforePair == null || beforePair.getTimestamp() == queryTime) {
       return new TimeValuePairPointReader(beforePair);
     }
 
-    // if afterRange equals -1, this means that there is no time-bound filling.
-    if (afterRange == -1) {
-      return new TimeValuePairPointReader(average(beforePair, afterPair));
-    }
-
-    if (afterPair.getTimestamp() > queryTime + afterRange || afterPair.getTimestamp() < queryTime) {
+    // the next point is only searched within afterRange, which is -1 if there is no bound
+    TimeValuePair afterPair = getNextPoint(afterRange);
+    if (afterPair == null) {
       return new TimeValuePairPointReader(new TimeValuePair(queryTime, null));
     }
     return new TimeValuePairPointReader(average(beforePair, afterPair));
@@ -19,8 +19,6 @@
 package org.apache.iotdb.db.query.fill;
 
 import java.io.IOException;
-import org.apache.iotdb.db.exception.StorageEngineException;
-import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -44,29 +42,13 @@ public class PreviousFill extends IFill {
     return new PreviousFill(dataType, queryTime, beforeRange);
   }
 
-  @Override
-  public void constructReaders(Path path, QueryContext context)
-      throws IOException, StorageEngineException {
-    super.constructReaders(path, context, beforeRange);
-  }
-
   public long getBeforeRange() {
     return beforeRange;
   }
 
   @Override
   public IPointReader getFillResult() throws IOException {
-    TimeValuePair beforePair = null;
-    TimeValuePair cachedPair = null;
-    while (allDataReader.hasNext()) {
-      cachedPair = allDataReader.next();
-      if (cachedPair.getTimestamp() <= queryTime) {
-        beforePair = cachedPair;
-      } else {
-        break;
-      }
-    }
-
+    TimeValuePair beforePair = getPreviousPoint(beforeRange);
     if (beforePair != null) {
       beforePair.setTimestamp(queryTime);
     } else {
@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.pool;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.cost.statistic.Measurement;
+import org.apache.iotdb.db.cost.statistic.Operation;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.qp.logical.Operator.OperatorType;
+import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.FillQueryPlan;
+import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.tsfile.read.expression.IExpression;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter.TimeEq;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * QueryScheduler evaluates the queries in its own bounded thread pools instead of the RPC threads,
+ * so that a burst of heavy queries cannot occupy all the RPC threads and starve the insertions. The
+ * RPC thread of a query waits for the evaluation of each batch of results.
+ * </p>
+ * <p>
+ * The point queries, i.e. the queries of a single timestamp, and the queries scanning series have
+ * separate pools, so the short queries are not stuck behind the long scans. In each pool, the
+ * batches of the queries already running are evaluated before the new queries, and the new queries
+ * in FIFO order. A new query is rejected when too many new queries are waiting or when its user
+ * has opened too many queries. The time the queries wait in the queue is recorded as
+ * {@link Operation#QUERY_QUEUE_WAIT}.
+ * </p>
+ */
+public class QueryScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryScheduler.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private ThreadPoolExecutor scanQueryPool;
+  private ThreadPoolExecutor pointQueryPool;
+
+  private AtomicLong taskSequence = new AtomicLong();
+
+  /**
+   * the number of new queries waiting in the pools.
+   */
+  private int waitingQueryNum = 0;
+
+  /**
+   * key: job id, value: the user who opened the query.
+   */
+  private Map<Long, String> jobUserMap = new HashMap<>();
+
+  /**
+   * key: user, value: the number of queries opened by the user.
+   */
+  private Map<String, Integer> userQueryNumMap = new HashMap<>();
+
+  private QueryScheduler() {
+    this(config.getMaxConcurrentQuery(), config.getMaxConcurrentPointQuery());
+  }
+
+  QueryScheduler(int scanThreadNum, int pointThreadNum) {
+    scanQueryPool = IoTDBThreadPoolFactory
+        .newFixedPriorityThreadPool(scanThreadNum, ThreadName.SCAN_QUERY_SCHEDULER.getName());
+    pointQueryPool = IoTDBThreadPoolFactory
+        .newFixedPriorityThreadPool(pointThreadNum, ThreadName.POINT_QUERY_SCHEDULER.getName());
+  }
+
+  public static QueryScheduler getInstance() {
+    return QuerySchedulerHolder.INSTANCE;
+  }
+
+  /**
+   * a point query reads a single timestamp, i.e. a fill query or a query whose only filter is
+   * "time = x".
+   */
+  public static boolean isPointQuery(PhysicalPlan plan) {
+    if (plan instanceof FillQueryPlan) {
+      return true;
+    }
+    if (!(plan instanceof QueryPlan) || plan.getOperatorType() != OperatorType.QUERY) {
+      return false;
+    }
+    IExpression expression = ((QueryPlan) plan).getExpression();
+    return expression instanceof GlobalTimeExpression
+        && ((GlobalTimeExpression) expression).getFilter() instanceof TimeEq;
+  }
+
+  /**
+   * admit a new query of a user, which is counted in the quota of the user until
+   * {@link #finish(long)} is called.
+   *
+   * @throws ProcessorException if the user has opened max_concurrent_query_per_user queries
+   */
+  public synchronized void admit(long jobId, String user) throws ProcessorException {
+    int maxQueryNum = config.getMaxConcurrentQueryPerUser();
+    int queryNum = userQueryNumMap.getOrDefault(user, 0);
+    if (maxQueryNum > 0 && queryNum >= maxQueryNum) {
+      throw new ProcessorException(String.format(
+          "User %s has opened %d queries, which reaches the limit, please close the finished "
+              + "queries or retry later", user, queryNum));
+    }
+    jobUserMap.put(jobId, user);
+    userQueryNumMap.put(user, queryNum + 1);
+  }
+
+  /**
+   * remove a query from the quota of its user when it ends, it does nothing if the query is not
+   * admitted.
+   */
+  public synchronized void finish(long jobId) {
+    String user = jobUserMap.remove(jobId);
+    if (user == null) {
+      return;
+    }
+    int queryNum = userQueryNumMap.get(user) - 1;
+    if (queryNum == 0) {
+      userQueryNumMap.remove(user);
+    } else {
+      userQueryNumMap.put(user, queryNum);
+    }
+  }
+
+  public synchronized int getQueryNum(String user) {
+    return userQueryNumMap.getOrDefault(user, 0);
+  }
+
+  /**
+   * evaluate a task of a query in the pool for its kind and wait for the result.
+   *
+   * <p>If the waiting thread is interrupted, the query is cancelled through its context instead of
+   * interrupting the pool thread, as an interrupted read closes the FileChannel which
+   * FileReaderManager shares with the other queries on the same file. The task then stops at its
+   * next check of {@link QueryContext#checkInterrupted()}.
+   *
+   * @param context the context of the query, may be null if the task is not cancellable
+   * @param isPointQuery whether the task belongs to a point query
+   * @param isNewQuery whether the task starts a new query, or evaluates the next batch of results
+   * of a running one, which is evaluated first and never rejected
+   * @throws ProcessorException if the new query is rejected as too many new queries are waiting,
+   * or the task fails with a checked exception
+   */
+  public <T> T execute(Callable<T> task, QueryContext context, boolean isPointQuery,
+      boolean isNewQuery) throws ProcessorException {
+    if (isNewQuery) {
+      synchronized (this) {
+        if (waitingQueryNum >= config.getQueryQueueSize()) {
+          logger.warn("{} new queries are waiting, reject the new query", waitingQueryNum);
+          throw new ProcessorException(String.format(
+              "Too many queries (%d) are waiting to be evaluated, please retry later",
+              waitingQueryNum));
+        }
+        waitingQueryNum++;
+      }
+    }
+    ScheduledTask<T> scheduledTask = new ScheduledTask<>(task, isNewQuery,
+        taskSequence.getAndIncrement());
+    (isPointQuery ? pointQueryPool : scanQueryPool).execute(scheduledTask);
+    try {
+      return scheduledTask.get();
+    } catch (InterruptedException e) {
+      scheduledTask.cancel(false);
+      if (context != null) {
+        context.cancel();
+      }
+      Thread.currentThread().interrupt();
+      throw new ProcessorException("Interrupted while waiting for the query to be evaluated", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ProcessorException(cause.getMessage(), cause);
+    } finally {
+      if (isNewQuery) {
+        scheduledTask.leaveQueue();
+      }
+    }
+  }
+
+  public synchronized int getWaitingQueryNum() {
+    return waitingQueryNum;
+  }
+
+  /**
+   * the number of the tasks of both the new and the running queries waiting in the pools.
+   */
+  public int getWaitingTaskNum() {
+    return scanQueryPool.getQueue().size() + pointQueryPool.getQueue().size();
+  }
+
+  public int getRunningTaskNum() {
+    return scanQueryPool.getActiveCount() + pointQueryPool.getActiveCount();
+  }
+
+  private class ScheduledTask<T> extends FutureTask<T> implements Comparable<ScheduledTask<?>> {
+
+    private boolean isNewQuery;
+    private long sequence;
+    private long enqueueTime;
+    private boolean isInQueue = true;
+
+    private ScheduledTask(Callable<T> callable, boolean isNewQuery, long sequence) {
+      super(callable);
+      this.isNewQuery = isNewQuery;
+      this.sequence = sequence;
+      this.enqueueTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public void run() {
+      Measurement.INSTANCE.addOperationLatency(Operation.QUERY_QUEUE_WAIT, enqueueTime);
+      if (isNewQuery) {
+        leaveQueue();
+      }
+      super.run();
+    }
+
+    /**
+     * a new query leaves the queue when it starts or when it is cancelled while waiting.
+     */
+    private void leaveQueue() {
+      synchronized (QueryScheduler.this) {
+        if (isInQueue) {
+          isInQueue = false;
+          waitingQueryNum--;
+        }
+      }
+    }
+
+    @Override
+    public int compareTo(ScheduledTask<?> o) {
+      if (isNewQuery != o.isNewQuery) {
+        return isNewQuery ? 1 : -1;
+      }
+      return Long.compare(sequence, o.sequence);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(sequence);
+    }
+  }
+
+  private static class QuerySchedulerHolder {
+
+    private QuerySchedulerHolder() {
+    }
+
+    private static final QueryScheduler INSTANCE = new QueryScheduler();
+  }
+}
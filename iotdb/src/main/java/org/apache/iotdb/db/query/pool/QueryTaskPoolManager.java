@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.pool;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.iotdb.db.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.service.IService;
+import org.apache.iotdb.db.service.ServiceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The thread pool shared by the queries to evaluate independent series in parallel.
+ */
+public class QueryTaskPoolManager implements IService {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryTaskPoolManager.class);
+
+  private static final int EXIT_WAIT_TIME = 60 * 1000;
+
+  private volatile ExecutorService pool;
+  private int threadCnt;
+
+  private QueryTaskPoolManager() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    this.threadCnt = config.getConcurrentQueryThread();
+    this.pool = IoTDBThreadPoolFactory
+        .newFixedThreadPool(threadCnt, ThreadName.QUERY_SERVICE.getName());
+  }
+
+  public static QueryTaskPoolManager getInstance() {
+    return InstanceHolder.instance;
+  }
+
+  /**
+   * Block new query tasks and exit when all RUNNING THREADS AND TASKS IN THE QUEUE end.
+   *
+   * @param block if set to true, this method will wait for timeOut milliseconds.
+   * @param timeout block time out in milliseconds.
+   * @throws ProcessorException if timeOut is reached or being interrupted while waiting to exit.
+   */
+  public void close(boolean block, long timeout) throws ProcessorException {
+    pool.shutdown();
+    if (block) {
+      try {
+        if (!pool.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+          throw new ProcessorException("Query thread pool doesn't exit after "
+              + timeout + " ms");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProcessorException("Interrupted while waiting query thread pool to exit. ", e);
+      }
+    }
+  }
+
+  public <T> Future<T> submit(Callable<T> task) {
+    return pool.submit(task);
+  }
+
+  public int getActiveCnt() {
+    return ((ThreadPoolExecutor) pool).getActiveCount();
+  }
+
+  public int getThreadCnt() {
+    return threadCnt;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (pool.isShutdown()) {
+      pool = IoTDBThreadPoolFactory.newFixedThreadPool(threadCnt, ThreadName.QUERY_SERVICE.getName());
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    try {
+      close(true, EXIT_WAIT_TIME);
+    } catch (ProcessorException e) {
+      logger.error("Failed to stop {}", getID().getName(), e);
+    }
+  }
+
+  @Override
+  public ServiceType getID() {
+    return ServiceType.QUERY_TASK_POOL_SERVICE;
+  }
+
+  private static class InstanceHolder {
+
+    private InstanceHolder() {
+      //allowed to do nothing
+    }
+
+    private static QueryTaskPoolManager instance = new QueryTaskPoolManager();
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.iotdb.db.query.reader;
 
 import java.io.IOException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 
 public interface IAggregateReader extends IBatchReader {
 
@@ -32,4 +33,16 @@ public interface IAggregateReader extends IBatchReader {
   PageHeader nextPageHeader() throws IOException;
 
   void skipPageData() throws IOException;
+
+  /**
+   * Returns meta-information of the next chunk before it is loaded, so that a whole chunk can be
+   * skipped by <code>skipChunkData</code>. It must be called before <code>hasNext</code>.
+   * <p>
+   * Returns null if the current chunk has not been read through or the next data comes from
+   * memory. In this case, read the data by <code>nextPageHeader</code> and
+   * <code>nextBatch</code>.
+   */
+  ChunkMetaData nextChunkMetaData() throws IOException;
+
+  void skipChunkData() throws IOException;
 }
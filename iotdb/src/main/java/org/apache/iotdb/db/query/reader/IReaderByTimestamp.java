@@ -36,5 +36,20 @@ public interface IReaderByTimestamp {
    */
   Object getValueInTimestamp(long timestamp) throws IOException;
 
+  /**
+   * Returns the values under the first <code>length</code> timestamps of the given array, the
+   * value of a timestamp without value is null. It changes the status of this reader just like
+   * calling <code>getValueInTimestamp</code> with each of the timestamps, which must be
+   * monotonically increasing too, and the readers override it to look up a block of timestamps
+   * at once.
+   */
+  default Object[] getValuesInTimestamps(long[] timestamps, int length) throws IOException {
+    Object[] values = new Object[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = getValueInTimestamp(timestamps[i]);
+    }
+    return values;
+  }
+
   boolean hasNext() throws IOException;
 }
@@ -19,30 +19,55 @@
 package org.apache.iotdb.db.query.reader.chunkRelated;
 
 import java.io.IOException;
+import org.apache.iotdb.db.query.context.QueryStatistics.SeriesStatistics;
+import org.apache.iotdb.db.query.reader.IBatchReader;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TimeValuePairUtils;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
 
 /**
- * To read chunk data on disk, this class implements an interface {@link IPointReader} based on the
- * data reader {@link ChunkReader}.
+ * To read chunk data on disk, this class implements the interfaces {@link IPointReader} and {@link
+ * IBatchReader} based on the data reader {@link ChunkReader}.
  * <p>
  * Note that <code>ChunkReader</code> is an abstract class with three concrete classes, two of which
  * are used here: <code>ChunkReaderWithoutFilter</code> and <code>ChunkReaderWithFilter</code>.
  * <p>
  * This class is used in {@link org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader}.
  */
-public class DiskChunkReader implements IPointReader {
+public class DiskChunkReader implements IPointReader, IBatchReader {
 
   private ChunkReader chunkReader;
   private BatchData data;
 
+  /**
+   * the loader of the chunk, closed with this reader to release the chunk, may be null
+   */
+  private ChunkLoader chunkLoader;
+
+  /**
+   * the statistics of the series for EXPLAIN ANALYZE, to which the pages read are added when this
+   * reader is closed, null if not collected
+   */
+  private SeriesStatistics statistics;
+
   public DiskChunkReader(ChunkReader chunkReader) {
     this.chunkReader = chunkReader;
   }
 
+  public DiskChunkReader(ChunkReader chunkReader, ChunkLoader chunkLoader) {
+    this(chunkReader, chunkLoader, null);
+  }
+
+  public DiskChunkReader(ChunkReader chunkReader, ChunkLoader chunkLoader,
+      SeriesStatistics statistics) {
+    this.chunkReader = chunkReader;
+    this.chunkLoader = chunkLoader;
+    this.statistics = statistics;
+  }
+
   @Override
   public boolean hasNext() throws IOException {
     if (data != null && data.hasNext()) {
@@ -69,8 +94,28 @@ public class DiskChunkReader implements IPointReader {
     return TimeValuePairUtils.getCurrentTimeValuePair(data);
   }
 
+  /**
+   * return the rest of the current batch, the points returned are no longer available by
+   * <code>next()</code>.
+   */
+  @Override
+  public BatchData nextBatch() throws IOException {
+    hasNext();
+    BatchData batchData = data;
+    data = null;
+    return batchData;
+  }
+
   @Override
-  public void close() {
+  public void close() throws IOException {
+    if (statistics != null) {
+      statistics.addPages(chunkReader.getReadPageNum(), chunkReader.getSkippedPageNum(),
+          chunkReader.getUncompressedBytes(), chunkReader.getDecodedPointNum());
+      statistics = null;
+    }
     this.chunkReader.close();
+    if (chunkLoader != null) {
+      chunkLoader.close();
+    }
   }
 }
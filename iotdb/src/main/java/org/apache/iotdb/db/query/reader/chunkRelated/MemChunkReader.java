@@ -19,12 +19,15 @@
 package org.apache.iotdb.db.query.reader.chunkRelated;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
 import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
 import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.query.reader.fileRelated.UnSealedTsFileIterateReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
@@ -46,7 +49,18 @@ public class MemChunkReader implements IPointReader, IAggregateReader {
   private TSDataType dataType;
 
   public MemChunkReader(ReadOnlyMemChunk readableChunk, Filter filter) {
-    timeValuePairIterator = readableChunk.getIterator();
+    this(readableChunk, filter, true);
+  }
+
+  /**
+   * @param ascending false to read the points in descending time order
+   */
+  public MemChunkReader(ReadOnlyMemChunk readableChunk, Filter filter, boolean ascending) {
+    if (ascending) {
+      timeValuePairIterator = readableChunk.getIterator();
+    } else {
+      timeValuePairIterator = new DescendingIterator(readableChunk.getSortedTimeValuePairList());
+    }
     this.filter = filter;
     this.dataType = readableChunk.getDataType();
   }
@@ -120,4 +134,33 @@ public class MemChunkReader implements IPointReader, IAggregateReader {
   public void skipPageData() {
     nextBatch();
   }
+
+  @Override
+  public ChunkMetaData nextChunkMetaData() {
+    return null;
+  }
+
+  @Override
+  public void skipChunkData() {
+    // Do nothing because data in memory is not organized in chunks
+  }
+
+  private static class DescendingIterator implements Iterator<TimeValuePair> {
+
+    private ListIterator<TimeValuePair> listIterator;
+
+    private DescendingIterator(List<TimeValuePair> sortedList) {
+      this.listIterator = sortedList.listIterator(sortedList.size());
+    }
+
+    @Override
+    public boolean hasNext() {
+      return listIterator.hasPrevious();
+    }
+
+    @Override
+    public TimeValuePair next() {
+      return listIterator.previous();
+    }
+  }
 }
\ No newline at end of file
@@ -19,8 +19,11 @@
 package org.apache.iotdb.db.query.reader.fileRelated;
 
 import java.io.IOException;
+import org.apache.iotdb.db.monitor.collector.QueryPruningStatistics;
+import org.apache.iotdb.db.query.context.QueryStatistics.SeriesStatistics;
 import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReader;
 
@@ -38,8 +41,33 @@ public class FileSeriesReaderAdapter implements IAggregateReader {
 
   private FileSeriesReader fileSeriesReader;
 
+  /**
+   * the skipped data of fileSeriesReader that has been added to {@link QueryPruningStatistics}.
+   */
+  private long reportedChunkNum;
+  private long reportedPointNum;
+  private long reportedBytes;
+
+  /**
+   * the statistics of the series for EXPLAIN ANALYZE, null if not collected, and the data of
+   * fileSeriesReader that has been added to it.
+   */
+  private SeriesStatistics statistics;
+  private long reportedReadChunkNum;
+  private long reportedSkippedChunkNum;
+  private long reportedReadPageNum;
+  private long reportedSkippedPageNum;
+  private long reportedUncompressedBytes;
+  private long reportedDecodedPointNum;
+
   public FileSeriesReaderAdapter(FileSeriesReader fileSeriesReader) {
+    this(fileSeriesReader, null);
+  }
+
+  public FileSeriesReaderAdapter(FileSeriesReader fileSeriesReader,
+      SeriesStatistics statistics) {
     this.fileSeriesReader = fileSeriesReader;
+    this.statistics = statistics;
   }
 
   @Override
@@ -52,9 +80,23 @@ public class FileSeriesReaderAdapter implements IAggregateReader {
     fileSeriesReader.skipPageData();
   }
 
+  @Override
+  public ChunkMetaData nextChunkMetaData() throws IOException {
+    return fileSeriesReader.nextChunkMetaData();
+  }
+
+  @Override
+  public void skipChunkData() {
+    fileSeriesReader.skipChunkData();
+  }
+
   @Override
   public boolean hasNext() throws IOException {
-    return fileSeriesReader.hasNextBatch();
+    if (fileSeriesReader.hasNextBatch()) {
+      return true;
+    }
+    reportSkippedData();
+    return false;
   }
 
   @Override
@@ -64,6 +106,43 @@ public class FileSeriesReaderAdapter implements IAggregateReader {
 
   @Override
   public void close() throws IOException {
+    reportSkippedData();
     fileSeriesReader.close();
   }
+
+  private void reportSkippedData() {
+    long chunkNum = fileSeriesReader.getSkippedChunkNum();
+    long pointNum = fileSeriesReader.getSkippedPointNum();
+    long bytes = fileSeriesReader.getSkippedBytes();
+    QueryPruningStatistics.getInstance()
+        .addSkipped(chunkNum - reportedChunkNum, pointNum - reportedPointNum,
+            bytes - reportedBytes);
+    reportedChunkNum = chunkNum;
+    reportedPointNum = pointNum;
+    reportedBytes = bytes;
+    if (statistics != null) {
+      reportSeriesStatistics();
+    }
+  }
+
+  private void reportSeriesStatistics() {
+    long readChunkNum = fileSeriesReader.getReadChunkNum();
+    long skippedChunkNum = fileSeriesReader.getSkippedChunkNum();
+    long readPageNum = fileSeriesReader.getReadPageNum();
+    long skippedPageNum = fileSeriesReader.getSkippedPageNum();
+    long uncompressedBytes = fileSeriesReader.getUncompressedBytes();
+    long decodedPointNum = fileSeriesReader.getDecodedPointNum();
+    statistics.addChunks(readChunkNum - reportedReadChunkNum,
+        skippedChunkNum - reportedSkippedChunkNum);
+    statistics.addPages(readPageNum - reportedReadPageNum,
+        skippedPageNum - reportedSkippedPageNum,
+        uncompressedBytes - reportedUncompressedBytes,
+        decodedPointNum - reportedDecodedPointNum);
+    reportedReadChunkNum = readChunkNum;
+    reportedSkippedChunkNum = skippedChunkNum;
+    reportedReadPageNum = readPageNum;
+    reportedSkippedPageNum = skippedPageNum;
+    reportedUncompressedBytes = uncompressedBytes;
+    reportedDecodedPointNum = decodedPointNum;
+  }
 }
@@ -19,17 +19,20 @@
 package org.apache.iotdb.db.query.reader.fileRelated;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.context.QueryStatistics.SeriesStatistics;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryChunkLoader;
 import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.db.query.reader.chunkRelated.MemChunkReader;
 import org.apache.iotdb.db.query.reader.universal.IterateReader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReader;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReaderWithFilter;
@@ -48,6 +51,7 @@ public class UnSealedTsFileIterateReader extends IterateReader {
 
   private TsFileResource unsealedTsFile;
   private Filter filter;
+  private QueryContext context;
 
   /**
    * Whether the reverse order is enabled.
@@ -57,6 +61,17 @@ public class UnSealedTsFileIterateReader extends IterateReader {
    */
   private boolean enableReverse;
 
+  /**
+   * True to read the points in descending time order, which implies the reverse order of the chunk
+   * data.
+   */
+  private boolean descending;
+
+  /**
+   * the statistics of the series for EXPLAIN ANALYZE, null if not collected
+   */
+  private SeriesStatistics statistics;
+
   /**
    * Constructor function.
    * <p>
@@ -68,23 +83,49 @@ public class UnSealedTsFileIterateReader extends IterateReader {
    *
    * @param unsealedTsFile the TsFileResource corresponding to the unsealed TsFile
    * @param filter filter condition
+   * @param context query context
    * @param isReverse True to iterate over chunk data in reverse chronological order (from newest to
    * oldest); False to iterate over chunk data in chronological order (from oldest to newest).
    */
   public UnSealedTsFileIterateReader(TsFileResource unsealedTsFile, Filter filter,
-      boolean isReverse) {
+      QueryContext context, boolean isReverse) {
+    this(unsealedTsFile, filter, context, isReverse, false);
+  }
+
+  /**
+   * @param isDescending True to read the points in descending time order, the chunk data is then
+   * iterated over in reverse chronological order whatever isReverse is.
+   */
+  public UnSealedTsFileIterateReader(TsFileResource unsealedTsFile, Filter filter,
+      QueryContext context, boolean isReverse, boolean isDescending) {
+    this(unsealedTsFile, filter, context, isReverse, isDescending, null);
+  }
+
+  /**
+   * @param statistics the statistics of the series for EXPLAIN ANALYZE, null if not collected
+   */
+  public UnSealedTsFileIterateReader(TsFileResource unsealedTsFile, Filter filter,
+      QueryContext context, boolean isReverse, boolean isDescending,
+      SeriesStatistics statistics) {
     super(2);
-    this.enableReverse = isReverse;
+    this.enableReverse = isReverse || isDescending;
+    this.descending = isDescending;
     this.unsealedTsFile = unsealedTsFile;
     this.filter = filter;
+    this.context = context;
+    this.statistics = statistics;
   }
 
   @Override
   protected boolean constructNextReader(int idx) throws IOException {
+    if (statistics != null && idx == (enableReverse ? 0 : 1)) {
+      statistics.addMemChunk();
+    }
     if (idx == 0) {
       if (enableReverse) {
         // data in memory first if it is to iterate over chunk data in reverse chronological order
-        currentSeriesReader = new MemChunkReader(unsealedTsFile.getReadOnlyMemChunk(), filter);
+        currentSeriesReader = new MemChunkReader(unsealedTsFile.getReadOnlyMemChunk(), filter,
+            !descending);
       } else {
         // data on disk first if it is to iterate over chunk data in chronological order
         currentSeriesReader = initUnSealedTsFileDiskReader(unsealedTsFile, filter);
@@ -109,13 +150,15 @@ public class UnSealedTsFileIterateReader extends IterateReader {
     // prepare metaDataList
     List<ChunkMetaData> metaDataList = unSealedTsFile.getChunkMetaDatas();
     if (enableReverse && metaDataList != null && !metaDataList.isEmpty()) {
+      // the list is shared by the readers of the query
+      metaDataList = new ArrayList<>(metaDataList);
       Collections.reverse(metaDataList);
     }
 
     // prepare chunkLoader
     TsFileSequenceReader unClosedTsFileReader = FileReaderManager.getInstance()
         .get(unSealedTsFile.getFile().getPath(), false);
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(unClosedTsFileReader);
+    ChunkLoader chunkLoader = new QueryChunkLoader(unClosedTsFileReader, context);
 
     // init fileSeriesReader
     FileSeriesReader fileSeriesReader;
@@ -124,7 +167,8 @@ public class UnSealedTsFileIterateReader extends IterateReader {
     } else {
       fileSeriesReader = new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter);
     }
+    fileSeriesReader.setDescending(descending);
 
-    return new FileSeriesReaderAdapter(fileSeriesReader);
+    return new FileSeriesReaderAdapter(fileSeriesReader, statistics);
   }
 }
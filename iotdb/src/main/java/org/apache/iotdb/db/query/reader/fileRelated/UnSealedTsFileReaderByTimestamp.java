@@ -20,12 +20,13 @@ package org.apache.iotdb.db.query.reader.fileRelated;
 
 import java.io.IOException;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryChunkLoader;
 import org.apache.iotdb.db.query.reader.IReaderByTimestamp;
 import org.apache.iotdb.db.query.reader.chunkRelated.MemChunkReaderByTimestamp;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReaderByTimestamp;
 
 /**
@@ -57,7 +58,8 @@ public class UnSealedTsFileReaderByTimestamp implements IReaderByTimestamp {
    */
   private boolean unSealedTsFileDiskReaderEnded;
 
-  public UnSealedTsFileReaderByTimestamp(TsFileResource unsealedTsFile) throws IOException {
+  public UnSealedTsFileReaderByTimestamp(TsFileResource unsealedTsFile, QueryContext context)
+      throws IOException {
     // create IReaderByTimestamp for data in the flushing memtable list
     unSealedTsFileMemReaderByTs = new MemChunkReaderByTimestamp(
         unsealedTsFile.getReadOnlyMemChunk());
@@ -65,7 +67,7 @@ public class UnSealedTsFileReaderByTimestamp implements IReaderByTimestamp {
     // create FileSeriesReaderByTimestamp for data which has been flushed to disk
     TsFileSequenceReader unClosedTsFileReader = FileReaderManager.getInstance()
         .get(unsealedTsFile.getFile().getPath(), false);
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(unClosedTsFileReader);
+    ChunkLoader chunkLoader = new QueryChunkLoader(unClosedTsFileReader, context);
     unSealedTsFileDiskReaderByTs = new FileSeriesReaderByTimestamp(chunkLoader,
         unsealedTsFile.getChunkMetaDatas());
 
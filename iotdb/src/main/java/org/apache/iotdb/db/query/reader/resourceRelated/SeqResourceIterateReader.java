@@ -24,7 +24,9 @@ import java.util.List;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.context.QueryStatistics.SeriesStatistics;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryChunkLoader;
 import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.db.query.reader.fileRelated.FileSeriesReaderAdapter;
 import org.apache.iotdb.db.query.reader.fileRelated.UnSealedTsFileIterateReader;
@@ -34,7 +36,6 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReader;
@@ -65,10 +66,21 @@ public class SeqResourceIterateReader extends IterateReader {
    */
   private boolean enableReverse;
 
+  /**
+   * True to read the points in descending time order, which implies the reverse order of the
+   * TsFiles and chunks.
+   */
+  private boolean descending;
+
   private List<TsFileResource> seqResources;
   private Filter filter;
   private QueryContext context;
 
+  /**
+   * the statistics of the series for EXPLAIN ANALYZE, null if not collected
+   */
+  private SeriesStatistics statistics;
+
   /**
    * Constructor function.
    * <p>
@@ -86,15 +98,27 @@ public class SeqResourceIterateReader extends IterateReader {
    */
   public SeqResourceIterateReader(Path seriesPath, List<TsFileResource> seqResources,
       Filter filter, QueryContext context, boolean isReverse) {
+    this(seriesPath, seqResources, filter, context, isReverse, false);
+  }
+
+  /**
+   * @param isDescending True to read the points in descending time order, i.e. the TsFiles and
+   * chunks from the newest to the oldest, and the pages of each chunk from the last to the first,
+   * whatever isReverse is.
+   */
+  public SeqResourceIterateReader(Path seriesPath, List<TsFileResource> seqResources,
+      Filter filter, QueryContext context, boolean isReverse, boolean isDescending) {
     super(seqResources.size());
     this.seriesPath = seriesPath;
-    this.enableReverse = isReverse;
-    if (isReverse) {
+    this.enableReverse = isReverse || isDescending;
+    this.descending = isDescending;
+    if (enableReverse) {
       Collections.reverse(seqResources);
     }
     this.seqResources = seqResources;
     this.filter = filter;
     this.context = context;
+    this.statistics = context == null ? null : context.getSeriesStatistics(seriesPath);
   }
 
   public SeqResourceIterateReader(Path seriesPath, List<TsFileResource> seqResources,
@@ -115,8 +139,10 @@ public class SeqResourceIterateReader extends IterateReader {
     TsFileResource tsFileResource = seqResources.get(idx);
     if (tsFileResource.isClosed()) {
       if (isTsFileNotSatisfied(tsFileResource, filter)) {
+        addFileStatistics(true);
         return false;
       }
+      addFileStatistics(false);
       currentSeriesReader = initSealedTsFileReader(tsFileResource, filter, context);
       return true;
     } else {
@@ -125,15 +151,23 @@ public class SeqResourceIterateReader extends IterateReader {
       // If endTimeMap size is not 0, call isTsFileNotSatisfied to check.
       if (tsFileResource.getEndTimeMap().size() != 0) {
         if (isTsFileNotSatisfied(tsFileResource, filter)) {
+          addFileStatistics(true);
           return false;
         }
       }
-      currentSeriesReader = new UnSealedTsFileIterateReader(tsFileResource, filter,
-          enableReverse);
+      addFileStatistics(false);
+      currentSeriesReader = new UnSealedTsFileIterateReader(tsFileResource, filter, context,
+          enableReverse, descending, statistics);
       return true;
     }
   }
 
+  private void addFileStatistics(boolean isPruned) {
+    if (statistics != null) {
+      statistics.addFile(true, isPruned);
+    }
+  }
+
   /**
    * Returns true if the start and end time of the series data in this sequence TsFile do not
    * satisfy the filter condition. Returns false if satisfy.
@@ -172,7 +206,7 @@ public class SeqResourceIterateReader extends IterateReader {
       Collections.reverse(metaDataList);
     }
     // prepare chunkLoader
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(tsFileReader);
+    ChunkLoader chunkLoader = new QueryChunkLoader(tsFileReader, context);
 
     // init fileSeriesReader
     FileSeriesReader fileSeriesReader;
@@ -181,6 +215,7 @@ public class SeqResourceIterateReader extends IterateReader {
     } else {
       fileSeriesReader = new FileSeriesReaderWithFilter(chunkLoader, metaDataList, filter);
     }
-    return new FileSeriesReaderAdapter(fileSeriesReader);
+    fileSeriesReader.setDescending(descending);
+    return new FileSeriesReaderAdapter(fileSeriesReader, statistics);
   }
 }
\ No newline at end of file
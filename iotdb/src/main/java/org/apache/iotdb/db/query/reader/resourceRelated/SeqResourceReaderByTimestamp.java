@@ -19,11 +19,13 @@
 package org.apache.iotdb.db.query.reader.resourceRelated;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryChunkLoader;
 import org.apache.iotdb.db.query.reader.IReaderByTimestamp;
 import org.apache.iotdb.db.query.reader.fileRelated.FileSeriesReaderByTimestampAdapter;
 import org.apache.iotdb.db.query.reader.fileRelated.UnSealedTsFileReaderByTimestamp;
@@ -32,7 +34,6 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
 import org.apache.iotdb.tsfile.read.reader.series.FileSeriesReaderByTimestamp;
 
@@ -55,6 +56,11 @@ public class SeqResourceReaderByTimestamp implements IReaderByTimestamp {
   private QueryContext context;
   private int nextIntervalFileIndex;
   private IReaderByTimestamp seriesReader;
+  /**
+   * the end time of the series in the TsFile of <code>seriesReader</code>, Long.MIN_VALUE if
+   * unknown.
+   */
+  private long seriesReaderEndTime;
 
   /**
    * Constructor function.
@@ -100,6 +106,33 @@ public class SeqResourceReaderByTimestamp implements IReaderByTimestamp {
     return value;
   }
 
+  /**
+   * The timestamps not after the end time of the series in the current TsFile are looked up in
+   * the TsFile in one batch, as the following TsFiles cannot contain them. The other timestamps
+   * are looked up one by one until a TsFile of known end time covers them.
+   */
+  @Override
+  public Object[] getValuesInTimestamps(long[] timestamps, int length) throws IOException {
+    Object[] values = new Object[length];
+    int index = 0;
+    while (index < length) {
+      if (seriesReader == null || timestamps[index] > seriesReaderEndTime) {
+        values[index] = getValueInTimestamp(timestamps[index]);
+        index++;
+        continue;
+      }
+      int end = index + 1;
+      while (end < length && timestamps[end] <= seriesReaderEndTime) {
+        end++;
+      }
+      long[] batchTimestamps = index == 0 ? timestamps : Arrays.copyOfRange(timestamps, index, end);
+      Object[] batchValues = seriesReader.getValuesInTimestamps(batchTimestamps, end - index);
+      System.arraycopy(batchValues, 0, values, index, end - index);
+      index = end;
+    }
+    return values;
+  }
+
   @Override
   public boolean hasNext() throws IOException {
     if (seriesReader != null && seriesReader.hasNext()) {
@@ -111,8 +144,9 @@ public class SeqResourceReaderByTimestamp implements IReaderByTimestamp {
       if (tsFileResource.isClosed()) {
         seriesReader = initSealedTsFileReaderByTimestamp(tsFileResource, context);
       } else {
-        seriesReader = new UnSealedTsFileReaderByTimestamp(tsFileResource);
+        seriesReader = new UnSealedTsFileReaderByTimestamp(tsFileResource, context);
       }
+      seriesReaderEndTime = getEndTime(tsFileResource);
       if (seriesReader.hasNext()) {
         return true;
       }
@@ -139,6 +173,7 @@ public class SeqResourceReaderByTimestamp implements IReaderByTimestamp {
         return false;
       }
       seriesReader = initSealedTsFileReaderByTimestamp(tsFileResource, context);
+      seriesReaderEndTime = getEndTime(tsFileResource);
       return true;
     } else {
       // an unsealed sequence TsFile's endTimeMap size may be equal to 0 or greater than 0
@@ -149,11 +184,17 @@ public class SeqResourceReaderByTimestamp implements IReaderByTimestamp {
           return false;
         }
       }
-      seriesReader = new UnSealedTsFileReaderByTimestamp(tsFileResource);
+      seriesReader = new UnSealedTsFileReaderByTimestamp(tsFileResource, context);
+      seriesReaderEndTime = getEndTime(tsFileResource);
       return true;
     }
   }
 
+  private long getEndTime(TsFileResource tsFile) {
+    Long endTime = tsFile.getEndTimeMap().get(seriesPath.getDevice());
+    return endTime == null ? Long.MIN_VALUE : endTime;
+  }
+
   /**
    * Returns true if the end time of the series data in this sequence TsFile is smaller than this
    * timestamp.
@@ -181,7 +222,7 @@ public class SeqResourceReaderByTimestamp implements IReaderByTimestamp {
       QueryUtils.modifyChunkMetaData(metaDataList, pathModifications);
     }
     // prepare chunkLoader
-    ChunkLoader chunkLoader = new ChunkLoaderImpl(tsFileReader);
+    ChunkLoader chunkLoader = new QueryChunkLoader(tsFileReader, context);
 
     return new FileSeriesReaderByTimestampAdapter(
         new FileSeriesReaderByTimestamp(chunkLoader, metaDataList));
@@ -19,45 +19,79 @@
 package org.apache.iotdb.db.query.reader.resourceRelated;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.context.QueryStatistics.SeriesStatistics;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryChunkLoader;
 import org.apache.iotdb.db.query.reader.chunkRelated.DiskChunkReader;
 import org.apache.iotdb.db.query.reader.chunkRelated.MemChunkReader;
-import org.apache.iotdb.db.query.reader.universal.PriorityMergeReader;
+import org.apache.iotdb.db.query.reader.universal.PriorityMergeBatchReader;
+import org.apache.iotdb.db.utils.ChunkStatisticsUtils;
 import org.apache.iotdb.db.utils.QueryUtils;
-import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
-import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithFilter;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderWithoutFilter;
 
 /**
- * To read a list of unsequence TsFiles, this class extends {@link PriorityMergeReader} to
+ * To read a list of unsequence TsFiles, this class extends {@link PriorityMergeBatchReader} to
  * implement
- * <code>IPointReader</code> for the TsFiles.
+ * <code>IPointReader</code> and <code>IBatchReader</code> for the TsFiles.
  * <p>
  * Note that an unsequence TsFile can be either closed or unclosed. An unclosed unsequence TsFile
  * consists of data on disk and data in memtables that will be flushed to this unclosed TsFile.
  * <p>
+ * Disk chunks are opened lazily in the order of their start time: a chunk is loaded only when the
+ * merge frontier reaches its start time, and it is released once exhausted (see {@link
+ * PriorityMergeBatchReader}). Thus only the chunks overlapping the current time are kept in memory
+ * instead of every unsequence chunk of the series. In descending mode the chunks are opened in the
+ * descending order of their end time and read from their last pages.
+ * <p>
  * This class is used in {@link org.apache.iotdb.db.query.reader.seriesRelated.SeriesReaderWithoutValueFilter}.
  */
-public class UnseqResourceMergeReader extends PriorityMergeReader {
+public class UnseqResourceMergeReader extends PriorityMergeBatchReader {
 
   private Path seriesPath;
+  private Filter filter;
+  private QueryContext context;
+
+  /**
+   * the statistics of the series for EXPLAIN ANALYZE, null if not collected
+   */
+  private SeriesStatistics statistics;
+
+  /**
+   * disk chunks that satisfy the filter but are not loaded yet, sorted by start time, or by end
+   * time in descending order in descending mode
+   */
+  private List<LazyChunk> chunkToLoad = new ArrayList<>();
+  private int nextChunkIndex = 0;
 
   public UnseqResourceMergeReader(Path seriesPath, List<TsFileResource> unseqResources,
       QueryContext context, Filter filter) throws IOException {
+    this(seriesPath, unseqResources, context, filter, true);
+  }
+
+  /**
+   * @param ascending false to merge the points in descending time order
+   */
+  public UnseqResourceMergeReader(Path seriesPath, List<TsFileResource> unseqResources,
+      QueryContext context, Filter filter, boolean ascending) throws IOException {
+    super(ascending);
     this.seriesPath = seriesPath;
+    this.filter = filter;
+    this.context = context;
+    this.statistics = context == null ? null : context.getSeriesStatistics(seriesPath);
 
     int priorityValue = 1;
     for (TsFileResource tsFileResource : unseqResources) {
@@ -67,6 +101,7 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
       List<ChunkMetaData> metaDataList;
       if (tsFileResource.isClosed()) {
         if (isTsFileNotSatisfied(tsFileResource, filter)) {
+          addFileStatistics(true);
           continue;
         }
         tsFileReader = FileReaderManager.getInstance()
@@ -81,6 +116,7 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
       } else {
         if (tsFileResource.getEndTimeMap().size() != 0) {
           if (isTsFileNotSatisfied(tsFileResource, filter)) {
+            addFileStatistics(true);
             continue;
           }
         }
@@ -89,34 +125,81 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
         metaDataList = tsFileResource.getChunkMetaDatas();
       }
 
-      // create and add ChunkReader with priority
-      ChunkLoaderImpl chunkLoader = new ChunkLoaderImpl(tsFileReader);
-      for (ChunkMetaData chunkMetaData : metaDataList) {
+      addFileStatistics(false);
 
-        if (filter != null) {
-          DigestForFilter digest = new DigestForFilter(chunkMetaData.getStartTime(),
-              chunkMetaData.getEndTime(),
-              chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE),
-              chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE),
-              chunkMetaData.getTsDataType());
-          if (!filter.satisfy(digest)) {
-            continue;
+      // record the chunks with priority, they are loaded in hasNext() when needed
+      for (ChunkMetaData chunkMetaData : metaDataList) {
+        if (filter != null && !ChunkStatisticsUtils.chunkSatisfied(chunkMetaData, filter)) {
+          if (statistics != null) {
+            statistics.addChunks(0, 1);
           }
+          continue;
         }
-
-        Chunk chunk = chunkLoader.getChunk(chunkMetaData);
-        ChunkReader chunkReader = filter != null ? new ChunkReaderWithFilter(chunk, filter)
-            : new ChunkReaderWithoutFilter(chunk);
-
-        addReaderWithPriority(new DiskChunkReader(chunkReader), priorityValue++);
+        chunkToLoad.add(new LazyChunk(chunkMetaData, tsFileReader, priorityValue++));
       }
 
       if (!tsFileResource.isClosed()) {
         // create and add MemChunkReader with priority
         addReaderWithPriority(
-            new MemChunkReader(tsFileResource.getReadOnlyMemChunk(), filter), priorityValue++);
+            new MemChunkReader(tsFileResource.getReadOnlyMemChunk(), filter, ascending),
+            priorityValue++);
+        if (statistics != null) {
+          statistics.addMemChunk();
+          statistics.updateUnseqMergeDepth(getHeapSize());
+        }
       }
     }
+
+    if (ascending) {
+      chunkToLoad.sort(Comparator.comparingLong(c -> c.chunkMetaData.getStartTime()));
+    } else {
+      chunkToLoad.sort(Comparator.comparingLong(
+          (LazyChunk c) -> c.chunkMetaData.getEndTime()).reversed());
+    }
+  }
+
+  /**
+   * Load the chunks whose start time is not after the smallest timestamp in the heap, so that no
+   * point older than or overlapping with the next output is left unread. If the heap is empty, the
+   * chunks are loaded until one of them has data. In descending mode, the chunks whose end time is
+   * not before the largest timestamp in the heap are loaded instead.
+   *
+   * @return the start time (end time in descending mode) of the next chunk to load,
+   * Long.MAX_VALUE if all are loaded
+   */
+  @Override
+  protected long loadSources() throws IOException {
+    while (nextChunkIndex < chunkToLoad.size()) {
+      LazyChunk lazyChunk = chunkToLoad.get(nextChunkIndex);
+      if (isAscending()) {
+        if (!isHeapEmpty() && heapTopTime() < lazyChunk.chunkMetaData.getStartTime()) {
+          return lazyChunk.chunkMetaData.getStartTime();
+        }
+      } else if (!isHeapEmpty() && heapTopTime() > lazyChunk.chunkMetaData.getEndTime()) {
+        return lazyChunk.chunkMetaData.getEndTime();
+      }
+      chunkToLoad.set(nextChunkIndex++, null);
+      // each chunk is loaded by its own loader, which releases the chunk when the chunk reader is
+      // closed on exhaustion
+      QueryChunkLoader chunkLoader = new QueryChunkLoader(lazyChunk.tsFileReader, context);
+      Chunk chunk = chunkLoader.getChunk(lazyChunk.chunkMetaData);
+      ChunkReader chunkReader = filter != null ? new ChunkReaderWithFilter(chunk, filter)
+          : new ChunkReaderWithoutFilter(chunk);
+      chunkReader.setDescending(!isAscending());
+      addReaderWithPriority(new DiskChunkReader(chunkReader, chunkLoader, statistics),
+          lazyChunk.priority);
+      if (statistics != null) {
+        statistics.addChunks(1, 0);
+        statistics.updateUnseqMergeDepth(getHeapSize());
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  private void addFileStatistics(boolean isPruned) {
+    if (statistics != null) {
+      statistics.addFile(false, isPruned);
+    }
   }
 
   /**
@@ -140,4 +223,18 @@ public class UnseqResourceMergeReader extends PriorityMergeReader {
     long endTime = tsFile.getEndTimeMap().get(seriesPath.getDevice());
     return !filter.satisfyStartEndTime(startTime, endTime);
   }
+
+  private static class LazyChunk {
+
+    private ChunkMetaData chunkMetaData;
+    private TsFileSequenceReader tsFileReader;
+    private int priority;
+
+    private LazyChunk(ChunkMetaData chunkMetaData, TsFileSequenceReader tsFileReader,
+        int priority) {
+      this.chunkMetaData = chunkMetaData;
+      this.tsFileReader = tsFileReader;
+      this.priority = priority;
+    }
+  }
 }
@@ -24,6 +24,7 @@ import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryChunkLoader;
 import org.apache.iotdb.db.query.reader.chunkRelated.DiskChunkReaderByTimestamp;
 import org.apache.iotdb.db.query.reader.chunkRelated.MemChunkReaderByTimestamp;
 import org.apache.iotdb.db.query.reader.universal.PriorityMergeReaderByTimestamp;
@@ -32,7 +33,6 @@ import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
-import org.apache.iotdb.tsfile.read.controller.ChunkLoaderImpl;
 import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReaderByTimestamp;
 
@@ -69,11 +69,11 @@ public class UnseqResourceReaderByTimestamp extends PriorityMergeReaderByTimesta
         metaDataList = tsFileResource.getChunkMetaDatas();
       }
 
-      // create and add ChunkReaderByTimestamp with priority
-      ChunkLoaderImpl chunkLoader = new ChunkLoaderImpl(tsFileReader);
+      // create and add ChunkReaderByTimestamp with priority, the chunks are kept until the query
+      // ends, so each of them is loaded by a loader never closed to keep its memory reserved
       for (ChunkMetaData chunkMetaData : metaDataList) {
 
-        Chunk chunk = chunkLoader.getChunk(chunkMetaData);
+        Chunk chunk = new QueryChunkLoader(tsFileReader, context).getChunk(chunkMetaData);
         ChunkReaderByTimestamp chunkReader = new ChunkReaderByTimestamp(chunk);
 
         addReaderWithPriority(new DiskChunkReaderByTimestamp(chunkReader),
@@ -82,6 +82,17 @@ public class SeriesReaderWithValueFilter extends SeriesReaderWithoutValueFilter
     }
   }
 
+  @Override
+  public void skipTo(long time) throws IOException {
+    if (hasCachedValue) {
+      if (timeValuePair.getTimestamp() >= time) {
+        return;
+      }
+      hasCachedValue = false;
+    }
+    super.skipTo(time);
+  }
+
   @Override
   public TimeValuePair current() {
     return timeValuePair;
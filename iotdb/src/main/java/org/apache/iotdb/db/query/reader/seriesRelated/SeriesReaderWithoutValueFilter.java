@@ -23,12 +23,15 @@ import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.QueryResourceManager;
+import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.db.query.reader.IBatchReader;
 import org.apache.iotdb.db.query.reader.IPointReader;
 import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader;
 import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
 import org.apache.iotdb.db.utils.TimeValuePair;
 import org.apache.iotdb.db.utils.TimeValuePairUtils;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
@@ -39,6 +42,10 @@ import org.apache.iotdb.tsfile.read.filter.basic.Filter;
  * <p>
  * Note that filters include value filter and time filter. "without value filter" is equivalent to
  * "with global time filter or simply without any filter".
+ * <p>
+ * The points are read in ascending time order, or in descending time order if the reader is
+ * created so, in which case both the sequence and the unsequence data are read from the newest
+ * to the oldest.
  */
 public class SeriesReaderWithoutValueFilter implements IPointReader {
 
@@ -48,11 +55,61 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
   private IBatchReader seqResourceIterateReader;
   private IPointReader unseqResourceMergeReader;
 
+  /**
+   * the sequence reader whose chunks and pages can be skipped by the point counts in their
+   * metadata and headers, see {@link #skipPoints(long)}. Null if the points must be skipped one by
+   * one.
+   */
+  private IAggregateReader skippableSeqReader;
+  private Filter timeFilter;
+
+  /**
+   * the sequence reader whose chunks and pages can be skipped by their time ranges, see
+   * {@link #skipTo(long)}. Null if the points must be skipped one by one.
+   */
+  private IAggregateReader seekableSeqReader;
+
+  /**
+   * whether the pages of the chunk being read can be skipped by their point counts, i.e. none of
+   * the points of the chunk is deleted.
+   */
+  private boolean isPageSkippable;
+
+  private boolean ascending = true;
+
   public SeriesReaderWithoutValueFilter(IBatchReader seqResourceIterateReader,
       IPointReader unseqResourceMergeReader) {
     this.seqResourceIterateReader = seqResourceIterateReader;
     this.unseqResourceMergeReader = unseqResourceMergeReader;
     this.hasCachedBatchData = false;
+    if (seqResourceIterateReader instanceof IAggregateReader) {
+      this.seekableSeqReader = (IAggregateReader) seqResourceIterateReader;
+    }
+  }
+
+  /**
+   * constructor of a reader whose points can be skipped by chunks and pages.
+   *
+   * @param timeFilter the time filter of both readers, null if there is none
+   */
+  public SeriesReaderWithoutValueFilter(IAggregateReader seqResourceIterateReader,
+      IPointReader unseqResourceMergeReader, Filter timeFilter) {
+    this(seqResourceIterateReader, unseqResourceMergeReader, timeFilter, true);
+  }
+
+  /**
+   * constructor of a reader whose points can be skipped by chunks and pages, merging the points
+   * of both readers in the given time order.
+   *
+   * @param timeFilter the time filter of both readers, null if there is none
+   * @param ascending false if both readers provide their points in descending time order
+   */
+  public SeriesReaderWithoutValueFilter(IAggregateReader seqResourceIterateReader,
+      IPointReader unseqResourceMergeReader, Filter timeFilter, boolean ascending) {
+    this(seqResourceIterateReader, unseqResourceMergeReader);
+    this.skippableSeqReader = seqResourceIterateReader;
+    this.timeFilter = timeFilter;
+    this.ascending = ascending;
   }
 
   public SeriesReaderWithoutValueFilter(Path seriesPath, Filter timeFilter, QueryContext context)
@@ -71,24 +128,46 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
    */
   protected SeriesReaderWithoutValueFilter(Path seriesPath, Filter filter, QueryContext context,
       boolean pushdownUnseq) throws StorageEngineException, IOException {
+    this(seriesPath, filter, context, pushdownUnseq, true);
+  }
+
+  /**
+   * Constructor function.
+   *
+   * @param seriesPath the path of the series data
+   * @param filter filter condition
+   * @param context query context
+   * @param pushdownUnseq True to push down the filter on the unsequence TsFile resource; False not
+   * to.
+   * @param ascending True to read the points in ascending time order; False in descending time
+   * order.
+   */
+  public SeriesReaderWithoutValueFilter(Path seriesPath, Filter filter, QueryContext context,
+      boolean pushdownUnseq, boolean ascending) throws StorageEngineException, IOException {
     QueryDataSource queryDataSource = QueryResourceManager.getInstance()
         .getQueryDataSource(seriesPath, context);
+    this.ascending = ascending;
 
     // reader for sequence resources
-    IBatchReader seqResourceIterateReader = new SeqResourceIterateReader(
-        queryDataSource.getSeriesPath(), queryDataSource.getSeqResources(), filter, context);
+    SeqResourceIterateReader seqResourceIterateReader = new SeqResourceIterateReader(
+        queryDataSource.getSeriesPath(), queryDataSource.getSeqResources(), filter, context,
+        false, !ascending);
 
     // reader for unsequence resources
     IPointReader unseqResourceMergeReader;
     if (pushdownUnseq) {
       unseqResourceMergeReader = new UnseqResourceMergeReader(seriesPath,
-          queryDataSource.getUnseqResources(), context, filter);
+          queryDataSource.getUnseqResources(), context, filter, ascending);
+      // the points are counted by the headers only if both readers have the same filter
+      this.skippableSeqReader = seqResourceIterateReader;
+      this.timeFilter = filter;
     } else {
       unseqResourceMergeReader = new UnseqResourceMergeReader(seriesPath,
-          queryDataSource.getUnseqResources(), context, null);
+          queryDataSource.getUnseqResources(), context, null, ascending);
     }
 
     this.seqResourceIterateReader = seqResourceIterateReader;
+    this.seekableSeqReader = seqResourceIterateReader;
     this.unseqResourceMergeReader = unseqResourceMergeReader;
     this.hasCachedBatchData = false;
   }
@@ -110,7 +189,7 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
     if (hasNextBatch && hasNextPoint) {
       long timeInPointReader = unseqResourceMergeReader.current().getTimestamp();
       long timeInBatchData = batchData.currentTime();
-      if (timeInPointReader > timeInBatchData) {
+      if (isBefore(timeInBatchData, timeInPointReader)) {
         TimeValuePair timeValuePair = TimeValuePairUtils.getCurrentTimeValuePair(batchData);
         batchData.next();
         return timeValuePair;
@@ -148,7 +227,7 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
     }
 
     // has value in batchReader
-    while (seqResourceIterateReader != null && seqResourceIterateReader.hasNext()) {
+    while (seqResourceIterateReader != null && peekChunk() && seqResourceIterateReader.hasNext()) {
       batchData = seqResourceIterateReader.nextBatch();
       if (batchData.hasNext()) {
         hasCachedBatchData = true;
@@ -158,6 +237,177 @@ public class SeriesReaderWithoutValueFilter implements IPointReader {
     return false;
   }
 
+  /**
+   * skip the next points of the series. The chunks and pages of the sequence data are skipped by
+   * the point counts in their metadata and headers without being loaded or decoded, if they are
+   * entirely inside the time filter, none of their points is deleted and no unsequence data
+   * overlaps with them. The other points are read and skipped one by one.
+   *
+   * @return the number of points skipped, which is less than pointNum only if the series ends
+   */
+  public long skipPoints(long pointNum) throws IOException {
+    long remaining = pointNum;
+    boolean isSeqDataEnd = false;
+    while (remaining > 0) {
+      if (skippableSeqReader == null || isSeqDataEnd
+          || (hasCachedBatchData && batchData.hasNext())) {
+        // the points of a loaded page, or of the unsequence data only
+        if (!hasNext()) {
+          break;
+        }
+        next();
+        remaining--;
+        continue;
+      }
+      hasCachedBatchData = false;
+
+      ChunkMetaData chunkMetaData = peekChunkMetaData();
+      if (chunkMetaData != null && isPageSkippable) {
+        remaining -= skipUnseqPointsBefore(
+            ascending ? chunkMetaData.getStartTime() : chunkMetaData.getEndTime(), remaining);
+        if (canSkipByCount(chunkMetaData.getStartTime(), chunkMetaData.getEndTime(),
+            chunkMetaData.getNumOfPoints(), remaining)) {
+          skippableSeqReader.skipChunkData();
+          remaining -= chunkMetaData.getNumOfPoints();
+          continue;
+        }
+      }
+
+      if (remaining == 0) {
+        break;
+      }
+      if (!skippableSeqReader.hasNext()) {
+        isSeqDataEnd = true;
+        continue;
+      }
+      PageHeader pageHeader = skippableSeqReader.nextPageHeader();
+      if (pageHeader != null && isPageSkippable) {
+        remaining -= skipUnseqPointsBefore(
+            ascending ? pageHeader.getMinTimestamp() : pageHeader.getMaxTimestamp(), remaining);
+        if (canSkipByCount(pageHeader.getMinTimestamp(), pageHeader.getMaxTimestamp(),
+            pageHeader.getNumOfValues(), remaining)) {
+          skippableSeqReader.skipPageData();
+          remaining -= pageHeader.getNumOfValues();
+          continue;
+        }
+      }
+      batchData = skippableSeqReader.nextBatch();
+      hasCachedBatchData = true;
+    }
+    return pointNum - remaining;
+  }
+
+  /**
+   * skip the points before the given time in the read order, so that the next point is the first
+   * one not before it. The chunks and pages of the sequence data entirely before the time are
+   * skipped by the time ranges in their metadata and headers without being loaded or decoded. The
+   * other points are skipped one by one.
+   */
+  public void skipTo(long time) throws IOException {
+    while (unseqResourceMergeReader != null && unseqResourceMergeReader.hasNext()
+        && isBefore(unseqResourceMergeReader.current().getTimestamp(), time)) {
+      unseqResourceMergeReader.next();
+    }
+    while (true) {
+      if (hasCachedBatchData) {
+        while (batchData.hasNext() && isBefore(batchData.currentTime(), time)) {
+          batchData.next();
+        }
+        if (batchData.hasNext()) {
+          return;
+        }
+        hasCachedBatchData = false;
+      }
+      if (seekableSeqReader == null) {
+        // the points of the sequence data are skipped by the caller one by one
+        return;
+      }
+
+      ChunkMetaData chunkMetaData = seekableSeqReader.nextChunkMetaData();
+      if (chunkMetaData != null && isBefore(
+          ascending ? chunkMetaData.getEndTime() : chunkMetaData.getStartTime(), time)) {
+        seekableSeqReader.skipChunkData();
+        continue;
+      }
+      if (chunkMetaData != null) {
+        isPageSkippable = chunkMetaData.getDeletedAt() < chunkMetaData.getStartTime();
+      }
+      if (!seekableSeqReader.hasNext()) {
+        return;
+      }
+      PageHeader pageHeader = seekableSeqReader.nextPageHeader();
+      if (pageHeader != null && isBefore(
+          ascending ? pageHeader.getMaxTimestamp() : pageHeader.getMinTimestamp(), time)) {
+        seekableSeqReader.skipPageData();
+        continue;
+      }
+      batchData = seekableSeqReader.nextBatch();
+      hasCachedBatchData = true;
+    }
+  }
+
+  /**
+   * peek the metadata of the next chunk before it is loaded, to know whether its pages can be
+   * skipped by their point counts.
+   *
+   * @return always true, so that it can be chained before loading the chunk
+   */
+  private boolean peekChunk() throws IOException {
+    if (skippableSeqReader != null) {
+      peekChunkMetaData();
+    }
+    return true;
+  }
+
+  private ChunkMetaData peekChunkMetaData() throws IOException {
+    ChunkMetaData chunkMetaData = skippableSeqReader.nextChunkMetaData();
+    // null if the current chunk is not read through, or the data is in memory without headers
+    if (chunkMetaData != null) {
+      isPageSkippable = chunkMetaData.getDeletedAt() < chunkMetaData.getStartTime();
+    }
+    return chunkMetaData;
+  }
+
+  /**
+   * skip the unsequence points before the given time in the read order, which do not overlap with
+   * the sequence data not read yet.
+   *
+   * @return the number of points skipped, at most maxPointNum
+   */
+  private long skipUnseqPointsBefore(long time, long maxPointNum) throws IOException {
+    long skipped = 0;
+    while (skipped < maxPointNum && unseqResourceMergeReader != null
+        && unseqResourceMergeReader.hasNext()
+        && isBefore(unseqResourceMergeReader.current().getTimestamp(), time)) {
+      unseqResourceMergeReader.next();
+      skipped++;
+    }
+    return skipped;
+  }
+
+  /**
+   * whether all the points of a chunk or a page can be skipped without reading them.
+   */
+  private boolean canSkipByCount(long startTime, long endTime, long pointNum, long maxPointNum)
+      throws IOException {
+    if (pointNum > maxPointNum) {
+      return false;
+    }
+    if (timeFilter != null && !timeFilter.containStartEndTime(startTime, endTime)) {
+      return false;
+    }
+    return unseqResourceMergeReader == null || !unseqResourceMergeReader.hasNext()
+        || isBefore(ascending ? endTime : startTime,
+        unseqResourceMergeReader.current().getTimestamp());
+  }
+
+  /**
+   * @return true if time1 comes before time2 in the read order
+   */
+  private boolean isBefore(long time1, long time2) {
+    return ascending ? time1 < time2 : time1 > time2;
+  }
+
   @Override
   public TimeValuePair current() throws IOException {
     throw new IOException("current() in SeriesReaderWithoutValueFilter is an empty method.");
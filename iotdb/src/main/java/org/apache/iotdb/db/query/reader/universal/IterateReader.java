@@ -21,6 +21,7 @@ package org.apache.iotdb.db.query.reader.universal;
 import java.io.IOException;
 import org.apache.iotdb.db.query.reader.IAggregateReader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 
 /**
@@ -83,6 +84,29 @@ public abstract class IterateReader implements IAggregateReader {
     currentSeriesReader.skipPageData();
   }
 
+  @Override
+  public ChunkMetaData nextChunkMetaData() throws IOException {
+    while (true) {
+      if (curReaderInitialized) {
+        ChunkMetaData chunkMetaData = currentSeriesReader.nextChunkMetaData();
+        if (chunkMetaData != null || currentSeriesReader.hasNext()) {
+          return chunkMetaData;
+        }
+        curReaderInitialized = false;
+      }
+
+      if (nextSeriesReaderIndex >= readerSize) {
+        return null;
+      }
+      curReaderInitialized = constructNextReader(nextSeriesReaderIndex++);
+    }
+  }
+
+  @Override
+  public void skipChunkData() throws IOException {
+    currentSeriesReader.skipChunkData();
+  }
+
   @Override
   public void close() {
     // file stream is managed in QueryResourceManager.
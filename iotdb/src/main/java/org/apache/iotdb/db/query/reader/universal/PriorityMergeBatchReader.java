@@ -0,0 +1,380 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.universal;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.iotdb.db.query.reader.IBatchReader;
+import org.apache.iotdb.db.query.reader.IPointReader;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.db.utils.TimeValuePairUtils;
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+
+/**
+ * This class merges batch data sources with different priorities, like {@link
+ * PriorityMergeReader}: points are output in ascending time order, and if several sources have a
+ * point at the same timestamp, only the one from the source with the highest priority is kept.
+ * <p>
+ * Unlike {@link PriorityMergeReader}, the sources are read as {@link BatchData} cursors and the
+ * heap only holds source indexes ordered by the current time of each cursor, so merging a point
+ * neither allocates a heap element nor a {@link TimeValuePair}. The merged points are output as
+ * {@link BatchData} blocks by {@link #nextBatch()}. The {@link IPointReader} methods read the same
+ * blocks for the callers consuming points, and must not be mixed with {@link #nextBatch()}.
+ * <p>
+ * A source is closed and released as soon as it is exhausted.
+ * <p>
+ * In descending mode the sources provide their points in descending time order, and so are the
+ * points merged. The heap then orders the sources by the negated times, so that the merge itself
+ * does not depend on the order.
+ */
+public class PriorityMergeBatchReader implements IPointReader, IBatchReader {
+
+  private static final int BATCH_SIZE = 4096;
+
+  private IBatchReader[] readers = new IBatchReader[4];
+  private BatchData[] cursors = new BatchData[4];
+  /**
+   * the current time of each cursor, negated in descending mode, kept aside so that comparing two
+   * sources in the heap does not go through BatchData
+   */
+  private long[] currentTimes = new long[4];
+  private int[] priorities = new int[4];
+  private int readerNum = 0;
+
+  /**
+   * binary min-heap of the indexes of the sources that still have data, ordered by the current
+   * time of their cursors and then by their priorities in descending order
+   */
+  private int[] heap = new int[4];
+  private int heapSize = 0;
+
+  private BatchData batchData;
+  private TimeValuePair currentTimeValuePair;
+
+  private boolean ascending;
+
+  public PriorityMergeBatchReader() {
+    this(true);
+  }
+
+  /**
+   * @param ascending false if the sources and the merged points are in descending time order
+   */
+  public PriorityMergeBatchReader(boolean ascending) {
+    this.ascending = ascending;
+  }
+
+  public void addReaderWithPriority(IBatchReader reader, int priority) throws IOException {
+    if (readerNum == readers.length) {
+      int newLength = readerNum * 2;
+      readers = Arrays.copyOf(readers, newLength);
+      cursors = Arrays.copyOf(cursors, newLength);
+      currentTimes = Arrays.copyOf(currentTimes, newLength);
+      priorities = Arrays.copyOf(priorities, newLength);
+      heap = Arrays.copyOf(heap, newLength);
+    }
+    int index = readerNum++;
+    readers[index] = reader;
+    priorities[index] = priority;
+    if (fetchBatch(index)) {
+      heap[heapSize] = index;
+      siftUp(heapSize++);
+    }
+  }
+
+  /**
+   * This method is called before merging the points. Subclasses which add sources lazily override
+   * it to add the sources needed, and return the first timestamp in the merge order that a source
+   * not added yet may have, i.e. the smallest one or the largest one in descending mode. Only the
+   * points before that timestamp in the merge order are merged until the method is called again.
+   *
+   * @return the timestamp from which the merge must wait for more sources, Long.MAX_VALUE if all
+   * the sources have been added, in both orders
+   */
+  protected long loadSources() throws IOException {
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * @return true if there is no source with remaining data in the heap
+   */
+  protected boolean isHeapEmpty() {
+    return heapSize == 0;
+  }
+
+  /**
+   * @return the number of sources with remaining data in the heap
+   */
+  protected int getHeapSize() {
+    return heapSize;
+  }
+
+  /**
+   * @return the first current time in the merge order among the sources in the heap, the heap must
+   * not be empty
+   */
+  protected long heapTopTime() {
+    return toTime(currentTimes[heap[0]]);
+  }
+
+  protected boolean isAscending() {
+    return ascending;
+  }
+
+  /**
+   * convert between a timestamp and its key in the heap, which are the same in ascending mode and
+   * the opposite in descending mode.
+   */
+  private long toKey(long time) {
+    return ascending ? time : -time;
+  }
+
+  private long toTime(long key) {
+    return ascending ? key : -key;
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    if (batchData != null && batchData.hasNext()) {
+      return true;
+    }
+    batchData = mergeBatch();
+    return batchData.hasNext();
+  }
+
+  @Override
+  public BatchData nextBatch() throws IOException {
+    if (!hasNext()) {
+      return batchData;
+    }
+    BatchData ret = batchData;
+    batchData = null;
+    return ret;
+  }
+
+  @Override
+  public TimeValuePair next() throws IOException {
+    TimeValuePair timeValuePair = current();
+    batchData.next();
+    currentTimeValuePair = null;
+    return timeValuePair;
+  }
+
+  @Override
+  public TimeValuePair current() throws IOException {
+    if (currentTimeValuePair == null) {
+      hasNext();
+      currentTimeValuePair = TimeValuePairUtils.getCurrentTimeValuePair(batchData);
+    }
+    return currentTimeValuePair;
+  }
+
+  private BatchData mergeBatch() throws IOException {
+    BatchData ret = null;
+    while (true) {
+      long boundary = loadSources();
+      if (boundary != Long.MAX_VALUE) {
+        boundary = toKey(boundary);
+      }
+      if (heapSize == 0) {
+        break;
+      }
+      if (ret == null) {
+        ret = new BatchData(cursors[heap[0]].getDataType(), true);
+      }
+      while (heapSize > 0 && ret.length() < BATCH_SIZE && currentTimes[heap[0]] < boundary) {
+        copyRun(ret, Math.min(boundary, secondTime()));
+        if (heapSize > 0 && ret.length() < BATCH_SIZE && currentTimes[heap[0]] < boundary) {
+          mergeOnePoint(ret);
+        }
+      }
+      if (ret.length() >= BATCH_SIZE || (heapSize == 0 && boundary == Long.MAX_VALUE)) {
+        break;
+      }
+    }
+    return ret == null ? new BatchData() : ret;
+  }
+
+  /**
+   * output the point on top of the heap, and skip the points of the same timestamp in the sources
+   * with lower priorities.
+   */
+  private void mergeOnePoint(BatchData ret) throws IOException {
+    BatchData top = cursors[heap[0]];
+    long time = currentTimes[heap[0]];
+    ret.putTime(toTime(time));
+    putValue(ret, top);
+
+    while (heapSize > 0 && currentTimes[heap[0]] == time) {
+      int index = heap[0];
+      BatchData cursor = cursors[index];
+      cursor.next();
+      if (cursor.hasNext()) {
+        currentTimes[index] = toKey(cursor.currentTime());
+        siftDown(0);
+      } else if (fetchBatch(index)) {
+        siftDown(0);
+      } else {
+        heap[0] = heap[--heapSize];
+        siftDown(0);
+      }
+    }
+  }
+
+  private void putValue(BatchData ret, BatchData cursor) {
+    switch (cursor.getDataType()) {
+      case BOOLEAN:
+        ret.putBoolean(cursor.getBoolean());
+        break;
+      case INT32:
+        ret.putInt(cursor.getInt());
+        break;
+      case INT64:
+        ret.putLong(cursor.getLong());
+        break;
+      case FLOAT:
+        ret.putFloat(cursor.getFloat());
+        break;
+      case DOUBLE:
+        ret.putDouble(cursor.getDouble());
+        break;
+      case TEXT:
+        ret.putBinary(cursor.getBinary());
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(cursor.getDataType()));
+    }
+  }
+
+  /**
+   * @return the smallest key of the sources other than the heap top
+   */
+  private long secondTime() {
+    long time = Long.MAX_VALUE;
+    if (heapSize > 1) {
+      time = currentTimes[heap[1]];
+    }
+    if (heapSize > 2 && currentTimes[heap[2]] < time) {
+      time = currentTimes[heap[2]];
+    }
+    return time;
+  }
+
+  /**
+   * output the points of the heap top source before the given key, they do not overlap with any
+   * other source so no comparison in the heap is needed.
+   */
+  private void copyRun(BatchData ret, long bound) throws IOException {
+    int index = heap[0];
+    BatchData cursor = cursors[index];
+    long time = currentTimes[index];
+    while (time < bound && ret.length() < BATCH_SIZE) {
+      ret.putTime(toTime(time));
+      putValue(ret, cursor);
+      cursor.next();
+      if (cursor.hasNext()) {
+        time = toKey(cursor.currentTime());
+        currentTimes[index] = time;
+      } else if (fetchBatch(index)) {
+        cursor = cursors[index];
+        time = currentTimes[index];
+      } else {
+        heap[0] = heap[--heapSize];
+        siftDown(0);
+        return;
+      }
+    }
+    // the key of the source has grown, restore the order of the heap
+    siftDown(0);
+  }
+
+  /**
+   * read the next non-empty batch of a source, close and release the source if it is exhausted.
+   *
+   * @return true if the source has more data
+   */
+  private boolean fetchBatch(int index) throws IOException {
+    while (readers[index].hasNext()) {
+      BatchData data = readers[index].nextBatch();
+      if (data != null && data.hasNext()) {
+        cursors[index] = data;
+        currentTimes[index] = toKey(data.currentTime());
+        return true;
+      }
+    }
+    readers[index].close();
+    readers[index] = null;
+    cursors[index] = null;
+    return false;
+  }
+
+  private boolean less(int index1, int index2) {
+    long time1 = currentTimes[index1];
+    long time2 = currentTimes[index2];
+    if (time1 != time2) {
+      return time1 < time2;
+    }
+    return priorities[index1] > priorities[index2];
+  }
+
+  private void siftUp(int pos) {
+    int index = heap[pos];
+    while (pos > 0) {
+      int parent = (pos - 1) >>> 1;
+      if (!less(index, heap[parent])) {
+        break;
+      }
+      heap[pos] = heap[parent];
+      pos = parent;
+    }
+    heap[pos] = index;
+  }
+
+  private void siftDown(int pos) {
+    if (heapSize == 0) {
+      return;
+    }
+    int index = heap[pos];
+    int half = heapSize >>> 1;
+    while (pos < half) {
+      int child = 2 * pos + 1;
+      int right = child + 1;
+      if (right < heapSize && less(heap[right], heap[child])) {
+        child = right;
+      }
+      if (!less(heap[child], index)) {
+        break;
+      }
+      heap[pos] = heap[child];
+      pos = child;
+    }
+    heap[pos] = index;
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (int i = 0; i < readerNum; i++) {
+      if (readers[i] != null) {
+        readers[i].close();
+        readers[i] = null;
+      }
+    }
+  }
+}
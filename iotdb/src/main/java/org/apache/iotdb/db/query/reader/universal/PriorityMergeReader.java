@@ -27,6 +27,9 @@ import org.apache.iotdb.db.utils.TimeValuePair;
 
 /**
  * This class implements {@link IPointReader} for data sources with different priorities.
+ * <p>
+ * A reader is closed and released as soon as it is exhausted, so the resources held by a long
+ * list of sources are bounded by the ones that still have data to merge.
  */
 public class PriorityMergeReader implements IPointReader {
 
@@ -37,13 +40,16 @@ public class PriorityMergeReader implements IPointReader {
   public void addReaderWithPriority(IPointReader reader, int priority) throws IOException {
     if (reader.hasNext()) {
       heap.add(new Element(readerList.size(), reader.next(), priority));
+      readerList.add(reader);
+    } else {
+      reader.close();
+      readerList.add(null);
     }
-    readerList.add(reader);
     priorityList.add(priority);
   }
 
   @Override
-  public boolean hasNext() {
+  public boolean hasNext() throws IOException {
     return !heap.isEmpty();
   }
 
@@ -55,7 +61,7 @@ public class PriorityMergeReader implements IPointReader {
   }
 
   @Override
-  public TimeValuePair current() {
+  public TimeValuePair current() throws IOException {
     return heap.peek().timeValuePair;
   }
 
@@ -66,6 +72,9 @@ public class PriorityMergeReader implements IPointReader {
       IPointReader reader = readerList.get(e.index);
       if (reader.hasNext()) {
         heap.add(new Element(e.index, reader.next(), priorityList.get(e.index)));
+      } else {
+        reader.close();
+        readerList.set(e.index, null);
       }
     }
   }
@@ -73,7 +82,9 @@ public class PriorityMergeReader implements IPointReader {
   @Override
   public void close() throws IOException {
     for (IPointReader reader : readerList) {
-      reader.close();
+      if (reader != null) {
+        reader.close();
+      }
     }
   }
 
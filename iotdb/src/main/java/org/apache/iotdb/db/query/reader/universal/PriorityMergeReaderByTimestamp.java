@@ -20,6 +20,7 @@ package org.apache.iotdb.db.query.reader.universal;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.apache.iotdb.db.query.reader.IReaderByTimestamp;
 
@@ -50,6 +51,37 @@ public class PriorityMergeReaderByTimestamp implements IReaderByTimestamp {
     return value;
   }
 
+  /**
+   * Just like <code>getValueInTimestamp</code>, the reader of the highest priority looks up all
+   * the timestamps, and each of the other readers only looks up the timestamps still without value.
+   */
+  @Override
+  public Object[] getValuesInTimestamps(long[] timestamps, int length) throws IOException {
+    Object[] values = new Object[length];
+    // the timestamps without value so far and their indexes in the given array
+    long[] missingTimestamps = Arrays.copyOf(timestamps, length);
+    int[] missingIndexes = new int[length];
+    for (int i = 0; i < length; i++) {
+      missingIndexes[i] = i;
+    }
+    int missingNum = length;
+    for (int i = readerList.size() - 1; i >= 0 && missingNum > 0; i--) {
+      Object[] readerValues = readerList.get(i)
+          .getValuesInTimestamps(missingTimestamps, missingNum);
+      int remainingNum = 0;
+      for (int j = 0; j < missingNum; j++) {
+        if (readerValues[j] != null) {
+          values[missingIndexes[j]] = readerValues[j];
+        } else {
+          missingTimestamps[remainingNum] = missingTimestamps[j];
+          missingIndexes[remainingNum++] = missingIndexes[j];
+        }
+      }
+      missingNum = remainingNum;
+    }
+    return values;
+  }
+
   /**
    * This is an empty method.
    * <p>
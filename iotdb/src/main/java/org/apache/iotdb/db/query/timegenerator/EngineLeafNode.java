@@ -20,18 +20,18 @@
 package org.apache.iotdb.db.query.timegenerator;
 
 import java.io.IOException;
-import org.apache.iotdb.db.query.reader.IPointReader;
+import org.apache.iotdb.db.query.reader.seriesRelated.SeriesReaderWithValueFilter;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.query.timegenerator.node.Node;
 import org.apache.iotdb.tsfile.read.query.timegenerator.node.NodeType;
 
 public class EngineLeafNode implements Node {
 
-  private IPointReader reader;
+  private SeriesReaderWithValueFilter reader;
 
   private BatchData data = null;
 
-  public EngineLeafNode(IPointReader reader) {
+  public EngineLeafNode(SeriesReaderWithValueFilter reader) {
     this.reader = reader;
   }
 
@@ -45,6 +45,11 @@ public class EngineLeafNode implements Node {
     return reader.next().getTimestamp();
   }
 
+  @Override
+  public void skipTo(long time) throws IOException {
+    reader.skipTo(time);
+  }
+
   /**
    * check if current value is equals to input value.
    */
@@ -16,26 +16,53 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.apache.iotdb.db.query.timegenerator;
 
+import static org.apache.iotdb.tsfile.read.expression.ExpressionType.AND;
+import static org.apache.iotdb.tsfile.read.expression.ExpressionType.OR;
 import static org.apache.iotdb.tsfile.read.expression.ExpressionType.SERIES;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryResourceManager;
 import org.apache.iotdb.db.query.reader.seriesRelated.SeriesReaderWithValueFilter;
+import org.apache.iotdb.db.utils.ChunkStatisticsUtils;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.controller.MetadataQuerierByFileImpl;
+import org.apache.iotdb.tsfile.read.expression.IBinaryExpression;
 import org.apache.iotdb.tsfile.read.expression.IExpression;
 import org.apache.iotdb.tsfile.read.expression.impl.SingleSeriesExpression;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.query.timegenerator.node.AndNode;
 import org.apache.iotdb.tsfile.read.query.timegenerator.node.Node;
 
+/**
+ * Construct the node tree of a time generator. The operands of nested AND expressions are joined
+ * in ascending order of their estimated numbers of satisfying points, so that the most selective
+ * series drives the intersection and the other ones are sought forward to its timestamps, instead
+ * of following the order in the SQL.
+ */
 public class EngineNodeConstructor extends AbstractNodeConstructor {
 
+  /**
+   * the estimated number of the points satisfying each expression, see
+   * {@link #estimatePointNum(IExpression, QueryContext)}.
+   */
+  private Map<IExpression, Long> estimatedPointNums = new IdentityHashMap<>();
+
   public EngineNodeConstructor() {
     // nothing to initialize
-    // TODO: make this a util class
   }
 
   /**
@@ -56,9 +83,101 @@ public class EngineNodeConstructor extends AbstractNodeConstructor {
       } catch (IOException e) {
         throw new StorageEngineException(e);
       }
-
+    } else if (expression.getType() == AND) {
+      return constructAndNode(expression, context);
     } else {
       return constructNotSeriesNode(expression, context);
     }
   }
+
+  /**
+   * construct the operands of nested AND expressions as a left-deep tree of AndNodes, the most
+   * selective operand first.
+   */
+  private Node constructAndNode(IExpression expression, QueryContext context)
+      throws StorageEngineException {
+    List<IExpression> operands = new ArrayList<>();
+    collectAndOperands(expression, operands);
+    for (IExpression operand : operands) {
+      estimatePointNum(operand, context);
+    }
+    operands.sort(Comparator.comparing(estimatedPointNums::get));
+
+    Node node = construct(operands.get(0), context);
+    for (int i = 1; i < operands.size(); i++) {
+      node = new AndNode(node, construct(operands.get(i), context));
+    }
+    return node;
+  }
+
+  private void collectAndOperands(IExpression expression, List<IExpression> operands) {
+    if (expression.getType() == AND) {
+      collectAndOperands(((IBinaryExpression) expression).getLeft(), operands);
+      collectAndOperands(((IBinaryExpression) expression).getRight(), operands);
+    } else {
+      operands.add(expression);
+    }
+  }
+
+  /**
+   * Estimate the number of the points satisfying an expression. For a series, it is the number of
+   * the points in the chunks whose statistics may satisfy its filter, the data in memory is not
+   * counted. That of an AND is the smallest one of its operands, and that of an OR is the sum.
+   */
+  public long estimatePointNum(IExpression expression, QueryContext context)
+      throws StorageEngineException {
+    Long pointNum = estimatedPointNums.get(expression);
+    if (pointNum != null) {
+      return pointNum;
+    }
+    if (expression.getType() == SERIES) {
+      pointNum = estimateSeriesPointNum((SingleSeriesExpression) expression, context);
+    } else {
+      long leftPointNum = estimatePointNum(((IBinaryExpression) expression).getLeft(), context);
+      long rightPointNum = estimatePointNum(((IBinaryExpression) expression).getRight(), context);
+      pointNum = expression.getType() == OR ? leftPointNum + rightPointNum
+          : Math.min(leftPointNum, rightPointNum);
+    }
+    estimatedPointNums.put(expression, pointNum);
+    return pointNum;
+  }
+
+  private long estimateSeriesPointNum(SingleSeriesExpression expression, QueryContext context)
+      throws StorageEngineException {
+    Path path = expression.getSeriesPath();
+    Filter filter = expression.getFilter();
+    QueryDataSource queryDataSource = QueryResourceManager.getInstance()
+        .getQueryDataSource(path, context);
+    List<TsFileResource> resources = new ArrayList<>(queryDataSource.getSeqResources());
+    resources.addAll(queryDataSource.getUnseqResources());
+
+    long pointNum = 0;
+    try {
+      for (TsFileResource resource : resources) {
+        List<ChunkMetaData> chunkMetaDataList;
+        if (resource.isClosed()) {
+          Long startTime = resource.getStartTimeMap().get(path.getDevice());
+          Long endTime = resource.getEndTimeMap().get(path.getDevice());
+          if (startTime == null || endTime == null
+              || !filter.satisfyStartEndTime(startTime, endTime)) {
+            continue;
+          }
+          TsFileSequenceReader tsFileReader = FileReaderManager.getInstance()
+              .get(resource.getFile().getPath(), true);
+          chunkMetaDataList = new MetadataQuerierByFileImpl(tsFileReader)
+              .getChunkMetaDataList(path);
+        } else {
+          chunkMetaDataList = resource.getChunkMetaDatas();
+        }
+        for (ChunkMetaData chunkMetaData : chunkMetaDataList) {
+          if (ChunkStatisticsUtils.chunkSatisfied(chunkMetaData, filter)) {
+            pointNum += chunkMetaData.getNumOfPoints();
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new StorageEngineException(e);
+    }
+    return pointNum;
+  }
 }
@@ -59,6 +59,16 @@ public class EngineTimeGenerator implements TimeGenerator {
     return operatorNode.next();
   }
 
+  /**
+   * fill the given array with the next timestamps, which are generated block by block. It must not
+   * be mixed with {@link #next()}.
+   *
+   * @return the number of the timestamps filled, 0 if there is no more timestamp
+   */
+  public int nextTimes(long[] timestamps) throws IOException {
+    return operatorNode.nextTimes(timestamps);
+  }
+
   @Override
   public Object getValue(Path path, long time) {
     return null;
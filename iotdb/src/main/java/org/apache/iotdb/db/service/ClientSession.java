@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.thrift.server.ServerContext;
+
+/**
+ * The state of a JDBC connection, e.g. the user, the time zone and the open queries of its session.
+ * The RPC server attaches the session of a connection to the thread serving each of its requests
+ * (see {@link JDBCServiceEventHandler}), so the state follows the connection even if its requests
+ * are served by different threads, as in the non-blocking servers.
+ */
+public class ClientSession implements ServerContext {
+
+  /**
+   * the session attached to each thread. A thread serving no connection, e.g. a test calling
+   * TSServiceImpl directly, has a session of its own.
+   */
+  private static final ThreadLocal<ClientSession> currentSession =
+      ThreadLocal.withInitial(ClientSession::new);
+
+  private Map<SessionLocal<?>, Object> values = new ConcurrentHashMap<>();
+
+  static ClientSession current() {
+    return currentSession.get();
+  }
+
+  /**
+   * serve the following requests of the current thread in the given session.
+   */
+  static void attach(ClientSession session) {
+    currentSession.set(session);
+  }
+
+  static void detach() {
+    currentSession.remove();
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T get(SessionLocal<T> key) {
+    return (T) values.get(key);
+  }
+
+  <T> void set(SessionLocal<T> key, T value) {
+    if (value == null) {
+      values.remove(key);
+    } else {
+      values.put(key, value);
+    }
+  }
+
+  void remove(SessionLocal<?> key) {
+    values.remove(key);
+  }
+}
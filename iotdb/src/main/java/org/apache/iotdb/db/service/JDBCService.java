@@ -29,10 +29,15 @@ import org.apache.iotdb.db.exception.StartupException;
 import org.apache.iotdb.service.rpc.thrift.TSIService;
 import org.apache.iotdb.service.rpc.thrift.TSIService.Processor;
 import org.apache.thrift.protocol.TBinaryProtocol;
-import org.apache.thrift.protocol.TBinaryProtocol.Factory;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.server.THsHaServer;
 import org.apache.thrift.server.TServer;
 import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
 import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,11 +50,14 @@ public class JDBCService implements JDBCServiceMBean, IService {
   private static final Logger logger = LoggerFactory.getLogger(JDBCService.class);
   private static final String STATUS_UP = "UP";
   private static final String STATUS_DOWN = "DOWN";
+  private static final String SERVER_TYPE_THREAD_POOL = "THREAD_POOL";
+  private static final String SERVER_TYPE_SELECTOR = "SELECTOR";
+  private static final String SERVER_TYPE_HSHA = "HSHA";
   private final String mbeanName = String
       .format("%s:%s=%s", IoTDBConstant.IOTDB_PACKAGE, IoTDBConstant.JMX_TYPE,
           getID().getJmxName());
   private Thread jdbcServiceThread;
-  private Factory protocolFactory;
+  private TProtocolFactory protocolFactory;
   private Processor<TSIService.Iface> processor;
   private TThreadPoolServer.Args poolArgs;
   private TSServiceImpl impl;
@@ -181,15 +189,19 @@ public class JDBCService implements JDBCServiceMBean, IService {
 
   private class JDBCServiceThread extends Thread {
 
-    private TServerSocket serverTransport;
+    private TServerTransport serverTransport;
     private TServer poolServer;
     private CountDownLatch threadStartLatch;
     private CountDownLatch threadStopLatch;
 
     public JDBCServiceThread(CountDownLatch threadStartLatch, CountDownLatch threadStopLatch)
         throws ClassNotFoundException, IllegalAccessException, InstantiationException {
-      protocolFactory = new TBinaryProtocol.Factory();
       IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+      if (config.isRpcThriftCompressionEnable()) {
+        protocolFactory = new TCompactProtocol.Factory();
+      } else {
+        protocolFactory = new TBinaryProtocol.Factory();
+      }
       impl = (TSServiceImpl) Class.forName(config.getRpcImplClassName()).newInstance();
       processor = new TSIService.Processor<>(impl);
       this.threadStartLatch = threadStartLatch;
@@ -200,15 +212,7 @@ public class JDBCService implements JDBCServiceMBean, IService {
     @Override
     public void run() {
       try {
-        IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
-        serverTransport = new TServerSocket(new InetSocketAddress(config.getRpcAddress(),
-            config.getRpcPort()));
-        poolArgs = new TThreadPoolServer.Args(serverTransport);
-        poolArgs.executorService = IoTDBThreadPoolFactory.createThriftRpcClientThreadPool(poolArgs,
-            ThreadName.JDBC_CLIENT.getName());
-        poolArgs.processor(processor);
-        poolArgs.protocolFactory(protocolFactory);
-        poolServer = new TThreadPoolServer(poolArgs);
+        poolServer = createServer();
         poolServer.setServerEventHandler(new JDBCServiceEventHandler(impl, threadStartLatch));
         poolServer.serve();
       } catch (TTransportException e) {
@@ -235,6 +239,50 @@ public class JDBCService implements JDBCServiceMBean, IService {
       }
     }
 
+    /**
+     * create the Thrift server of rpc_server_type, the SELECTOR and HSHA servers read and write the
+     * requests by selector threads and execute them in a pool of worker threads.
+     */
+    private TServer createServer() throws TTransportException {
+      IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+      InetSocketAddress address = new InetSocketAddress(config.getRpcAddress(),
+          config.getRpcPort());
+      switch (config.getRpcServerType()) {
+        case SERVER_TYPE_SELECTOR:
+          TNonblockingServerSocket selectorTransport = new TNonblockingServerSocket(address);
+          serverTransport = selectorTransport;
+          TThreadedSelectorServer.Args selectorArgs = new TThreadedSelectorServer.Args(
+              selectorTransport)
+              .selectorThreads(config.getRpcSelectorThreadNum())
+              .executorService(IoTDBThreadPoolFactory.newFixedThreadPool(
+                  config.getRpcWorkerThreadNum(), ThreadName.JDBC_CLIENT.getName()));
+          selectorArgs.processor(processor);
+          selectorArgs.protocolFactory(protocolFactory);
+          return new TThreadedSelectorServer(selectorArgs);
+        case SERVER_TYPE_HSHA:
+          TNonblockingServerSocket hshaTransport = new TNonblockingServerSocket(address);
+          serverTransport = hshaTransport;
+          THsHaServer.Args hshaArgs = new THsHaServer.Args(hshaTransport)
+              .executorService(IoTDBThreadPoolFactory.newFixedThreadPool(
+                  config.getRpcWorkerThreadNum(), ThreadName.JDBC_CLIENT.getName()));
+          hshaArgs.processor(processor);
+          hshaArgs.protocolFactory(protocolFactory);
+          return new THsHaServer(hshaArgs);
+        default:
+          if (!SERVER_TYPE_THREAD_POOL.equals(config.getRpcServerType())) {
+            logger.warn("Unknown rpc_server_type {}, use {}", config.getRpcServerType(),
+                SERVER_TYPE_THREAD_POOL);
+          }
+          serverTransport = new TServerSocket(address);
+          poolArgs = new TThreadPoolServer.Args(serverTransport);
+          poolArgs.executorService = IoTDBThreadPoolFactory.createThriftRpcClientThreadPool(
+              poolArgs, ThreadName.JDBC_CLIENT.getName());
+          poolArgs.processor(processor);
+          poolArgs.protocolFactory(protocolFactory);
+          return new TThreadPoolServer(poolArgs);
+      }
+    }
+
     private synchronized void close() {
       if (poolServer != null) {
         poolServer.stop();
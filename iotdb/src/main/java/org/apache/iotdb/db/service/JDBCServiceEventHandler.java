@@ -41,16 +41,19 @@ public class JDBCServiceEventHandler implements TServerEventHandler {
 
   @Override
   public ServerContext createContext(TProtocol arg0, TProtocol arg1) {
-    // TODO Auto-generated method stub
-    return null;
+    return new ClientSession();
   }
 
   @Override
   public void deleteContext(ServerContext arg0, TProtocol arg1, TProtocol arg2) {
+    // the non-blocking servers close the connections in their selector threads
+    ClientSession.attach((ClientSession) arg0);
     try {
       serviceImpl.handleClientExit();
     } catch (TException e) {
       logger.error("failed to clear client status", e);
+    } finally {
+      ClientSession.detach();
     }
   }
 
@@ -61,8 +64,8 @@ public class JDBCServiceEventHandler implements TServerEventHandler {
 
   @Override
   public void processContext(ServerContext arg0, TTransport arg1, TTransport arg2) {
-    // TODO Auto-generated method stub
-
+    // called before each request by the thread serving it
+    ClientSession.attach((ClientSession) arg0);
   }
 
 }
@@ -33,7 +33,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.iotdb.db.auth.AuthException;
 import org.apache.iotdb.db.auth.AuthorityChecker;
@@ -45,23 +49,35 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.cost.statistic.Measurement;
 import org.apache.iotdb.db.cost.statistic.Operation;
 import org.apache.iotdb.db.engine.StorageEngine;
+import org.apache.iotdb.db.engine.pool.BatchTaskPoolManager;
 import org.apache.iotdb.db.exception.ArgsErrorException;
 import org.apache.iotdb.db.exception.MetadataErrorException;
 import org.apache.iotdb.db.exception.PathErrorException;
 import org.apache.iotdb.db.exception.ProcessorException;
 import org.apache.iotdb.db.exception.QueryInBatchStmtException;
+import org.apache.iotdb.db.exception.QueryInterruptedException;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.exception.qp.IllegalASTFormatException;
 import org.apache.iotdb.db.exception.qp.QueryProcessorException;
 import org.apache.iotdb.db.metadata.MManager;
 import org.apache.iotdb.db.metadata.Metadata;
+import org.apache.iotdb.db.qp.PlanCache;
 import org.apache.iotdb.db.qp.QueryProcessor;
+import org.apache.iotdb.db.qp.executor.AbstractQueryProcessExecutor;
 import org.apache.iotdb.db.qp.executor.QueryProcessExecutor;
+import org.apache.iotdb.db.qp.logical.Operator.OperatorType;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
 import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
 import org.apache.iotdb.db.qp.physical.sys.AuthorPlan;
+import org.apache.iotdb.db.qp.strategy.InsertStatementParser;
 import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.control.QueryMemoryManager;
 import org.apache.iotdb.db.query.control.QueryResourceManager;
+import org.apache.iotdb.db.query.control.SlowQueryManager;
+import org.apache.iotdb.db.query.control.SlowQueryRecord;
+import org.apache.iotdb.db.query.pool.QueryScheduler;
+import org.apache.iotdb.db.sql.parse.AstNode;
 import org.apache.iotdb.db.utils.QueryDataSetUtils;
 import org.apache.iotdb.service.rpc.thrift.ServerProperties;
 import org.apache.iotdb.service.rpc.thrift.TSCancelOperationReq;
@@ -93,7 +109,6 @@ import org.apache.iotdb.service.rpc.thrift.TS_SessionHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_Status;
 import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
 import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
-import org.apache.iotdb.tsfile.exception.filter.QueryFilterOptimizationException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
@@ -111,16 +126,29 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   private static final Logger logger = LoggerFactory.getLogger(TSServiceImpl.class);
   private static final String INFO_NOT_LOGIN = "{}: Not login.";
   private static final String ERROR_NOT_LOGIN = "Not login";
+  /**
+   * the number of statements of a batch parsed by a task.
+   */
+  private static final int PARSE_CHUNK_SIZE = 256;
 
   protected QueryProcessor processor;
   // Record the username for every rpc connection. Username.get() is null if
   // login is failed.
-  protected ThreadLocal<String> username = new ThreadLocal<>();
-  private ThreadLocal<HashMap<String, PhysicalPlan>> queryStatus = new ThreadLocal<>();
-  private ThreadLocal<HashMap<String, QueryDataSet>> queryRet = new ThreadLocal<>();
-  private ThreadLocal<ZoneId> zoneIds = new ThreadLocal<>();
+  protected SessionLocal<String> username = new SessionLocal<>();
+  private SessionLocal<HashMap<String, PhysicalPlan>> queryStatus = new SessionLocal<>();
+  private SessionLocal<HashMap<String, QueryDataSet>> queryRet = new SessionLocal<>();
+  // the slow query records of the queries executed but not fetched yet
+  private SessionLocal<HashMap<String, SlowQueryRecord>> queryRecords = new SessionLocal<>();
+  private SessionLocal<ZoneId> zoneIds = new SessionLocal<>();
+  // the query timeout (in ms) set by the session, which overrides query_timeout_threshold
+  private SessionLocal<Long> sessionQueryTimeouts = new SessionLocal<>();
+  // the timeouts of the queries executed but not fetched yet, taken when they are executed
+  private SessionLocal<HashMap<String, Long>> queryTimeouts = new SessionLocal<>();
+  // the query ids of the queries given at their first fetches
+  private SessionLocal<HashMap<String, Long>> queryIds = new SessionLocal<>();
   private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
-  private ThreadLocal<Map<Long, QueryContext>> contextMapLocal = new ThreadLocal<>();
+  private SessionLocal<Map<Long, QueryContext>> contextMapLocal = new SessionLocal<>();
+  private PlanCache planCache = new PlanCache(config.getPlanCacheSize());
 
   private AtomicLong globalStmtId = new AtomicLong(0L);
   // (statementId) -> (statement)
@@ -175,6 +203,9 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   private void initForOneSession() {
     queryStatus.set(new HashMap<>());
     queryRet.set(new HashMap<>());
+    queryRecords.set(new HashMap<>());
+    queryTimeouts.set(new HashMap<>());
+    queryIds.set(new HashMap<>());
   }
 
   @Override
@@ -193,12 +224,36 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       if (zoneIds.get() != null) {
         zoneIds.remove();
       }
+      sessionQueryTimeouts.remove();
     }
     return new TSCloseSessionResp(tsStatus);
   }
 
+  /**
+   * Cancel the query of the operation handle, the other queries of the session are not affected.
+   * As the requests of a session are handled one by one, the query is not being evaluated, so it is
+   * stopped and its resources are released at once, and the following fetches of it fail.
+   */
   @Override
   public TSCancelOperationResp cancelOperation(TSCancelOperationReq req) {
+    logger.info("{}: receive cancel operation", IoTDBConstant.GLOBAL_DB_NAME);
+    try {
+      // the operation handle of a query is named by its statement
+      String statement = new String(req.getOperationHandle().getOperationId().getGuid());
+      Long queryId = queryIds.get() == null ? null : queryIds.get().get(statement);
+      if (queryId != null) {
+        QueryContext context = contextMapLocal.get() == null ? null
+            : contextMapLocal.get().get(queryId);
+        if (context != null) {
+          context.cancel();
+        }
+        releaseQueryResource(queryId);
+      }
+      clearStatusOfQuery(statement);
+    } catch (Exception e) {
+      logger.error("Error in cancelOperation : ", e);
+      return new TSCancelOperationResp(getErrorStatus(e.getMessage()));
+    }
     return new TSCancelOperationResp(new TS_Status(TS_StatusCode.SUCCESS_STATUS));
   }
 
@@ -229,13 +284,40 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     if (req == null || req.queryId == -1) {
       // end query for all the query tokens created by current thread
       for (QueryContext context : contextMap.values()) {
+        recordSlowQuery(context);
+        QueryScheduler.getInstance().finish(context.getJobId());
         QueryResourceManager.getInstance().endQueryForGivenJob(context.getJobId());
       }
       contextMapLocal.set(new HashMap<>());
     } else {
-      QueryResourceManager.getInstance()
-          .endQueryForGivenJob(contextMap.remove(req.queryId).getJobId());
+      releaseQueryResource(req.queryId);
+    }
+  }
+
+  private void releaseQueryResource(long queryId) throws StorageEngineException {
+    QueryContext context = contextMapLocal.get() == null ? null
+        : contextMapLocal.get().remove(queryId);
+    if (context == null) {
+      // the query has been released when it is interrupted
+      return;
+    }
+    recordSlowQuery(context);
+    QueryScheduler.getInstance().finish(context.getJobId());
+    QueryResourceManager.getInstance().endQueryForGivenJob(context.getJobId());
+  }
+
+  /**
+   * record a query in the slow query log if it is slow when it ends, with the files it has read
+   * and the most memory it has reserved.
+   */
+  private void recordSlowQuery(QueryContext context) {
+    SlowQueryRecord record = context.getSlowQueryRecord();
+    if (record == null || !SlowQueryManager.getInstance().isSlow(record)) {
+      return;
     }
+    record.setFileNum(QueryResourceManager.getInstance().getUsedFileNum(context.getJobId()));
+    record.setPeakMemory(QueryMemoryManager.getInstance().getJobPeakMemory(context.getJobId()));
+    SlowQueryManager.getInstance().record(record);
   }
 
   private void clearAllStatusForCurrentRequest() {
@@ -245,6 +327,33 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     if (this.queryStatus.get() != null) {
       this.queryStatus.get().clear();
     }
+    if (this.queryRecords.get() != null) {
+      this.queryRecords.get().clear();
+    }
+    if (this.queryTimeouts.get() != null) {
+      this.queryTimeouts.get().clear();
+    }
+    if (this.queryIds.get() != null) {
+      this.queryIds.get().clear();
+    }
+  }
+
+  private void clearStatusOfQuery(String statement) {
+    if (this.queryRet.get() != null) {
+      this.queryRet.get().remove(statement);
+    }
+    if (this.queryStatus.get() != null) {
+      this.queryStatus.get().remove(statement);
+    }
+    if (this.queryRecords.get() != null) {
+      this.queryRecords.get().remove(statement);
+    }
+    if (this.queryTimeouts.get() != null) {
+      this.queryTimeouts.get().remove(statement);
+    }
+    if (this.queryIds.get() != null) {
+      this.queryIds.get().remove(statement);
+    }
   }
 
   private TS_Status getErrorStatus(String message) {
@@ -345,10 +454,16 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       case "role":
       case "user":
       case "privilege":
+        // the description of EXPLAIN
+      case AbstractQueryProcessExecutor.EXPLAIN_COLUMN:
         return TSDataType.TEXT;
       default:
         // do nothing
     }
+    int slowQueryColumnIndex = SlowQueryRecord.COLUMNS.indexOf(path.toLowerCase());
+    if (slowQueryColumnIndex >= 0) {
+      return SlowQueryRecord.COLUMN_TYPES.get(slowQueryColumnIndex);
+    }
 
     if (path.contains("(") && !path.startsWith("(") && path.endsWith(")")) {
       // aggregation
@@ -411,23 +526,33 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   @Override
   public TSExecuteBatchStatementResp executeBatchStatement(TSExecuteBatchStatementReq req) {
     long t1 = System.currentTimeMillis();
-    String currStmt = null;
     List<Integer> result = new ArrayList<>();
     try {
       if (!checkLogin()) {
         logger.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
         return getTSBathExecuteStatementResp(TS_StatusCode.ERROR_STATUS, ERROR_NOT_LOGIN, null);
       }
-      List<String> statements = req.getStatements();
+      List<BatchStatement> statements = parseStatementsInBatch(req.getStatements());
 
       boolean isAllSuccessful = true;
       StringBuilder batchErrorMessage = new StringBuilder();
 
-      for (String statement : statements) {
+      int i = 0;
+      while (isAllSuccessful && i < statements.size()) {
         long t2 = System.currentTimeMillis();
-        currStmt = statement;
-        isAllSuccessful =
-            isAllSuccessful && executeStatementInBatch(statement, batchErrorMessage, result);
+        // the consecutive insertions are executed together
+        int end = i;
+        while (end < statements.size() && statements.get(end).plan instanceof InsertPlan) {
+          end++;
+        }
+        if (end > i) {
+          isAllSuccessful = executeInsertionsInBatch(statements.subList(i, end),
+              batchErrorMessage, result);
+          i = end;
+        } else {
+          isAllSuccessful = executeStatementInBatch(statements.get(i), batchErrorMessage, result);
+          i++;
+        }
         Measurement.INSTANCE.addOperationLatency(Operation.EXECUTE_ONE_SQL_IN_BATCH, t2);
       }
 
@@ -447,16 +572,139 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     }
   }
 
+  /**
+   * parse the insertions of a batch, the large batches are parsed in chunks in parallel. The
+   * plans of the other statements may depend on the schema changed by the statements before them,
+   * so they are parsed when they are executed.
+   */
+  private List<BatchStatement> parseStatementsInBatch(List<String> statements)
+      throws InterruptedException {
+    ZoneId zoneId = zoneIds.get();
+    String user = username.get();
+    List<BatchStatement> batchStatements = new ArrayList<>(statements.size());
+    for (String statement : statements) {
+      batchStatements.add(new BatchStatement(statement, new SlowQueryRecord(statement, user)));
+    }
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int start = 0; start < batchStatements.size(); start += PARSE_CHUNK_SIZE) {
+      List<BatchStatement> chunk = batchStatements
+          .subList(start, Math.min(start + PARSE_CHUNK_SIZE, batchStatements.size()));
+      Runnable task = () -> {
+        for (BatchStatement batchStatement : chunk) {
+          try {
+            PhysicalPlan plan = parseStatement(batchStatement.statement, zoneId,
+                batchStatement.record);
+            if (plan instanceof InsertPlan) {
+              batchStatement.plan = plan;
+            }
+          } catch (Exception e) {
+            // parsed again when it is executed
+            logger.debug("meet error while parsing {} in batch", batchStatement.statement, e);
+          }
+        }
+      };
+      if (start + PARSE_CHUNK_SIZE < batchStatements.size()) {
+        futures.add(BatchTaskPoolManager.getInstance().submit(Executors.callable(task)));
+      } else {
+        // the last chunk is parsed by the current thread
+        task.run();
+      }
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        // the statements not parsed are parsed again when they are executed
+        logger.error("Unexpected error while parsing a batch of statements", e.getCause());
+      }
+    }
+    return batchStatements;
+  }
+
+  /**
+   * execute the consecutive insertions of a batch. The insertions before the first one failing
+   * the authorization or the schema are executed together, those of different storage groups in
+   * parallel. Like the statements executed one by one, the rest of the batch is skipped after a
+   * failure, and so are the insertions after a failed one into its storage group, but the
+   * insertions into the other storage groups executed together are not, and all of them have
+   * their results.
+   */
+  private boolean executeInsertionsInBatch(List<BatchStatement> statements,
+      StringBuilder batchErrorMessage, List<Integer> result) {
+    long startTime = System.currentTimeMillis();
+    List<InsertPlan> insertPlans = new ArrayList<>(statements.size());
+    String errorMessage = null;
+    for (BatchStatement statement : statements) {
+      InsertPlan insertPlan = (InsertPlan) statement.plan;
+      try {
+        if (!checkAuthorization(insertPlan.getPaths(), insertPlan)) {
+          errorMessage = "No permissions for this operation " + insertPlan.getOperatorType();
+        } else if (IoTDBDescriptor.getInstance().getConfig().isReadOnly()) {
+          errorMessage = "Current system mode is read-only, does not support non-query operation";
+        } else {
+          processor.getExecutor().checkInsert(insertPlan);
+        }
+      } catch (AuthException e) {
+        logger.error("meet error while checking authorization.", e);
+        errorMessage = "Uninitialized authorizer " + e.getMessage();
+      } catch (ProcessorException e) {
+        logger.debug("meet error while processing non-query. ", e);
+        errorMessage = e.getMessage();
+      }
+      if (errorMessage != null) {
+        break;
+      }
+      insertPlans.add(insertPlan);
+    }
+
+    boolean[] results = new boolean[insertPlans.size()];
+    if (!insertPlans.isEmpty()) {
+      try {
+        results = processor.getExecutor().insertBatch(insertPlans);
+      } catch (ProcessorException e) {
+        logger.debug("meet error while processing non-query. ", e);
+        batchErrorMessage.append(e.getMessage()).append("\n");
+      }
+    }
+    long executeTime = System.currentTimeMillis() - startTime;
+
+    boolean isAllSuccessful = true;
+    for (int i = 0; i < results.length; i++) {
+      SlowQueryRecord record = statements.get(i).record;
+      record.addExecuteTime(executeTime);
+      SlowQueryManager.getInstance().record(record);
+      if (results[i]) {
+        result.add(Statement.SUCCESS_NO_INFO);
+      } else {
+        result.add(Statement.EXECUTE_FAILED);
+        isAllSuccessful = false;
+      }
+    }
+    if (!isAllSuccessful && batchErrorMessage.length() == 0) {
+      batchErrorMessage.append("Execute statement error.").append("\n");
+    }
+    if (errorMessage != null) {
+      // the insertion failing the check is not executed but still has its result
+      result.add(Statement.EXECUTE_FAILED);
+      batchErrorMessage.append(errorMessage).append("\n");
+      return false;
+    }
+    return isAllSuccessful;
+  }
+
   // execute one statement of a batch. Currently, query is not allowed in a batch statement and
   // on finding queries in a batch, such query will be ignored and an error will be generated
-  private boolean executeStatementInBatch(String statement, StringBuilder batchErrorMessage,
-      List<Integer> result) {
+  private boolean executeStatementInBatch(BatchStatement batchStatement,
+      StringBuilder batchErrorMessage, List<Integer> result) {
+    String statement = batchStatement.statement;
     try {
-      PhysicalPlan physicalPlan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      SlowQueryRecord record = new SlowQueryRecord(statement, username.get());
+      PhysicalPlan physicalPlan = parseStatement(statement, record);
       if (physicalPlan.isQuery()) {
         throw new QueryInBatchStmtException("Query statement not allowed in batch: " + statement);
       }
-      TSExecuteStatementResp resp = executeUpdateStatement(physicalPlan);
+      TSExecuteStatementResp resp = executeUpdateStatement(physicalPlan, record);
       if (resp.getStatus().getStatusCode().equals(TS_StatusCode.SUCCESS_STATUS)) {
         result.add(Statement.SUCCESS_NO_INFO);
       } else {
@@ -496,12 +744,17 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
             "Execute set consistency level successfully");
       }
 
-      PhysicalPlan physicalPlan;
-      physicalPlan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      if (execSetQueryTimeout(statement)) {
+        return getTSExecuteStatementResp(TS_StatusCode.SUCCESS_STATUS,
+            "Execute set query timeout successfully");
+      }
+
+      SlowQueryRecord record = new SlowQueryRecord(statement, username.get());
+      PhysicalPlan physicalPlan = parseStatement(statement, record);
       if (physicalPlan.isQuery()) {
-        return executeQueryStatement(req);
+        return executeQueryStatement(statement, physicalPlan, record);
       } else {
-        return executeUpdateStatement(physicalPlan);
+        return executeUpdateStatement(physicalPlan, record);
       }
     } catch (IllegalASTFormatException e) {
       logger.debug("meet error while parsing SQL to physical plan: ", e);
@@ -529,9 +782,51 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     }
   }
 
+  /**
+   * Set the timeout (in ms) of the following queries of the session, 0 means using
+   * query_timeout_threshold.
+   */
+  private boolean execSetQueryTimeout(String statement) {
+    if (statement == null) {
+      return false;
+    }
+    Matcher matcher = Pattern.compile(IoTDBConstant.SET_QUERY_TIMEOUT_PATTERN)
+        .matcher(statement.toLowerCase().trim());
+    if (!matcher.matches()) {
+      return false;
+    }
+    sessionQueryTimeouts.set(Long.parseLong(matcher.group(1)));
+    return true;
+  }
+
+  /**
+   * parse a statement into its physical plan, recording the time of parsing and planning.
+   */
+  private PhysicalPlan parseStatement(String statement, SlowQueryRecord record)
+      throws QueryProcessorException, ArgsErrorException, MetadataErrorException {
+    return parseStatement(statement, zoneIds.get(), record);
+  }
+
+  private PhysicalPlan parseStatement(String statement, ZoneId zoneId, SlowQueryRecord record)
+      throws QueryProcessorException, ArgsErrorException, MetadataErrorException {
+    long startTime = System.currentTimeMillis();
+    // a cached plan is neither parsed nor planned, its lookup is counted as planning
+    PhysicalPlan plan = planCache.get(statement, zoneId, () -> {
+      PhysicalPlan insertPlan = InsertStatementParser.parse(statement);
+      if (insertPlan != null) {
+        record.setParseTime(System.currentTimeMillis() - startTime);
+        return insertPlan;
+      }
+      AstNode astNode = processor.parseSQLToAST(statement);
+      record.setParseTime(System.currentTimeMillis() - startTime);
+      return processor.parseASTToPhysicalPlan(astNode, zoneId);
+    });
+    record.setPlanTime(System.currentTimeMillis() - startTime - record.getParseTime());
+    return plan;
+  }
+
   @Override
   public TSExecuteStatementResp executeQueryStatement(TSExecuteStatementReq req) {
-    long t1 = System.currentTimeMillis();
     try {
       if (!checkLogin()) {
         logger.info(INFO_NOT_LOGIN, IoTDBConstant.GLOBAL_DB_NAME);
@@ -539,25 +834,38 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       }
 
       String statement = req.getStatement();
-      PhysicalPlan plan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      SlowQueryRecord record = new SlowQueryRecord(statement, username.get());
+      return executeQueryStatement(statement, parseStatement(statement, record), record);
+    } catch (Exception e) {
+      logger.error("{}: Internal server error: ", IoTDBConstant.GLOBAL_DB_NAME, e);
+      return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
+    }
+  }
 
+  private TSExecuteStatementResp executeQueryStatement(String statement, PhysicalPlan plan,
+      SlowQueryRecord record) {
+    long t1 = System.currentTimeMillis();
+    try {
       TSExecuteStatementResp resp;
       List<String> columns = new ArrayList<>();
-      if (!(plan instanceof AuthorPlan)) {
-        resp = executeDataQuery(plan, columns);
-      } else {
+      if (plan instanceof AuthorPlan) {
         resp = executeAuthQuery(plan, columns);
+      } else if (plan.getOperatorType() == OperatorType.SHOW_SLOW_QUERIES) {
+        resp = executeShowSlowQueries(columns);
+      } else {
+        resp = executeDataQuery(plan, columns);
       }
 
       resp.setOperationType(plan.getOperatorType().toString());
+      // the query is cancelled by the statement in its operation handle
       TSHandleIdentifier operationId = new TSHandleIdentifier(
-          ByteBuffer.wrap(username.get().getBytes()),
+          ByteBuffer.wrap(statement.getBytes()),
           ByteBuffer.wrap("PASS".getBytes()));
       TSOperationHandle operationHandle;
       resp.setColumns(columns);
       operationHandle = new TSOperationHandle(operationId, true);
       resp.setOperationHandle(operationHandle);
-      recordANewQuery(statement, plan);
+      recordANewQuery(statement, plan, record);
       return resp;
     } catch (Exception e) {
       logger.error("{}: Internal server error: ", IoTDBConstant.GLOBAL_DB_NAME, e);
@@ -567,6 +875,15 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     }
   }
 
+  private TSExecuteStatementResp executeShowSlowQueries(List<String> columns) {
+    if (!IoTDBConstant.ADMIN_NAME.equals(username.get())) {
+      return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS,
+          "Only the administrator can show the slow queries.");
+    }
+    columns.addAll(SlowQueryRecord.COLUMNS);
+    return getTSExecuteStatementResp(TS_StatusCode.SUCCESS_STATUS, "");
+  }
+
   private TSExecuteStatementResp executeAuthQuery(PhysicalPlan plan, List<String> columns) {
     TSExecuteStatementResp resp = getTSExecuteStatementResp(TS_StatusCode.SUCCESS_STATUS, "");
     resp.setIgnoreTimeStamp(true);
@@ -623,6 +940,11 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
     }
 
     TSExecuteStatementResp resp = getTSExecuteStatementResp(TS_StatusCode.SUCCESS_STATUS, "");
+    if (plan instanceof QueryPlan && ((QueryPlan) plan).isExplain()) {
+      columns.add(AbstractQueryProcessExecutor.EXPLAIN_COLUMN);
+      resp.setIgnoreTimeStamp(true);
+      return resp;
+    }
     // Restore column header of aggregate to func(column_name), only
     // support single aggregate function for now
     switch (plan.getOperatorType()) {
@@ -665,17 +987,26 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       if (!queryStatus.get().containsKey(statement)) {
         return getTSFetchResultsResp(TS_StatusCode.ERROR_STATUS, "Has not executed statement");
       }
-
-      QueryDataSet queryDataSet;
-      if (!queryRet.get().containsKey(statement)) {
-        queryDataSet = createNewDataSet(statement, req);
-      } else {
-        queryDataSet = queryRet.get().get(statement);
+      // a late fetch of a closed query must not read the results of a new query of the same sql
+      Long queryId = queryIds.get().get(statement);
+      if (queryId != null && queryId != req.queryId) {
+        return getTSFetchResultsResp(TS_StatusCode.ERROR_STATUS,
+            "The query " + req.queryId + " of the statement has been closed");
       }
 
-      int fetchSize = req.getFetch_size();
-      TSQueryDataSet result = QueryDataSetUtils
-          .convertQueryDataSetByFetchSize(queryDataSet, fetchSize);
+      QueryDataSet queryDataSet = queryRet.get().containsKey(statement)
+          ? queryRet.get().get(statement) : createNewDataSet(statement, req);
+
+      QueryContext context = contextMapLocal.get() == null ? null
+          : contextMapLocal.get().get(req.queryId);
+      long startTime = System.currentTimeMillis();
+      TSQueryDataSet result = QueryScheduler.getInstance().execute(
+          () -> convertQueryDataSet(queryDataSet, context, req.getFetch_size()), context,
+          QueryScheduler.isPointQuery(queryStatus.get().get(statement)), false);
+      if (context != null && context.getSlowQueryRecord() != null) {
+        context.getSlowQueryRecord()
+            .addFetch(System.currentTimeMillis() - startTime, result.getRecords().size());
+      }
 
       boolean hasResultSet = !result.getRecords().isEmpty();
       if (!hasResultSet && queryRet.get() != null) {
@@ -687,30 +1018,84 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       resp.setHasResultSet(hasResultSet);
       resp.setQueryDataSet(result);
       return resp;
+    } catch (QueryInterruptedException e) {
+      logger.warn("{}: {}", IoTDBConstant.GLOBAL_DB_NAME, e.getMessage());
+      releaseInterruptedQuery(req);
+      return getTSFetchResultsResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
     } catch (Exception e) {
       logger.error("{}: Internal server error: ", IoTDBConstant.GLOBAL_DB_NAME, e);
       return getTSFetchResultsResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
     }
   }
 
+  /**
+   * release the resources of a query which is cancelled or has expired at once, instead of waiting
+   * for the client to close it.
+   */
+  private void releaseInterruptedQuery(TSFetchResultsReq req) {
+    clearStatusOfQuery(req.getStatement());
+    try {
+      releaseQueryResource(req.queryId);
+    } catch (StorageEngineException e) {
+      logger.error("Error in releasing the resources of an interrupted query : ", e);
+    }
+  }
+
   private QueryDataSet createNewDataSet(String statement, TSFetchResultsReq req)
-      throws PathErrorException, QueryFilterOptimizationException, StorageEngineException,
-      ProcessorException, IOException {
+      throws ProcessorException {
     PhysicalPlan physicalPlan = queryStatus.get().get(statement);
 
     QueryDataSet queryDataSet;
     QueryContext context = new QueryContext(QueryResourceManager.getInstance().assignJobId());
 
+    Long timeout = queryTimeouts.get().remove(statement);
+    context.setTimeout(timeout != null ? timeout : config.getQueryTimeoutThreshold());
+
+    SlowQueryRecord record = queryRecords.get().remove(statement);
+    context.setSlowQueryRecord(record);
+
     initContextMap();
     contextMapLocal.get().put(req.queryId, context);
+    queryIds.get().put(statement, req.queryId);
+    QueryScheduler.getInstance().admit(context.getJobId(), username.get());
 
-    queryDataSet = processor.getExecutor().processQuery(physicalPlan,
-        context);
+    long startTime = System.currentTimeMillis();
+    try {
+      queryDataSet = QueryScheduler.getInstance().execute(
+          () -> processor.getExecutor().processQuery(physicalPlan, context), context,
+          QueryScheduler.isPointQuery(physicalPlan), true);
+      if (record != null) {
+        record.addExecuteTime(System.currentTimeMillis() - startTime);
+      }
+    } catch (ProcessorException | RuntimeException e) {
+      // a failed query does not count in the quota of the user
+      QueryScheduler.getInstance().finish(context.getJobId());
+      throw e;
+    }
 
     queryRet.get().put(statement, queryDataSet);
     return queryDataSet;
   }
 
+  /**
+   * convert the next batch of results, a smaller batch is sent if the memory for read is not
+   * enough for a full one.
+   */
+  private TSQueryDataSet convertQueryDataSet(QueryDataSet queryDataSet, QueryContext context,
+      int fetchSize) throws IOException {
+    if (context == null) {
+      return QueryDataSetUtils.convertQueryDataSetByFetchSize(queryDataSet, fetchSize);
+    }
+    int columnNum = queryDataSet.getPaths() == null ? 1 : queryDataSet.getPaths().size();
+    int reservedSize = QueryMemoryManager.getInstance()
+        .reserveBatch(context.getJobId(), fetchSize, columnNum);
+    try {
+      return QueryDataSetUtils.convertQueryDataSetByFetchSize(queryDataSet, reservedSize);
+    } finally {
+      context.releaseMemory(QueryMemoryManager.estimateBatchSize(reservedSize, columnNum));
+    }
+  }
+
   private void initContextMap() {
     Map<Long, QueryContext> contextMap = contextMapLocal.get();
     if (contextMap == null) {
@@ -725,14 +1110,25 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
       if (!checkLogin()) {
         return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, ERROR_NOT_LOGIN);
       }
-      String statement = req.getStatement();
-      return executeUpdateStatement(statement);
+      return executeUpdateStatement(req.getStatement());
     } catch (Exception e) {
       logger.error("{}: server Internal Error: ", IoTDBConstant.GLOBAL_DB_NAME, e);
       return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
     }
   }
 
+  /**
+   * execute a non-query statement and record it in the slow query log if it is slow.
+   */
+  private TSExecuteStatementResp executeUpdateStatement(PhysicalPlan plan,
+      SlowQueryRecord record) {
+    long startTime = System.currentTimeMillis();
+    TSExecuteStatementResp resp = executeUpdateStatement(plan);
+    record.addExecuteTime(System.currentTimeMillis() - startTime);
+    SlowQueryManager.getInstance().record(record);
+    return resp;
+  }
+
   private TSExecuteStatementResp executeUpdateStatement(PhysicalPlan plan) {
     List<Path> paths = plan.getPaths();
     try {
@@ -778,9 +1174,10 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
 
   private TSExecuteStatementResp executeUpdateStatement(String statement) {
 
+    SlowQueryRecord record = new SlowQueryRecord(statement, username.get());
     PhysicalPlan physicalPlan;
     try {
-      physicalPlan = processor.parseSQLToPhysicalPlan(statement, zoneIds.get());
+      physicalPlan = parseStatement(statement, record);
     } catch (QueryProcessorException | ArgsErrorException | MetadataErrorException e) {
       logger.error("meet error while parsing SQL to physical plan!", e);
       return getTSExecuteStatementResp(TS_StatusCode.ERROR_STATUS, e.getMessage());
@@ -791,11 +1188,18 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
           "Statement is a query statement.");
     }
 
-    return executeUpdateStatement(physicalPlan);
+    return executeUpdateStatement(physicalPlan, record);
   }
 
-  private void recordANewQuery(String statement, PhysicalPlan physicalPlan) {
+  private void recordANewQuery(String statement, PhysicalPlan physicalPlan,
+      SlowQueryRecord record) {
     queryStatus.get().put(statement, physicalPlan);
+    queryRecords.get().put(statement, record);
+    // the timeout in force when the query is executed, not when it is first fetched
+    Long sessionTimeout = sessionQueryTimeouts.get();
+    queryTimeouts.get().put(statement, sessionTimeout != null && sessionTimeout > 0
+        ? sessionTimeout : config.getQueryTimeoutThreshold());
+    queryIds.get().remove(statement);
     // refresh current queryRet for statement
     queryRet.get().remove(statement);
   }
@@ -931,5 +1335,20 @@ public class TSServiceImpl implements TSIService.Iface, ServerContext {
   public long requestStatementId() {
     return globalStmtId.incrementAndGet();
   }
+
+  /**
+   * a statement of a batch with its plan if it is an insertion.
+   */
+  private static class BatchStatement {
+
+    private String statement;
+    private SlowQueryRecord record;
+    private PhysicalPlan plan;
+
+    private BatchStatement(String statement, SlowQueryRecord record) {
+      this.statement = statement;
+      this.record = record;
+    }
+  }
 }
 
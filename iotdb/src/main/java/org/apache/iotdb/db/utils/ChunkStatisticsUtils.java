@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.query.aggregation.AggregateFunction;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkRollup;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+
+/**
+ * Helpers to aggregate or filter a chunk from the statistics in its <code>ChunkMetaData</code>,
+ * either of the whole chunk or of the buckets of its rollups, without loading the chunk.
+ */
+public class ChunkStatisticsUtils {
+
+  private ChunkStatisticsUtils() {
+    // util class
+  }
+
+  /**
+   * Wrap the statistics of a chunk as a page header so that the aggregate functions can consume
+   * it. Returns null if the statistics can not represent the data read from the chunk, i.e. some
+   * points of it are deleted or the statistics are not complete.
+   */
+  public static PageHeader getChunkHeader(ChunkMetaData chunkMetaData) throws IOException {
+    if (chunkMetaData.getDeletedAt() >= chunkMetaData.getStartTime()) {
+      return null;
+    }
+    Statistics statistics = Statistics
+        .deserialize(chunkMetaData.getDigest(), chunkMetaData.getTsDataType());
+    if (statistics == null) {
+      return null;
+    }
+    return new PageHeader(0, 0, (int) chunkMetaData.getNumOfPoints(), statistics,
+        chunkMetaData.getEndTime(), chunkMetaData.getStartTime());
+  }
+
+  /**
+   * Returns false if the digest of the chunk shows that none of its points satisfies the filter.
+   * The value statistics are only used when they are present.
+   */
+  public static boolean chunkSatisfied(ChunkMetaData chunkMetaData, Filter filter) {
+    if (chunkMetaData.getDigest() == null
+        || chunkMetaData.getDigest().getStatistics() == null
+        || chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE) == null
+        || chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE) == null) {
+      return filter.satisfyStartEndTime(chunkMetaData.getStartTime(), chunkMetaData.getEndTime());
+    }
+    DigestForFilter digest = new DigestForFilter(chunkMetaData.getStartTime(),
+        chunkMetaData.getEndTime(),
+        chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE),
+        chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE),
+        chunkMetaData.getTsDataType());
+    return filter.satisfy(digest);
+  }
+
+  /**
+   * Select the coarsest rollup of a chunk that aggregates the points of the chunk in [startTime,
+   * endTime] exactly: every bucket overlapping with the range is entirely inside it, and either
+   * entirely satisfies the time filter or not at all. The end is inclusive so that a range ending
+   * at Long.MAX_VALUE can be given.
+   *
+   * @param rollups the rollups of the chunk, may be null
+   * @param timeFilter the time filter, null if there is none
+   * @return null if no rollup qualifies or some points of the chunk are deleted
+   */
+  public static ChunkRollup selectRollup(List<ChunkRollup> rollups, ChunkMetaData chunkMetaData,
+      long startTime, long endTime, Filter timeFilter) {
+    if (rollups == null || chunkMetaData.getDeletedAt() >= chunkMetaData.getStartTime()) {
+      return null;
+    }
+    ChunkRollup selected = null;
+    for (ChunkRollup rollup : rollups) {
+      if ((selected == null || rollup.getInterval() > selected.getInterval())
+          && isExact(rollup, startTime, endTime, timeFilter)) {
+        selected = rollup;
+      }
+    }
+    return selected;
+  }
+
+  private static boolean isExact(ChunkRollup rollup, long startTime, long endTime,
+      Filter timeFilter) {
+    for (int i = rollup.firstBucketEndingAtOrAfter(startTime);
+        i < rollup.size() && rollup.getMinTimestamp(i) <= endTime; i++) {
+      long minTime = rollup.getMinTimestamp(i);
+      long maxTime = rollup.getMaxTimestamp(i);
+      if (minTime < startTime || maxTime > endTime) {
+        return false;
+      }
+      if (timeFilter != null && !timeFilter.containStartEndTime(minTime, maxTime)
+          && timeFilter.satisfyStartEndTime(minTime, maxTime)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * aggregate the buckets of a rollup selected by {@link #selectRollup} for [startTime, endTime],
+   * skipping the buckets not satisfying the time filter.
+   */
+  public static void calculateValueFromRollup(ChunkRollup rollup, long startTime, long endTime,
+      Filter timeFilter, AggregateFunction function) throws ProcessorException {
+    for (int i = rollup.firstBucketEndingAtOrAfter(startTime);
+        i < rollup.size() && rollup.getMinTimestamp(i) <= endTime; i++) {
+      long minTime = rollup.getMinTimestamp(i);
+      long maxTime = rollup.getMaxTimestamp(i);
+      if (timeFilter != null && !timeFilter.containStartEndTime(minTime, maxTime)) {
+        continue;
+      }
+      function.calculateValueFromPageHeader(new PageHeader(0, 0, rollup.getCount(i),
+          rollup.getStatistics(i), maxTime, minTime));
+    }
+  }
+}
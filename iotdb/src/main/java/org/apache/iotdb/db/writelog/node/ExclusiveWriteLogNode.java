@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.commons.io.FileUtils;
@@ -90,6 +91,23 @@ public class ExclusiveWriteLogNode implements WriteLogNode, Comparable<Exclusive
     }
   }
 
+  @Override
+  public void write(List<? extends PhysicalPlan> plans) throws IOException {
+    lock.writeLock().lock();
+    try {
+      for (PhysicalPlan plan : plans) {
+        putLog(plan);
+      }
+      if (bufferedLogNum >= config.getFlushWalThreshold()) {
+        sync();
+      }
+    } catch (BufferOverflowException e) {
+      throw new IOException("Log cannot fit into buffer, please increase wal_buffer_size", e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
   private void putLog(PhysicalPlan plan) {
     logBuffer.mark();
     try {
@@ -19,6 +19,7 @@
 package org.apache.iotdb.db.writelog.node;
 
 import java.io.IOException;
+import java.util.List;
 import org.apache.iotdb.db.qp.physical.PhysicalPlan;
 import org.apache.iotdb.db.writelog.io.ILogReader;
 
@@ -36,6 +37,14 @@ public interface WriteLogNode {
    */
   void write(PhysicalPlan plan) throws IOException;
 
+  /**
+   * Write the wals of a batch of PhysicalPlans at once, which are conveyed into the cache in order
+   * and synced at most once.
+   *
+   * @param plans - the PhysicalPlans of a batch
+   */
+  void write(List<? extends PhysicalPlan> plans) throws IOException;
+
   /**
    * Sync and close streams.
    */
@@ -150,6 +150,7 @@ public class TsFileRecoverPerformer {
       }
       // close file
       restorableTsFileIOWriter.endFile(fileSchema);
+      tsFileResource.setBloomFilter(restorableTsFileIOWriter.getBloomFilter());
       tsFileResource.serialize();
     } catch (ExecutionException | InterruptedException | IOException e) {
       Thread.currentThread().interrupt();
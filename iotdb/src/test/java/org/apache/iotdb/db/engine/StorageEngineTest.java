@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.iotdb.db.engine.storagegroup.StorageGroupProcessor;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StorageEngineTest {
+
+  private String systemDir = "data/info";
+
+  @Before
+  public void setUp() throws Exception {
+    MetadataManagerHelper.initMetadata();
+    EnvironmentUtils.envSetUp();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    EnvironmentUtils.cleanEnv();
+    EnvironmentUtils.cleanDir("data");
+  }
+
+  @Test
+  public void testInsertBatchWithFailedStorageGroup() throws Exception {
+    StorageEngine.getInstance().setProcessor("root.vehicle.d1",
+        new StorageGroupProcessor(systemDir, "root.vehicle.d1") {
+          @Override
+          public boolean[] insertBatch(List<InsertPlan> insertPlans) {
+            throw new IllegalStateException("failed storage group");
+          }
+        });
+
+    List<InsertPlan> insertPlans = Arrays.asList(
+        insertPlan("root.vehicle.d0", 1), insertPlan("root.vehicle.d1", 1),
+        insertPlan("root.vehicle.d2", 1), insertPlan("root.vehicle.d1", 2),
+        insertPlan("root.vehicle.d0", 2));
+    boolean[] results = StorageEngine.getInstance().insertBatch(insertPlans);
+
+    // only the insertions into the failed storage group fail
+    Assert.assertArrayEquals(new boolean[]{true, false, true, false, true}, results);
+  }
+
+  private InsertPlan insertPlan(String deviceId, long time) {
+    TSRecord record = new TSRecord(time, deviceId);
+    record.addTuple(DataPoint.getDataPoint(TSDataType.INT32, "s0", String.valueOf(time)));
+    return new InsertPlan(record);
+  }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.iotdb.db.engine.storagegroup;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.iotdb.db.engine.MetadataManagerHelper;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.exception.StorageGroupProcessorException;
@@ -106,4 +108,65 @@ public class StorageGroupProcessorTest {
     }
   }
 
+  @Test
+  public void testInsertBatch() {
+    for (int j = 21; j <= 30; j++) {
+      TSRecord record = new TSRecord(j, deviceId);
+      record.addTuple(DataPoint.getDataPoint(TSDataType.INT32, measurementId, String.valueOf(j)));
+      processor.insert(new InsertPlan(record));
+    }
+    processor.putAllWorkingTsFileProcessorIntoClosingList();
+    processor.waitForAllCurrentTsFileProcessorsClosed();
+
+    // the sequence and unsequence insertions are mixed in a batch
+    List<InsertPlan> insertPlans = new ArrayList<>();
+    for (int j = 1; j <= 10; j++) {
+      for (long time : new long[]{j, j + 30}) {
+        TSRecord record = new TSRecord(time, deviceId);
+        record.addTuple(DataPoint.getDataPoint(TSDataType.INT32, measurementId,
+            String.valueOf(time)));
+        insertPlans.add(new InsertPlan(record));
+      }
+    }
+    boolean[] results = processor.insertBatch(insertPlans);
+    Assert.assertEquals(20, results.length);
+    for (boolean result : results) {
+      Assert.assertTrue(result);
+    }
+
+    QueryDataSource queryDataSource = processor.query(deviceId, measurementId, context);
+    Assert.assertEquals(2, queryDataSource.getSeqResources().size());
+    Assert.assertEquals(1, queryDataSource.getUnseqResources().size());
+    TsFileResource seqResource = queryDataSource.getSeqResources().get(1);
+    Assert.assertFalse(seqResource.isClosed());
+    Assert.assertEquals(31, (long) seqResource.getStartTimeMap().get(deviceId));
+    TsFileResource unseqResource = queryDataSource.getUnseqResources().get(0);
+    Assert.assertEquals(1, (long) unseqResource.getStartTimeMap().get(deviceId));
+    Assert.assertEquals(10, (long) unseqResource.getEndTimeMap().get(deviceId));
+  }
+
+  @Test
+  public void testSkipFilesWithoutSeries() {
+    // the sealed files of the device have either s0 or s1
+    for (int j = 1; j <= 10; j++) {
+      TSRecord record = new TSRecord(j, deviceId);
+      if (j % 2 == 0) {
+        record.addTuple(DataPoint.getDataPoint(TSDataType.INT32, measurementId, String.valueOf(j)));
+      } else {
+        record.addTuple(DataPoint.getDataPoint(TSDataType.INT64, "s1", String.valueOf(j)));
+      }
+      processor.insert(new InsertPlan(record));
+      processor.putAllWorkingTsFileProcessorIntoClosingList();
+    }
+    processor.waitForAllCurrentTsFileProcessorsClosed();
+
+    QueryDataSource queryDataSource = processor.query(deviceId, measurementId, context);
+    Assert.assertEquals(5, queryDataSource.getSeqResources().size());
+    for (TsFileResource resource : queryDataSource.getSeqResources()) {
+      Assert.assertEquals(0, resource.getStartTimeMap().get(deviceId) % 2);
+    }
+    Assert.assertEquals(5, processor.query(deviceId, "s1", context).getSeqResources().size());
+    Assert.assertTrue(processor.query(deviceId, "s2", context).getSeqResources().isEmpty());
+  }
+
 }
\ No newline at end of file
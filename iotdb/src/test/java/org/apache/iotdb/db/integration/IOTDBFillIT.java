@@ -319,6 +319,62 @@ public class IOTDBFillIT {
     }
   }
 
+  @Test
+  public void NearestChunkFillTest() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection("jdbc:iotdb://127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      // the points around 400 are the last point of a flushed chunk and the first of the next one
+      Assert.assertEquals("400,500.5,false,550", fill(statement, 400,
+          "Fill(int32[previous], double[previous], boolean[previous])"));
+      Assert.assertEquals("400,300.3,false,330", fill(statement, 400,
+          "Fill(int32[linear], double[linear], boolean[previous])"));
+      // the next point is in memory
+      Assert.assertEquals("560,300.3,false,330", fill(statement, 560,
+          "Fill(int32[linear, 50ms, 50ms], double[linear, 50ms, 50ms], boolean[previous])"));
+      Assert.assertEquals("560,null,false,null", fill(statement, 560,
+          "Fill(int32[linear, 50ms, 10ms], double[linear, 50ms, 10ms], boolean[previous])"));
+
+      // an unsequence point overwrites the last point of the chunk
+      statement.execute("INSERT INTO root.ln.wf01.wt01(timestamp,temperature,status, hardware) "
+          + "values(300, 1.1, true, 11)");
+      Assert.assertEquals("400,1.1,true,11", fill(statement, 400,
+          "Fill(int32[previous], double[previous], boolean[previous])"));
+      statement.execute("flush");
+      Assert.assertEquals("400,1.1,true,11", fill(statement, 400,
+          "Fill(int32[previous], double[previous], boolean[previous])"));
+      Assert.assertEquals("400,50.6,true,60", fill(statement, 400,
+          "Fill(int32[linear], double[linear], boolean[previous])"));
+    }
+  }
+
+  @Test
+  public void DeletedChunkBoundaryFillTest() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection("jdbc:iotdb://127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      // the first point of the flushed chunk [100, 300] is deleted, so the next point of 60 is 150
+      statement.execute("DELETE FROM root.ln.wf01.wt01.* WHERE time <= 100");
+      statement.execute("INSERT INTO root.ln.wf01.wt01(timestamp,temperature,status, hardware) "
+          + "values(20, 200.2, true, 220)");
+      Assert.assertEquals("60,200.2,true,220", fill(statement, 60,
+          "Fill(int32[linear], double[linear], boolean[previous])"));
+      statement.execute("flush");
+      Assert.assertEquals("60,200.2,true,220", fill(statement, 60,
+          "Fill(int32[linear], double[linear], boolean[previous])"));
+    }
+  }
+
+  private String fill(Statement statement, long time, String fillClause) throws SQLException {
+    Assert.assertTrue(statement.execute("select temperature,status, hardware "
+        + "from root.ln.wf01.wt01 where time = " + time + " " + fillClause));
+    try (ResultSet resultSet = statement.getResultSet()) {
+      Assert.assertTrue(resultSet.next());
+      return resultSet.getString(TIMESTAMP_STR) + "," + resultSet.getString(TEMPERATURE_STR)
+          + "," + resultSet.getString(STATUS_STR) + "," + resultSet.getString(HARDWARE_STR);
+    }
+  }
+
   private void prepareData() throws SQLException {
     Connection connection = null;
     try {
@@ -500,6 +500,45 @@ public class IOTDBGroupByIT {
     }
   }
 
+  @Test
+  public void multiSeriesChunkTest() throws SQLException {
+    // the first window holds whole chunks, the others cut the chunks
+    String[] retArray = new String[]{
+        "1,25,6765.0,false,550",
+        "1,12,2145.0,false,220",
+        "200,3,1320.0,false,550",
+        "400,7,1980.0,false,220",
+        "600,3,1320.0,false,550",
+        "800,0,0.0,null,null"
+    };
+    String[] sqls = new String[]{
+        "select count(temperature), sum(hardware), first(status), last(hardware) from "
+            + "root.ln.wf01.wt01 GROUP BY (1000ms, 0, [1, 999])",
+        "select count(temperature), sum(hardware), first(status), last(hardware) from "
+            + "root.ln.wf01.wt01 GROUP BY (200ms, 0, [1, 999])"
+    };
+
+    try (Connection connection = DriverManager
+        .getConnection("jdbc:iotdb://127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      int cnt = 0;
+      for (String sql : sqls) {
+        Assert.assertTrue(statement.execute(sql));
+        ResultSet resultSet = statement.getResultSet();
+        while (resultSet.next()) {
+          String ans = resultSet.getString(TIMESTAMP_STR) + "," + resultSet
+              .getString(count("root.ln.wf01.wt01.temperature"))
+              + "," + resultSet.getString(sum("root.ln.wf01.wt01.hardware")) + ","
+              + resultSet.getString(first("root.ln.wf01.wt01.status"))
+              + "," + resultSet.getString(last("root.ln.wf01.wt01.hardware"));
+          Assert.assertEquals(retArray[cnt], ans);
+          cnt++;
+        }
+      }
+      Assert.assertEquals(retArray.length, cnt);
+    }
+  }
+
   public void prepareData() throws SQLException {
     Connection connection = null;
     try {
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The insertions of a batch into different storage groups are executed together, and the result
+ * of each statement is reported in order as if the statements were executed one by one.
+ */
+public class IoTDBBatchInsertIT {
+
+  private static IoTDB daemon;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      for (String storageGroup : new String[]{"root.batch1", "root.batch2"}) {
+        statement.execute("SET STORAGE GROUP TO " + storageGroup);
+        statement.execute(
+            "CREATE TIMESERIES " + storageGroup + ".d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+        statement.execute(
+            "CREATE TIMESERIES " + storageGroup + ".d1.s2 WITH DATATYPE=TEXT, ENCODING=PLAIN");
+      }
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testInsertBatch() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      for (int time = 1; time <= 1000; time++) {
+        // the insertions into the two storage groups are interleaved
+        statement.addBatch(String.format(
+            "INSERT INTO root.batch%d.d1(timestamp, s1, s2) values(%d, %d, '%d')",
+            time % 2 + 1, time, time, time));
+      }
+      // a statement other than an insertion in the middle of the insertions
+      statement.addBatch("CREATE TIMESERIES root.batch1.d1.s3 WITH DATATYPE=INT32, ENCODING=RLE");
+      for (int time = 1001; time <= 1010; time++) {
+        statement.addBatch(String.format(
+            "INSERT INTO root.batch1.d1(timestamp, s1, s3) values(%d, %d, %d)", time, time, time));
+      }
+      int[] results = statement.executeBatch();
+      Assert.assertEquals(1011, results.length);
+      for (int result : results) {
+        Assert.assertEquals(Statement.SUCCESS_NO_INFO, result);
+      }
+
+      Assert.assertEquals(510, count(statement, "select s1 from root.batch1.d1"));
+      Assert.assertEquals(500, count(statement, "select s2 from root.batch2.d1"));
+      Assert.assertEquals(10, count(statement, "select s3 from root.batch1.d1"));
+    }
+  }
+
+  @Test
+  public void testFailureInBatch() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.addBatch("INSERT INTO root.batch1.d1(timestamp, s1) values(1, 1)");
+      statement.addBatch("INSERT INTO root.batch2.d1(timestamp, s1) values(1, 1)");
+      // the value does not match the type of the series
+      statement.addBatch("INSERT INTO root.batch1.d1(timestamp, s2) values(2, 2)");
+      statement.addBatch("INSERT INTO root.batch2.d1(timestamp, s1) values(2, 2)");
+      try {
+        statement.executeBatch();
+        Assert.fail();
+      } catch (BatchUpdateException e) {
+        // the statements after the failed one are skipped
+        Assert.assertArrayEquals(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO,
+            Statement.EXECUTE_FAILED}, e.getUpdateCounts());
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains("TEXT"));
+      }
+      statement.clearBatch();
+
+      Assert.assertEquals(1, count(statement, "select s1 from root.batch1.d1"));
+      Assert.assertEquals(1, count(statement, "select s1 from root.batch2.d1"));
+      Assert.assertEquals(0, count(statement, "select s2 from root.batch1.d1"));
+
+      // a statement failing to be parsed
+      statement.addBatch("INSERT INTO root.batch1.d1(timestamp, s1) values(3, 3)");
+      statement.addBatch("INSERT INTO root.batch1.d1(timestamp, s1) value(4, 4)");
+      try {
+        statement.executeBatch();
+        Assert.fail();
+      } catch (BatchUpdateException e) {
+        Assert.assertArrayEquals(new int[]{Statement.SUCCESS_NO_INFO, Statement.EXECUTE_FAILED},
+            e.getUpdateCounts());
+      }
+      Assert.assertEquals(2, count(statement, "select s1 from root.batch1.d1"));
+    }
+  }
+
+  private int count(Statement statement, String sql) throws SQLException {
+    Assert.assertTrue(statement.execute(sql));
+    int cnt = 0;
+    try (ResultSet resultSet = statement.getResultSet()) {
+      while (resultSet.next()) {
+        cnt++;
+      }
+    }
+    return cnt;
+  }
+
+  private Connection getConnection() throws SQLException {
+    return DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+  }
+}
@@ -30,6 +30,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.query.timegenerator.EngineNodeConstructor;
 import org.apache.iotdb.db.query.timegenerator.EngineTimeGenerator;
 import org.apache.iotdb.db.service.IoTDB;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
@@ -266,4 +267,66 @@ public class IoTDBEngineTimeGeneratorIT {
     }
     assertEquals(count2, cnt);
   }
+
+  /**
+   * the points satisfying the filters are estimated by the statistics of the flushed chunks, i.e.
+   * the chunk of 700 points of each series in [300, 999].
+   */
+  @Test
+  public void testEstimatePointNum() throws StorageEngineException {
+    IExpression all = new SingleSeriesExpression(new Path(Constant.d0s0), ValueFilter.gtEq(0));
+    IExpression none = new SingleSeriesExpression(new Path(Constant.d0s0), ValueFilter.gt(100));
+    IExpression later = new SingleSeriesExpression(new Path(Constant.d0s2),
+        FilterFactory.and(ValueFilter.gtEq(0.0f), TimeFilter.gt(1000L)));
+
+    EngineNodeConstructor constructor = new EngineNodeConstructor();
+    assertEquals(700, constructor.estimatePointNum(all, TEST_QUERY_CONTEXT));
+    assertEquals(0, constructor.estimatePointNum(none, TEST_QUERY_CONTEXT));
+    assertEquals(0, constructor.estimatePointNum(later, TEST_QUERY_CONTEXT));
+    assertEquals(0,
+        constructor.estimatePointNum(BinaryExpression.and(all, none), TEST_QUERY_CONTEXT));
+    assertEquals(700,
+        constructor.estimatePointNum(BinaryExpression.or(all, later), TEST_QUERY_CONTEXT));
+  }
+
+  /**
+   * root.vehicle.d0.s0 >= 0 && root.vehicle.d0.s1 >= 28 && root.vehicle.d0.s2 >= 0, the operands
+   * are reordered and the unselective ones are sought to the timestamps of the selective one.
+   */
+  @Test
+  public void testMultiSeriesWithSelectiveOperand() throws IOException, StorageEngineException {
+    IExpression expression = BinaryExpression.and(
+        BinaryExpression.and(
+            new SingleSeriesExpression(new Path(Constant.d0s0), ValueFilter.gtEq(0)),
+            new SingleSeriesExpression(new Path(Constant.d0s1), ValueFilter.gtEq(28L))),
+        new SingleSeriesExpression(new Path(Constant.d0s2), ValueFilter.gtEq(0.0f)));
+
+    int expectedCnt = 0;
+    for (long time = 300; time < 1500; time++) {
+      boolean hasS1 = time < 1000 || (time >= 1200 && time % 2 == 0);
+      if (hasS1 && time % 29 == 28) {
+        expectedCnt++;
+      }
+    }
+
+    EngineTimeGenerator timeGenerator = new EngineTimeGenerator(expression, TEST_QUERY_CONTEXT);
+    int cnt = 0;
+    while (timeGenerator.hasNext()) {
+      assertEquals(28, timeGenerator.next() % 29);
+      cnt++;
+    }
+    assertEquals(expectedCnt, cnt);
+
+    timeGenerator = new EngineTimeGenerator(expression, TEST_QUERY_CONTEXT);
+    long[] timestamps = new long[7];
+    int length;
+    cnt = 0;
+    while ((length = timeGenerator.nextTimes(timestamps)) > 0) {
+      for (int i = 0; i < length; i++) {
+        assertEquals(28, timestamps[i] % 29);
+      }
+      cnt += length;
+    }
+    assertEquals(expectedCnt, cnt);
+  }
 }
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * EXPLAIN describes the plan of a query without executing it, and EXPLAIN ANALYZE also executes
+ * the query and reports how each series is read.
+ */
+public class IoTDBExplainIT {
+
+  private static IoTDB daemon;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testExplain() throws SQLException {
+    List<String> lines = explain(
+        "explain select s1 from root.exp.d1 where time > 100 order by time desc limit 10");
+    Assert.assertEquals("Raw data query: time descending", lines.get(0));
+    Assert.assertEquals("Series: root.exp.d1.s1", lines.get(1));
+    Assert.assertTrue(lines.get(2), lines.get(2).startsWith("Time filter: "));
+    Assert.assertEquals("Limit: 10, offset: 0", lines.get(3));
+    Assert.assertEquals(4, lines.size());
+
+    lines = explain("explain select count(s1) from root.exp.d1 where s1 > 10");
+    Assert.assertEquals("Aggregation", lines.get(0));
+    Assert.assertEquals("Series: count(root.exp.d1.s1)", lines.get(1));
+    Assert.assertTrue(lines.get(2), lines.get(2).startsWith("Value filter: "));
+  }
+
+  @Test
+  public void testExplainAnalyze() throws SQLException {
+    List<String> lines = explain("explain analyze select s1 from root.exp.d1 where time > 2500");
+    Assert.assertTrue(lines.toString(), lines.contains("Rows: 500"));
+    Assert.assertTrue(lines.toString(), lines.contains("root.exp.d1.s1:"));
+    // the first two files are pruned by their time ranges
+    Assert.assertTrue(lines.toString(), lines.contains("  sequence files: 3, pruned: 2"));
+    Assert.assertTrue(lines.toString(), lines.contains("  unsequence files: 1, pruned: 1"));
+    Assert.assertTrue(lines.toString(), lines.contains("  chunks read: 1, skipped: 0, in memory: 0"));
+
+    // the unsequence file overlaps the query
+    lines = explain("explain analyze select s1 from root.exp.d1");
+    Assert.assertTrue(lines.toString(), lines.contains("Rows: 3000"));
+    Assert.assertTrue(lines.toString(), lines.contains("  sequence files: 3, pruned: 0"));
+    Assert.assertTrue(lines.toString(), lines.contains("  unsequence files: 1, pruned: 0"));
+    Assert.assertTrue(lines.toString(), lines.contains("  chunks read: 4, skipped: 0, in memory: 0"));
+  }
+
+  @Test
+  public void testExplainAnalyzeWithResultCache() throws SQLException {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    long cacheSize = config.getQueryResultCacheSize();
+    config.setQueryResultCacheSize(1024 * 1024);
+    try {
+      String sql = "explain analyze select count(s1) from root.exp.d1 where time <= 3000";
+      List<String> lines = explain(sql);
+      Assert.assertTrue(lines.toString(), lines.contains("Rows: 1"));
+      Assert.assertTrue(lines.toString(), lines.contains("root.exp.d1.s1:"));
+      Assert.assertFalse(lines.toString(), lines.stream()
+          .anyMatch(line -> line.startsWith("Served from result cache")));
+
+      // no series is read for the cached result
+      lines = explain(sql);
+      Assert.assertTrue(lines.toString(), lines.contains("Rows: 1"));
+      Assert.assertTrue(lines.toString(), lines.contains("Served from result cache: 1 rows"));
+      Assert.assertFalse(lines.toString(), lines.contains("root.exp.d1.s1:"));
+    } finally {
+      config.setQueryResultCacheSize(cacheSize);
+    }
+  }
+
+  private List<String> explain(String sql) throws SQLException {
+    List<String> lines = new ArrayList<>();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      Assert.assertTrue(statement.execute(sql));
+      try (ResultSet resultSet = statement.getResultSet()) {
+        while (resultSet.next()) {
+          lines.add(resultSet.getString("plan"));
+        }
+      }
+    }
+    return lines;
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.exp");
+      statement.execute("CREATE TIMESERIES root.exp.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      for (int time = 1; time <= 3000; time++) {
+        statement.execute(String.format("INSERT INTO root.exp.d1(timestamp, s1) values(%d, %d)",
+            time, time));
+        if (time % 1000 == 0) {
+          statement.execute("flush");
+        }
+      }
+      for (int time = 100; time <= 200; time++) {
+        statement.execute(String.format("INSERT INTO root.exp.d1(timestamp, s1) values(%d, %d)",
+            time, -time));
+      }
+      statement.execute("flush");
+    }
+  }
+}
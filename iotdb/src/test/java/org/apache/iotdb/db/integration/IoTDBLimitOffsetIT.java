@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * LIMIT and OFFSET are applied by the server, skipping the chunks and pages of a single series by
+ * their point counts.
+ */
+public class IoTDBLimitOffsetIT {
+
+  private static IoTDB daemon;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    prepareData();
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testSingleSeries() throws SQLException {
+    Assert.assertEquals("1499,1499\n1500,-1500\n1501,1501\n",
+        query("select s1 from root.lo.d1 limit 3 offset 1498", 0));
+    Assert.assertEquals("2999,2999\n3000,3000\n",
+        query("select s1 from root.lo.d1 limit 10 offset 2998", 0));
+    Assert.assertEquals("", query("select s1 from root.lo.d1 limit 10 offset 3000", 0));
+    Assert.assertEquals("2011,2011\n2012,2012\n",
+        query("select s1 from root.lo.d1 where time > 2000 limit 2 offset 10", 0));
+    // maxRows of the statement is applied after LIMIT
+    Assert.assertEquals("1,1\n2,2\n", query("select s1 from root.lo.d1 limit 5", 2));
+  }
+
+  @Test
+  public void testMultiSeries() throws SQLException {
+    Assert.assertEquals("2,2,2\n3,3,null\n",
+        query("select s1, s2 from root.lo.d1 limit 2 offset 1", 0));
+    Assert.assertEquals("2997,2997\n2998,2998\n",
+        query("select s1 from root.lo.d1 where s1 > 2990 limit 2 offset 6", 0));
+  }
+
+  @Test
+  public void testGroupBy() throws SQLException {
+    Assert.assertEquals("1001,1000\n",
+        query("select count(s1) from root.lo.d1 group by (1000ms, 1, [1, 3000]) "
+            + "limit 1 offset 1", 0));
+  }
+
+  private String query(String sql, int maxRows) throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.setMaxRows(maxRows);
+      statement.setFetchSize(2);
+      Assert.assertTrue(statement.execute(sql));
+      StringBuilder builder = new StringBuilder();
+      try (ResultSet resultSet = statement.getResultSet()) {
+        int columnCount = resultSet.getMetaData().getColumnCount();
+        while (resultSet.next()) {
+          for (int i = 1; i <= columnCount; i++) {
+            builder.append(resultSet.getString(i)).append(i < columnCount ? "," : "\n");
+          }
+        }
+      }
+      return builder.toString();
+    }
+  }
+
+  private static Connection getConnection() throws SQLException {
+    return DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+  }
+
+  private static void prepareData() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.lo");
+      statement.execute("CREATE TIMESERIES root.lo.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      statement.execute("CREATE TIMESERIES root.lo.d1.s2 WITH DATATYPE=INT64, ENCODING=RLE");
+      for (int time = 1; time <= 3000; time++) {
+        statement.execute(String.format(
+            "INSERT INTO root.lo.d1(timestamp, s1) values(%d, %d)", time, time));
+        if (time % 2 == 0) {
+          statement.execute(String.format(
+              "INSERT INTO root.lo.d1(timestamp, s2) values(%d, %d)", time, time));
+        }
+        if (time % 1000 == 0) {
+          statement.execute("flush");
+        }
+      }
+      // unsequence data overlapping with a flushed chunk
+      statement.execute("INSERT INTO root.lo.d1(timestamp, s1) values(1500, -1500)");
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * ORDER BY time DESC reads the sealed and unsealed files, the data in memory and the unsequence
+ * data from the newest to the oldest.
+ */
+public class IoTDBOrderByTimeDescIT {
+
+  private static IoTDB daemon;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    prepareData();
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testSingleSeries() throws SQLException {
+    Assert.assertEquals("3050,3050\n3049,3049\n3048,3048\n",
+        query("select s1 from root.ob.d1 order by time desc limit 3"));
+    Assert.assertEquals("1501,1501\n1500,-1500\n1499,1499\n",
+        query("select s1 from root.ob.d1 order by time desc limit 3 offset 1549"));
+    Assert.assertEquals("2000,2000\n1999,1999\n",
+        query("select s1 from root.ob.d1 where time <= 2000 order by time desc limit 2"));
+    Assert.assertEquals("1,1\n2,2\n", query("select s1 from root.ob.d1 order by time asc limit 2"));
+
+    String all = query("select s1 from root.ob.d1 order by time desc");
+    String[] rows = all.split("\n");
+    Assert.assertEquals(3050, rows.length);
+    for (int i = 0; i < rows.length; i++) {
+      long time = 3050 - i;
+      Assert.assertEquals(time + "," + (time == 1500 ? -time : time), rows[i]);
+    }
+  }
+
+  @Test
+  public void testMultiSeries() throws SQLException {
+    Assert.assertEquals("3050,3050,3050\n3049,3049,null\n3048,3048,3048\n",
+        query("select s1, s2 from root.ob.d1 order by time desc limit 3"));
+    Assert.assertEquals("1002,1002,1002\n1001,1001,null\n",
+        query("select s1, s2 from root.ob.d1 where time < 1003 order by time desc limit 2"));
+  }
+
+  @Test
+  public void testUnsupported() throws SQLException {
+    String[] sqls = new String[]{
+        "select s1 from root.ob.d1 where s1 > 10 order by time desc",
+        "select count(s1) from root.ob.d1 order by time desc group by (1000ms, 1, [1, 3000])",
+    };
+    for (String sql : sqls) {
+      try {
+        query(sql);
+        Assert.fail(sql);
+      } catch (SQLException e) {
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains("ORDER BY time DESC"));
+      }
+    }
+    // an aggregation returns a single row whatever the order
+    Assert.assertEquals("0,3050\n", query("select count(s1) from root.ob.d1 order by time desc"));
+  }
+
+  private String query(String sql) throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.setFetchSize(2);
+      Assert.assertTrue(statement.execute(sql));
+      StringBuilder builder = new StringBuilder();
+      try (ResultSet resultSet = statement.getResultSet()) {
+        int columnCount = resultSet.getMetaData().getColumnCount();
+        while (resultSet.next()) {
+          for (int i = 1; i <= columnCount; i++) {
+            builder.append(resultSet.getString(i)).append(i < columnCount ? "," : "\n");
+          }
+        }
+      }
+      return builder.toString();
+    }
+  }
+
+  private static Connection getConnection() throws SQLException {
+    return DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+  }
+
+  private static void prepareData() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.ob");
+      statement.execute("CREATE TIMESERIES root.ob.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      statement.execute("CREATE TIMESERIES root.ob.d1.s2 WITH DATATYPE=INT64, ENCODING=RLE");
+      for (int time = 1; time <= 3050; time++) {
+        statement.execute(String.format(
+            "INSERT INTO root.ob.d1(timestamp, s1) values(%d, %d)", time, time));
+        if (time % 2 == 0) {
+          statement.execute(String.format(
+              "INSERT INTO root.ob.d1(timestamp, s2) values(%d, %d)", time, time));
+        }
+        if (time % 1000 == 0) {
+          statement.execute("flush");
+        }
+      }
+      // unsequence data overlapping with a flushed chunk
+      statement.execute("INSERT INTO root.ob.d1(timestamp, s1) values(1500, -1500)");
+    }
+  }
+}
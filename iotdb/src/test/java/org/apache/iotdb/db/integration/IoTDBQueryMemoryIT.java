@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.query.control.QueryMemoryManager;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A query exceeding the memory allocated for read must fail with a clear error instead of
+ * exhausting the heap, and the memory reserved by the queries must be released when they end.
+ */
+public class IoTDBQueryMemoryIT {
+
+  private static IoTDB daemon;
+  private static IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private long allocateMemoryForRead;
+  private long readMemoryWaitTime;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    allocateMemoryForRead = config.getAllocateMemoryForRead();
+    readMemoryWaitTime = config.getReadMemoryWaitTimeInMs();
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    config.setAllocateMemoryForRead(allocateMemoryForRead);
+    config.setReadMemoryWaitTimeInMs(readMemoryWaitTime);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void test() throws SQLException {
+    long usedMemory = QueryMemoryManager.getInstance().getUsedMemory();
+
+    // enough memory
+    Assert.assertEquals(2000, count("select s1 from root.mem.d1 where time > 0"));
+    Assert.assertEquals(usedMemory, QueryMemoryManager.getInstance().getUsedMemory());
+
+    // the chunks on disk and in memory do not fit in the memory for read
+    config.setAllocateMemoryForRead(usedMemory + 1024);
+    config.setReadMemoryWaitTimeInMs(100);
+    try {
+      count("select s1 from root.mem.d1 where time > 0");
+      Assert.fail();
+    } catch (SQLException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("allocated for read"));
+    }
+    Assert.assertEquals(usedMemory, QueryMemoryManager.getInstance().getUsedMemory());
+
+    // the results are sent in smaller batches
+    config.setAllocateMemoryForRead(allocateMemoryForRead);
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.setFetchSize(500);
+      statement.execute("select s1 from root.mem.d1 where time > 0");
+      ResultSet resultSet = statement.getResultSet();
+      Assert.assertTrue(resultSet.next());
+      int cnt = 1;
+      // the memory of the data read is kept, the rest is enough for 100 rows
+      config.setAllocateMemoryForRead(QueryMemoryManager.getInstance().getUsedMemory()
+          + QueryMemoryManager.estimateBatchSize(100, 1));
+      while (resultSet.next()) {
+        cnt++;
+      }
+      Assert.assertEquals(2000, cnt);
+    }
+  }
+
+  private int count(String sql) throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      Assert.assertTrue(statement.execute(sql));
+      ResultSet resultSet = statement.getResultSet();
+      int cnt = 0;
+      while (resultSet.next()) {
+        cnt++;
+      }
+      return cnt;
+    }
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.mem");
+      statement.execute("CREATE TIMESERIES root.mem.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      for (int time = 1; time <= 2000; time++) {
+        statement.execute(String.format("INSERT INTO root.mem.d1(timestamp, s1) values(%d, %d)",
+            time, time));
+        if (time == 1000) {
+          statement.execute("flush");
+        }
+      }
+    }
+  }
+}
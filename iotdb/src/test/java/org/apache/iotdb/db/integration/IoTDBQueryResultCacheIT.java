@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The results of the queries repeated with the query result cache enabled must be the same as the
+ * ones computed without the cache, after the data is updated in any way.
+ */
+public class IoTDBQueryResultCacheIT {
+
+  private static IoTDB daemon;
+
+  private static final String[] QUERIES = new String[]{
+      "select count(s1), sum(s1), max_value(s2), last(s2) from root.cache.d1 "
+          + "GROUP BY (100ms, 0, [1, 1299])",
+      "select count(s1), sum(s1), count(s2) from root.cache.d1, root.cache.d2 "
+          + "GROUP BY (30ms, 5, [20, 460], [480, 1250])",
+      "select count(s1), sum(s1), first(s2) from root.cache.d1 where time < 700",
+      "select count(s1), sum(s1) from root.cache.d1 where time > 100",
+  };
+
+  private long cacheSize;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    cacheSize = IoTDBDescriptor.getInstance().getConfig().getQueryResultCacheSize();
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    IoTDBDescriptor.getInstance().getConfig().setQueryResultCacheSize(cacheSize);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void test() throws SQLException {
+    assertCachedResults();
+    // served by the cache
+    assertCachedResults();
+
+    // overwrite flushed data
+    execute("INSERT INTO root.cache.d1(timestamp, s1, s2) values(250, 1000, 9.5)",
+        "INSERT INTO root.cache.d1(timestamp, s1, s2) values(1030, 1000, 9.5)");
+    assertCachedResults();
+
+    // new data after the flushed data, then flushed
+    for (int time = 1100; time < 1200; time += 2) {
+      execute(String.format("INSERT INTO root.cache.d1(timestamp, s1, s2) values(%d, %d, %s)",
+          time, time, (time % 7) * 0.5));
+    }
+    assertCachedResults();
+    execute("flush");
+    assertCachedResults();
+
+    // delete flushed data
+    execute("DELETE FROM root.cache.d1.s2 WHERE time < 140");
+    assertCachedResults();
+    execute("DELETE FROM root.cache.d2.s1 WHERE time < 500");
+    assertCachedResults();
+  }
+
+  private void assertCachedResults() throws SQLException {
+    for (String sql : QUERIES) {
+      IoTDBDescriptor.getInstance().getConfig().setQueryResultCacheSize(0);
+      List<String> expected = query(sql);
+      IoTDBDescriptor.getInstance().getConfig().setQueryResultCacheSize(1024 * 1024);
+      List<String> actual = query(sql);
+      Assert.assertFalse(expected.isEmpty());
+      Assert.assertEquals(sql, expected, actual);
+    }
+  }
+
+  private List<String> query(String sql) throws SQLException {
+    List<String> results = new ArrayList<>();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      Assert.assertTrue(statement.execute(sql));
+      ResultSet resultSet = statement.getResultSet();
+      int columnCount = resultSet.getMetaData().getColumnCount();
+      while (resultSet.next()) {
+        StringBuilder builder = new StringBuilder(resultSet.getString(1));
+        for (int i = 2; i <= columnCount; i++) {
+          builder.append(",").append(resultSet.getString(i));
+        }
+        results.add(builder.toString());
+      }
+    }
+    return results;
+  }
+
+  private void execute(String... sqls) throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      for (String sql : sqls) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+  private void prepareData() throws SQLException {
+    execute("SET STORAGE GROUP TO root.cache");
+    for (String device : new String[]{"root.cache.d1", "root.cache.d2"}) {
+      execute("CREATE TIMESERIES " + device + ".s1 WITH DATATYPE=INT64, ENCODING=RLE",
+          "CREATE TIMESERIES " + device + ".s2 WITH DATATYPE=DOUBLE, ENCODING=GORILLA");
+    }
+    List<String> sqls = new ArrayList<>();
+    for (int time = 1; time < 1100; time++) {
+      for (String device : new String[]{"root.cache.d1", "root.cache.d2"}) {
+        sqls.add(String.format("INSERT INTO %s(timestamp, s1, s2) values(%d, %d, %s)",
+            device, time, time, (time % 7) * 0.5));
+      }
+      if (time == 400 || time == 800) {
+        sqls.add("flush");
+      }
+    }
+    execute(sqls.toArray(new String[0]));
+  }
+}
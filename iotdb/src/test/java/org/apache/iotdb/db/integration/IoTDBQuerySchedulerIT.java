@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.query.pool.QueryScheduler;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The queries are evaluated by the query scheduler, and the new queries of a user beyond
+ * max_concurrent_query_per_user are rejected until the user closes some queries.
+ */
+public class IoTDBQuerySchedulerIT {
+
+  private static IoTDB daemon;
+  private static IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private int maxConcurrentQueryPerUser;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    maxConcurrentQueryPerUser = config.getMaxConcurrentQueryPerUser();
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    config.setMaxConcurrentQueryPerUser(maxConcurrentQueryPerUser);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void test() throws SQLException {
+    config.setMaxConcurrentQueryPerUser(2);
+    try (Connection connection1 = getConnection();
+        Statement statement1 = connection1.createStatement();
+        Connection connection2 = getConnection();
+        Statement statement2 = connection2.createStatement();
+        Connection connection3 = getConnection();
+        Statement statement3 = connection3.createStatement()) {
+      // a scan and a point query
+      ResultSet resultSet1 = executeQuery(statement1, "select s1 from root.sch.d1");
+      Assert.assertTrue(resultSet1.next());
+      ResultSet resultSet2 = executeQuery(statement2,
+          "select s1 from root.sch.d1 where time = 50");
+      Assert.assertTrue(resultSet2.next());
+      Assert.assertEquals("50", resultSet2.getString(2));
+      Assert.assertEquals(2, QueryScheduler.getInstance().getQueryNum("root"));
+
+      try {
+        executeQuery(statement3, "select s1 from root.sch.d1").next();
+        Assert.fail();
+      } catch (SQLException e) {
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains("reaches the limit"));
+      }
+
+      resultSet1.close();
+      ResultSet resultSet3 = executeQuery(statement3, "select s1 from root.sch.d1");
+      int cnt = 0;
+      while (resultSet3.next()) {
+        cnt++;
+      }
+      Assert.assertEquals(100, cnt);
+      resultSet2.close();
+      resultSet3.close();
+    }
+    Assert.assertEquals(0, QueryScheduler.getInstance().getQueryNum("root"));
+  }
+
+  private ResultSet executeQuery(Statement statement, String sql) throws SQLException {
+    statement.setFetchSize(10);
+    Assert.assertTrue(statement.execute(sql));
+    return statement.getResultSet();
+  }
+
+  private Connection getConnection() throws SQLException {
+    return DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.sch");
+      statement.execute("CREATE TIMESERIES root.sch.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      for (int time = 1; time <= 100; time++) {
+        statement.execute(String.format("INSERT INTO root.sch.d1(timestamp, s1) values(%d, %d)",
+            time, time));
+      }
+    }
+  }
+}
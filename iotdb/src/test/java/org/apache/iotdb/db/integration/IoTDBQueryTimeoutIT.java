@@ -0,0 +1,252 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.query.control.QueryMemoryManager;
+import org.apache.iotdb.db.query.pool.QueryScheduler;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A query running longer than its timeout, or cancelled, stops at its next fetch and releases its
+ * resources at once.
+ */
+public class IoTDBQueryTimeoutIT {
+
+  private static IoTDB daemon;
+  private static IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final String[] QUERIES = new String[]{
+      "select s1 from root.timeout.d1",
+      "select s1 from root.timeout.d1 where s1 > 10",
+      "select count(s1) from root.timeout.d1 GROUP BY (1ms, 0, [1, 3000])",
+  };
+
+  private long queryTimeoutThreshold;
+  private long usedMemory;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    queryTimeoutThreshold = config.getQueryTimeoutThreshold();
+    prepareData();
+    usedMemory = QueryMemoryManager.getInstance().getUsedMemory();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    config.setQueryTimeoutThreshold(queryTimeoutThreshold);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testSessionTimeout() throws SQLException, InterruptedException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("set query timeout to 100");
+      for (String sql : QUERIES) {
+        assertTimeout(statement, sql);
+      }
+      // no timeout
+      statement.execute("set query timeout to 0");
+      Assert.assertEquals(3000, count(statement, QUERIES[0]));
+    }
+  }
+
+  @Test
+  public void testGlobalTimeout() throws SQLException, InterruptedException {
+    config.setQueryTimeoutThreshold(100);
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      assertTimeout(statement, QUERIES[0]);
+      // the timeout of the session overrides the global one
+      statement.execute("set query timeout to 100000");
+      Assert.assertEquals(3000, count(statement, QUERIES[0]));
+    }
+  }
+
+  @Test
+  public void testCancel() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.setFetchSize(10);
+      statement.execute(QUERIES[0]);
+      ResultSet resultSet = statement.getResultSet();
+      Assert.assertTrue(resultSet.next());
+      Assert.assertEquals(1, QueryScheduler.getInstance().getQueryNum("root"));
+
+      statement.cancel();
+      Assert.assertEquals(0, QueryScheduler.getInstance().getQueryNum("root"));
+      Assert.assertEquals(usedMemory, QueryMemoryManager.getInstance().getUsedMemory());
+      try {
+        for (int i = 0; i < 10; i++) {
+          resultSet.next();
+        }
+        Assert.fail();
+      } catch (SQLException e) {
+        // expected
+      }
+      resultSet.close();
+
+      // the following queries are not affected
+      Assert.assertEquals(3000, count(statement, QUERIES[0]));
+    }
+  }
+
+  @Test
+  public void testTimeoutOfEachStatement() throws SQLException, InterruptedException {
+    try (Connection connection = getConnection();
+        Statement statement1 = connection.createStatement();
+        Statement statement2 = connection.createStatement()) {
+      statement1.setQueryTimeout(1);
+      statement1.setFetchSize(10);
+      statement2.setFetchSize(10);
+      // the query of statement2 is executed before the first fetch of statement1
+      statement1.execute(QUERIES[0]);
+      statement2.execute(QUERIES[1]);
+      ResultSet resultSet1 = statement1.getResultSet();
+      ResultSet resultSet2 = statement2.getResultSet();
+      Assert.assertTrue(resultSet1.next());
+      Thread.sleep(1200);
+      try {
+        while (resultSet1.next()) {
+          // the rows fetched before the timeout
+        }
+        Assert.fail();
+      } catch (SQLException e) {
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains("timeout"));
+      }
+      int cnt = 0;
+      while (resultSet2.next()) {
+        cnt++;
+      }
+      Assert.assertEquals(2990, cnt);
+      resultSet1.close();
+      resultSet2.close();
+    }
+  }
+
+  @Test
+  public void testCancelOneStatement() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement1 = connection.createStatement();
+        Statement statement2 = connection.createStatement()) {
+      statement1.setFetchSize(10);
+      statement2.setFetchSize(10);
+      statement1.execute(QUERIES[0]);
+      statement2.execute(QUERIES[1]);
+      ResultSet resultSet1 = statement1.getResultSet();
+      ResultSet resultSet2 = statement2.getResultSet();
+      Assert.assertTrue(resultSet1.next());
+      Assert.assertTrue(resultSet2.next());
+      Assert.assertEquals(2, QueryScheduler.getInstance().getQueryNum("root"));
+
+      statement1.cancel();
+      Assert.assertEquals(1, QueryScheduler.getInstance().getQueryNum("root"));
+      // the query of the other statement is not affected
+      int cnt = 1;
+      while (resultSet2.next()) {
+        cnt++;
+      }
+      Assert.assertEquals(2990, cnt);
+      try {
+        for (int i = 0; i < 10; i++) {
+          resultSet1.next();
+        }
+        Assert.fail();
+      } catch (SQLException e) {
+        // expected
+      }
+      resultSet1.close();
+      resultSet2.close();
+    }
+    Assert.assertEquals(0, QueryScheduler.getInstance().getQueryNum("root"));
+    Assert.assertEquals(usedMemory, QueryMemoryManager.getInstance().getUsedMemory());
+  }
+
+  private void assertTimeout(Statement statement, String sql)
+      throws SQLException, InterruptedException {
+    statement.setFetchSize(10);
+    statement.execute(sql);
+    ResultSet resultSet = statement.getResultSet();
+    Assert.assertTrue(resultSet.next());
+    Thread.sleep(200);
+    try {
+      while (resultSet.next()) {
+        // the rows of the first batch
+      }
+      Assert.fail();
+    } catch (SQLException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("timeout"));
+    }
+    // released without closing the result set
+    Assert.assertEquals(0, QueryScheduler.getInstance().getQueryNum("root"));
+    Assert.assertEquals(usedMemory, QueryMemoryManager.getInstance().getUsedMemory());
+    resultSet.close();
+  }
+
+  private int count(Statement statement, String sql) throws SQLException {
+    statement.setFetchSize(1000);
+    statement.execute(sql);
+    int cnt = 0;
+    try (ResultSet resultSet = statement.getResultSet()) {
+      while (resultSet.next()) {
+        cnt++;
+      }
+    }
+    return cnt;
+  }
+
+  private Connection getConnection() throws SQLException {
+    return DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.timeout");
+      statement.execute("CREATE TIMESERIES root.timeout.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      for (int time = 1; time <= 3000; time++) {
+        statement.execute(String.format(
+            "INSERT INTO root.timeout.d1(timestamp, s1) values(%d, %d)", time, time));
+        if (time % 1000 == 0) {
+          statement.execute("flush");
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The same data is written into a storage group with rollups and into one without, the aggregation
+ * results read from the rollups must be the same as the ones read from the raw points.
+ */
+public class IoTDBRollupIT {
+
+  private static IoTDB daemon;
+
+  private static final String ROLLUP_DEVICE = "root.rollup.d1";
+  private static final String RAW_DEVICE = "root.raw.d1";
+  private static final String AGGREGATIONS = "count(s1), sum(s1), min_value(s1), max_value(s1), "
+      + "first(s1), last(s1), mean(s1), min_time(s1), max_time(s1), count(s2), sum(s2), "
+      + "max_value(s2), first(s2), last(s2)";
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    Map<String, long[]> rollupIntervals = new HashMap<>();
+    rollupIntervals.put("root.rollup", new long[]{10, 100});
+    IoTDBDescriptor.getInstance().getConfig().setRollupIntervals(rollupIntervals);
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    prepareData();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    IoTDBDescriptor.getInstance().getConfig().setRollupIntervals(new HashMap<>());
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void groupByTest() throws SQLException {
+    String[] clauses = new String[]{
+        // windows made of whole buckets of both rollups
+        "GROUP BY (100ms, 0, [1, 1199])",
+        "GROUP BY (200ms, 0, [1, 1199])",
+        // windows made of whole buckets of the finer rollup
+        "GROUP BY (30ms, 0, [1, 1199])",
+        "GROUP BY (10ms, 0, [1, 1199])",
+        // windows cutting the buckets
+        "GROUP BY (25ms, 5, [1, 1199])",
+        // windows clipped by the intervals
+        "GROUP BY (100ms, 0, [55, 333], [420, 1050])"
+    };
+    for (String clause : clauses) {
+      assertSameResults("select " + AGGREGATIONS + " from %s " + clause);
+    }
+  }
+
+  @Test
+  public void aggregationTest() throws SQLException {
+    String[] filters = new String[]{
+        "",
+        // aligned to the buckets of both rollups
+        " where time >= 100 and time < 800",
+        // aligned to the buckets of the finer rollup
+        " where time >= 230 and time < 770",
+        // cutting the buckets
+        " where time > 123 and time < 789",
+    };
+    for (String filter : filters) {
+      assertSameResults("select " + AGGREGATIONS + " from %s" + filter);
+    }
+  }
+
+  @Test
+  public void rollupResultTest() throws SQLException {
+    List<String> results = query(String
+        .format("select count(s1), sum(s1), max_value(s1) from %s GROUP BY (500ms, 0, [1, 999])",
+            ROLLUP_DEVICE));
+    // points 250 and 260 are overwritten by unsequence data
+    Assert.assertEquals("1,499,124240.0,1000", results.get(0));
+    Assert.assertEquals("500,500,374750.0,999", results.get(1));
+    Assert.assertEquals(2, results.size());
+  }
+
+  @Test
+  public void unboundedTimeTest() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      for (String device : new String[]{"root.rollup.d2", "root.raw.d2"}) {
+        statement.execute("CREATE TIMESERIES " + device + ".s1 WITH DATATYPE=INT64, ENCODING=RLE");
+        for (int time = 1; time <= 100; time++) {
+          statement.execute(String.format("INSERT INTO %s(timestamp, s1) values(%d, %d)",
+              device, time, time));
+        }
+        // the chunk ends at the maximal time
+        statement.execute(String.format("INSERT INTO %s(timestamp, s1) values(%d, 0)",
+            device, Long.MAX_VALUE));
+        statement.execute("flush");
+      }
+    }
+    String sqlFormat = "select count(s1), sum(s1), max_time(s1) from %s where time >= 10";
+    List<String> expected = query(String.format(sqlFormat, "root.raw.d2"));
+    Assert.assertEquals("0,92," + (5050 - 45) + ".0," + Long.MAX_VALUE, expected.get(0));
+    Assert.assertEquals(expected, query(String.format(sqlFormat, "root.rollup.d2")));
+  }
+
+  private void assertSameResults(String sqlFormat) throws SQLException {
+    List<String> expected = query(String.format(sqlFormat, RAW_DEVICE));
+    List<String> actual = query(String.format(sqlFormat, ROLLUP_DEVICE));
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(sqlFormat, expected, actual);
+  }
+
+  private List<String> query(String sql) throws SQLException {
+    List<String> results = new ArrayList<>();
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      Assert.assertTrue(statement.execute(sql));
+      ResultSet resultSet = statement.getResultSet();
+      int columnCount = resultSet.getMetaData().getColumnCount();
+      while (resultSet.next()) {
+        StringBuilder builder = new StringBuilder(resultSet.getString(1));
+        for (int i = 2; i <= columnCount; i++) {
+          builder.append(",").append(resultSet.getString(i));
+        }
+        results.add(builder.toString());
+      }
+    }
+    return results;
+  }
+
+  private void prepareData() throws SQLException {
+    try (Connection connection = DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", "root", "root");
+        Statement statement = connection.createStatement()) {
+      for (String storageGroup : new String[]{"root.rollup", "root.raw"}) {
+        statement.execute("SET STORAGE GROUP TO " + storageGroup);
+      }
+      for (String device : new String[]{ROLLUP_DEVICE, RAW_DEVICE}) {
+        statement.execute("CREATE TIMESERIES " + device
+            + ".s1 WITH DATATYPE=INT64, ENCODING=RLE");
+        statement.execute("CREATE TIMESERIES " + device
+            + ".s2 WITH DATATYPE=DOUBLE, ENCODING=GORILLA");
+      }
+
+      for (String device : new String[]{ROLLUP_DEVICE, RAW_DEVICE}) {
+        // sequence data in two chunks, some buckets across the chunks
+        for (int time = 1; time < 1000; time++) {
+          statement.execute(String.format("INSERT INTO %s(timestamp, s1, s2) values(%d, %d, %s)",
+              device, time, time, (time % 7) * 0.5));
+          if (time == 554) {
+            statement.execute("flush");
+          }
+        }
+        statement.execute("flush");
+        // unsequence data
+        statement.execute(String.format("INSERT INTO %s(timestamp, s1, s2) values(250, 1000, 9.5)",
+            device));
+        statement.execute(String.format("INSERT INTO %s(timestamp, s1, s2) values(260, -1000, 9.5)",
+            device));
+        statement.execute("flush");
+        // unflushed data
+        for (int time = 1000; time < 1100; time += 3) {
+          statement.execute(String.format("INSERT INTO %s(timestamp, s1, s2) values(%d, %d, %s)",
+              device, time, time, (time % 7) * 0.5));
+        }
+        // deleted data
+        statement.execute(String.format("DELETE FROM %s.s2 WHERE time < 40", device));
+      }
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.query.pool.QueryScheduler;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.apache.iotdb.jdbc.IoTDBConnection;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The non-blocking servers serve the requests of a connection by different worker threads, the
+ * state of the session must follow the connection.
+ */
+public class IoTDBRpcServerTypeIT {
+
+  private static IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private IoTDB daemon;
+  private String rpcServerType = config.getRpcServerType();
+  private boolean rpcThriftCompressionEnable = config.isRpcThriftCompressionEnable();
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    config.setRpcServerType(rpcServerType);
+    config.setRpcThriftCompressionEnable(rpcThriftCompressionEnable);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testSelectorServer() throws Exception {
+    start("SELECTOR", true);
+    test(true, true);
+  }
+
+  @Test
+  public void testHsHaServer() throws Exception {
+    start("HSHA", false);
+    test(true, false);
+  }
+
+  @Test
+  public void testThreadPoolServerWithCompactProtocol() throws Exception {
+    start("THREAD_POOL", true);
+    test(false, true);
+  }
+
+  private void start(String serverType, boolean compressionEnable) throws Exception {
+    config.setRpcServerType(serverType);
+    config.setRpcThriftCompressionEnable(compressionEnable);
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+  }
+
+  private void test(boolean framed, boolean compressionEnable) throws Exception {
+    try (Connection connection = getConnection(framed, compressionEnable);
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.rpc");
+      statement.execute("CREATE TIMESERIES root.rpc.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      for (int time = 1; time <= 100; time++) {
+        statement.addBatch(String.format("INSERT INTO root.rpc.d1(timestamp, s1) values(%d, %d)",
+            time, time));
+      }
+      statement.executeBatch();
+      ((IoTDBConnection) connection).setTimeZone("+05:00");
+    }
+
+    List<Connection> connections = new ArrayList<>();
+    try {
+      for (int i = 0; i < 20; i++) {
+        connections.add(getConnection(framed, compressionEnable));
+      }
+      // the queries of all the connections are open at the same time
+      List<ResultSet> resultSets = new ArrayList<>();
+      for (Connection connection : connections) {
+        Statement statement = connection.createStatement();
+        statement.setFetchSize(10);
+        Assert.assertTrue(statement.execute("select s1 from root.rpc.d1"));
+        resultSets.add(statement.getResultSet());
+      }
+      for (int i = 0; i < connections.size(); i++) {
+        ((IoTDBConnection) connections.get(i)).setTimeZone("+0" + (i % 9 + 1) + ":00");
+      }
+      for (int i = 0; i < connections.size(); i++) {
+        ResultSet resultSet = resultSets.get(i);
+        int cnt = 0;
+        while (resultSet.next()) {
+          cnt++;
+          Assert.assertEquals(cnt, resultSet.getLong(2));
+        }
+        Assert.assertEquals(100, cnt);
+        resultSet.close();
+        Assert.assertEquals("+0" + (i % 9 + 1) + ":00",
+            ((IoTDBConnection) connections.get(i)).getTimeZone());
+      }
+      // the queries left open are released when their connections are closed
+      Assert.assertEquals(0, QueryScheduler.getInstance().getQueryNum("root"));
+      for (Connection connection : connections) {
+        Statement statement = connection.createStatement();
+        statement.setFetchSize(10);
+        statement.execute("select s1 from root.rpc.d1");
+        Assert.assertTrue(statement.getResultSet().next());
+      }
+      Assert.assertEquals(20, QueryScheduler.getInstance().getQueryNum("root"));
+    } finally {
+      for (Connection connection : connections) {
+        connection.close();
+      }
+    }
+    long startTime = System.currentTimeMillis();
+    while (QueryScheduler.getInstance().getQueryNum("root") > 0
+        && System.currentTimeMillis() - startTime < 10000) {
+      Thread.yield();
+    }
+    Assert.assertEquals(0, QueryScheduler.getInstance().getQueryNum("root"));
+  }
+
+  private Connection getConnection(boolean framed, boolean compressionEnable)
+      throws SQLException {
+    Properties properties = new Properties();
+    properties.setProperty(Config.AUTH_USER, "root");
+    properties.setProperty(Config.AUTH_PASSWORD, "root");
+    properties.setProperty(Config.RPC_FRAMED_TRANSPORT_ENABLE, Boolean.toString(framed));
+    properties.setProperty(Config.RPC_THRIFT_COMPRESSION_ENABLE,
+        Boolean.toString(compressionEnable));
+    return DriverManager.getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", properties);
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.integration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The statements running longer than slow_query_threshold are listed by SHOW SLOW QUERIES with
+ * their times and resources.
+ */
+public class IoTDBSlowQueryIT {
+
+  private static IoTDB daemon;
+  private static IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private long slowQueryThreshold;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    slowQueryThreshold = config.getSlowQueryThreshold();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    daemon.stop();
+    config.setSlowQueryThreshold(slowQueryThreshold);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void test() throws SQLException {
+    try (Connection connection = getConnection("root", "root");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.sq");
+      statement.execute("CREATE TIMESERIES root.sq.d1.s1 WITH DATATYPE=INT64, ENCODING=RLE");
+      statement.execute("CREATE USER tempuser temppw");
+      // every statement is slow
+      config.setSlowQueryThreshold(0);
+      for (int time = 1; time <= 100; time++) {
+        statement.execute(String.format(
+            "INSERT INTO root.sq.d1(timestamp, s1) values(%d, %d)", time, time));
+        if (time == 50) {
+          statement.execute("flush");
+        }
+      }
+      statement.setFetchSize(30);
+      Assert.assertTrue(statement.execute("select s1 from root.sq.d1 where time > 10"));
+      int cnt = 0;
+      try (ResultSet resultSet = statement.getResultSet()) {
+        while (resultSet.next()) {
+          cnt++;
+        }
+      }
+      Assert.assertEquals(90, cnt);
+      config.setSlowQueryThreshold(slowQueryThreshold);
+
+      Assert.assertTrue(statement.execute("show slow queries"));
+      try (ResultSet resultSet = statement.getResultSet()) {
+        // the latest first
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals("select s1 from root.sq.d1 where time > ?",
+            resultSet.getString("statement"));
+        Assert.assertEquals("root", resultSet.getString("user"));
+        Assert.assertEquals(90, resultSet.getLong("row_num"));
+        Assert.assertEquals(2, resultSet.getLong("file_num"));
+        Assert.assertTrue(resultSet.getLong("peak_memory") > 0);
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals("INSERT INTO root.sq.d1(timestamp, s1) values(?, ?)",
+            resultSet.getString("statement"));
+        Assert.assertEquals(0, resultSet.getLong("row_num"));
+      }
+    }
+
+    // only the administrator can see the statements of all the users
+    try (Connection connection = getConnection("tempuser", "temppw");
+        Statement statement = connection.createStatement()) {
+      statement.execute("show slow queries");
+      Assert.fail();
+    } catch (SQLException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("administrator"));
+    }
+  }
+
+  private Connection getConnection(String user, String password) throws SQLException {
+    return DriverManager
+        .getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", user, password);
+  }
+}
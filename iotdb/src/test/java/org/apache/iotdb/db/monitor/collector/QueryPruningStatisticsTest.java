@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.monitor.collector;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.iotdb.db.monitor.MonitorConstants;
+import org.apache.iotdb.tsfile.write.record.TSRecord;
+import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryPruningStatisticsTest {
+
+  private QueryPruningStatistics statistics = QueryPruningStatistics.getInstance();
+
+  @Before
+  public void setUp() {
+    statistics.clear();
+  }
+
+  @After
+  public void tearDown() {
+    statistics.clear();
+  }
+
+  @Test
+  public void testGetAllStatisticsValue() {
+    statistics.addSkipped(1, 100, 1000);
+    statistics.addSkipped(2, 0, 500);
+
+    Map<String, TSRecord> records = statistics.getAllStatisticsValue();
+    assertEquals(1, records.size());
+    TSRecord record = records.get(MonitorConstants.QUERY_PRUNING_STORAGE_GROUP_NAME);
+    Map<String, Object> values = new HashMap<>();
+    for (DataPoint dataPoint : record.dataPointList) {
+      values.put(dataPoint.getMeasurementId(), dataPoint.getValue());
+    }
+    assertEquals(3L, values.get("SKIPPED_CHUNK_NUM"));
+    assertEquals(100L, values.get("SKIPPED_POINT_NUM"));
+    assertEquals(1500L, values.get("SKIPPED_BYTES"));
+
+    assertEquals(Arrays.asList("root.stats.query_pruning.SKIPPED_CHUNK_NUM",
+        "root.stats.query_pruning.SKIPPED_POINT_NUM", "root.stats.query_pruning.SKIPPED_BYTES"),
+        statistics.getAllPathForStatistic());
+  }
+}
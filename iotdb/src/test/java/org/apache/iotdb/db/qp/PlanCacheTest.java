@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.iotdb.db.exception.qp.QueryProcessorException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.qp.executor.QueryProcessExecutor;
+import org.apache.iotdb.db.qp.physical.PhysicalPlan;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PlanCacheTest {
+
+  private static final ZoneId ZONE_ID = ZoneId.of("+08:00");
+
+  private MManager mManager = MManager.getInstance();
+  private QueryProcessor processor = new QueryProcessor(new QueryProcessExecutor());
+  private PlanCache planCache;
+  private AtomicInteger parseNum = new AtomicInteger();
+
+  static {
+    MManager.getInstance().init();
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.envSetUp();
+    mManager.setStorageLevelToMTree("root.cache");
+    addSeries("root.cache.d1.s1");
+    addSeries("root.cache.d1.s2");
+    planCache = new PlanCache(2);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testQuery() throws Exception {
+    String sql = "select * from root.cache where time > 2019-01-01T00:00:00";
+    PhysicalPlan plan = get(sql, ZONE_ID);
+    assertEquals(2, plan.getPaths().size());
+    assertSame(plan, get(sql, ZONE_ID));
+    assertEquals(1, parseNum.get());
+
+    // the time literals are parsed in the time zone
+    assertNotSame(plan, get(sql, ZoneId.of("+00:00")));
+    assertEquals(2, parseNum.get());
+
+    // a new series changes the expansion of "*"
+    addSeries("root.cache.d1.s3");
+    PhysicalPlan newPlan = get(sql, ZONE_ID);
+    assertEquals(3, parseNum.get());
+    assertEquals(3, newPlan.getPaths().size());
+    assertSame(newPlan, get(sql, ZONE_ID));
+  }
+
+  @Test
+  public void testNotCached() throws Exception {
+    get("select s1 from root.cache.d1 where time < now()", ZONE_ID);
+    get("select s1 from root.cache.d1 where time < now()", ZONE_ID);
+    get("set storage group to root.other", ZONE_ID);
+    get("set storage group to root.other", ZONE_ID);
+    assertEquals(4, parseNum.get());
+    assertEquals(0, planCache.size());
+
+    // the cache is bounded
+    get("select s1 from root.cache.d1", ZONE_ID);
+    get("select s2 from root.cache.d1", ZONE_ID);
+    get("select s1, s2 from root.cache.d1", ZONE_ID);
+    assertEquals(2, planCache.size());
+    get("select s1 from root.cache.d1", ZONE_ID);
+    assertEquals(8, parseNum.get());
+  }
+
+  @Test
+  public void testInsertTemplate() throws Exception {
+    InsertPlan plan = (InsertPlan) get(
+        "insert into root.cache.d1(timestamp, s1, s2) values(1, 1.5, 'a''b')", ZONE_ID);
+    assertArrayEquals(new String[]{"1.5", "'a''b'"}, plan.getValues());
+
+    plan = (InsertPlan) get(
+        "insert into root.cache.d1(timestamp, s1, s2) values (+2, -3, \"c,d\");", ZONE_ID);
+    assertEquals(1, parseNum.get());
+    assertEquals("root.cache.d1", plan.getDeviceId());
+    assertEquals(2, plan.getTime());
+    assertArrayEquals(new String[]{"s1", "s2"}, plan.getMeasurements());
+    assertArrayEquals(new String[]{"-3", "\"c,d\""}, plan.getValues());
+
+    // not plain literals
+    get("insert into root.cache.d1(timestamp, s1, s2) values(now(), 1, 2)", ZONE_ID);
+    get("insert into root.cache.d1(timestamp, s1, s2) values(2019-01-01T00:00:00, 1, 2)",
+        ZONE_ID);
+    assertEquals(3, parseNum.get());
+
+    // the errors are reported by the parser
+    try {
+      get("insert into root.cache.d1(timestamp, s1, s2) values(3, 1)", ZONE_ID);
+      fail();
+    } catch (QueryProcessorException e) {
+      assertEquals(4, parseNum.get());
+    }
+    try {
+      get("insert into root.cache.d1(timestamp, s1, s2) values(0, 1, 2)", ZONE_ID);
+      fail();
+    } catch (QueryProcessorException e) {
+      assertEquals(5, parseNum.get());
+    }
+  }
+
+  private PhysicalPlan get(String sql, ZoneId zoneId) throws Exception {
+    return planCache.get(sql, zoneId, () -> {
+      parseNum.incrementAndGet();
+      return processor.parseSQLToPhysicalPlan(sql, zoneId);
+    });
+  }
+
+  private void addSeries(String path) throws Exception {
+    mManager.addPathToMTree(path, TSDataType.INT64, TSEncoding.RLE, CompressionType.SNAPPY,
+        Collections.emptyMap());
+  }
+}
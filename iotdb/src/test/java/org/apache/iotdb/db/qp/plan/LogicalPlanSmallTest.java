@@ -197,4 +197,46 @@ public class LogicalPlanSmallTest {
     // expected to throw LogicalOperatorException: LIMIT <N>: N must be a positive integer and can not be zero.
   }
 
+  @Test
+  public void testOffset()
+      throws QueryProcessorException, ArgsErrorException, MetadataErrorException {
+    String sqlStr = "select s1 from root.vehicle.d1 where s1 < 20 and time <= now() limit 10 offset 1";
+    AstNode astTree;
+    try {
+      astTree = ParseGenerator.generateAST(sqlStr); // parse string to ASTTree
+    } catch (ParseException e) {
+      // e.printStackTrace();
+      throw new IllegalASTFormatException(
+          "parsing error,statement: " + sqlStr + " .message:" + e.getMessage());
+    }
+    AstNode astNode = ParseUtils.findRootNonNullToken(astTree);
+    RootOperator operator = generator.getLogicalPlan(astNode);
+    Assert.assertEquals(operator.getClass(), QueryOperator.class);
+    Assert.assertEquals(10, ((QueryOperator) operator).getRowLimit());
+    Assert.assertEquals(1, ((QueryOperator) operator).getRowOffset());
+  }
+
+  @Test
+  public void testOrderByTime()
+      throws QueryProcessorException, ArgsErrorException, MetadataErrorException {
+    String[] sqls = new String[]{
+        "select s1 from root.vehicle.d1 where time <= now() order by time desc limit 10",
+        "select s1 from root.vehicle.d1 order by time asc",
+        "select s1 from root.vehicle.d1 order by time",
+        "select s1 from root.vehicle.d1"};
+    boolean[] ascending = new boolean[]{false, true, true, true};
+    for (int i = 0; i < sqls.length; i++) {
+      AstNode astTree;
+      try {
+        astTree = ParseGenerator.generateAST(sqls[i]); // parse string to ASTTree
+      } catch (ParseException e) {
+        throw new IllegalASTFormatException(
+            "parsing error,statement: " + sqls[i] + " .message:" + e.getMessage());
+      }
+      AstNode astNode = ParseUtils.findRootNonNullToken(astTree);
+      RootOperator operator = generator.getLogicalPlan(astNode);
+      Assert.assertEquals(ascending[i], ((QueryOperator) operator).isAscending());
+    }
+  }
+
 }
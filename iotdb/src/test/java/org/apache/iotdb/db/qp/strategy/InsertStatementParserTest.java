@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.qp.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.time.ZoneId;
+import org.apache.iotdb.db.exception.qp.QueryProcessorException;
+import org.apache.iotdb.db.qp.QueryProcessor;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.qp.utils.MemIntQpExecutor;
+import org.junit.Test;
+
+public class InsertStatementParserTest {
+
+  private QueryProcessor processor = new QueryProcessor(new MemIntQpExecutor());
+
+  @Test
+  public void testSameAsParser() throws Exception {
+    String[] statements = {
+        "insert into root.vehicle.d0(timestamp,s0) values(10,100)",
+        "INSERT INTO ROOT.vehicle.d_0 (TimeStamp, s0, S-1, s2, s3) VALUES (+10, -1, 1.5E-3, TRUE, "
+            + "'a''b, c')",
+        "  insert\tinto root . vehicle . d0(timestamp , s0 , s1)\nvalues(1535558845000, \"x\\\"y\", "
+            + "false) ;",
+    };
+    for (String statement : statements) {
+      InsertPlan plan = InsertStatementParser.parse(statement);
+      assertEquals(statement, processor.parseASTToPhysicalPlan(
+          processor.parseSQLToAST(statement), ZoneId.systemDefault()), plan);
+    }
+    InsertPlan plan = InsertStatementParser.parse(statements[1]);
+    assertEquals("root.vehicle.d_0", plan.getDeviceId());
+    assertArrayEquals(new String[]{"s0", "S-1", "s2", "s3"}, plan.getMeasurements());
+    assertArrayEquals(new String[]{"-1", "1.5E-3", "TRUE", "'a''b, c'"}, plan.getValues());
+  }
+
+  @Test
+  public void testLeftToParser() throws Exception {
+    String[] statements = {
+        "select s0 from root.vehicle.d0",
+        // not the common shape
+        "insert into root.vehicle.d0(timestamp, s0) values(now(), 1)",
+        "insert into root.vehicle.d0(timestamp, s0) values(2019-01-01T00:00:00, 1)",
+        "insert into root.vehicle.1(timestamp, s0) values(1, 1)",
+        "insert into root.vehicle.*(timestamp, s0) values(1, 1)",
+        // errors
+        "insert into root.vehicle.d0(timestamp, s0, s1) values(1, 1)",
+        "insert into root.vehicle.d0(timestamp, s0) values(0, 1)",
+        "insert into root.vehicle.d0(timestamp, s0) values(1, abc)",
+        "insert into root.vehicle.d0(timestamp, s0) values(1, 1e5)",
+        "insert into root.vehicle.d0(timestamp, s0) values(1, 'a)",
+        "insert into root.vehicle.d0(timestamp, s0) values(1, 1) 2",
+        "insert into root.vehicle.select(timestamp, s0) values(1, 1)",
+        "insert into root.vehicle.d0(timestamp, true) values(1, 1)",
+        "insertinto root.vehicle.d0(timestamp, s0) values(1, 1)",
+        "insert into vehicle.d0(timestamp, s0) values(1, 1)",
+    };
+    for (String statement : statements) {
+      assertNull(statement, InsertStatementParser.parse(statement));
+    }
+    for (int i = 5; i < statements.length; i++) {
+      try {
+        processor.parseSQLToPhysicalPlan(statements[i]);
+        fail(statements[i]);
+      } catch (QueryProcessorException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testScanValues() {
+    String sql = "INSERT INTO root.vehicle.d0(timestamp,s1,s2,s3) VALUES(10, TRUE, 1.0e-3, '\\'')";
+    String prefix = InsertStatementParser.getInsertPrefix(sql);
+    assertEquals("INSERT INTO root.vehicle.d0(timestamp,s1,s2,s3)", prefix);
+    assertArrayEquals(new String[]{"10", "TRUE", "1.0e-3", "'\\''"},
+        InsertStatementParser.scanValues(sql, prefix.length()));
+
+    assertNull(InsertStatementParser.getInsertPrefix("select s1 from root.vehicle.d0"));
+    assertNull(InsertStatementParser.getInsertPrefix("insert into root.vehicle.d0(timestamp, s1)"));
+    prefix = "insert into root.vehicle.d0(timestamp, s1)";
+    assertNull(InsertStatementParser.scanValues(prefix + " values(1.5, 1)", prefix.length()));
+    assertNull(InsertStatementParser.scanValues(prefix + " value(1, 1)", prefix.length()));
+  }
+}
@@ -194,6 +194,20 @@ public class MemIntQpExecutor extends AbstractQueryProcessExecutor {
     return true;
   }
 
+  @Override
+  public void checkInsert(InsertPlan insertPlan) {
+    // the values of the memory database are always integers
+  }
+
+  @Override
+  public boolean[] insertBatch(List<InsertPlan> insertPlans) {
+    boolean[] results = new boolean[insertPlans.size()];
+    for (int i = 0; i < insertPlans.size(); i++) {
+      results[i] = insert(insertPlans.get(i));
+    }
+    return results;
+  }
+
   @Override
   protected QueryDataSet processAuthorQuery(AuthorPlan plan, QueryContext context) {
     return null;
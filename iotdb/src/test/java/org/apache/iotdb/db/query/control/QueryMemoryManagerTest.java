@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.QueryMemoryExceededException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryMemoryManagerTest {
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private QueryMemoryManager manager = QueryMemoryManager.getInstance();
+  private long allocateMemoryForRead;
+  private long readMemoryWaitTime;
+  private long usedMemory;
+
+  @Before
+  public void setUp() {
+    allocateMemoryForRead = config.getAllocateMemoryForRead();
+    readMemoryWaitTime = config.getReadMemoryWaitTimeInMs();
+    // the memory used by other queries in the same JVM, if any
+    usedMemory = manager.getUsedMemory();
+    config.setAllocateMemoryForRead(usedMemory + 1000);
+    config.setReadMemoryWaitTimeInMs(100);
+  }
+
+  @After
+  public void tearDown() {
+    manager.releaseAll(-1);
+    manager.releaseAll(-2);
+    config.setAllocateMemoryForRead(allocateMemoryForRead);
+    config.setReadMemoryWaitTimeInMs(readMemoryWaitTime);
+  }
+
+  @Test
+  public void testReserveAndRelease() {
+    manager.reserve(-1, 600);
+    manager.reserve(-2, 300);
+    assertEquals(usedMemory + 900, manager.getUsedMemory());
+
+    manager.release(-1, 200);
+    assertEquals(400, manager.getJobMemory(-1));
+    manager.reserve(-1, 100);
+    assertEquals(600, manager.getJobPeakMemory(-1));
+    manager.release(-1, 100);
+    manager.releaseAll(-2);
+    assertEquals(0, manager.getJobMemory(-2));
+    assertEquals(0, manager.getJobPeakMemory(-2));
+    assertEquals(usedMemory + 400, manager.getUsedMemory());
+
+    // releasing memory of an ended job does nothing
+    manager.release(-2, 100);
+    assertEquals(usedMemory + 400, manager.getUsedMemory());
+  }
+
+  @Test
+  public void testFailFast() {
+    manager.reserve(-1, 800);
+    long startTime = System.currentTimeMillis();
+    try {
+      manager.reserveWithoutWaiting(-2, 300);
+      fail();
+    } catch (QueryMemoryExceededException e) {
+      // expected
+    }
+    try {
+      manager.reserve(-2, 300);
+      fail();
+    } catch (QueryMemoryExceededException e) {
+      // expected after waiting
+      assertEquals(true, System.currentTimeMillis() - startTime >= 100);
+    }
+    assertEquals(0, manager.getJobMemory(-2));
+    assertEquals(usedMemory + 800, manager.getUsedMemory());
+  }
+
+  @Test
+  public void testWaitForRelease() throws InterruptedException {
+    config.setReadMemoryWaitTimeInMs(10000);
+    manager.reserve(-1, 800);
+    Thread releaser = new Thread(() -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      manager.release(-1, 500);
+    });
+    releaser.start();
+    manager.reserve(-2, 500);
+    releaser.join();
+    assertEquals(500, manager.getJobMemory(-2));
+    assertEquals(usedMemory + 800, manager.getUsedMemory());
+  }
+
+  @Test
+  public void testReserveBatch() {
+    long rowSize = QueryMemoryManager.estimateBatchSize(1, 2);
+    config.setAllocateMemoryForRead(usedMemory + rowSize * 10);
+    assertEquals(5, manager.reserveBatch(-1, 5, 2));
+    // only 5 rows are affordable
+    assertEquals(5, manager.reserveBatch(-2, 100, 2));
+    // at least one row is sent
+    assertEquals(1, manager.reserveBatch(-2, 100, 2));
+    assertEquals(rowSize * 6, manager.getJobMemory(-2));
+  }
+}
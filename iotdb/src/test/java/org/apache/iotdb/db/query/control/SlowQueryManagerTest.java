@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SlowQueryManagerTest {
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private long slowQueryThreshold;
+
+  @Before
+  public void setUp() {
+    slowQueryThreshold = config.getSlowQueryThreshold();
+    config.setSlowQueryThreshold(100);
+  }
+
+  @After
+  public void tearDown() {
+    config.setSlowQueryThreshold(slowQueryThreshold);
+  }
+
+  @Test
+  public void testNormalize() {
+    assertEquals("select s1 from root.sg.d1 where time > ? and s1 < ?",
+        SlowQueryManager.normalize("  select s1\n from root.sg.d1  where time > 100 and s1 < 2.5 "));
+    assertEquals("insert into root.sg1.d1(timestamp, s1, s2) values(?, -?, ?)",
+        SlowQueryManager.normalize(
+            "insert into root.sg1.d1(timestamp, s1, s2) values(10, -1e5, 'abc')"));
+    assertEquals("select s1 from root.sg.1 where time >= ?", SlowQueryManager
+        .normalize("select s1 from root.sg.1 where time >= 2019-01-01T00:00:00.000+08:00"));
+  }
+
+  @Test
+  public void testRecord() {
+    SlowQueryManager manager = new SlowQueryManager(2);
+    SlowQueryRecord fastQuery = createRecord("select s1 from root.sg.d1 where time > 1", 99);
+    assertTrue(!manager.isSlow(fastQuery));
+    manager.record(fastQuery);
+    assertTrue(manager.getRecords().isEmpty());
+
+    for (int i = 1; i <= 3; i++) {
+      manager.record(createRecord("select s1 from root.sg.d1 where time > " + i, 100 * i));
+    }
+    // the latest first, the oldest one is overwritten
+    List<SlowQueryRecord> records = manager.getRecords();
+    assertEquals(2, records.size());
+    assertEquals(300, records.get(0).getTotalTime());
+    assertEquals(200, records.get(1).getTotalTime());
+    assertEquals("select s1 from root.sg.d1 where time > ?", records.get(0).getStatement());
+
+    // nothing is kept, the slow queries are only logged
+    manager = new SlowQueryManager(0);
+    manager.record(createRecord("select s1 from root.sg.d1", 100));
+    assertTrue(manager.getRecords().isEmpty());
+  }
+
+  private SlowQueryRecord createRecord(String statement, long executeTime) {
+    SlowQueryRecord record = new SlowQueryRecord(statement, "root");
+    record.addExecuteTime(executeTime);
+    return record;
+  }
+}
@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.qp.physical.crud.AggregationPlan;
+import org.apache.iotdb.db.qp.physical.crud.FillQueryPlan;
+import org.apache.iotdb.db.qp.physical.crud.QueryPlan;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.tsfile.read.expression.impl.GlobalTimeExpression;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QuerySchedulerTest {
+
+  private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private QueryScheduler scheduler = new QueryScheduler(1, 1);
+  private int queryQueueSize;
+  private int maxConcurrentQueryPerUser;
+
+  private CountDownLatch blockLatch = new CountDownLatch(1);
+  private List<Thread> threads = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    queryQueueSize = config.getQueryQueueSize();
+    maxConcurrentQueryPerUser = config.getMaxConcurrentQueryPerUser();
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    blockLatch.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    config.setQueryQueueSize(queryQueueSize);
+    config.setMaxConcurrentQueryPerUser(maxConcurrentQueryPerUser);
+  }
+
+  @Test
+  public void testPointQuery() {
+    QueryPlan queryPlan = new QueryPlan();
+    assertFalse(QueryScheduler.isPointQuery(queryPlan));
+    queryPlan.setExpression(new GlobalTimeExpression(TimeFilter.eq(100)));
+    assertTrue(QueryScheduler.isPointQuery(queryPlan));
+    queryPlan.setExpression(new GlobalTimeExpression(TimeFilter.gt(100)));
+    assertFalse(QueryScheduler.isPointQuery(queryPlan));
+
+    assertTrue(QueryScheduler.isPointQuery(new FillQueryPlan()));
+    AggregationPlan aggregationPlan = new AggregationPlan();
+    aggregationPlan.setExpression(new GlobalTimeExpression(TimeFilter.eq(100)));
+    assertFalse(QueryScheduler.isPointQuery(aggregationPlan));
+  }
+
+  @Test
+  public void testRunningQueriesFirst() throws Exception {
+    blockScanPool();
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+    submit(() -> order.add("new1"), true);
+    awaitWaitingTasks(1);
+    submit(() -> order.add("new2"), true);
+    awaitWaitingTasks(2);
+    submit(() -> order.add("running"), false);
+    awaitWaitingTasks(3);
+    // the point queries are not blocked by the scans
+    assertEquals("point", scheduler.execute(() -> "point", null, true, true));
+
+    blockLatch.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(Arrays.asList("running", "new1", "new2"), order);
+    assertEquals(0, scheduler.getWaitingQueryNum());
+  }
+
+  @Test
+  public void testQueueFull() throws Exception {
+    config.setQueryQueueSize(1);
+    blockScanPool();
+    submit(() -> true, true);
+    awaitWaitingTasks(1);
+    try {
+      scheduler.execute(() -> true, null, false, true);
+      fail();
+    } catch (ProcessorException e) {
+      assertTrue(e.getMessage().contains("waiting"));
+    }
+    // the batches of the running queries are never rejected
+    submit(() -> true, false);
+    awaitWaitingTasks(2);
+    assertEquals(1, scheduler.getWaitingQueryNum());
+  }
+
+  @Test
+  public void testUserQuota() throws ProcessorException {
+    config.setMaxConcurrentQueryPerUser(2);
+    scheduler.admit(1, "user1");
+    scheduler.admit(2, "user1");
+    scheduler.admit(3, "user2");
+    try {
+      scheduler.admit(4, "user1");
+      fail();
+    } catch (ProcessorException e) {
+      assertTrue(e.getMessage().contains("user1"));
+    }
+    scheduler.finish(1);
+    // finishing a query not admitted does nothing
+    scheduler.finish(4);
+    scheduler.finish(1);
+    assertEquals(1, scheduler.getQueryNum("user1"));
+    scheduler.admit(5, "user1");
+    assertEquals(2, scheduler.getQueryNum("user1"));
+    assertEquals(1, scheduler.getQueryNum("user2"));
+  }
+
+  @Test
+  public void testException() {
+    try {
+      scheduler.execute(() -> {
+        throw new IOException("read failed");
+      }, null, false, true);
+      fail();
+    } catch (ProcessorException e) {
+      assertEquals("read failed", e.getMessage());
+    }
+    try {
+      scheduler.execute(() -> {
+        throw new IllegalStateException("illegal");
+      }, null, false, false);
+      fail();
+    } catch (IllegalStateException e) {
+      // expected
+    } catch (ProcessorException e) {
+      fail();
+    }
+    assertEquals(0, scheduler.getWaitingQueryNum());
+  }
+
+  @Test
+  public void testInterrupt() throws Exception {
+    QueryContext context = new QueryContext(1);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch endLatch = new CountDownLatch(1);
+    AtomicBoolean isTaskInterrupted = new AtomicBoolean();
+    AtomicBoolean isRejected = new AtomicBoolean();
+    Thread thread = new Thread(() -> {
+      try {
+        scheduler.execute(() -> {
+          startLatch.countDown();
+          try {
+            while (true) {
+              context.checkInterrupted();
+              Thread.sleep(10);
+            }
+          } catch (InterruptedException e) {
+            isTaskInterrupted.set(true);
+            return null;
+          } finally {
+            endLatch.countDown();
+          }
+        }, context, false, true);
+      } catch (ProcessorException e) {
+        isRejected.set(true);
+      }
+    });
+    thread.start();
+    startLatch.await();
+    thread.interrupt();
+    thread.join();
+    assertTrue(isRejected.get());
+    // the task stops at its next check instead of being interrupted
+    endLatch.await();
+    assertFalse(isTaskInterrupted.get());
+  }
+
+  private void blockScanPool() throws InterruptedException {
+    CountDownLatch startLatch = new CountDownLatch(1);
+    submit(() -> {
+      startLatch.countDown();
+      blockLatch.await();
+      return true;
+    }, false);
+    startLatch.await();
+  }
+
+  private void submit(Callable<?> task, boolean isNewQuery) {
+    Thread thread = new Thread(() -> {
+      try {
+        scheduler.execute(task, null, false, isNewQuery);
+      } catch (ProcessorException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    threads.add(thread);
+    thread.start();
+  }
+
+  private void awaitWaitingTasks(int taskNum) throws InterruptedException {
+    while (scheduler.getWaitingTaskNum() < taskNum) {
+      Thread.sleep(10);
+    }
+  }
+}
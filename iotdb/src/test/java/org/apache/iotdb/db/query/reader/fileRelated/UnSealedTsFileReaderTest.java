@@ -38,7 +38,8 @@ public class UnSealedTsFileReaderTest extends ReaderTestHelper {
     QueryDataSource queryDataSource = storageGroupProcessor.query(deviceId, measurementId, context);
     TsFileResource resource = queryDataSource.getSeqResources().get(0);
     Assert.assertEquals(false, resource.isClosed());
-    UnSealedTsFileIterateReader reader = new UnSealedTsFileIterateReader(resource, null, false);
+    UnSealedTsFileIterateReader reader = new UnSealedTsFileIterateReader(resource, null, context,
+        false);
     long time = 999;
     while (reader.hasNext()) {
       BatchData batchData = reader.nextBatch();
@@ -57,7 +58,7 @@ public class UnSealedTsFileReaderTest extends ReaderTestHelper {
     TsFileResource resource = queryDataSource.getSeqResources().get(0);
     Assert.assertEquals(false, resource.isClosed());
     UnSealedTsFileReaderByTimestamp reader = new UnSealedTsFileReaderByTimestamp(
-        resource);
+        resource, context);
 
     // unSealedTsFileDiskReaderByTs
     for (int time = 1000; time <= 3019; time += 10) {
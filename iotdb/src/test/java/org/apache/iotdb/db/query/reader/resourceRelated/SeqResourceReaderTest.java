@@ -74,6 +74,33 @@ public class SeqResourceReaderTest extends ReaderTestHelper {
 
   }
 
+  @Test
+  public void testSeqResourceReaderByTimestamps() throws IOException {
+    QueryDataSource queryDataSource = storageGroupProcessor.query(deviceId, measurementId, context);
+    Path path = new Path(deviceId, measurementId);
+    SeqResourceReaderByTimestamp reader = new SeqResourceReaderByTimestamp(path,
+        queryDataSource.getSeqResources(), EnvironmentUtils.TEST_QUERY_CONTEXT);
+
+    // the blocks of timestamps span the TsFiles, half of the timestamps have no value
+    long[] timestamps = new long[333];
+    long time = 0;
+    while (time <= 5060) {
+      for (int i = 0; i < timestamps.length; i++) {
+        timestamps[i] = time;
+        time += 2;
+      }
+      Object[] values = reader.getValuesInTimestamps(timestamps, timestamps.length);
+      for (int i = 0; i < timestamps.length; i++) {
+        if (timestamps[i] >= 1000 && timestamps[i] <= 5049) {
+          Assert.assertEquals((int) timestamps[i], values[i]);
+        } else {
+          Assert.assertNull(values[i]);
+        }
+      }
+      time -= 1;
+    }
+  }
+
   @Override
   protected void insertData() throws IOException {
     for (int j = 1000; j <= 1009; j++) {
@@ -104,6 +104,10 @@ public class UnseqResourceReaderTest extends ReaderTestHelper {
       } else if (cnt < 21) {
         Assert.assertEquals(cnt, timeValuePair.getTimestamp());
         Assert.assertEquals(cnt, timeValuePair.getValue().getInt());
+      } else {
+        // the chunk flushed later covers the earlier one though both start at the same time
+        Assert.assertEquals(21 + (cnt - 21) * 2, timeValuePair.getTimestamp());
+        Assert.assertEquals(timeValuePair.getTimestamp(), timeValuePair.getValue().getInt());
       }
     }
     Assert.assertEquals(25, cnt);
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.seriesRelated;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.reader.ReaderTestHelper;
+import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader;
+import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeriesReaderDescendingTest extends ReaderTestHelper {
+
+  private QueryContext context = EnvironmentUtils.TEST_QUERY_CONTEXT;
+  private int maxNumberOfPointsInPage;
+  private int loadedPageNum;
+
+  @After
+  public void restorePageSize() {
+    TSFileConfig.maxNumberOfPointsInPage = maxNumberOfPointsInPage;
+  }
+
+  @Test
+  public void testReadDescending() throws IOException {
+    Filter[] filters = new Filter[]{null, TimeFilter.gt(325), TimeFilter.lt(1010),
+        TimeFilter.eq(700)};
+    for (Filter filter : filters) {
+      List<Long> ascendingTimes = readAll(createReader(filter, true));
+      List<Long> descendingTimes = readAll(createReader(filter, false));
+      Collections.reverse(ascendingTimes);
+      Assert.assertEquals(String.valueOf(filter), ascendingTimes, descendingTimes);
+    }
+    // points 1 to 50 are deleted
+    Assert.assertEquals(1000, readAll(createReader(null, false)).size());
+  }
+
+  @Test
+  public void testReadLastPages() throws IOException {
+    SeriesReaderWithoutValueFilter reader = createReader(TimeFilter.lt(900), false);
+    loadedPageNum = 0;
+    for (long time = 899; time >= 890; time--) {
+      Assert.assertTrue(reader.hasNext());
+      Assert.assertEquals(time, reader.next().getTimestamp());
+    }
+    // the two last pages before time 900, instead of all the pages of the series
+    Assert.assertEquals(2, loadedPageNum);
+  }
+
+  @Test
+  public void testSkipPointsDescending() throws IOException {
+    List<Long> allTimes = readAll(createReader(null, false));
+    int[] offsets = new int[]{0, 1, 24, 25, 26, 49, 50, 51, 349, 350, 351, 740, 741, 742, 949,
+        950, 999, 1000, 1001};
+    for (int offset : offsets) {
+      SeriesReaderWithoutValueFilter reader = createReader(null, false);
+      long skipped = reader.skipPoints(offset);
+      Assert.assertEquals(Math.min(offset, allTimes.size()), skipped);
+      Assert.assertEquals("offset " + offset, allTimes.subList((int) skipped, allTimes.size()),
+          readAll(reader));
+    }
+
+    SeriesReaderWithoutValueFilter reader = createReader(null, false);
+    loadedPageNum = 0;
+    Assert.assertEquals(940, reader.skipPoints(940));
+    // the data in memory and the pages overlapped by unsequence data or holding the offset,
+    // instead of all the pages after the offset
+    Assert.assertTrue(String.valueOf(loadedPageNum), loadedPageNum <= 10);
+    Assert.assertEquals(110, reader.next().getTimestamp());
+  }
+
+  private List<Long> readAll(SeriesReaderWithoutValueFilter reader) throws IOException {
+    List<Long> times = new ArrayList<>();
+    while (reader.hasNext()) {
+      TimeValuePair timeValuePair = reader.next();
+      long time = timeValuePair.getTimestamp();
+      times.add(time);
+      // the points overwritten by unsequence data are negative
+      int expected = (time >= 305 && time <= 309) || time == 700 ? (int) -time : (int) time;
+      Assert.assertEquals(expected, timeValuePair.getValue().getInt());
+    }
+    return times;
+  }
+
+  private SeriesReaderWithoutValueFilter createReader(Filter timeFilter, boolean ascending)
+      throws IOException {
+    QueryDataSource queryDataSource = storageGroupProcessor.query(deviceId, measurementId, context);
+    Path path = new Path(deviceId, measurementId);
+    SeqResourceIterateReader seqReader = new SeqResourceIterateReader(path,
+        queryDataSource.getSeqResources(), timeFilter, context, false, !ascending) {
+      @Override
+      public BatchData nextBatch() throws IOException {
+        loadedPageNum++;
+        return super.nextBatch();
+      }
+    };
+    UnseqResourceMergeReader unseqReader = new UnseqResourceMergeReader(path,
+        queryDataSource.getUnseqResources(), context, timeFilter, ascending);
+    return new SeriesReaderWithoutValueFilter(seqReader, unseqReader, timeFilter, ascending);
+  }
+
+  @Override
+  protected void insertData() throws IOException {
+    maxNumberOfPointsInPage = TSFileConfig.maxNumberOfPointsInPage;
+    TSFileConfig.maxNumberOfPointsInPage = 10;
+
+    // a file of 5 chunks of 100 points
+    for (int j = 1; j <= 500; j++) {
+      insertOneRecord(j, j);
+      if (j % 100 == 0) {
+        storageGroupProcessor.getWorkSequenceTsFileProcessor().syncFlush();
+      }
+    }
+    storageGroupProcessor.putAllWorkingTsFileProcessorIntoClosingList();
+    storageGroupProcessor.waitForAllCurrentTsFileProcessorsClosed();
+
+    // a file of 2 chunks of 250 points
+    for (int j = 501; j <= 1000; j++) {
+      insertOneRecord(j, j);
+      if (j % 250 == 0) {
+        storageGroupProcessor.getWorkSequenceTsFileProcessor().syncFlush();
+      }
+    }
+    storageGroupProcessor.putAllWorkingTsFileProcessorIntoClosingList();
+    storageGroupProcessor.waitForAllCurrentTsFileProcessorsClosed();
+
+    // a sealed unsequence file overlapping with the 4th chunk
+    for (int j = 305; j <= 309; j++) {
+      insertOneRecord(j, -j);
+    }
+    storageGroupProcessor.putAllWorkingTsFileProcessorIntoClosingList();
+    storageGroupProcessor.waitForAllCurrentTsFileProcessorsClosed();
+
+    // unsequence data in memory overlapping with the 7th chunk
+    insertOneRecord(700, -700);
+
+    // an unsealed sequence file, whose points after 1025 are in memory
+    for (int j = 1001; j <= 1050; j++) {
+      insertOneRecord(j, j);
+      if (j == 1025) {
+        storageGroupProcessor.getWorkSequenceTsFileProcessor().syncFlush();
+      }
+    }
+    storageGroupProcessor.delete(deviceId, measurementId, 50);
+  }
+}
@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.seriesRelated;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.query.context.QueryContext;
+import org.apache.iotdb.db.query.reader.ReaderTestHelper;
+import org.apache.iotdb.db.query.reader.resourceRelated.SeqResourceIterateReader;
+import org.apache.iotdb.db.query.reader.resourceRelated.UnseqResourceMergeReader;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeriesReaderSkipPointsTest extends ReaderTestHelper {
+
+  private QueryContext context = EnvironmentUtils.TEST_QUERY_CONTEXT;
+  private int maxNumberOfPointsInPage;
+  private int loadedPageNum;
+
+  @After
+  public void restorePageSize() {
+    TSFileConfig.maxNumberOfPointsInPage = maxNumberOfPointsInPage;
+  }
+
+  @Test
+  public void testSkipPoints() throws IOException {
+    List<Long> allTimes = readAll(null);
+    // points 1 to 50 are deleted, 1001 to 1050 are in memory
+    Assert.assertEquals(1000, allTimes.size());
+    int[] offsets = new int[]{0, 1, 49, 50, 51, 249, 250, 253, 254, 255, 260, 450, 648, 649, 650,
+        949, 950, 999, 1000, 1001, 2000};
+    for (int offset : offsets) {
+      assertSkip(null, offset, allTimes);
+    }
+  }
+
+  @Test
+  public void testSkipPointsWithTimeFilter() throws IOException {
+    Filter timeFilter = TimeFilter.gt(325);
+    List<Long> allTimes = readAll(timeFilter);
+    Assert.assertEquals(725, allTimes.size());
+    int[] offsets = new int[]{0, 1, 74, 75, 76, 300, 374, 375, 376, 724, 725, 726};
+    for (int offset : offsets) {
+      assertSkip(timeFilter, offset, allTimes);
+    }
+  }
+
+  @Test
+  public void testSkipByHeaders() throws IOException {
+    SeriesReaderWithoutValueFilter reader = createReader(null);
+    loadedPageNum = 0;
+    Assert.assertEquals(940, reader.skipPoints(940));
+    // the undeleted pages of the first chunk, the pages overlapped by unsequence data and the page
+    // of the offset, instead of all the 95 pages before the offset
+    Assert.assertTrue(String.valueOf(loadedPageNum), loadedPageNum <= 10);
+    Assert.assertEquals(991, reader.next().getTimestamp());
+  }
+
+  @Test
+  public void testSkipTo() throws IOException {
+    List<Long> allTimes = readAll(null);
+    long[] targets = new long[]{0, 1, 51, 100, 101, 255, 305, 306, 499, 500, 501, 700, 701, 941,
+        1000, 1001, 1030, 1050, 1051};
+    for (long target : targets) {
+      SeriesReaderWithoutValueFilter reader = createReader(null);
+      reader.skipTo(target);
+      List<Long> times = new ArrayList<>();
+      while (reader.hasNext()) {
+        TimeValuePair timeValuePair = reader.next();
+        times.add(timeValuePair.getTimestamp());
+        assertValue(timeValuePair);
+      }
+      int index = 0;
+      while (index < allTimes.size() && allTimes.get(index) < target) {
+        index++;
+      }
+      Assert.assertEquals("target " + target, allTimes.subList(index, allTimes.size()), times);
+    }
+
+    SeriesReaderWithoutValueFilter reader = createReader(null);
+    loadedPageNum = 0;
+    reader.skipTo(941);
+    Assert.assertEquals(941, reader.next().getTimestamp());
+    // the pages before the time are skipped by their headers
+    Assert.assertTrue(String.valueOf(loadedPageNum), loadedPageNum <= 2);
+  }
+
+  private void assertSkip(Filter timeFilter, int offset, List<Long> allTimes)
+      throws IOException {
+    SeriesReaderWithoutValueFilter reader = createReader(timeFilter);
+    long skipped = reader.skipPoints(offset);
+    Assert.assertEquals(Math.min(offset, allTimes.size()), skipped);
+    List<Long> times = new ArrayList<>();
+    while (reader.hasNext()) {
+      TimeValuePair timeValuePair = reader.next();
+      times.add(timeValuePair.getTimestamp());
+      assertValue(timeValuePair);
+    }
+    Assert.assertEquals("offset " + offset,
+        allTimes.subList((int) skipped, allTimes.size()), times);
+  }
+
+  private List<Long> readAll(Filter timeFilter) throws IOException {
+    SeriesReaderWithoutValueFilter reader = createReader(timeFilter);
+    List<Long> times = new ArrayList<>();
+    while (reader.hasNext()) {
+      TimeValuePair timeValuePair = reader.next();
+      times.add(timeValuePair.getTimestamp());
+      assertValue(timeValuePair);
+    }
+    return times;
+  }
+
+  private void assertValue(TimeValuePair timeValuePair) {
+    long time = timeValuePair.getTimestamp();
+    // the points overwritten by unsequence data are negative
+    int expected = (time >= 305 && time <= 309) || time == 700 ? (int) -time : (int) time;
+    Assert.assertEquals(expected, timeValuePair.getValue().getInt());
+  }
+
+  private SeriesReaderWithoutValueFilter createReader(Filter timeFilter) throws IOException {
+    QueryDataSource queryDataSource = storageGroupProcessor.query(deviceId, measurementId, context);
+    Path path = new Path(deviceId, measurementId);
+    SeqResourceIterateReader seqReader = new SeqResourceIterateReader(path,
+        queryDataSource.getSeqResources(), timeFilter, context) {
+      @Override
+      public BatchData nextBatch() throws IOException {
+        loadedPageNum++;
+        return super.nextBatch();
+      }
+    };
+    UnseqResourceMergeReader unseqReader = new UnseqResourceMergeReader(path,
+        queryDataSource.getUnseqResources(), context, timeFilter);
+    return new SeriesReaderWithoutValueFilter(seqReader, unseqReader, timeFilter);
+  }
+
+  @Override
+  protected void insertData() throws IOException {
+    maxNumberOfPointsInPage = TSFileConfig.maxNumberOfPointsInPage;
+    TSFileConfig.maxNumberOfPointsInPage = 10;
+
+    // a file of 5 chunks of 100 points
+    for (int j = 1; j <= 500; j++) {
+      insertOneRecord(j, j);
+      if (j % 100 == 0) {
+        storageGroupProcessor.getWorkSequenceTsFileProcessor().syncFlush();
+      }
+    }
+    storageGroupProcessor.putAllWorkingTsFileProcessorIntoClosingList();
+    storageGroupProcessor.waitForAllCurrentTsFileProcessorsClosed();
+
+    // a file of 2 chunks of 250 points
+    for (int j = 501; j <= 1000; j++) {
+      insertOneRecord(j, j);
+      if (j % 250 == 0) {
+        storageGroupProcessor.getWorkSequenceTsFileProcessor().syncFlush();
+      }
+    }
+    storageGroupProcessor.putAllWorkingTsFileProcessorIntoClosingList();
+    storageGroupProcessor.waitForAllCurrentTsFileProcessorsClosed();
+
+    // unsequence data overlapping with the 4th and the 7th chunk
+    for (int j = 305; j <= 309; j++) {
+      insertOneRecord(j, -j);
+    }
+    insertOneRecord(700, -700);
+
+    // data in memory
+    for (int j = 1001; j <= 1050; j++) {
+      insertOneRecord(j, j);
+    }
+    storageGroupProcessor.delete(deviceId, measurementId, 50);
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.query.reader.universal;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.TreeSet;
+import org.apache.iotdb.db.query.reader.IBatchReader;
+import org.apache.iotdb.db.query.reader.universal.PriorityMergeReaderTest.FakedSeriesReader;
+import org.apache.iotdb.db.utils.TimeValuePair;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PriorityMergeBatchReaderTest {
+
+  @Test
+  public void test2S() throws IOException {
+
+    // 2 series
+    test(new long[]{1, 2, 3, 4, 5, 6}, new long[]{2, 2, 2, 1, 2, 2}, new long[]{1, 2, 3, 4, 5},
+        new long[]{1, 2, 3, 5, 6});
+    test(new long[]{1, 2, 3, 4, 5}, new long[]{1, 1, 1, 1, 1}, new long[]{1, 2, 3, 4, 5},
+        new long[]{});
+    test(new long[]{1, 2, 3, 4, 5}, new long[]{2, 2, 2, 2, 2}, new long[]{},
+        new long[]{1, 2, 3, 4, 5});
+    test(new long[]{1, 2, 3, 4, 5, 6, 7, 8}, new long[]{1, 1, 1, 1, 1, 2, 2, 2},
+        new long[]{1, 2, 3, 4, 5},
+        new long[]{6, 7, 8});
+
+    // 3 series
+    test(new long[]{1, 2, 3, 4, 5, 6, 7}, new long[]{3, 3, 3, 1, 3, 2, 3},
+        new long[]{1, 2, 3, 4, 5},
+        new long[]{1, 2, 3, 5, 6}, new long[]{1, 2, 3, 5, 7});
+    test(new long[]{1, 2, 3, 4, 5, 6}, new long[]{1, 1, 2, 3, 2, 3}, new long[]{1, 2},
+        new long[]{3, 5},
+        new long[]{4, 6});
+  }
+
+  @Test
+  public void testSameAsPriorityMergeReader() throws IOException {
+    Random random = new Random(0);
+    for (int round = 0; round < 20; round++) {
+      int sourceNum = random.nextInt(10) + 1;
+      long[][] sources = new long[sourceNum][];
+      for (int i = 0; i < sourceNum; i++) {
+        TreeSet<Long> timestamps = new TreeSet<>();
+        int size = random.nextInt(10000);
+        long start = random.nextInt(10000);
+        for (int j = 0; j < size; j++) {
+          timestamps.add(start + random.nextInt(size + 1));
+        }
+        sources[i] = timestamps.stream().mapToLong(Long::longValue).toArray();
+      }
+
+      PriorityMergeReader expected = new PriorityMergeReader();
+      PriorityMergeBatchReader actual = new PriorityMergeBatchReader();
+      for (int i = 0; i < sourceNum; i++) {
+        expected.addReaderWithPriority(new FakedSeriesReader(sources[i], i + 1), i + 1);
+        actual.addReaderWithPriority(new FakedBatchReader(sources[i], i + 1, random.nextInt(100)
+            + 1), i + 1);
+      }
+
+      while (actual.hasNext()) {
+        BatchData batchData = actual.nextBatch();
+        while (batchData.hasNext()) {
+          Assert.assertTrue(expected.hasNext());
+          TimeValuePair timeValuePair = expected.next();
+          Assert.assertEquals(timeValuePair.getTimestamp(), batchData.currentTime());
+          Assert.assertEquals(timeValuePair.getValue().getLong(), batchData.getLong());
+          batchData.next();
+        }
+      }
+      Assert.assertFalse(expected.hasNext());
+    }
+  }
+
+  private void test(long[] retTimestamp, long[] retValue, long[]... sources) throws IOException {
+    PriorityMergeBatchReader priorityMergeReader = new PriorityMergeBatchReader();
+    for (int i = 0; i < sources.length; i++) {
+      priorityMergeReader.addReaderWithPriority(new FakedBatchReader(sources[i], i + 1, 2), i + 1);
+    }
+
+    int i = 0;
+    while (priorityMergeReader.hasNext()) {
+      TimeValuePair timeValuePair = priorityMergeReader.next();
+      Assert.assertEquals(retTimestamp[i], timeValuePair.getTimestamp());
+      Assert.assertEquals(retValue[i], timeValuePair.getValue().getValue());
+      i++;
+    }
+    Assert.assertEquals(retTimestamp.length, i);
+  }
+
+  public static class FakedBatchReader implements IBatchReader {
+
+    private long[] timestamps;
+    private int index;
+    private long value;
+    private int batchSize;
+
+    FakedBatchReader(long[] timestamps, long value, int batchSize) {
+      this.timestamps = timestamps;
+      index = 0;
+      this.value = value;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < timestamps.length;
+    }
+
+    @Override
+    public BatchData nextBatch() {
+      BatchData batchData = new BatchData(TSDataType.INT64, true);
+      for (int i = 0; i < batchSize && index < timestamps.length; i++) {
+        batchData.putTime(timestamps[index++]);
+        batchData.putLong(value);
+      }
+      return batchData;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
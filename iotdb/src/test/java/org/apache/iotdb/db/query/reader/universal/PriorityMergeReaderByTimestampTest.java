@@ -91,6 +91,37 @@ public class PriorityMergeReaderByTimestampTest {
 
   }
 
+  @Test
+  public void testGetValuesInTimestamps() throws IOException {
+    PriorityMergeReaderByTimestamp priorityReader = newPriorityReader();
+    PriorityMergeReaderByTimestamp batchPriorityReader = newPriorityReader();
+
+    Random random = new Random();
+    long time = 4;
+    while (time < 1080 + 200 * 13 + 600) {
+      long[] timestamps = new long[random.nextInt(20) + 1];
+      for (int i = 0; i < timestamps.length; i++) {
+        timestamps[i] = time;
+        time += random.nextInt(10) + 1;
+      }
+      int length = random.nextInt(timestamps.length) + 1;
+      Object[] values = batchPriorityReader.getValuesInTimestamps(timestamps, length);
+      Assert.assertEquals(length, values.length);
+      for (int i = 0; i < length; i++) {
+        Assert.assertEquals(priorityReader.getValueInTimestamp(timestamps[i]), values[i]);
+      }
+      time = timestamps[length - 1] + 1;
+    }
+  }
+
+  private PriorityMergeReaderByTimestamp newPriorityReader() {
+    PriorityMergeReaderByTimestamp priorityReader = new PriorityMergeReaderByTimestamp();
+    priorityReader.addReaderWithPriority(new FakedReaderByTimestamp(100, 200, 5, 11), 1);
+    priorityReader.addReaderWithPriority(new FakedReaderByTimestamp(850, 200, 7, 19), 2);
+    priorityReader.addReaderWithPriority(new FakedReaderByTimestamp(1080, 200, 13, 31), 3);
+    return priorityReader;
+  }
+
   public static class FakedReaderByTimestamp implements IReaderByTimestamp,
       IPointReader {
 
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.iotdb.db.exception.ProcessorException;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.qp.QueryProcessor;
+import org.apache.iotdb.db.qp.executor.QueryProcessExecutor;
+import org.apache.iotdb.db.qp.physical.crud.InsertPlan;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSExecuteBatchStatementResp;
+import org.apache.iotdb.service.rpc.thrift.TSOpenSessionReq;
+import org.apache.iotdb.service.rpc.thrift.TSOpenSessionResp;
+import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TSServiceImplBatchTest {
+
+  private TSServiceImpl service;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    EnvironmentUtils.envSetUp();
+    MManager.getInstance().setStorageLevelToMTree("root.batch");
+    MManager.getInstance().addPathToMTree("root.batch.d1.s1", TSDataType.INT64, TSEncoding.RLE,
+        CompressionType.SNAPPY, Collections.emptyMap());
+
+    service = new TSServiceImpl();
+    // the insertion at time 1 fails when it is executed
+    service.processor = new QueryProcessor(new QueryProcessExecutor() {
+      @Override
+      public boolean[] insertBatch(List<InsertPlan> insertPlans) throws ProcessorException {
+        boolean[] results = new boolean[insertPlans.size()];
+        for (int i = 0; i < insertPlans.size(); i++) {
+          results[i] = insertPlans.get(i).getTime() != 1;
+        }
+        return results;
+      }
+    });
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    service.closeSession(null);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testCheckFailureAfterExecutionFailure() throws Exception {
+    TSOpenSessionResp openResp = service.openSession(new TSOpenSessionReq()
+        .setUsername("root").setPassword("root"));
+    TSExecuteBatchStatementResp resp = service.executeBatchStatement(
+        new TSExecuteBatchStatementReq(openResp.getSessionHandle(), Arrays.asList(
+            "INSERT INTO root.batch.d1(timestamp, s1) values(1, 1)",
+            "INSERT INTO root.batch.d1(timestamp, s1) values(2, 2)",
+            // the series does not exist
+            "INSERT INTO root.batch.d1(timestamp, s2) values(3, 3)",
+            "INSERT INTO root.batch.d1(timestamp, s1) values(4, 4)")));
+
+    // the insertion failing the check has its result, the one after it is skipped
+    assertEquals(TS_StatusCode.ERROR_STATUS, resp.getStatus().getStatusCode());
+    assertEquals(Arrays.asList(Statement.EXECUTE_FAILED, Statement.SUCCESS_NO_INFO,
+        Statement.EXECUTE_FAILED), resp.getResult());
+    assertTrue(resp.getStatus().getErrorMessage(),
+        resp.getStatus().getErrorMessage().contains("s2"));
+  }
+}
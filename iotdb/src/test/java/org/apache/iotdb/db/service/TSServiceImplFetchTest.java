@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import org.apache.iotdb.db.metadata.MManager;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.service.rpc.thrift.TSCloseOperationReq;
+import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsReq;
+import org.apache.iotdb.service.rpc.thrift.TSOpenSessionReq;
+import org.apache.iotdb.service.rpc.thrift.TSOpenSessionResp;
+import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TSServiceImplFetchTest {
+
+  private TSServiceImpl service;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.closeStatMonitor();
+    EnvironmentUtils.envSetUp();
+    MManager.getInstance().setStorageLevelToMTree("root.fetch");
+    MManager.getInstance().addPathToMTree("root.fetch.d1.s1", TSDataType.INT64, TSEncoding.RLE,
+        CompressionType.SNAPPY, Collections.emptyMap());
+    service = new TSServiceImpl();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    service.closeSession(null);
+    EnvironmentUtils.cleanEnv();
+  }
+
+  @Test
+  public void testFetchOfAnotherQuery() throws Exception {
+    TSOpenSessionResp openResp = service.openSession(new TSOpenSessionReq()
+        .setUsername("root").setPassword("root"));
+    String sql = "select s1 from root.fetch.d1";
+    TSExecuteStatementResp executeResp = service.executeQueryStatement(
+        new TSExecuteStatementReq(openResp.getSessionHandle(), sql));
+    assertEquals(TS_StatusCode.SUCCESS_STATUS, executeResp.getStatus().getStatusCode());
+
+    assertEquals(TS_StatusCode.SUCCESS_STATUS,
+        service.fetchResults(new TSFetchResultsReq(sql, 10, 1)).getStatus().getStatusCode());
+    // a late fetch of a previous query of the same sql
+    assertEquals(TS_StatusCode.ERROR_STATUS,
+        service.fetchResults(new TSFetchResultsReq(sql, 10, 0)).getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.SUCCESS_STATUS,
+        service.fetchResults(new TSFetchResultsReq(sql, 10, 1)).getStatus().getStatusCode());
+    assertEquals(TS_StatusCode.SUCCESS_STATUS, service.closeOperation(
+        new TSCloseOperationReq(executeResp.getOperationHandle(), 1)).getStatus()
+        .getStatusCode());
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service.bench;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.IoTDB;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.jdbc.Config;
+
+/**
+ * Connection scaling benchmark of the rpc_server_type of the JDBC service. For each type of server,
+ * it opens a number of idle connections, like those of the gateways sending data now and then, and
+ * reports the threads and the heap of the server, and the throughput of a few busy connections
+ * inserting at the same time. Usage: ConnectionScalingBenchmark [idleConnectionNum].
+ */
+public class ConnectionScalingBenchmark {
+
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private static int idleConnectionNum = 2000;
+  private static int busyConnectionNum = 8;
+  private static int insertNumPerConnection = 5000;
+
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0) {
+      idleConnectionNum = Integer.parseInt(args[0]);
+    }
+    Class.forName(Config.JDBC_DRIVER_NAME);
+    for (String serverType : new String[]{"THREAD_POOL", "SELECTOR", "HSHA"}) {
+      for (boolean compressionEnable : new boolean[]{false, true}) {
+        bench(serverType, compressionEnable);
+      }
+    }
+    System.exit(0);
+  }
+
+  private static void bench(String serverType, boolean compressionEnable) throws Exception {
+    config.setRpcServerType(serverType);
+    config.setRpcThriftCompressionEnable(compressionEnable);
+    EnvironmentUtils.closeStatMonitor();
+    IoTDB daemon = IoTDB.getInstance();
+    daemon.active();
+    EnvironmentUtils.envSetUp();
+    boolean framed = !"THREAD_POOL".equals(serverType);
+    try (Connection connection = getConnection(framed, compressionEnable);
+        Statement statement = connection.createStatement()) {
+      statement.execute("SET STORAGE GROUP TO root.bench");
+      for (int i = 0; i < busyConnectionNum; i++) {
+        statement.execute(String.format(
+            "CREATE TIMESERIES root.bench.d%d.s1 WITH DATATYPE=INT64, ENCODING=RLE", i));
+      }
+    }
+
+    int threadNum = ManagementFactory.getThreadMXBean().getThreadCount();
+    long heapSize = usedHeap();
+    List<Connection> idleConnections = new ArrayList<>();
+    for (int i = 0; i < idleConnectionNum; i++) {
+      idleConnections.add(getConnection(framed, compressionEnable));
+    }
+    int idleThreadNum = ManagementFactory.getThreadMXBean().getThreadCount() - threadNum;
+    // the heap of the clients is counted too, which is the same for all the servers
+    long idleHeapSize = usedHeap() - heapSize;
+
+    ExecutorService clients = Executors.newFixedThreadPool(busyConnectionNum);
+    List<Future<?>> futures = new ArrayList<>();
+    long startTime = System.nanoTime();
+    for (int i = 0; i < busyConnectionNum; i++) {
+      int device = i;
+      futures.add(clients.submit(() -> {
+        try (Connection connection = getConnection(framed, compressionEnable);
+            Statement statement = connection.createStatement()) {
+          for (int time = 1; time <= insertNumPerConnection; time++) {
+            statement.execute(String.format(
+                "INSERT INTO root.bench.d%d(timestamp, s1) values(%d, %d)", device, time, time));
+          }
+        }
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    long elapsedTime = System.nanoTime() - startTime;
+    clients.shutdown();
+
+    System.out.println(String.format(
+        "%s%s: %d idle connections use %d threads and %.1f MB heap, %d busy connections insert "
+            + "%.0f rows/s", serverType, compressionEnable ? " (compact)" : "", idleConnectionNum,
+        idleThreadNum, (double) idleHeapSize / 1024 / 1024, busyConnectionNum,
+        (double) busyConnectionNum * insertNumPerConnection / elapsedTime * 1000000000));
+
+    for (Connection connection : idleConnections) {
+      connection.close();
+    }
+    daemon.stop();
+    EnvironmentUtils.cleanEnv();
+  }
+
+  private static long usedHeap() {
+    System.gc();
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static Connection getConnection(boolean framed, boolean compressionEnable)
+      throws SQLException {
+    Properties properties = new Properties();
+    properties.setProperty(Config.AUTH_USER, "root");
+    properties.setProperty(Config.AUTH_PASSWORD, "root");
+    properties.setProperty(Config.RPC_FRAMED_TRANSPORT_ENABLE, Boolean.toString(framed));
+    properties.setProperty(Config.RPC_THRIFT_COMPRESSION_ENABLE,
+        Boolean.toString(compressionEnable));
+    return DriverManager.getConnection(Config.IOTDB_URL_PREFIX + "127.0.0.1:6667/", properties);
+  }
+}
@@ -24,6 +24,8 @@ import static junit.framework.TestCase.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.qp.physical.crud.DeletePlan;
@@ -86,6 +88,31 @@ public class WriteLogNodeTest {
     logNode.delete();
   }
 
+  @Test
+  public void testWriteBatch() throws IOException {
+    String identifier = "root.logTestDevice";
+
+    WriteLogNode logNode = new ExclusiveWriteLogNode(identifier);
+
+    List<InsertPlan> insertPlans = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      insertPlans.add(new InsertPlan(identifier, i, new String[]{"s1", "s2"},
+          new String[]{String.valueOf(i), "str" + i}));
+    }
+    logNode.write(insertPlans);
+    logNode.close();
+
+    // the logs of a batch are read one by one in order
+    ILogReader reader = logNode.getLogReader();
+    for (InsertPlan insertPlan : insertPlans) {
+      assertEquals(insertPlan, reader.next());
+    }
+    assertFalse(reader.hasNext());
+    reader.close();
+
+    logNode.delete();
+  }
+
   @Test
   public void testNotifyFlush() throws IOException {
     // this test writes a few logs and sync them
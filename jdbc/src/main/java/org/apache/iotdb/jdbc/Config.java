@@ -44,6 +44,30 @@ public class Config {
   public static final String AUTH_PASSWORD = "password";
   public static final String DEFALUT_PASSWORD = "password";
 
+  /**
+   * Whether to use framed transport, which the server of rpc_server_type SELECTOR or HSHA requires.
+   */
+  public static final String RPC_FRAMED_TRANSPORT_ENABLE = "rpc_framed_transport_enable";
+
+  /**
+   * Whether to use TCompactProtocol, which must be the same as rpc_thrift_compression_enable of the
+   * server.
+   */
+  public static final String RPC_THRIFT_COMPRESSION_ENABLE = "rpc_thrift_compression_enable";
+
+  /**
+   * The max size of a frame received with framed transport, the results of a query are fetched in
+   * a frame.
+   */
+  public static final int THRIFT_MAX_FRAME_SIZE = 512 * 1024 * 1024;
+
+  /**
+   * The number of pages of results fetched in the background ahead of the page being read, 0
+   * disables fetching in the background.
+   */
+  public static final String PREFETCH_DEPTH = "prefetch_depth";
+  public static final int DEFAULT_PREFETCH_DEPTH = 1;
+
   public static final int RETRY_NUM = 3;
   public static final long RETRY_INTERVAL = 1000;
 
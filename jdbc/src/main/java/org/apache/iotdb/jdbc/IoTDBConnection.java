@@ -45,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.iotdb.service.rpc.thrift.ServerProperties;
 import org.apache.iotdb.service.rpc.thrift.TSCloseSessionReq;
 import org.apache.iotdb.service.rpc.thrift.TSGetTimeZoneResp;
@@ -57,7 +58,11 @@ import org.apache.iotdb.service.rpc.thrift.TSSetTimeZoneResp;
 import org.apache.iotdb.service.rpc.thrift.TS_SessionHandle;
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
 import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,10 +76,19 @@ public class IoTDBConnection implements Connection {
   private IoTDBConnectionParams params;
   private boolean isClosed = true;
   private SQLWarning warningChain = null;
-  private TSocket transport;
+  private TTransport transport;
   private TSProtocolVersion protocol;
   private ZoneId zoneId;
   private boolean autoCommit;
+  /**
+   * the query timeout (in seconds) of the session on the server, 0 means the server's default.
+   */
+  private int sessionQueryTimeout = 0;
+  /**
+   * the ids of the queries of all the statements, which identify the queries of the session on the
+   * server.
+   */
+  private AtomicLong queryIdGenerator = new AtomicLong(0);
 
   public IoTDBConnection() {
     // allowed to create an instance without parameter input.
@@ -89,7 +103,7 @@ public class IoTDBConnection implements Connection {
     supportedProtocols.add(TSProtocolVersion.TSFILE_SERVICE_PROTOCOL_V1);
 
     openTransport();
-    client = new TSIService.Client(new TBinaryProtocol(transport));
+    client = new TSIService.Client(newProtocol());
     // open client session
     openSession();
     // Wrap the client with a thread-safe proxy to serialize the RPC calls
@@ -175,7 +189,7 @@ public class IoTDBConnection implements Connection {
     if (isClosed) {
       throw new SQLException("Cannot create statement because connection is closed");
     }
-    return new IoTDBStatement(this, client, sessionHandle, zoneId);
+    return withPrefetchDepth(new IoTDBStatement(this, client, sessionHandle, zoneId));
   }
 
   @Override
@@ -190,7 +204,7 @@ public class IoTDBConnection implements Connection {
       throw new SQLException(String.format("Statements with resultset type %d are not supported",
           resultSetType));
     }
-    return new IoTDBStatement(this, client, sessionHandle, zoneId);
+    return withPrefetchDepth(new IoTDBStatement(this, client, sessionHandle, zoneId));
   }
 
   @Override
@@ -343,7 +357,17 @@ public class IoTDBConnection implements Connection {
     if (sql.equalsIgnoreCase("INSERT")) {
       return new IoTDBPreparedInsertionStatement(this, client, sessionHandle, zoneId);
     }
-    return new IoTDBPreparedStatement(this, client, sessionHandle, sql, zoneId);
+    return withPrefetchDepth(new IoTDBPreparedStatement(this, client, sessionHandle, sql, zoneId));
+  }
+
+  /**
+   * the statements of this connection fetch prefetch_depth pages of results in the background.
+   */
+  private <T extends IoTDBStatement> T withPrefetchDepth(T statement) throws SQLException {
+    if (params != null) {
+      statement.setPrefetchDepth(params.getPrefetchDepth());
+    }
+    return statement;
   }
 
   @Override
@@ -409,17 +433,25 @@ public class IoTDBConnection implements Connection {
   }
 
   private void openTransport() throws TTransportException {
-    transport = new TSocket(params.getHost(), params.getPort(), Config.connectionTimeoutInMs);
+    TSocket socket = new TSocket(params.getHost(), params.getPort(), Config.connectionTimeoutInMs);
     try {
-      transport.getSocket().setKeepAlive(true);
+      socket.getSocket().setKeepAlive(true);
     } catch (SocketException e) {
       logger.error("Cannot set socket keep alive because: ", e);
     }
+    // the non-blocking servers read the requests in frames
+    transport = params.isRpcFramedTransportEnable()
+        ? new TFramedTransport(socket, Config.THRIFT_MAX_FRAME_SIZE) : socket;
     if (!transport.isOpen()) {
       transport.open();
     }
   }
 
+  private TProtocol newProtocol() {
+    return params.isRpcThriftCompressionEnable() ? new TCompactProtocol(transport)
+        : new TBinaryProtocol(transport);
+  }
+
   private void openSession() throws SQLException {
     TSOpenSessionReq openReq = new TSOpenSessionReq(TSProtocolVersion.TSFILE_SERVICE_PROTOCOL_V1);
 
@@ -442,6 +474,7 @@ public class IoTDBConnection implements Connection {
       }
       setProtocol(openResp.getServerProtocolVersion());
       sessionHandle = openResp.getSessionHandle();
+      sessionQueryTimeout = 0;
 
       if (zoneId != null) {
         setTimeZone(zoneId.toString());
@@ -463,7 +496,7 @@ public class IoTDBConnection implements Connection {
         if (transport != null) {
           transport.close();
           openTransport();
-          client = new TSIService.Client(new TBinaryProtocol(transport));
+          client = new TSIService.Client(newProtocol());
           openSession();
           client = newSynchronizedClient(client);
           flag = true;
@@ -480,6 +513,18 @@ public class IoTDBConnection implements Connection {
     return flag;
   }
 
+  int getSessionQueryTimeout() {
+    return sessionQueryTimeout;
+  }
+
+  void setSessionQueryTimeout(int sessionQueryTimeout) {
+    this.sessionQueryTimeout = sessionQueryTimeout;
+  }
+
+  long nextQueryId() {
+    return queryIdGenerator.getAndIncrement();
+  }
+
   public String getTimeZone() throws TException, IoTDBSQLException {
     if (zoneId != null) {
       return zoneId.toString();
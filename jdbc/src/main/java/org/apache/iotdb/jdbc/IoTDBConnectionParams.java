@@ -26,6 +26,9 @@ public class IoTDBConnectionParams {
   private String seriesName = Config.DEFAULT_SERIES_NAME;
   private String username = Config.DEFAULT_USER;
   private String password = Config.DEFALUT_PASSWORD;
+  private boolean rpcFramedTransportEnable = false;
+  private boolean rpcThriftCompressionEnable = false;
+  private int prefetchDepth = Config.DEFAULT_PREFETCH_DEPTH;
 
   public IoTDBConnectionParams(String url) {
     this.jdbcUriString = url;
@@ -79,4 +82,27 @@ public class IoTDBConnectionParams {
     this.password = password;
   }
 
+  public boolean isRpcFramedTransportEnable() {
+    return rpcFramedTransportEnable;
+  }
+
+  public void setRpcFramedTransportEnable(boolean rpcFramedTransportEnable) {
+    this.rpcFramedTransportEnable = rpcFramedTransportEnable;
+  }
+
+  public boolean isRpcThriftCompressionEnable() {
+    return rpcThriftCompressionEnable;
+  }
+
+  public void setRpcThriftCompressionEnable(boolean rpcThriftCompressionEnable) {
+    this.rpcThriftCompressionEnable = rpcThriftCompressionEnable;
+  }
+
+  public int getPrefetchDepth() {
+    return prefetchDepth;
+  }
+
+  public void setPrefetchDepth(int prefetchDepth) {
+    this.prefetchDepth = prefetchDepth;
+  }
 }
@@ -40,12 +40,16 @@ import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.iotdb.service.rpc.thrift.TSCloseOperationReq;
 import org.apache.iotdb.service.rpc.thrift.TSCloseOperationResp;
 import org.apache.iotdb.service.rpc.thrift.TSFetchResultsReq;
@@ -53,6 +57,7 @@ import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
 import org.apache.iotdb.service.rpc.thrift.TSIService;
 import org.apache.iotdb.service.rpc.thrift.TSOperationHandle;
 import org.apache.iotdb.service.rpc.thrift.TSQueryDataSet;
+import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
 import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.iotdb.tsfile.read.common.RowRecord;
 import org.apache.thrift.TException;
@@ -62,9 +67,22 @@ public class IoTDBQueryResultSet implements ResultSet {
 
   private static final org.slf4j.Logger logger = LoggerFactory.getLogger(IoTDBQueryResultSet.class);
   private static final String METHOD_NOT_SUPPORTED = "Method not supported";
+  private static final String FETCH_ERROR_MESSAGE =
+      "Cannot fetch result from server, because of network connection: {} ";
+  private static final String DISCARDED_MESSAGE =
+      "The results are discarded as the query is cancelled or closed";
+
+  /**
+   * the threads fetching the results in the background, which are daemons so that the result sets
+   * left open do not keep the JVM alive.
+   */
+  private static final ExecutorService prefetchPool = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "IoTDB-JDBC-Prefetch");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private final String TIMESTAMP_STR = "Time";
-  private static final String limitStr = "LIMIT";
-  private static final String offsetStr = "OFFSET";
   private Statement statement = null;
   private String sql;
   private SQLWarning warningChain = null;
@@ -82,25 +100,23 @@ public class IoTDBQueryResultSet implements ResultSet {
   private int fetchSize;
   private boolean emptyResultSet = false;
   private String operationType;
-  // 0 means it is not constrained in sql
-  private int rowsLimit = 0;
-  // 0 means it is not constrained in sql, or the offset position has been reached
-  private int rowsOffset = 0;
   private long queryId;
   private boolean ignoreTimeStamp = false;
 
-  /*
-   * Combine maxRows and the LIMIT constraints. maxRowsOrRowsLimit = 0 means that neither maxRows
-   * nor LIMIT is constrained. maxRowsOrRowsLimit > 0 means that maxRows and/or
-   * LIMIT are constrained.
-   * 1) When neither maxRows nor LIMIT is constrained, i.e., maxRows=0 and rowsLimit=0,
-   * maxRowsOrRowsLimit = 0 2). When both maxRows and LIMIT are constrained, i.e., maxRows>0 and
-   * rowsLimit>0, maxRowsOrRowsLimit = min(maxRows, rowsLimit) 3) When maxRows is constrained and
-   * LIMIT is NOT constrained, i.e., maxRows>0 and rowsLimit=0, maxRowsOrRowsLimit = maxRows
-   * 4) When maxRows is NOT constrained and LIMIT is constrained, i.e., maxRows=0 and
-   * rowsLimit>0, maxRowsOrRowsLimit = rowsLimit
+  /**
+   * the number of pages fetched in the background ahead of the page being read, 0 means fetching
+   * each page when the previous one is read.
    */
-  private int maxRowsOrRowsLimit;
+  private int prefetchDepth = 0;
+  private ConcurrentLinkedDeque<Future<TSFetchResultsResp>> prefetches =
+      new ConcurrentLinkedDeque<>();
+  /**
+   * set when the query is cancelled or the result set is closed, after which no page is fetched in
+   * the background, and the fetches not sent yet are skipped.
+   */
+  private volatile boolean isPrefetchStopped = false;
+  // guards submitting the fetches against stopping the prefetching
+  private final Object prefetchLock = new Object();
 
   public IoTDBQueryResultSet() {
     // do nothing
@@ -131,36 +147,7 @@ public class IoTDBQueryResultSet implements ResultSet {
         columnInfoMap.put(name, index++);
       }
     }
-
-    maxRowsOrRowsLimit = maxRows;
-
-    // parse the LIMIT&OFFSET parameters from sql
-    String[] splited = sql.toUpperCase().split("\\s+");
-    List<String> arraySplited = Arrays.asList(splited);
-    try {
-      int posLimit = arraySplited.indexOf(limitStr);
-      if (posLimit != -1) {
-        rowsLimit = Integer.parseInt(splited[posLimit + 1]);
-
-        // NOTE that maxRows=0 in TsfileStatement means it is not constrained
-        // NOTE that LIMIT <N>: N is ensured to be a positive integer by the server side
-        if (maxRows == 0) {
-          maxRowsOrRowsLimit = rowsLimit;
-        } else {
-          maxRowsOrRowsLimit = (rowsLimit < maxRows) ? rowsLimit : maxRows;
-        }
-
-        // check if OFFSET is constrained after LIMIT has been constrained
-        int posOffset = arraySplited.indexOf(offsetStr);
-        if (posOffset != -1) {
-          // NOTE that OFFSET <OFFSETValue>: OFFSETValue is ensured to be a non-negative
-          // integer by the server side
-          rowsOffset = Integer.parseInt(splited[posOffset + 1]);
-        }
-      }
-    } catch (NumberFormatException e) {
-      throw new IoTDBSQLException("Out of range: LIMIT&SLIMIT parameter should be Int32.");
-    }
+    // LIMIT and OFFSET are applied by the server, only maxRows is applied here
   }
 
   @Override
@@ -204,6 +191,7 @@ public class IoTDBQueryResultSet implements ResultSet {
       return;
     }
 
+    discardPrefetchedResults();
     closeOperationHandle();
     client = null;
     isClosed = true;
@@ -703,23 +691,15 @@ public class IoTDBQueryResultSet implements ResultSet {
   // the next record rule without constraints
   private boolean nextWithoutConstraints() throws SQLException {
     if ((recordItr == null || !recordItr.hasNext()) && !emptyResultSet) {
-      TSFetchResultsReq req = new TSFetchResultsReq(sql, fetchSize, queryId);
-
-      try {
-        TSFetchResultsResp resp = client.fetchResults(req);
-        Utils.verifySuccess(resp.getStatus());
-        if (!resp.hasResultSet) {
-          emptyResultSet = true;
-        } else {
-          TSQueryDataSet tsQueryDataSet = resp.getQueryDataSet();
-          List<RowRecord> records = Utils.convertRowRecords(tsQueryDataSet);
-          recordItr = records.iterator();
-        }
-      } catch (TException e) {
-        throw new SQLException(
-            "Cannot fetch result from server, because of network connection: {} ", e);
+      TSFetchResultsResp resp = fetchResults();
+      Utils.verifySuccess(resp.getStatus());
+      if (!resp.hasResultSet) {
+        emptyResultSet = true;
+      } else {
+        TSQueryDataSet tsQueryDataSet = resp.getQueryDataSet();
+        List<RowRecord> records = Utils.convertRowRecords(tsQueryDataSet);
+        recordItr = records.iterator();
       }
-
     }
     if (emptyResultSet) {
       return false;
@@ -729,34 +709,116 @@ public class IoTDBQueryResultSet implements ResultSet {
     return true;
   }
 
-  @Override
-  // the next record rule considering both the maxRows constraint and the LIMIT&OFFSET constraint
-  public boolean next() throws SQLException {
-    if (maxRowsOrRowsLimit > 0 && rowsFetched >= maxRowsOrRowsLimit) {
-      // The constraint of maxRows instead of rowsLimit is embodied
-      if (rowsLimit == 0 || (maxRows > 0 && maxRows < rowsLimit)) {
-        logger.debug("Reach max rows " + maxRows);
+  /**
+   * fetch the next page of results. If prefetchDepth > 0, the pages are fetched one after another
+   * in the background, up to prefetchDepth pages ahead of the page being read, so the server
+   * evaluates the next pages while the application reads this one.
+   */
+  private TSFetchResultsResp fetchResults() throws SQLException {
+    if (prefetchDepth <= 0 || isPrefetchStopped) {
+      try {
+        return client.fetchResults(new TSFetchResultsReq(sql, fetchSize, queryId));
+      } catch (TException e) {
+        throw new SQLException(FETCH_ERROR_MESSAGE, e);
       }
-      return false;
     }
 
-    // When rowsOffset is constrained and the offset position has NOT been reached
-    if (rowsOffset != 0) {
-      for (int i = 0; i < rowsOffset; i++) { // Try to move to the offset position
-        if (!nextWithoutConstraints()) {
-          return false; // No next record, i.e, fail to move to the offset position
+    if (prefetches.isEmpty()) {
+      prefetch();
+    }
+    // the prefetched pages may be discarded by another thread at any time
+    Future<TSFetchResultsResp> prefetched = prefetches.poll();
+    if (prefetched == null) {
+      throw new SQLException(DISCARDED_MESSAGE);
+    }
+    TSFetchResultsResp resp;
+    try {
+      resp = prefetched.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while fetching results", e);
+    } catch (ExecutionException e) {
+      throw new SQLException(FETCH_ERROR_MESSAGE, e.getCause());
+    }
+    if (resp == null) {
+      throw new SQLException(DISCARDED_MESSAGE);
+    }
+    if (resp.hasResultSet) {
+      prefetch();
+    }
+    return resp;
+  }
+
+  /**
+   * fetch pages in the background until prefetchDepth pages are being fetched or fetched but not
+   * read. Each fetch waits for the previous one, and is skipped if the results end at the previous
+   * page or the prefetching is stopped.
+   */
+  private void prefetch() {
+    TSIService.Iface fetchClient = client;
+    TSFetchResultsReq req = new TSFetchResultsReq(sql, fetchSize, queryId);
+    synchronized (prefetchLock) {
+      while (!isPrefetchStopped && prefetches.size() < prefetchDepth) {
+        Future<TSFetchResultsResp> previous = prefetches.peekLast();
+        prefetches.add(prefetchPool.submit(() -> {
+          if (previous != null) {
+            TSFetchResultsResp previousResp = previous.get();
+            if (previousResp == null || !previousResp.hasResultSet
+                || previousResp.getStatus().getStatusCode() != TS_StatusCode.SUCCESS_STATUS) {
+              return previousResp;
+            }
+          }
+          return isPrefetchStopped ? null : fetchClient.fetchResults(req);
+        }));
+      }
+    }
+  }
+
+  /**
+   * discard the pages fetched in the background but not read when the query is cancelled or the
+   * result set is closed, the fetches not sent yet are skipped and the following pages are fetched
+   * when they are read. It returns after the fetches being sent end, so none of them reaches the
+   * server after the query is closed, when it may read the results of the next query of the sql.
+   */
+  void discardPrefetchedResults() {
+    List<Future<TSFetchResultsResp>> discarded = new ArrayList<>();
+    synchronized (prefetchLock) {
+      isPrefetchStopped = true;
+      Future<TSFetchResultsResp> prefetched;
+      while ((prefetched = prefetches.poll()) != null) {
+        discarded.add(prefetched);
+      }
+    }
+    boolean isInterrupted = false;
+    for (Future<TSFetchResultsResp> prefetched : discarded) {
+      // a fetch checking the flag before it is set may still be sent, wait for it to end
+      while (true) {
+        try {
+          prefetched.get();
+          break;
+        } catch (InterruptedException e) {
+          isInterrupted = true;
+        } catch (ExecutionException e) {
+          break;
         }
       }
-      rowsOffset = 0; // The offset position has been reached
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  // the next record rule considering the maxRows constraint
+  public boolean next() throws SQLException {
+    if (maxRows > 0 && rowsFetched >= maxRows) {
+      logger.debug("Reach max rows {}", maxRows);
+      return false;
     }
 
     boolean isNext = nextWithoutConstraints();
 
     if (isNext) {
-      /*
-       * Note that 'rowsFetched' is not increased in the nextWithoutConstraints(),
-       * because 'rowsFetched' should not count the rows fetched before the OFFSET position.
-       */
       rowsFetched++;
     }
 
@@ -1254,4 +1316,12 @@ public class IoTDBQueryResultSet implements ResultSet {
   public void setIgnoreTimeStamp(boolean ignoreTimeStamp) {
     this.ignoreTimeStamp = ignoreTimeStamp;
   }
+
+  public int getPrefetchDepth() {
+    return prefetchDepth;
+  }
+
+  public void setPrefetchDepth(int prefetchDepth) {
+    this.prefetchDepth = prefetchDepth;
+  }
 }
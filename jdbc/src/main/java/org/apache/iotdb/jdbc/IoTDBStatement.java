@@ -29,7 +29,6 @@ import java.sql.Statement;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 import org.apache.iotdb.service.rpc.thrift.TSCancelOperationReq;
 import org.apache.iotdb.service.rpc.thrift.TSCancelOperationResp;
 import org.apache.iotdb.service.rpc.thrift.TSCloseOperationReq;
@@ -55,12 +54,12 @@ public class IoTDBStatement implements Statement {
   private ResultSet resultSet = null;
   private IoTDBConnection connection;
   private int fetchSize;
-  private int queryTimeout = 10;
+  private int prefetchDepth;
+  private int queryTimeout = 0;
   protected TSIService.Iface client;
   private TS_SessionHandle sessionHandle;
   private TSOperationHandle operationHandle = null;
   private List<String> batchSQLList;
-  private AtomicLong queryId = new AtomicLong(0);
   /**
    * Keep state so we can fail certain calls made after close().
    */
@@ -138,6 +137,9 @@ public class IoTDBStatement implements Statement {
     } catch (Exception e) {
       throw new SQLException("Error occurs when canceling statement.", e);
     }
+    if (resultSet instanceof IoTDBQueryResultSet) {
+      ((IoTDBQueryResultSet) resultSet).discardPrefetchedResults();
+    }
     isCancelled = true;
   }
 
@@ -246,15 +248,20 @@ public class IoTDBStatement implements Statement {
       return true;
     } else {
       TSExecuteStatementReq execReq = new TSExecuteStatementReq(sessionHandle, sql);
-      TSExecuteStatementResp execResp = client.executeStatement(execReq);
+      TSExecuteStatementResp execResp;
+      synchronized (connection) {
+        applyQueryTimeout();
+        execResp = client.executeStatement(execReq);
+      }
       operationHandle = execResp.getOperationHandle();
       Utils.verifySuccess(execResp.getStatus());
       if (execResp.getOperationHandle().hasResultSet) {
         IoTDBQueryResultSet resSet = new IoTDBQueryResultSet(this,
             execResp.getColumns(), client,
             operationHandle, sql, execResp.getOperationType(),
-            getColumnsType(execResp.getColumns()), queryId.getAndIncrement());
+            getColumnsType(execResp.getColumns()), connection.nextQueryId());
         resSet.setIgnoreTimeStamp(execResp.ignoreTimeStamp);
+        resSet.setPrefetchDepth(prefetchDepth);
         this.resultSet = resSet;
         return true;
       }
@@ -346,17 +353,38 @@ public class IoTDBStatement implements Statement {
   private ResultSet executeQuerySQL(String sql) throws TException, SQLException {
     isCancelled = false;
     TSExecuteStatementReq execReq = new TSExecuteStatementReq(sessionHandle, sql);
-    TSExecuteStatementResp execResp = client.executeQueryStatement(execReq);
+    TSExecuteStatementResp execResp;
+    synchronized (connection) {
+      applyQueryTimeout();
+      execResp = client.executeQueryStatement(execReq);
+    }
     operationHandle = execResp.getOperationHandle();
     Utils.verifySuccess(execResp.getStatus());
     IoTDBQueryResultSet resSet = new IoTDBQueryResultSet(this, execResp.getColumns(), client,
         operationHandle, sql, execResp.getOperationType(), getColumnsType(execResp.getColumns()),
-        queryId.getAndIncrement());
+        connection.nextQueryId());
     resSet.setIgnoreTimeStamp(execResp.ignoreTimeStamp);
+    resSet.setPrefetchDepth(prefetchDepth);
     this.resultSet = resSet;
     return resultSet;
   }
 
+  /**
+   * The server keeps a single query timeout for each session and a query takes the one in force
+   * when it is executed, so the timeout of this statement is sent before its query if the session
+   * uses a different one. The caller holds the lock of the connection until the query is executed,
+   * so the statements of other threads do not change the timeout in between.
+   */
+  private void applyQueryTimeout() throws TException, IoTDBSQLException {
+    if (connection.getSessionQueryTimeout() == queryTimeout) {
+      return;
+    }
+    TSExecuteStatementReq execReq = new TSExecuteStatementReq(sessionHandle,
+        String.format("set query timeout to %d", queryTimeout * 1000L));
+    Utils.verifySuccess(client.executeStatement(execReq).getStatus());
+    connection.setSessionQueryTimeout(queryTimeout);
+  }
+
   @Override
   public int executeUpdate(String sql) throws SQLException {
     checkConnection("execute update");
@@ -439,6 +467,23 @@ public class IoTDBStatement implements Statement {
     this.fetchSize = fetchSize == 0 ? Config.fetchSize : fetchSize;
   }
 
+  /**
+   * the number of pages of results fetched in the background ahead of the page being read by the
+   * result sets of this statement, 0 disables fetching in the background.
+   */
+  public int getPrefetchDepth() throws SQLException {
+    checkConnection("getPrefetchDepth");
+    return prefetchDepth;
+  }
+
+  public void setPrefetchDepth(int prefetchDepth) throws SQLException {
+    checkConnection("setPrefetchDepth");
+    if (prefetchDepth < 0) {
+      throw new SQLException(String.format("prefetchDepth %d must be >= 0!", prefetchDepth));
+    }
+    this.prefetchDepth = prefetchDepth;
+  }
+
   @Override
   public ResultSet getGeneratedKeys() throws SQLException {
     throw new SQLException(METHOD_NOT_SUPPORTED_STRING);
@@ -487,7 +532,7 @@ public class IoTDBStatement implements Statement {
   @Override
   public void setQueryTimeout(int seconds) throws SQLException {
     checkConnection("setQueryTimeout");
-    if (seconds <= 0) {
+    if (seconds < 0) {
       throw new SQLException(String.format("queryTimeout %d must be >= 0!", seconds));
     }
     this.queryTimeout = seconds;
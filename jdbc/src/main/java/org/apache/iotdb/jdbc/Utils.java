@@ -75,10 +75,34 @@ public class Utils {
     if (info.containsKey(Config.AUTH_PASSWORD)) {
       params.setPassword(info.getProperty(Config.AUTH_PASSWORD));
     }
+    if (info.containsKey(Config.RPC_FRAMED_TRANSPORT_ENABLE)) {
+      params.setRpcFramedTransportEnable(
+          Boolean.parseBoolean(info.getProperty(Config.RPC_FRAMED_TRANSPORT_ENABLE)));
+    }
+    if (info.containsKey(Config.RPC_THRIFT_COMPRESSION_ENABLE)) {
+      params.setRpcThriftCompressionEnable(
+          Boolean.parseBoolean(info.getProperty(Config.RPC_THRIFT_COMPRESSION_ENABLE)));
+    }
+    if (info.containsKey(Config.PREFETCH_DEPTH)) {
+      params.setPrefetchDepth(parsePrefetchDepth(info.getProperty(Config.PREFETCH_DEPTH)));
+    }
 
     return params;
   }
 
+  private static int parsePrefetchDepth(String prefetchDepth) throws IoTDBURLException {
+    try {
+      int depth = Integer.parseInt(prefetchDepth.trim());
+      if (depth >= 0) {
+        return depth;
+      }
+    } catch (NumberFormatException e) {
+      // fall through
+    }
+    throw new IoTDBURLException(String.format("%s should be a non-negative integer, but is %s",
+        Config.PREFETCH_DEPTH, prefetchDepth));
+  }
+
   /**
    * verify success.
    *
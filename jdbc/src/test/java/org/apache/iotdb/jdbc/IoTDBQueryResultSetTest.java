@@ -20,17 +20,29 @@ package org.apache.iotdb.jdbc;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.iotdb.service.rpc.thrift.TSCancelOperationReq;
+import org.apache.iotdb.service.rpc.thrift.TSCancelOperationResp;
+import org.apache.iotdb.service.rpc.thrift.TSCloseOperationReq;
+import org.apache.iotdb.service.rpc.thrift.TSCloseOperationResp;
 import org.apache.iotdb.service.rpc.thrift.TSDataValue;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
 import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
@@ -49,6 +61,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -219,14 +232,162 @@ public class IoTDBQueryResultSetTest {
     }
   }
 
-  // fake the first-time fetched result of 'testSql' from an IoTDB server
+  @Test
+  public void testPrefetch() throws Exception {
+    prepareQuery();
+    TSFetchResultsResp endResp = new TSFetchResultsResp(Status_SUCCESS, false);
+    when(client.fetchResults(any(TSFetchResultsReq.class)))
+        .thenReturn(fakedFetchResp(), fakedFetchResp(), endResp);
+
+    ((IoTDBStatement) statement).setPrefetchDepth(2);
+    Assert.assertTrue(statement.execute("select s2,s1,s0 from root.vehicle.d0"));
+    try (ResultSet resultSet = statement.getResultSet()) {
+      Assert.assertTrue(resultSet.next());
+      // the next two pages are fetched while the first one is read
+      verify(client, timeout(5000).times(3)).fetchResults(any(TSFetchResultsReq.class));
+      int cnt = 1;
+      while (resultSet.next()) {
+        cnt++;
+      }
+      Assert.assertEquals(18, cnt);
+    }
+    verify(client, times(3)).fetchResults(any(TSFetchResultsReq.class));
+  }
+
+  @Test
+  public void testDiscardPrefetchedResults() throws Exception {
+    prepareQuery();
+    TSFetchResultsResp endResp = new TSFetchResultsResp(Status_SUCCESS, false);
+    when(client.fetchResults(any(TSFetchResultsReq.class)))
+        .thenReturn(fakedFetchResp(), fakedFetchResp(), endResp);
+
+    ((IoTDBStatement) statement).setPrefetchDepth(1);
+    Assert.assertTrue(statement.execute("select s2,s1,s0 from root.vehicle.d0"));
+    try (ResultSet resultSet = statement.getResultSet()) {
+      Assert.assertTrue(resultSet.next());
+      verify(client, timeout(5000).times(2)).fetchResults(any(TSFetchResultsReq.class));
+      ((IoTDBQueryResultSet) resultSet).discardPrefetchedResults();
+      // the prefetched second page is not returned
+      int cnt = 1;
+      while (resultSet.next()) {
+        cnt++;
+      }
+      Assert.assertEquals(9, cnt);
+    }
+    verify(client, times(3)).fetchResults(any(TSFetchResultsReq.class));
+  }
+
+  @Test(timeout = 10000)
+  public void testCancelWhilePrefetching() throws Exception {
+    prepareQuery();
+    AtomicBoolean isCancelled = new AtomicBoolean(false);
+    AtomicInteger fetchNum = new AtomicInteger(0);
+    // the query has endless pages until it is cancelled
+    when(client.fetchResults(any(TSFetchResultsReq.class))).thenAnswer(invocation -> {
+      fetchNum.incrementAndGet();
+      return isCancelled.get()
+          ? new TSFetchResultsResp(new TS_Status(TS_StatusCode.ERROR_STATUS), false)
+          : fakedFetchResp();
+    });
+    when(client.cancelOperation(any(TSCancelOperationReq.class))).thenAnswer(invocation -> {
+      isCancelled.set(true);
+      return new TSCancelOperationResp(Status_SUCCESS);
+    });
+
+    ((IoTDBStatement) statement).setPrefetchDepth(2);
+    Assert.assertTrue(statement.execute("select s2,s1,s0 from root.vehicle.d0"));
+    ResultSet resultSet = statement.getResultSet();
+    Assert.assertTrue(resultSet.next());
+    Thread cancelThread = new Thread(() -> {
+      try {
+        statement.cancel();
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    cancelThread.start();
+    try {
+      while (resultSet.next()) {
+        // read until the query is cancelled
+      }
+      Assert.fail();
+    } catch (SQLException e) {
+      // expected
+    }
+    cancelThread.join();
+
+    // no page is fetched after the cancellation is noticed
+    int cnt = fetchNum.get();
+    Thread.sleep(200);
+    Assert.assertEquals(cnt, fetchNum.get());
+    resultSet.close();
+  }
+
+  @Test(timeout = 10000)
+  public void testCloseWhilePrefetching() throws Exception {
+    prepareQuery();
+    CountDownLatch isFetching = new CountDownLatch(1);
+    CountDownLatch fetchReleased = new CountDownLatch(1);
+    AtomicInteger fetchNum = new AtomicInteger(0);
+    // the second page is being fetched when the result set is closed
+    when(client.fetchResults(any(TSFetchResultsReq.class))).thenAnswer(invocation -> {
+      if (fetchNum.incrementAndGet() == 2) {
+        isFetching.countDown();
+        fetchReleased.await();
+      }
+      return fakedFetchResp();
+    });
+
+    ((IoTDBStatement) statement).setPrefetchDepth(1);
+    Assert.assertTrue(statement.execute("select s2,s1,s0 from root.vehicle.d0"));
+    ResultSet resultSet = statement.getResultSet();
+    Assert.assertTrue(resultSet.next());
+    Assert.assertTrue(isFetching.await(5, TimeUnit.SECONDS));
+    Thread closeThread = new Thread(() -> {
+      try {
+        resultSet.close();
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    closeThread.start();
+
+    // the query is not closed before the fetch being sent ends
+    Thread.sleep(200);
+    verify(client, never()).closeOperation(any(TSCloseOperationReq.class));
+    fetchReleased.countDown();
+    closeThread.join();
+    InOrder order = inOrder(client);
+    order.verify(client, times(2)).fetchResults(any(TSFetchResultsReq.class));
+    order.verify(client).closeOperation(any(TSCloseOperationReq.class));
+    Assert.assertEquals(2, fetchNum.get());
+  }
+
+  private void prepareQuery() throws Exception {
+    List<String> columns = new ArrayList<>();
+    columns.add("root.vehicle.d0.s2");
+    columns.add("root.vehicle.d0.s1");
+    columns.add("root.vehicle.d0.s0");
+    when(execResp.getColumns()).thenReturn(columns);
+    when(execResp.getOperationType()).thenReturn("QUERY");
+    doReturn("FLOAT").doReturn("INT64").doReturn("INT32").when(fetchMetadataResp)
+        .getDataType();
+    when(client.closeOperation(any(TSCloseOperationReq.class)))
+        .thenReturn(new TSCloseOperationResp(Status_SUCCESS));
+  }
+
+  private TSFetchResultsResp fakedFetchResp() {
+    TSFetchResultsResp resp = new TSFetchResultsResp(Status_SUCCESS, true);
+    resp.setQueryDataSet(FakedFirstFetchResult());
+    return resp;
+  }
+
+  // fake the first-time fetched result of 'testSql' from an IoTDB server, which has skipped the
+  // first row for 'offset 1'
   private TSQueryDataSet FakedFirstFetchResult() {
     TSQueryDataSet tsQueryDataSet = new TSQueryDataSet(new ArrayList<>());
     final int DATA_TYPE_NUM = 3;
     Object[][] input = {
-        {1L, "root.vehicle.d0.s2", TSDataType.FLOAT, null, "root.vehicle.d0.s1", TSDataType.INT64,
-            1101L,
-            "root.vehicle.d0.s0", TSDataType.INT32, null,},
         {2L, "root.vehicle.d0.s2", TSDataType.FLOAT, 2.22F, "root.vehicle.d0.s1", TSDataType.INT64,
             40000L,
             "root.vehicle.d0.s0", TSDataType.INT32, null,},
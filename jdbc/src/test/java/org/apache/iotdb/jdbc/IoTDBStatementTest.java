@@ -20,6 +20,8 @@ package org.apache.iotdb.jdbc;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.ResultSet;
@@ -31,8 +33,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.apache.iotdb.service.rpc.thrift.TSFetchMetadataReq;
+import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementReq;
+import org.apache.iotdb.service.rpc.thrift.TSExecuteStatementResp;
 import org.apache.iotdb.service.rpc.thrift.TSFetchMetadataResp;
+import org.apache.iotdb.service.rpc.thrift.TSHandleIdentifier;
 import org.apache.iotdb.service.rpc.thrift.TSIService.Iface;
+import org.apache.iotdb.service.rpc.thrift.TSOperationHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_SessionHandle;
 import org.apache.iotdb.service.rpc.thrift.TS_Status;
 import org.apache.iotdb.service.rpc.thrift.TS_StatusCode;
@@ -41,6 +47,7 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -215,4 +222,31 @@ public class IoTDBStatementTest {
     IoTDBStatement stmt = new IoTDBStatement(connection, client, sessHandle, zoneID);
     stmt.setMaxRows(-1);
   }
+
+  @SuppressWarnings("resource")
+  @Test
+  public void testSetQueryTimeout() throws SQLException, TException {
+    TSExecuteStatementResp execResp = new TSExecuteStatementResp(Status_SUCCESS);
+    execResp.setOperationHandle(new TSOperationHandle(new TSHandleIdentifier(), false));
+    when(client.executeStatement(any(TSExecuteStatementReq.class))).thenReturn(execResp);
+    IoTDBStatement stmt = new IoTDBStatement(connection, client, sessHandle, zoneID);
+    assertEquals(0, stmt.getQueryTimeout());
+
+    // the session uses the default timeout too
+    stmt.execute("delete timeseries root.vehicle.d0.s0");
+    verify(client, times(1)).executeStatement(any(TSExecuteStatementReq.class));
+
+    stmt.setQueryTimeout(5);
+    stmt.execute("delete timeseries root.vehicle.d0.s0");
+    ArgumentCaptor<TSExecuteStatementReq> captor = ArgumentCaptor
+        .forClass(TSExecuteStatementReq.class);
+    verify(client, times(3)).executeStatement(captor.capture());
+    assertEquals("set query timeout to 5000", captor.getAllValues().get(1).getStatement());
+    verify(connection).setSessionQueryTimeout(5);
+
+    // the session uses the timeout of the statement
+    when(connection.getSessionQueryTimeout()).thenReturn(5);
+    stmt.execute("delete timeseries root.vehicle.d0.s0");
+    verify(client, times(4)).executeStatement(any(TSExecuteStatementReq.class));
+  }
 }
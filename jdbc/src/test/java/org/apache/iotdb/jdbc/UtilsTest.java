@@ -19,6 +19,7 @@
 package org.apache.iotdb.jdbc;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -64,6 +65,26 @@ public class UtilsTest {
     assertEquals(params.getPort(), port);
     assertEquals(params.getUsername(), userName);
     assertEquals(params.getPassword(), userPwd);
+    assertFalse(params.isRpcFramedTransportEnable());
+    assertFalse(params.isRpcThriftCompressionEnable());
+    assertEquals(Config.DEFAULT_PREFETCH_DEPTH, params.getPrefetchDepth());
+
+    properties.setProperty(Config.RPC_FRAMED_TRANSPORT_ENABLE, "true");
+    properties.setProperty(Config.RPC_THRIFT_COMPRESSION_ENABLE, "true");
+    properties.setProperty(Config.PREFETCH_DEPTH, "3");
+    params = Utils.parseUrl(String.format(Config.IOTDB_URL_PREFIX + "%s:%s/", host, port),
+        properties);
+    assertTrue(params.isRpcFramedTransportEnable());
+    assertTrue(params.isRpcThriftCompressionEnable());
+    assertEquals(3, params.getPrefetchDepth());
+
+    properties.setProperty(Config.PREFETCH_DEPTH, "-1");
+    try {
+      Utils.parseUrl(String.format(Config.IOTDB_URL_PREFIX + "%s:%s/", host, port), properties);
+      fail();
+    } catch (IoTDBURLException e) {
+      // expected
+    }
   }
 
   @Test
@@ -138,6 +138,16 @@ public class TSFileConfig {
    * Default endian value is LITTLE_ENDIAN.
    */
   public static String endian = "LITTLE_ENDIAN";
+  /**
+   * The acceptable false positive rate of the bloom filter over series paths written in each
+   * TsFile footer, default value is 0.05.
+   */
+  public static double bloomFilterErrorRate = 0.05;
+  /**
+   * A page index is written for chunks having at least this many pages, default value is 4.
+   * Setting it to 0 disables the page index.
+   */
+  public static int pageIndexMinPageNum = 4;
 
   /**
    * only can be used by TsFileDescriptor.
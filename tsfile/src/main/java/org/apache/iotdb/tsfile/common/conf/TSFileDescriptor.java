@@ -134,6 +134,12 @@ public class TSFileDescriptor {
       TSFileConfig.valueEncoder = properties
           .getProperty("value_encoder", TSFileConfig.valueEncoder);
       TSFileConfig.compressor = properties.getProperty("compressor", TSFileConfig.compressor);
+      TSFileConfig.bloomFilterErrorRate = Double.parseDouble(properties
+          .getProperty("bloom_filter_error_rate",
+              Double.toString(TSFileConfig.bloomFilterErrorRate)));
+      TSFileConfig.pageIndexMinPageNum = Integer.parseInt(properties
+          .getProperty("page_index_min_page_num",
+              Integer.toString(TSFileConfig.pageIndexMinPageNum)));
     } catch (IOException e) {
       logger.warn("Cannot load config file, use default configuration", e);
     } catch (Exception e) {
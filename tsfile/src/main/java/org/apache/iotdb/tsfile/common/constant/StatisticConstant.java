@@ -37,5 +37,11 @@ public class StatisticConstant {
 
   public static final String LAST = "last";
 
+  // not an aggregation, the serialized ChunkPageIndex of a chunk
+  public static final String PAGE_INDEX = "page_index";
+
+  // not an aggregation, the serialized ChunkRollups of a chunk
+  public static final String ROLLUP = "rollup";
+
   private StatisticConstant(){}
 }
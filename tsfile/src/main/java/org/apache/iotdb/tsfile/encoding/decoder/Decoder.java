@@ -142,6 +142,115 @@ public abstract class Decoder {
 
   public abstract boolean hasNext(ByteBuffer buffer) throws IOException;
 
+  /**
+   * decode at most max values into dst starting at off. The default implementation calls
+   * hasNext() and readBoolean() once per value, decoders able to produce a run of values at once
+   * override it.
+   *
+   * @return the number of values decoded, 0 if there is no value left
+   */
+  public int decodeBooleans(ByteBuffer buffer, boolean[] dst, int off, int max)
+      throws IOException {
+    int count = 0;
+    while (count < max && hasNext(buffer)) {
+      dst[off + count++] = readBoolean(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode at most max values into dst starting at off, see
+   * {@link #decodeBooleans(ByteBuffer, boolean[], int, int)}.
+   *
+   * @return the number of values decoded, 0 if there is no value left
+   */
+  public int decodeInts(ByteBuffer buffer, int[] dst, int off, int max) throws IOException {
+    int count = 0;
+    while (count < max && hasNext(buffer)) {
+      dst[off + count++] = readInt(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode at most max values into dst starting at off, see
+   * {@link #decodeBooleans(ByteBuffer, boolean[], int, int)}.
+   *
+   * @return the number of values decoded, 0 if there is no value left
+   */
+  public int decodeLongs(ByteBuffer buffer, long[] dst, int off, int max) throws IOException {
+    int count = 0;
+    while (count < max && hasNext(buffer)) {
+      dst[off + count++] = readLong(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode at most max values into dst starting at off, see
+   * {@link #decodeBooleans(ByteBuffer, boolean[], int, int)}.
+   *
+   * @return the number of values decoded, 0 if there is no value left
+   */
+  public int decodeFloats(ByteBuffer buffer, float[] dst, int off, int max) throws IOException {
+    int count = 0;
+    while (count < max && hasNext(buffer)) {
+      dst[off + count++] = readFloat(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * decode at most max values into dst starting at off, see
+   * {@link #decodeBooleans(ByteBuffer, boolean[], int, int)}.
+   *
+   * @return the number of values decoded, 0 if there is no value left
+   */
+  public int decodeDoubles(ByteBuffer buffer, double[] dst, int off, int max)
+      throws IOException {
+    int count = 0;
+    while (count < max && hasNext(buffer)) {
+      dst[off + count++] = readDouble(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * skip at most n values of dataType. The default implementation decodes and drops them one by
+   * one, decoders able to jump over encoded values without decoding them override it.
+   *
+   * @return the number of values skipped, less than n only if there is no value left
+   */
+  public int skip(ByteBuffer buffer, TSDataType dataType, int n) throws IOException {
+    int count = 0;
+    while (count < n && hasNext(buffer)) {
+      switch (dataType) {
+        case BOOLEAN:
+          readBoolean(buffer);
+          break;
+        case INT32:
+          readInt(buffer);
+          break;
+        case INT64:
+          readLong(buffer);
+          break;
+        case FLOAT:
+          readFloat(buffer);
+          break;
+        case DOUBLE:
+          readDouble(buffer);
+          break;
+        case TEXT:
+          readBinary(buffer);
+          break;
+        default:
+          throw new TsFileDecodingException("Decoder cannot skip values of " + dataType);
+      }
+      count++;
+    }
+    return count;
+  }
+
   public abstract void reset();
 
 }
@@ -22,6 +22,7 @@ package org.apache.iotdb.tsfile.encoding.decoder;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -67,6 +68,11 @@ public abstract class DeltaBinaryDecoder extends Decoder {
 
   protected abstract void readValue(int i);
 
+  /**
+   * @return bytes of minDeltaBase and firstValue in the header of a pack
+   */
+  protected abstract int getHeaderSize();
+
   /**
    * calculate the bytes length containing v bits.
    *
@@ -82,6 +88,34 @@ public abstract class DeltaBinaryDecoder extends Decoder {
     return (nextReadIndex < readIntTotalCount) || buffer.remaining() > 0;
   }
 
+  /**
+   * A pack holds its first value in the header followed by packNum deltas, so a pack whose values
+   * are all skipped is jumped over without unpacking it.
+   */
+  @Override
+  public int skip(ByteBuffer buffer, TSDataType dataType, int n) throws IOException {
+    int count = 0;
+    while (count < n) {
+      if (nextReadIndex < readIntTotalCount) {
+        int len = Math.min(n - count, readIntTotalCount - nextReadIndex);
+        nextReadIndex += len;
+        count += len;
+      } else if (!buffer.hasRemaining()) {
+        break;
+      } else if (n - count > buffer.getInt(buffer.position())) {
+        int skippedPackNum = ReadWriteIOUtils.readInt(buffer);
+        int skippedPackWidth = ReadWriteIOUtils.readInt(buffer);
+        buffer.position(
+            buffer.position() + getHeaderSize() + ceil(skippedPackNum * skippedPackWidth));
+        count += skippedPackNum + 1;
+      } else {
+        // load the pack, which also returns its first value
+        count += super.skip(buffer, dataType, 1);
+      }
+    }
+    return count;
+  }
+
   public static class IntDeltaDecoder extends DeltaBinaryDecoder {
 
     private int firstValue;
@@ -114,6 +148,29 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       return readT(buffer);
     }
 
+    /**
+     * copy the decoded values of the current pack in one go, a new pack is loaded only when the
+     * current one is used up.
+     */
+    @Override
+    public int decodeInts(ByteBuffer buffer, int[] dst, int off, int max) {
+      int count = 0;
+      while (count < max) {
+        if (nextReadIndex == readIntTotalCount) {
+          if (!buffer.hasRemaining()) {
+            break;
+          }
+          dst[off + count++] = loadIntBatch(buffer);
+        } else {
+          int len = Math.min(max - count, readIntTotalCount - nextReadIndex);
+          System.arraycopy(data, nextReadIndex, dst, off + count, len);
+          nextReadIndex += len;
+          count += len;
+        }
+      }
+      return count;
+    }
+
     /**
      * if remaining data has been run out, load next pack from InputStream.
      *
@@ -156,6 +213,11 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       data = new int[packNum];
     }
 
+    @Override
+    protected int getHeaderSize() {
+      return 2 * Integer.BYTES;
+    }
+
     @Override
     protected void readValue(int i) {
       int v = BytesUtils.bytesToInt(deltaBuf, packWidth * i, packWidth);
@@ -231,6 +293,29 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       return readT(buffer);
     }
 
+    /**
+     * copy the decoded values of the current pack in one go, a new pack is loaded only when the
+     * current one is used up.
+     */
+    @Override
+    public int decodeLongs(ByteBuffer buffer, long[] dst, int off, int max) {
+      int count = 0;
+      while (count < max) {
+        if (nextReadIndex == readIntTotalCount) {
+          if (!buffer.hasRemaining()) {
+            break;
+          }
+          dst[off + count++] = loadIntBatch(buffer);
+        } else {
+          int len = Math.min(max - count, readIntTotalCount - nextReadIndex);
+          System.arraycopy(data, nextReadIndex, dst, off + count, len);
+          nextReadIndex += len;
+          count += len;
+        }
+      }
+      return count;
+    }
+
     @Override
     protected void readHeader(ByteBuffer buffer) {
       minDeltaBase = ReadWriteIOUtils.readLong(buffer);
@@ -242,6 +327,11 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       data = new long[packNum];
     }
 
+    @Override
+    protected int getHeaderSize() {
+      return 2 * Long.BYTES;
+    }
+
     @Override
     protected void readValue(int i) {
       long v = BytesUtils.bytesToLong(deltaBuf, packWidth * i, packWidth);
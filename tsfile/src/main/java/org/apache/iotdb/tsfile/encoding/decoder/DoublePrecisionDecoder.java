@@ -73,6 +73,19 @@ public class DoublePrecisionDecoder extends GorillaDecoder {
     return Double.NaN;
   }
 
+  /**
+   * gorilla values depend on the previous one, so they are still decoded one by one, but without
+   * going through the hasNext() and readDouble() dispatch of the caller for every value.
+   */
+  @Override
+  public int decodeDoubles(ByteBuffer buffer, double[] dst, int off, int max) {
+    int count = 0;
+    while (count < max && (buffer.hasRemaining() || !isEnd)) {
+      dst[off + count++] = readDouble(buffer);
+    }
+    return count;
+  }
+
   /**
    * check whether there is any value to encode left.
    *
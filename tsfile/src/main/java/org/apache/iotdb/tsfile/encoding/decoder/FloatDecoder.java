@@ -50,6 +50,12 @@ public class FloatDecoder extends Decoder {
    */
   private boolean isMaxPointNumberRead;
 
+  /**
+   * reused buffers for the scaled values in decodeFloats() and decodeDoubles().
+   */
+  private int[] intValues = new int[0];
+  private long[] longValues = new long[0];
+
   public FloatDecoder(TSEncoding encodingType, TSDataType dataType) {
     super(encodingType);
     if (encodingType == TSEncoding.RLE) {
@@ -96,6 +102,49 @@ public class FloatDecoder extends Decoder {
     return value / maxPointValue;
   }
 
+  @Override
+  public int decodeFloats(ByteBuffer buffer, float[] dst, int off, int max) throws IOException {
+    if (!hasNext(buffer)) {
+      return 0;
+    }
+    readMaxPointValue(buffer);
+    if (intValues.length < max) {
+      intValues = new int[max];
+    }
+    int count = decoder.decodeInts(buffer, intValues, 0, max);
+    for (int i = 0; i < count; i++) {
+      dst[off + i] = (float) (intValues[i] / maxPointValue);
+    }
+    return count;
+  }
+
+  @Override
+  public int decodeDoubles(ByteBuffer buffer, double[] dst, int off, int max)
+      throws IOException {
+    if (!hasNext(buffer)) {
+      return 0;
+    }
+    readMaxPointValue(buffer);
+    if (longValues.length < max) {
+      longValues = new long[max];
+    }
+    int count = decoder.decodeLongs(buffer, longValues, 0, max);
+    for (int i = 0; i < count; i++) {
+      dst[off + i] = longValues[i] / maxPointValue;
+    }
+    return count;
+  }
+
+  @Override
+  public int skip(ByteBuffer buffer, TSDataType dataType, int n) throws IOException {
+    if (!hasNext(buffer)) {
+      return 0;
+    }
+    readMaxPointValue(buffer);
+    return decoder
+        .skip(buffer, dataType == TSDataType.FLOAT ? TSDataType.INT32 : TSDataType.INT64, n);
+  }
+
   private void readMaxPointValue(ByteBuffer buffer) {
     if (!isMaxPointNumberRead) {
       int maxPointNumber = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
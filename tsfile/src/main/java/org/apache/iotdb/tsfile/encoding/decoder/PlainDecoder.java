@@ -22,8 +22,10 @@ package org.apache.iotdb.tsfile.encoding.decoder;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.apache.iotdb.tsfile.encoding.common.EndianType;
 import org.apache.iotdb.tsfile.exception.encoding.TsFileDecodingException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -122,6 +124,93 @@ public class PlainDecoder extends Decoder {
     return buffer.remaining() > 0;
   }
 
+  @Override
+  public int decodeBooleans(ByteBuffer buffer, boolean[] dst, int off, int max) {
+    int count = Math.min(max, buffer.remaining());
+    for (int i = 0; i < count; i++) {
+      dst[off + i] = buffer.get() != 0;
+    }
+    return count;
+  }
+
+  /**
+   * values are fixed-length, so a little-endian view of the remaining bytes is copied in bulk.
+   */
+  @Override
+  public int decodeInts(ByteBuffer buffer, int[] dst, int off, int max) throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decodeInts(buffer, dst, off, max);
+    }
+    int count = Math.min(max, buffer.remaining() / Integer.BYTES);
+    littleEndianView(buffer).asIntBuffer().get(dst, off, count);
+    buffer.position(buffer.position() + count * Integer.BYTES);
+    return count;
+  }
+
+  @Override
+  public int decodeLongs(ByteBuffer buffer, long[] dst, int off, int max) throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decodeLongs(buffer, dst, off, max);
+    }
+    int count = Math.min(max, buffer.remaining() / Long.BYTES);
+    littleEndianView(buffer).asLongBuffer().get(dst, off, count);
+    buffer.position(buffer.position() + count * Long.BYTES);
+    return count;
+  }
+
+  @Override
+  public int decodeFloats(ByteBuffer buffer, float[] dst, int off, int max) throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decodeFloats(buffer, dst, off, max);
+    }
+    int count = Math.min(max, buffer.remaining() / Float.BYTES);
+    littleEndianView(buffer).asFloatBuffer().get(dst, off, count);
+    buffer.position(buffer.position() + count * Float.BYTES);
+    return count;
+  }
+
+  @Override
+  public int decodeDoubles(ByteBuffer buffer, double[] dst, int off, int max)
+      throws IOException {
+    if (endianType != EndianType.LITTLE_ENDIAN) {
+      return super.decodeDoubles(buffer, dst, off, max);
+    }
+    int count = Math.min(max, buffer.remaining() / Double.BYTES);
+    littleEndianView(buffer).asDoubleBuffer().get(dst, off, count);
+    buffer.position(buffer.position() + count * Double.BYTES);
+    return count;
+  }
+
+  /**
+   * jump over fixed-length values by moving the position of the buffer.
+   */
+  @Override
+  public int skip(ByteBuffer buffer, TSDataType dataType, int n) throws IOException {
+    int valueSize;
+    switch (dataType) {
+      case BOOLEAN:
+        valueSize = 1;
+        break;
+      case INT32:
+      case FLOAT:
+        valueSize = 4;
+        break;
+      case INT64:
+      case DOUBLE:
+        valueSize = 8;
+        break;
+      default:
+        return super.skip(buffer, dataType, n);
+    }
+    int count = Math.min(n, buffer.remaining() / valueSize);
+    buffer.position(buffer.position() + count * valueSize);
+    return count;
+  }
+
+  private ByteBuffer littleEndianView(ByteBuffer buffer) {
+    return buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
   @Override
   public BigDecimal readBigDecimal(ByteBuffer buffer) {
     throw new TsFileDecodingException("Method readBigDecimal is not supproted by PlainDecoder");
@@ -152,6 +152,26 @@ public abstract class RegularDataDecoder extends Decoder {
       return readT(buffer);
     }
 
+    /**
+     * copy the values of a pack without missing points in one go, packs with missing points are
+     * walked through the bitmap value by value.
+     */
+    @Override
+    public int decodeInts(ByteBuffer buffer, int[] dst, int off, int max) throws IOException {
+      int count = 0;
+      while (count < max && hasNext(buffer)) {
+        if (nextReadIndex == readIntTotalCount || isMissingPoint) {
+          dst[off + count++] = readT(buffer);
+        } else {
+          int len = Math.min(max - count, readIntTotalCount - nextReadIndex);
+          System.arraycopy(data, nextReadIndex, dst, off + count, len);
+          nextReadIndex += len;
+          count += len;
+        }
+      }
+      return count;
+    }
+
     @Override
     protected void readHeader(ByteBuffer buffer) {
       minDeltaBase = ReadWriteIOUtils.readInt(buffer);
@@ -265,6 +285,27 @@ public abstract class RegularDataDecoder extends Decoder {
       return readT(buffer);
     }
 
+    /**
+     * copy the values of a pack without missing points in one go, packs with missing points are
+     * walked through the bitmap value by value.
+     */
+    @Override
+    public int decodeLongs(ByteBuffer buffer, long[] dst, int off, int max)
+        throws IOException {
+      int count = 0;
+      while (count < max && hasNext(buffer)) {
+        if (nextReadIndex == readIntTotalCount || isMissingPoint) {
+          dst[off + count++] = readT(buffer);
+        } else {
+          int len = Math.min(max - count, readIntTotalCount - nextReadIndex);
+          System.arraycopy(data, nextReadIndex, dst, off + count, len);
+          nextReadIndex += len;
+          count += len;
+        }
+      }
+      return count;
+    }
+
     @Override
     protected void readHeader(ByteBuffer buffer) {
       minDeltaBase = ReadWriteIOUtils.readLong(buffer);
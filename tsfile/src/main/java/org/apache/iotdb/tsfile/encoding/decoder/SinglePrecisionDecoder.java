@@ -69,6 +69,19 @@ public class SinglePrecisionDecoder extends GorillaDecoder {
     return Float.NaN;
   }
 
+  /**
+   * gorilla values depend on the previous one, so they are still decoded one by one, but without
+   * going through the hasNext() and readFloat() dispatch of the caller for every value.
+   */
+  @Override
+  public int decodeFloats(ByteBuffer buffer, float[] dst, int off, int max) {
+    int count = 0;
+    while (count < max && (buffer.hasRemaining() || !isEnd)) {
+      dst[off + count++] = readFloat(buffer);
+    }
+    return count;
+  }
+
   /**
    * check whether there is any value to encode left.
    *
@@ -23,7 +23,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
@@ -171,6 +174,40 @@ public class ChunkMetaData {
     return valuesStatistics;
   }
 
+  /**
+   * get the page index of this chunk.
+   *
+   * @return the page index, or null if the chunk was written without one
+   */
+  public ChunkPageIndex getPageIndex() {
+    if (valuesStatistics == null) {
+      return null;
+    }
+    Map<String, ByteBuffer> statistics = valuesStatistics.getStatistics();
+    if (statistics == null || !statistics.containsKey(StatisticConstant.PAGE_INDEX)) {
+      return null;
+    }
+    return ChunkPageIndex
+        .deserializeFrom(statistics.get(StatisticConstant.PAGE_INDEX).duplicate());
+  }
+
+  /**
+   * get the rollups of this chunk, one for each interval they were written with.
+   *
+   * @return the rollups, or null if the chunk was written without them
+   */
+  public List<ChunkRollup> getRollups() throws IOException {
+    if (valuesStatistics == null) {
+      return null;
+    }
+    Map<String, ByteBuffer> statistics = valuesStatistics.getStatistics();
+    if (statistics == null || !statistics.containsKey(StatisticConstant.ROLLUP)) {
+      return null;
+    }
+    return ChunkRollup
+        .deserializeFrom(statistics.get(StatisticConstant.ROLLUP).duplicate(), tsDataType);
+  }
+
   public void setDigest(TsDigest digest) {
     this.valuesStatistics = digest;
 
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.file.metadata;
+
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+/**
+ * ChunkPageIndex records, for every page of a chunk, the offset of its PageHeader relative to the
+ * beginning of the chunk data together with the time range of the page. With it a chunk reader
+ * can jump to the first page that may qualify instead of deserializing every PageHeader before
+ * it.
+ * <p>
+ * The index is stored in the {@link TsDigest} of the {@link ChunkMetaData} under the key {@link
+ * org.apache.iotdb.tsfile.common.constant.StatisticConstant#PAGE_INDEX}, so files without it
+ * remain readable and readers unaware of it ignore it.
+ */
+public class ChunkPageIndex {
+
+  private int size;
+  private int[] offsets;
+  private long[] minTimestamps;
+  private long[] maxTimestamps;
+
+  public ChunkPageIndex() {
+    this(16);
+  }
+
+  private ChunkPageIndex(int capacity) {
+    offsets = new int[capacity];
+    minTimestamps = new long[capacity];
+    maxTimestamps = new long[capacity];
+  }
+
+  /**
+   * append a page, pages must be added in the order they are written.
+   *
+   * @param offset the offset of the PageHeader relative to the beginning of the chunk data
+   * @param minTimestamp the min timestamp of the page
+   * @param maxTimestamp the max timestamp of the page
+   */
+  public void addPage(int offset, long minTimestamp, long maxTimestamp) {
+    if (size == offsets.length) {
+      int newCapacity = size * 2;
+      int[] newOffsets = new int[newCapacity];
+      long[] newMinTimestamps = new long[newCapacity];
+      long[] newMaxTimestamps = new long[newCapacity];
+      System.arraycopy(offsets, 0, newOffsets, 0, size);
+      System.arraycopy(minTimestamps, 0, newMinTimestamps, 0, size);
+      System.arraycopy(maxTimestamps, 0, newMaxTimestamps, 0, size);
+      offsets = newOffsets;
+      minTimestamps = newMinTimestamps;
+      maxTimestamps = newMaxTimestamps;
+    }
+    offsets[size] = offset;
+    minTimestamps[size] = minTimestamp;
+    maxTimestamps[size] = maxTimestamp;
+    size++;
+  }
+
+  public void reset() {
+    size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int getOffset(int pageIdx) {
+    return offsets[pageIdx];
+  }
+
+  public long getMinTimestamp(int pageIdx) {
+    return minTimestamps[pageIdx];
+  }
+
+  public long getMaxTimestamp(int pageIdx) {
+    return maxTimestamps[pageIdx];
+  }
+
+  /**
+   * binary search the first page whose max timestamp is not less than the given time. Pages in a
+   * chunk are in ascending time order, so all the pages before it can be skipped.
+   *
+   * @return the index of the page, or size() if there is no such page
+   */
+  public int firstPageEndingAtOrAfter(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (maxTimestamps[mid] < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  public ByteBuffer serialize() {
+    ByteBuffer buffer = ByteBuffer
+        .allocate(Integer.BYTES + size * (Integer.BYTES + 2 * Long.BYTES));
+    ReadWriteIOUtils.write(size, buffer);
+    for (int i = 0; i < size; i++) {
+      ReadWriteIOUtils.write(offsets[i], buffer);
+      ReadWriteIOUtils.write(minTimestamps[i], buffer);
+      ReadWriteIOUtils.write(maxTimestamps[i], buffer);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  public static ChunkPageIndex deserializeFrom(ByteBuffer buffer) {
+    int size = ReadWriteIOUtils.readInt(buffer);
+    ChunkPageIndex pageIndex = new ChunkPageIndex(Math.max(size, 1));
+    for (int i = 0; i < size; i++) {
+      int offset = ReadWriteIOUtils.readInt(buffer);
+      long minTimestamp = ReadWriteIOUtils.readLong(buffer);
+      long maxTimestamp = ReadWriteIOUtils.readLong(buffer);
+      pageIndex.addPage(offset, minTimestamp, maxTimestamp);
+    }
+    return pageIndex;
+  }
+}
@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.file.metadata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+/**
+ * ChunkRollup pre-aggregates the points of a chunk by time buckets of a fixed interval. A bucket
+ * covers [k * interval, (k + 1) * interval) for some k, i.e. the buckets are aligned to the epoch,
+ * and only the non-empty buckets are kept, each with its point count, its actual time range and
+ * the statistics of its values. A query aggregating by windows made of whole buckets can then read
+ * the buckets instead of decoding the chunk.
+ * <p>
+ * The rollups of a chunk, one per interval, are stored in the {@link TsDigest} of the {@link
+ * ChunkMetaData} under the key {@link org.apache.iotdb.tsfile.common.constant.StatisticConstant#ROLLUP},
+ * so files without them remain readable and readers unaware of them ignore them.
+ */
+public class ChunkRollup {
+
+  private long interval;
+  private TSDataType dataType;
+
+  private int size;
+  private long[] minTimestamps;
+  private long[] maxTimestamps;
+  private int[] counts;
+  private Statistics<?>[] statistics;
+
+  /**
+   * the bucket of the last point added
+   */
+  private long currentBucket;
+
+  public ChunkRollup(long interval, TSDataType dataType) {
+    this(interval, dataType, 16);
+  }
+
+  private ChunkRollup(long interval, TSDataType dataType, int capacity) {
+    this.interval = interval;
+    this.dataType = dataType;
+    minTimestamps = new long[capacity];
+    maxTimestamps = new long[capacity];
+    counts = new int[capacity];
+    statistics = new Statistics<?>[capacity];
+  }
+
+  public long getInterval() {
+    return interval;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long getMinTimestamp(int bucketIdx) {
+    return minTimestamps[bucketIdx];
+  }
+
+  public long getMaxTimestamp(int bucketIdx) {
+    return maxTimestamps[bucketIdx];
+  }
+
+  public int getCount(int bucketIdx) {
+    return counts[bucketIdx];
+  }
+
+  public Statistics<?> getStatistics(int bucketIdx) {
+    return statistics[bucketIdx];
+  }
+
+  public void update(long time, boolean value) {
+    nextPoint(time).updateStats(value);
+  }
+
+  public void update(long time, int value) {
+    nextPoint(time).updateStats(value);
+  }
+
+  public void update(long time, long value) {
+    nextPoint(time).updateStats(value);
+  }
+
+  public void update(long time, float value) {
+    nextPoint(time).updateStats(value);
+  }
+
+  public void update(long time, double value) {
+    nextPoint(time).updateStats(value);
+  }
+
+  public void update(long time, Binary value) {
+    nextPoint(time).updateStats(value);
+  }
+
+  /**
+   * account a point in its bucket, points must be added in ascending time order.
+   *
+   * @return the statistics of the bucket, to be updated with the value of the point
+   */
+  private Statistics<?> nextPoint(long time) {
+    long bucket = Math.floorDiv(time, interval);
+    if (size == 0 || bucket != currentBucket) {
+      addBucket(time, time, 0, Statistics.getStatsByType(dataType));
+      currentBucket = bucket;
+    }
+    int last = size - 1;
+    maxTimestamps[last] = time;
+    counts[last]++;
+    return statistics[last];
+  }
+
+  private void addBucket(long minTimestamp, long maxTimestamp, int count,
+      Statistics<?> bucketStatistics) {
+    if (size == counts.length) {
+      int newCapacity = size * 2;
+      long[] newMinTimestamps = new long[newCapacity];
+      long[] newMaxTimestamps = new long[newCapacity];
+      int[] newCounts = new int[newCapacity];
+      Statistics<?>[] newStatistics = new Statistics<?>[newCapacity];
+      System.arraycopy(minTimestamps, 0, newMinTimestamps, 0, size);
+      System.arraycopy(maxTimestamps, 0, newMaxTimestamps, 0, size);
+      System.arraycopy(counts, 0, newCounts, 0, size);
+      System.arraycopy(statistics, 0, newStatistics, 0, size);
+      minTimestamps = newMinTimestamps;
+      maxTimestamps = newMaxTimestamps;
+      counts = newCounts;
+      statistics = newStatistics;
+    }
+    minTimestamps[size] = minTimestamp;
+    maxTimestamps[size] = maxTimestamp;
+    counts[size] = count;
+    statistics[size] = bucketStatistics;
+    size++;
+  }
+
+  /**
+   * binary search the first bucket whose max timestamp is not less than the given time.
+   *
+   * @return the index of the bucket, or size() if there is no such bucket
+   */
+  public int firstBucketEndingAtOrAfter(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (maxTimestamps[mid] < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * serialize the rollups of a chunk, each of a different interval, as one value of the digest.
+   */
+  public static ByteBuffer serialize(List<ChunkRollup> rollups) throws IOException {
+    PublicBAOS out = new PublicBAOS();
+    ReadWriteIOUtils.write(rollups.size(), out);
+    for (ChunkRollup rollup : rollups) {
+      ReadWriteIOUtils.write(rollup.interval, out);
+      ReadWriteIOUtils.write(rollup.size, out);
+      for (int i = 0; i < rollup.size; i++) {
+        ReadWriteIOUtils.write(rollup.minTimestamps[i], out);
+        ReadWriteIOUtils.write(rollup.maxTimestamps[i], out);
+        ReadWriteIOUtils.write(rollup.counts[i], out);
+        rollup.statistics[i].serialize(out);
+      }
+    }
+    // the digest writes the whole backing array of a value
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  public static List<ChunkRollup> deserializeFrom(ByteBuffer buffer, TSDataType dataType)
+      throws IOException {
+    int rollupNum = ReadWriteIOUtils.readInt(buffer);
+    List<ChunkRollup> rollups = new ArrayList<>(rollupNum);
+    for (int i = 0; i < rollupNum; i++) {
+      long interval = ReadWriteIOUtils.readLong(buffer);
+      int size = ReadWriteIOUtils.readInt(buffer);
+      ChunkRollup rollup = new ChunkRollup(interval, dataType, Math.max(size, 1));
+      for (int j = 0; j < size; j++) {
+        long minTimestamp = ReadWriteIOUtils.readLong(buffer);
+        long maxTimestamp = ReadWriteIOUtils.readLong(buffer);
+        int count = ReadWriteIOUtils.readInt(buffer);
+        rollup.addBucket(minTimestamp, maxTimestamp, count,
+            Statistics.deserialize(buffer, dataType));
+      }
+      rollups.add(rollup);
+    }
+    return rollups;
+  }
+}
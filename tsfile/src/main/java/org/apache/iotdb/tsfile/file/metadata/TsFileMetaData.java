@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
@@ -52,6 +53,12 @@ public class TsFileMetaData {
    */
   private String createdBy;
 
+  /**
+   * Bloom filter over the full paths of all series in this file. It is null for files written
+   * before the filter was introduced, in which case every series must be looked up.
+   */
+  private BloomFilter bloomFilter;
+
   public TsFileMetaData() {
     //do nothing
   }
@@ -109,6 +116,11 @@ public class TsFileMetaData {
       fileMetaData.createdBy = ReadWriteIOUtils.readString(inputStream);
     }
 
+    // older files end here, readIsNull() returns false at the end of the stream
+    if (ReadWriteIOUtils.readIsNull(inputStream)) {
+      fileMetaData.bloomFilter = BloomFilter.deserializeFrom(inputStream);
+    }
+
     return fileMetaData;
   }
 
@@ -152,6 +164,11 @@ public class TsFileMetaData {
       fileMetaData.createdBy = ReadWriteIOUtils.readString(buffer);
     }
 
+    // older files end here
+    if (buffer.hasRemaining() && ReadWriteIOUtils.readIsNull(buffer)) {
+      fileMetaData.bloomFilter = BloomFilter.deserializeFrom(buffer);
+    }
+
     return fileMetaData;
   }
 
@@ -168,7 +185,8 @@ public class TsFileMetaData {
   public String toString() {
     return "TsFileMetaData{" + "deviceIndexMap=" + deviceIndexMap + ", measurementSchema="
         + measurementSchema
-        + ", CURRENT_VERSION=" + currentVersion + ", createdBy='" + createdBy + '\'' + '}';
+        + ", CURRENT_VERSION=" + currentVersion + ", createdBy='" + createdBy + '\''
+        + ", bloomFilter=" + bloomFilter + '}';
   }
 
   public int getCurrentVersion() {
@@ -187,6 +205,28 @@ public class TsFileMetaData {
     this.createdBy = createdBy;
   }
 
+  public BloomFilter getBloomFilter() {
+    return bloomFilter;
+  }
+
+  public void setBloomFilter(BloomFilter bloomFilter) {
+    this.bloomFilter = bloomFilter;
+  }
+
+  /**
+   * check whether the series may exist in this file without reading any device metadata.
+   *
+   * @param device the device of the series
+   * @param fullPath the full path of the series
+   * @return false if the series is definitely not in this file
+   */
+  public boolean mayContainSeries(String device, String fullPath) {
+    if (!containsDevice(device)) {
+      return false;
+    }
+    return bloomFilter == null || bloomFilter.contains(fullPath);
+  }
+
   public Map<String, TsDeviceMetadataIndex> getDeviceMap() {
     return deviceIndexMap;
   }
@@ -253,6 +293,11 @@ public class TsFileMetaData {
       byteLen += ReadWriteIOUtils.write(createdBy, outputStream);
     }
 
+    byteLen += ReadWriteIOUtils.writeIsNull(bloomFilter, outputStream);
+    if (bloomFilter != null) {
+      byteLen += bloomFilter.serializeTo(outputStream);
+    }
+
     return byteLen;
   }
 
@@ -284,6 +329,11 @@ public class TsFileMetaData {
       byteLen += ReadWriteIOUtils.write(createdBy, buffer);
     }
 
+    byteLen += ReadWriteIOUtils.writeIsNull(bloomFilter, buffer);
+    if (bloomFilter != null) {
+      byteLen += bloomFilter.serializeTo(buffer);
+    }
+
     return byteLen;
   }
 
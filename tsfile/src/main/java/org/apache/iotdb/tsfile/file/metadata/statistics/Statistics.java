@@ -23,7 +23,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.exception.write.UnknownColumnTypeException;
+import org.apache.iotdb.tsfile.file.metadata.TsDigest;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.reader.TsFileInput;
 import org.apache.iotdb.tsfile.utils.Binary;
@@ -97,6 +99,46 @@ public abstract class Statistics<T> {
     return statistics;
   }
 
+  /**
+   * rebuild the statistics of a chunk from its digest, which keeps each value of the statistics
+   * under the names in {@link StatisticConstant}.
+   *
+   * @return null if the digest is empty or any of the values is missing in it
+   */
+  public static Statistics deserialize(TsDigest digest, TSDataType dataType) throws IOException {
+    // a digest deserialized from an empty map keeps no map at all
+    if (digest == null || digest.getStatistics() == null) {
+      return null;
+    }
+    ByteBuffer[] values = new ByteBuffer[]{
+        digest.getStatistics().get(StatisticConstant.MIN_VALUE),
+        digest.getStatistics().get(StatisticConstant.MAX_VALUE),
+        digest.getStatistics().get(StatisticConstant.FIRST),
+        digest.getStatistics().get(StatisticConstant.LAST),
+        digest.getStatistics().get(StatisticConstant.SUM)};
+    int size = 0;
+    for (ByteBuffer value : values) {
+      if (value == null) {
+        return null;
+      }
+      size += Integer.BYTES + value.remaining();
+    }
+
+    // the same layout as serialize(), only the values of variable size are prefixed with lengths
+    Statistics statistics = getStatsByType(dataType);
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (int i = 0; i < values.length; i++) {
+      if (statistics.sizeOfDatum() == -1 && i < values.length - 1) {
+        buffer.putInt(values[i].remaining());
+      }
+      buffer.put(values[i].duplicate());
+    }
+    buffer.flip();
+    statistics.fill(buffer);
+    statistics.isEmpty = false;
+    return statistics;
+  }
+
   public abstract void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes);
 
   public abstract T getMin();
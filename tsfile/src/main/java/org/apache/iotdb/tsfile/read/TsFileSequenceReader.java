@@ -336,7 +336,9 @@ public class TsFileSequenceReader implements AutoCloseable {
     ChunkHeader header = readChunkHeader(metaData.getOffsetOfChunkHeader(), false);
     ByteBuffer buffer = readChunk(metaData.getOffsetOfChunkHeader() + header.getSerializedSize(),
         header.getDataSize());
-    return new Chunk(header, buffer);
+    Chunk chunk = new Chunk(header, buffer);
+    chunk.setPageIndex(metaData.getPageIndex());
+    return chunk;
   }
 
   /**
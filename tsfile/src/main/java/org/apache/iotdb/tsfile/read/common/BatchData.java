@@ -362,6 +362,125 @@ public class BatchData implements Serializable {
     valueLength++;
   }
 
+  /**
+   * put timestamps in bulk, the part that fits into the current array is copied at once and the
+   * single put is only used to grow the arrays.
+   *
+   * @param values timestamps
+   * @param offset the start offset in values
+   * @param length the number of values to put
+   */
+  public void putTimes(long[] values, int offset, int length) {
+    while (length > 0) {
+      if (curTimeIdx == timeCapacity) {
+        putTime(values[offset++]);
+        length--;
+        continue;
+      }
+      int len = Math.min(length, timeCapacity - curTimeIdx);
+      System.arraycopy(values, offset, timeRet.get(timeArrayIdx), curTimeIdx, len);
+      curTimeIdx += len;
+      timeLength += len;
+      offset += len;
+      length -= len;
+    }
+  }
+
+  /**
+   * put boolean data in bulk, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putBooleans(boolean[] values, int offset, int length) {
+    while (length > 0) {
+      if (curValueIdx == valueCapacity) {
+        putBoolean(values[offset++]);
+        length--;
+        continue;
+      }
+      int len = Math.min(length, valueCapacity - curValueIdx);
+      System.arraycopy(values, offset, booleanRet.get(valueArrayIdx), curValueIdx, len);
+      curValueIdx += len;
+      valueLength += len;
+      offset += len;
+      length -= len;
+    }
+  }
+
+  /**
+   * put int data in bulk, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putInts(int[] values, int offset, int length) {
+    while (length > 0) {
+      if (curValueIdx == valueCapacity) {
+        putInt(values[offset++]);
+        length--;
+        continue;
+      }
+      int len = Math.min(length, valueCapacity - curValueIdx);
+      System.arraycopy(values, offset, intRet.get(valueArrayIdx), curValueIdx, len);
+      curValueIdx += len;
+      valueLength += len;
+      offset += len;
+      length -= len;
+    }
+  }
+
+  /**
+   * put long data in bulk, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putLongs(long[] values, int offset, int length) {
+    while (length > 0) {
+      if (curValueIdx == valueCapacity) {
+        putLong(values[offset++]);
+        length--;
+        continue;
+      }
+      int len = Math.min(length, valueCapacity - curValueIdx);
+      System.arraycopy(values, offset, longRet.get(valueArrayIdx), curValueIdx, len);
+      curValueIdx += len;
+      valueLength += len;
+      offset += len;
+      length -= len;
+    }
+  }
+
+  /**
+   * put float data in bulk, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putFloats(float[] values, int offset, int length) {
+    while (length > 0) {
+      if (curValueIdx == valueCapacity) {
+        putFloat(values[offset++]);
+        length--;
+        continue;
+      }
+      int len = Math.min(length, valueCapacity - curValueIdx);
+      System.arraycopy(values, offset, floatRet.get(valueArrayIdx), curValueIdx, len);
+      curValueIdx += len;
+      valueLength += len;
+      offset += len;
+      length -= len;
+    }
+  }
+
+  /**
+   * put double data in bulk, see {@link #putTimes(long[], int, int)}.
+   */
+  public void putDoubles(double[] values, int offset, int length) {
+    while (length > 0) {
+      if (curValueIdx == valueCapacity) {
+        putDouble(values[offset++]);
+        length--;
+        continue;
+      }
+      int len = Math.min(length, valueCapacity - curValueIdx);
+      System.arraycopy(values, offset, doubleRet.get(valueArrayIdx), curValueIdx, len);
+      curValueIdx += len;
+      valueLength += len;
+      offset += len;
+      length -= len;
+    }
+  }
+
   /**
    * Checks if the given index is in range. If not, throws an appropriate runtime exception.
    */
@@ -477,6 +596,42 @@ public class BatchData implements Serializable {
     return res;
   }
 
+  /**
+   * create a BatchData holding the points of this one from the last to the first, the cursor of
+   * this one is not moved.
+   *
+   * @return the reversed BatchData
+   */
+  public BatchData reverse() {
+    BatchData ret = new BatchData(dataType, true);
+    for (int i = timeLength - 1; i >= 0; i--) {
+      ret.putTime(getTimeByIndex(i));
+      switch (dataType) {
+        case BOOLEAN:
+          ret.putBoolean(getBooleanByIndex(i));
+          break;
+        case INT32:
+          ret.putInt(getIntByIndex(i));
+          break;
+        case INT64:
+          ret.putLong(getLongByIndex(i));
+          break;
+        case FLOAT:
+          ret.putFloat(getFloatByIndex(i));
+          break;
+        case DOUBLE:
+          ret.putDouble(getDoubleByIndex(i));
+          break;
+        case TEXT:
+          ret.putBinary(getBinaryByIndex(i));
+          break;
+        default:
+          throw new UnSupportedDataTypeException(String.valueOf(dataType));
+      }
+    }
+    return ret;
+  }
+
   /**
    * put an object.
    *
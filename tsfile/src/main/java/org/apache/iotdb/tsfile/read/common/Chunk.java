@@ -20,6 +20,7 @@ package org.apache.iotdb.tsfile.read.common;
 
 import java.nio.ByteBuffer;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkPageIndex;
 
 /**
  * used in query.
@@ -29,6 +30,7 @@ public class Chunk {
   private ChunkHeader chunkHeader;
   private ByteBuffer chunkData;
   private long deletedAt = -1;
+  private ChunkPageIndex pageIndex;
 
   public Chunk(ChunkHeader header, ByteBuffer buffer) {
     this.chunkHeader = header;
@@ -50,4 +52,15 @@ public class Chunk {
   public void setDeletedAt(long deletedAt) {
     this.deletedAt = deletedAt;
   }
+
+  /**
+   * @return the page index of this chunk, null if it was written without one
+   */
+  public ChunkPageIndex getPageIndex() {
+    return pageIndex;
+  }
+
+  public void setPageIndex(ChunkPageIndex pageIndex) {
+    this.pageIndex = pageIndex;
+  }
 }
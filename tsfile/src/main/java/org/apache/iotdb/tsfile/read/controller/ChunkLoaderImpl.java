@@ -61,6 +61,7 @@ public class ChunkLoaderImpl implements ChunkLoader {
     Chunk chunk = chunkCache.get(chunkMetaData);
     Chunk chunkRet = new Chunk(chunk.getHeader(), chunk.getData().duplicate());
     chunkRet.setDeletedAt(chunkMetaData.getDeletedAt());
+    chunkRet.setPageIndex(chunk.getPageIndex());
     return chunkRet;
   }
 
@@ -114,6 +114,9 @@ public class MetadataQuerierByFileImpl implements MetadataQuerier {
       String selectedDevice = deviceMeasurements.getKey();
       // s1, s2, s3
       Set<String> selectedMeasurements = deviceMeasurements.getValue();
+      if (!mayContainAnySeries(selectedDevice, selectedMeasurements)) {
+        continue;
+      }
 
       // get the index information of TsDeviceMetadata
       TsDeviceMetadataIndex index = fileMetaData.getDeviceMetadataIndex(selectedDevice);
@@ -162,6 +165,15 @@ public class MetadataQuerierByFileImpl implements MetadataQuerier {
 
   }
 
+  private boolean mayContainAnySeries(String device, Set<String> measurements) {
+    for (String measurement : measurements) {
+      if (fileMetaData.mayContainSeries(device, new Path(device, measurement).getFullPath())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public TSDataType getDataType(String measurement) throws NoMeasurementException {
     MeasurementSchema measurementSchema = fileMetaData.getMeasurementSchema().get(measurement);
@@ -173,7 +185,8 @@ public class MetadataQuerierByFileImpl implements MetadataQuerier {
 
   private List<ChunkMetaData> loadChunkMetadata(Path path) throws IOException {
 
-    if (!fileMetaData.containsDevice(path.getDevice())) {
+    // the bloom filter tells most absent series without reading the device metadata
+    if (!fileMetaData.mayContainSeries(path.getDevice(), path.getFullPath())) {
       return new ArrayList<>();
     }
 
@@ -18,7 +18,9 @@
  */
 package org.apache.iotdb.tsfile.read.filter.factory;
 
+import org.apache.iotdb.tsfile.read.filter.basic.BinaryFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.basic.UnaryFilter;
 import org.apache.iotdb.tsfile.read.filter.operator.AndFilter;
 import org.apache.iotdb.tsfile.read.filter.operator.NotFilter;
 import org.apache.iotdb.tsfile.read.filter.operator.OrFilter;
@@ -37,4 +39,34 @@ public class FilterFactory {
     return new NotFilter(filter);
   }
 
+  /**
+   * Without a NotFilter, satisfyStartEndTime() never turns from true to false when the time range
+   * grows, and satisfyStartEndTime(t, t) is false only if no value at time t satisfies the filter.
+   */
+  public static boolean containsNotFilter(Filter filter) {
+    if (filter instanceof NotFilter) {
+      return true;
+    }
+    if (filter instanceof BinaryFilter) {
+      return containsNotFilter(((BinaryFilter) filter).getLeft())
+          || containsNotFilter(((BinaryFilter) filter).getRight());
+    }
+    return false;
+  }
+
+  /**
+   * @return true if the filter only checks timestamps
+   */
+  public static boolean isTimeFilter(Filter filter) {
+    if (filter instanceof NotFilter) {
+      return isTimeFilter(((NotFilter) filter).getFilter());
+    }
+    if (filter instanceof BinaryFilter) {
+      return isTimeFilter(((BinaryFilter) filter).getLeft())
+          && isTimeFilter(((BinaryFilter) filter).getRight());
+    }
+    return filter instanceof UnaryFilter
+        && ((UnaryFilter) filter).getFilterType() == FilterType.TIME_FILTER;
+  }
+
 }
@@ -28,6 +28,9 @@ public class AndNode implements Node {
   private long cachedValue;
   private boolean hasCachedValue;
 
+  private TimeBlock leftBlock;
+  private TimeBlock rightBlock;
+
   /**
    * Constructor of AndNode.
    *
@@ -54,12 +57,14 @@ public class AndNode implements Node {
           this.cachedValue = leftValue;
           return true;
         } else if (leftValue > rightValue) {
+          rightChild.skipTo(leftValue);
           if (rightChild.hasNext()) {
             rightValue = rightChild.next();
           } else {
             return false;
           }
         } else { // leftValue < rightValue
+          leftChild.skipTo(rightValue);
           if (leftChild.hasNext()) {
             leftValue = leftChild.next();
           } else {
@@ -83,6 +88,83 @@ public class AndNode implements Node {
     return -1;
   }
 
+  /**
+   * intersect the blocks of timestamps of the children, which are buffered in arrays of the same
+   * size as the given array. When the block of a child is used up, the child is sought to the next
+   * timestamp of the other one before its next block is read.
+   */
+  @Override
+  public int nextTimes(long[] timestamps) throws IOException {
+    int length = 0;
+    if (hasCachedValue && timestamps.length > 0) {
+      timestamps[length++] = cachedValue;
+      hasCachedValue = false;
+    }
+    if (leftBlock == null) {
+      leftBlock = new TimeBlock(leftChild, timestamps.length);
+      rightBlock = new TimeBlock(rightChild, timestamps.length);
+    }
+    while (length < timestamps.length) {
+      if (leftBlock.isUsedUp() && !rightBlock.isUsedUp()) {
+        leftBlock.skipTo(rightBlock.current());
+      } else if (rightBlock.isUsedUp() && !leftBlock.isUsedUp()) {
+        rightBlock.skipTo(leftBlock.current());
+      }
+      if (!leftBlock.hasNext() || !rightBlock.hasNext()) {
+        break;
+      }
+      length = intersect(timestamps, length);
+    }
+    return length;
+  }
+
+  @Override
+  public void skipTo(long time) throws IOException {
+    if (hasCachedValue) {
+      if (cachedValue >= time) {
+        return;
+      }
+      hasCachedValue = false;
+    }
+    if (leftBlock != null) {
+      leftBlock.skipTo(time);
+      rightBlock.skipTo(time);
+    } else {
+      leftChild.skipTo(time);
+      rightChild.skipTo(time);
+    }
+  }
+
+  /**
+   * put the timestamps in both blocks into the given array from the offset, until either block is
+   * used up or the array is full.
+   *
+   * @return the offset after the put timestamps
+   */
+  private int intersect(long[] timestamps, int offset) {
+    long[] leftTimes = leftBlock.times;
+    long[] rightTimes = rightBlock.times;
+    int leftIndex = leftBlock.index;
+    int rightIndex = rightBlock.index;
+    while (leftIndex < leftBlock.length && rightIndex < rightBlock.length
+        && offset < timestamps.length) {
+      long leftTime = leftTimes[leftIndex];
+      long rightTime = rightTimes[rightIndex];
+      if (leftTime == rightTime) {
+        timestamps[offset++] = leftTime;
+        leftIndex++;
+        rightIndex++;
+      } else if (leftTime < rightTime) {
+        leftIndex++;
+      } else {
+        rightIndex++;
+      }
+    }
+    leftBlock.index = leftIndex;
+    rightBlock.index = rightIndex;
+    return offset;
+  }
+
   @Override
   public NodeType getType() {
     return NodeType.AND;
@@ -60,6 +60,17 @@ public class LeafNode implements Node {
     return time;
   }
 
+  @Override
+  public void skipTo(long time) {
+    if (gotData) {
+      data.next();
+      gotData = false;
+    }
+    while (data != null && data.hasNext() && data.currentTime() < time) {
+      data.next();
+    }
+  }
+
   /**
    * Check whether the current time equals the given time.
    *
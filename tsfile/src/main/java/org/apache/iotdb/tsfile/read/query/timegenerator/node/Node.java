@@ -26,5 +26,29 @@ public interface Node {
 
   long next() throws IOException;
 
+  /**
+   * fill the given array with the next timestamps in ascending order. Once a node is read by this
+   * method, it must not be read by {@code next()} any more, because the nodes may buffer the
+   * timestamps of their children in blocks.
+   *
+   * @return the number of the timestamps filled, 0 if there is no more timestamp
+   */
+  default int nextTimes(long[] timestamps) throws IOException {
+    int length = 0;
+    while (length < timestamps.length && hasNext()) {
+      timestamps[length++] = next();
+    }
+    return length;
+  }
+
+  /**
+   * skip the timestamps before the given time, so that the following timestamps are not before it,
+   * which lets the readers of the leaves skip their data by the statistics. It may skip only part
+   * of them, the callers must still compare the following timestamps with the time.
+   */
+  default void skipTo(long time) throws IOException {
+    // the timestamps are skipped by the callers
+  }
+
   NodeType getType();
 }
@@ -30,6 +30,9 @@ public class OrNode implements Node {
   private boolean hasCachedRightValue;
   private long cachedRightValue;
 
+  private TimeBlock leftBlock;
+  private TimeBlock rightBlock;
+
   public OrNode(Node leftChild, Node rightChild) {
     this.leftChild = leftChild;
     this.rightChild = rightChild;
@@ -93,6 +96,88 @@ public class OrNode implements Node {
     return -1;
   }
 
+  /**
+   * union the blocks of timestamps of the children, which are buffered in arrays of the same size
+   * as the given array.
+   */
+  @Override
+  public int nextTimes(long[] timestamps) throws IOException {
+    int length = 0;
+    while (length < timestamps.length && (hasCachedLeftValue || hasCachedRightValue)) {
+      timestamps[length++] = next();
+    }
+    if (leftBlock == null) {
+      leftBlock = new TimeBlock(leftChild, timestamps.length);
+      rightBlock = new TimeBlock(rightChild, timestamps.length);
+    }
+    while (length < timestamps.length) {
+      boolean hasLeft = leftBlock.hasNext();
+      boolean hasRight = rightBlock.hasNext();
+      if (hasLeft && hasRight) {
+        length = union(timestamps, length);
+      } else if (hasLeft) {
+        length = leftBlock.copyTo(timestamps, length);
+      } else if (hasRight) {
+        length = rightBlock.copyTo(timestamps, length);
+      } else {
+        break;
+      }
+    }
+    return length;
+  }
+
+  @Override
+  public void skipTo(long time) throws IOException {
+    if (hasCachedLeftValue && cachedLeftValue < time) {
+      hasCachedLeftValue = false;
+    }
+    if (hasCachedRightValue && cachedRightValue < time) {
+      hasCachedRightValue = false;
+    }
+    if (leftBlock != null) {
+      leftBlock.skipTo(time);
+      rightBlock.skipTo(time);
+    } else {
+      if (!hasCachedLeftValue) {
+        leftChild.skipTo(time);
+      }
+      if (!hasCachedRightValue) {
+        rightChild.skipTo(time);
+      }
+    }
+  }
+
+  /**
+   * put the timestamps in either block into the given array from the offset, until either block is
+   * used up or the array is full.
+   *
+   * @return the offset after the put timestamps
+   */
+  private int union(long[] timestamps, int offset) {
+    long[] leftTimes = leftBlock.times;
+    long[] rightTimes = rightBlock.times;
+    int leftIndex = leftBlock.index;
+    int rightIndex = rightBlock.index;
+    while (leftIndex < leftBlock.length && rightIndex < rightBlock.length
+        && offset < timestamps.length) {
+      long leftTime = leftTimes[leftIndex];
+      long rightTime = rightTimes[rightIndex];
+      if (leftTime <= rightTime) {
+        timestamps[offset++] = leftTime;
+        leftIndex++;
+        if (leftTime == rightTime) {
+          rightIndex++;
+        }
+      } else {
+        timestamps[offset++] = rightTime;
+        rightIndex++;
+      }
+    }
+    leftBlock.index = leftIndex;
+    rightBlock.index = rightIndex;
+    return offset;
+  }
+
   @Override
   public NodeType getType() {
     return NodeType.OR;
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.query.timegenerator.node;
+
+import java.io.IOException;
+
+/**
+ * A block of the timestamps generated by a child node, so that {@link AndNode} and {@link OrNode}
+ * merge the timestamps of their children array by array.
+ */
+class TimeBlock {
+
+  private Node node;
+
+  long[] times;
+  int index;
+  int length;
+
+  TimeBlock(Node node, int size) {
+    this.node = node;
+    this.times = new long[size];
+  }
+
+  /**
+   * read the next block of the node if the current one is used up, false if the node has no more
+   * timestamp.
+   */
+  boolean hasNext() throws IOException {
+    if (index < length) {
+      return true;
+    }
+    index = 0;
+    length = node.nextTimes(times);
+    return length > 0;
+  }
+
+  boolean isUsedUp() {
+    return index >= length;
+  }
+
+  long current() {
+    return times[index];
+  }
+
+  /**
+   * skip the timestamps in the block before the given time, and seek the node to the time if the
+   * block is used up.
+   */
+  void skipTo(long time) throws IOException {
+    while (index < length && times[index] < time) {
+      index++;
+    }
+    if (index >= length) {
+      node.skipTo(time);
+    }
+  }
+
+  /**
+   * copy the timestamps left in the block to the given array from the offset until either is used
+   * up.
+   *
+   * @return the offset after the copied timestamps
+   */
+  int copyTo(long[] timestamps, int offset) {
+    int num = Math.min(length - index, timestamps.length - offset);
+    System.arraycopy(times, index, timestamps, offset, num);
+    index += num;
+    return offset + num;
+  }
+}
@@ -21,12 +21,15 @@ package org.apache.iotdb.tsfile.read.reader.chunk;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.compress.IUnCompressor;
 import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkPageIndex;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.BatchData;
@@ -39,6 +42,12 @@ public abstract class ChunkReader {
   ChunkHeader chunkHeader;
   private ByteBuffer chunkDataBuffer;
 
+  /**
+   * page offsets and time ranges of this chunk, null if the chunk has no page index.
+   */
+  private ChunkPageIndex pageIndex;
+  private int chunkDataStart;
+
   private IUnCompressor unCompressor;
   private Decoder valueDecoder;
   private Decoder timeDecoder = Decoder.getDecoderByType(
@@ -52,6 +61,33 @@ public abstract class ChunkReader {
   private PageHeader pageHeader;
   private boolean hasCachedPageHeader;
 
+  /**
+   * whether the pages are read from the last to the first, and the points of each page in
+   * descending time order.
+   */
+  private boolean descending;
+
+  /**
+   * positions of the headers of the pages not read yet in descending mode, collected by
+   * {@link #collectPagePositions()}, the last one is read first.
+   */
+  private List<Integer> pagePositions;
+
+  /**
+   * bytes of page data jumped over without being uncompressed, either because the page statistics
+   * do not satisfy the filter or because the page index proves them unsatisfied.
+   */
+  private long skippedBytes;
+
+  /**
+   * pages uncompressed and decoded, pages skipped after checking their headers, and the bytes
+   * uncompressed and the points decoded from the pages read.
+   */
+  private long readPageNum;
+  private long skippedPageNum;
+  private long uncompressedBytes;
+  private long decodedPointNum;
+
   /**
    * Data whose timestamp <= deletedAt should be considered deleted(not be returned).
    */
@@ -70,6 +106,8 @@ public abstract class ChunkReader {
   public ChunkReader(Chunk chunk, Filter filter) {
     this.filter = filter;
     this.chunkDataBuffer = chunk.getData();
+    this.chunkDataStart = chunkDataBuffer.position();
+    this.pageIndex = chunk.getPageIndex();
     this.deletedAt = chunk.getDeletedAt();
     chunkHeader = chunk.getHeader();
     this.unCompressor = IUnCompressor.getUnCompressor(chunkHeader.getCompressionType());
@@ -79,6 +117,14 @@ public abstract class ChunkReader {
     hasCachedPageHeader = false;
   }
 
+  /**
+   * read the pages from the last to the first and the points of each page in descending time
+   * order. It must be set before the first call of {@link #hasNextBatch()}.
+   */
+  public void setDescending(boolean descending) {
+    this.descending = descending;
+  }
+
   /**
    * judge if has nextBatch.
    */
@@ -86,8 +132,14 @@ public abstract class ChunkReader {
     if (hasCachedPageHeader) {
       return true;
     }
+    if (descending) {
+      return hasPreviousPage();
+    }
     // construct next satisfied page header
     while (chunkDataBuffer.remaining() > 0) {
+      if (pageIndex != null && !seekByPageIndex()) {
+        return false;
+      }
       // deserialize a PageHeader from chunkDataBuffer
       pageHeader = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
 
@@ -96,6 +148,8 @@ public abstract class ChunkReader {
         hasCachedPageHeader = true;
         return true;
       } else {
+        skippedPageNum++;
+        skippedBytes += pageHeader.getCompressedSize();
         skipBytesInStreamByLength(pageHeader.getCompressedSize());
       }
     }
@@ -113,6 +167,9 @@ public abstract class ChunkReader {
     hasCachedPageHeader = false;
     if (pageReader.hasNextBatch()) {
       data = pageReader.nextBatch();
+      if (descending) {
+        data = data.reverse();
+      }
       return data;
     }
     return data;
@@ -127,6 +184,7 @@ public abstract class ChunkReader {
   }
 
   public void skipPageData() {
+    skippedPageNum++;
     skipBytesInStreamByLength(pageHeader.getCompressedSize());
     hasCachedPageHeader = false;
   }
@@ -135,8 +193,103 @@ public abstract class ChunkReader {
     chunkDataBuffer.position(chunkDataBuffer.position() + (int) length);
   }
 
+  /**
+   * find the satisfied page before the ones already read in descending mode.
+   */
+  private boolean hasPreviousPage() throws IOException {
+    if (pagePositions == null) {
+      collectPagePositions();
+    }
+    while (!pagePositions.isEmpty()) {
+      chunkDataBuffer.position(pagePositions.remove(pagePositions.size() - 1));
+      pageHeader = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+      if (pageSatisfied(pageHeader)) {
+        hasCachedPageHeader = true;
+        return true;
+      }
+      skippedPageNum++;
+      skippedBytes += pageHeader.getCompressedSize();
+    }
+    return false;
+  }
+
+  /**
+   * collect the positions of the page headers, from the page index if there is one, otherwise by
+   * jumping from header to header without touching the page data. The pages the page index proves
+   * unsatisfied are left out.
+   */
+  private void collectPagePositions() throws IOException {
+    pagePositions = new ArrayList<>();
+    if (pageIndex != null) {
+      for (int i = firstCandidatePage(pageIndex); i < pageIndex.size(); i++) {
+        pagePositions.add(chunkDataStart + pageIndex.getOffset(i));
+      }
+      return;
+    }
+    while (chunkDataBuffer.remaining() > 0) {
+      pagePositions.add(chunkDataBuffer.position());
+      PageHeader header = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+      skipBytesInStreamByLength(header.getCompressedSize());
+    }
+  }
+
+  /**
+   * jump over the pages that the page index proves unsatisfied without deserializing their
+   * headers.
+   *
+   * @return false if no remaining page can be satisfied
+   */
+  private boolean seekByPageIndex() {
+    int candidate = firstCandidatePage(pageIndex);
+    if (candidate >= pageIndex.size()) {
+      skippedBytes += chunkDataBuffer.remaining();
+      chunkDataBuffer.position(chunkDataBuffer.limit());
+      return false;
+    }
+    int candidatePosition = chunkDataStart + pageIndex.getOffset(candidate);
+    if (candidatePosition > chunkDataBuffer.position()) {
+      skippedBytes += candidatePosition - chunkDataBuffer.position();
+      chunkDataBuffer.position(candidatePosition);
+    }
+    return true;
+  }
+
+  /**
+   * find the first page that may be satisfied by binary searching the page index. All the pages
+   * before it are skipped, while the pages from it on are still checked by
+   * {@link #pageSatisfied(PageHeader)}.
+   *
+   * @param pageIndex page offsets and time ranges of this chunk
+   * @return the index of the page, or pageIndex.size() if no page is satisfied
+   */
+  protected int firstCandidatePage(ChunkPageIndex pageIndex) {
+    // pages whose max timestamp <= deletedAt are deleted
+    return deletedAt == Long.MAX_VALUE ? pageIndex.size()
+        : pageIndex.firstPageEndingAtOrAfter(deletedAt + 1);
+  }
+
   public abstract boolean pageSatisfied(PageHeader pageHeader);
 
+  public long getSkippedBytes() {
+    return skippedBytes;
+  }
+
+  public long getReadPageNum() {
+    return readPageNum;
+  }
+
+  public long getSkippedPageNum() {
+    return skippedPageNum;
+  }
+
+  public long getUncompressedBytes() {
+    return uncompressedBytes;
+  }
+
+  public long getDecodedPointNum() {
+    return decodedPointNum;
+  }
+
   private PageReader constructPageReaderForNextPage(int compressedPageBodyLength)
       throws IOException {
     byte[] compressedPageBody = new byte[compressedPageBodyLength];
@@ -151,7 +304,11 @@ public abstract class ChunkReader {
 
     chunkDataBuffer.get(compressedPageBody, 0, compressedPageBodyLength);
     valueDecoder.reset();
-    PageReader reader = new PageReader(ByteBuffer.wrap(unCompressor.uncompress(compressedPageBody)),
+    byte[] pageBody = unCompressor.uncompress(compressedPageBody);
+    readPageNum++;
+    uncompressedBytes += pageBody.length;
+    decodedPointNum += pageHeader.getNumOfValues();
+    PageReader reader = new PageReader(ByteBuffer.wrap(pageBody),
         chunkHeader.getDataType(),
         valueDecoder, timeDecoder, filter);
     reader.setDeletedAt(deletedAt);
@@ -19,6 +19,7 @@
 package org.apache.iotdb.tsfile.read.reader.chunk;
 
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkPageIndex;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 
 public class ChunkReaderByTimestamp extends ChunkReader {
@@ -36,6 +37,13 @@ public class ChunkReaderByTimestamp extends ChunkReader {
     return maxTimestamp >= currentTimestamp && maxTimestamp > deletedAt;
   }
 
+  @Override
+  protected int firstCandidatePage(ChunkPageIndex pageIndex) {
+    // the first page whose maxTimestamp >= currentTimestamp
+    return Math.max(super.firstCandidatePage(pageIndex),
+        pageIndex.firstPageEndingAtOrAfter(currentTimestamp));
+  }
+
   public void setCurrentTimestamp(long currentTimestamp) {
     this.currentTimestamp = currentTimestamp;
   }
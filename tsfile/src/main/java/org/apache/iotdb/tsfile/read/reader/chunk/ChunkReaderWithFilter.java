@@ -19,17 +19,51 @@
 package org.apache.iotdb.tsfile.read.reader.chunk;
 
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkPageIndex;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 
 public class ChunkReaderWithFilter extends ChunkReader {
 
   private Filter filter;
 
+  /**
+   * whether satisfyStartEndTime() of the filter never turns from true to false when the time
+   * range grows, which is required to binary search the page index.
+   */
+  private boolean monotonicTimeFilter;
+
   public ChunkReaderWithFilter(Chunk chunk, Filter filter) {
     super(chunk, filter);
     this.filter = filter;
+    this.monotonicTimeFilter = !FilterFactory.containsNotFilter(filter);
+  }
+
+  /**
+   * The time ranges [first page start, page i end] grow with i, so the first page making the
+   * filter satisfiable is found by binary search. Every page before it holds no time satisfying
+   * the filter.
+   */
+  @Override
+  protected int firstCandidatePage(ChunkPageIndex pageIndex) {
+    int deletedBound = super.firstCandidatePage(pageIndex);
+    if (!monotonicTimeFilter || pageIndex.size() == 0) {
+      return deletedBound;
+    }
+    long chunkStartTime = pageIndex.getMinTimestamp(0);
+    int low = 0;
+    int high = pageIndex.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (filter.satisfyStartEndTime(chunkStartTime, pageIndex.getMaxTimestamp(mid))) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return Math.max(low, deletedBound);
   }
 
   @Override
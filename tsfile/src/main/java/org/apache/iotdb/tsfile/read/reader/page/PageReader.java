@@ -25,11 +25,17 @@ import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 
 public class PageReader {
 
+  /**
+   * number of points decoded at a time.
+   */
+  private static final int DECODE_BATCH_SIZE = 1024;
+
   private TSDataType dataType;
 
   /** decoder for value column */
@@ -48,13 +54,36 @@ public class PageReader {
 
   private Filter filter = null;
 
+  /**
+   * whether the timestamps can be filtered before the values are decoded, see {@link
+   * FilterFactory#containsNotFilter(Filter)}.
+   */
+  private boolean timeFilterFirst;
+
+  /**
+   * whether the filter only checks timestamps, so it need not be checked again with the values.
+   */
+  private boolean isTimeFilter;
+
   private long deletedAt = -1;
 
+  /**
+   * decoded values of the current batch, only the array of dataType is allocated.
+   */
+  private boolean[] booleans;
+  private int[] ints;
+  private long[] longs;
+  private float[] floats;
+  private double[] doubles;
+
   public PageReader(ByteBuffer pageData, TSDataType dataType, Decoder valueDecoder,
       Decoder timeDecoder,
       Filter filter) {
     this(pageData, dataType, valueDecoder, timeDecoder);
     this.filter = filter;
+    this.timeFilterFirst =
+        dataType != TSDataType.TEXT && !FilterFactory.containsNotFilter(filter);
+    this.isTimeFilter = FilterFactory.isTimeFilter(filter);
   }
 
   public PageReader(ByteBuffer pageData, TSDataType dataType, Decoder valueDecoder,
@@ -91,6 +120,8 @@ public class PageReader {
   public BatchData nextBatch() throws IOException {
     if (filter == null) {
       data = getAllPageData();
+    } else if (timeFilterFirst) {
+      data = getPageDataWithTimeFilterFirst();
     } else {
       data = getAllPageDataWithFilter();
     }
@@ -103,62 +134,193 @@ public class PageReader {
   }
 
   private BatchData getAllPageData() throws IOException {
+    if (dataType == TSDataType.TEXT) {
+      return getAllTextPageData();
+    }
 
+    BatchData pageData = new BatchData(dataType, true);
+    long[] timestamps = new long[DECODE_BATCH_SIZE];
+    int count;
+    while ((count = timeDecoder.decodeLongs(timeBuffer, timestamps, 0, DECODE_BATCH_SIZE)) > 0) {
+      // timestamps in a page are ascending, so the deleted ones are a prefix of the batch
+      int start = 0;
+      while (start < count && timestamps[start] <= deletedAt) {
+        start++;
+      }
+      putValues(pageData, count, start);
+      pageData.putTimes(timestamps, start, count - start);
+    }
+    return pageData;
+  }
+
+  /**
+   * decode count values and put the ones from start on into pageData.
+   */
+  private void putValues(BatchData pageData, int count, int start) throws IOException {
+    checkValueNum(decodeValues(0, count), count);
+    int length = count - start;
+    switch (dataType) {
+      case BOOLEAN:
+        pageData.putBooleans(booleans, start, length);
+        break;
+      case INT32:
+        pageData.putInts(ints, start, length);
+        break;
+      case INT64:
+        pageData.putLongs(longs, start, length);
+        break;
+      case FLOAT:
+        pageData.putFloats(floats, start, length);
+        break;
+      case DOUBLE:
+        pageData.putDoubles(doubles, start, length);
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
+    }
+  }
+
+  /**
+   * decode at most length values into the value array of dataType from offset.
+   *
+   * @return the number of values decoded
+   */
+  private int decodeValues(int offset, int length) throws IOException {
+    switch (dataType) {
+      case BOOLEAN:
+        if (booleans == null) {
+          booleans = new boolean[DECODE_BATCH_SIZE];
+        }
+        return valueDecoder.decodeBooleans(valueBuffer, booleans, offset, length);
+      case INT32:
+        if (ints == null) {
+          ints = new int[DECODE_BATCH_SIZE];
+        }
+        return valueDecoder.decodeInts(valueBuffer, ints, offset, length);
+      case INT64:
+        if (longs == null) {
+          longs = new long[DECODE_BATCH_SIZE];
+        }
+        return valueDecoder.decodeLongs(valueBuffer, longs, offset, length);
+      case FLOAT:
+        if (floats == null) {
+          floats = new float[DECODE_BATCH_SIZE];
+        }
+        return valueDecoder.decodeFloats(valueBuffer, floats, offset, length);
+      case DOUBLE:
+        if (doubles == null) {
+          doubles = new double[DECODE_BATCH_SIZE];
+        }
+        return valueDecoder.decodeDoubles(valueBuffer, doubles, offset, length);
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
+    }
+  }
+
+  private BatchData getAllTextPageData() throws IOException {
     BatchData pageData = new BatchData(dataType, true);
 
     while (timeDecoder.hasNext(timeBuffer)) {
       long timestamp = timeDecoder.readLong(timeBuffer);
+      Binary aBinary = valueDecoder.readBinary(valueBuffer);
+      if (timestamp > deletedAt) {
+        pageData.putTime(timestamp);
+        pageData.putBinary(aBinary);
+      }
+    }
+    return pageData;
+  }
 
-      switch (dataType) {
-        case BOOLEAN:
-          boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putBoolean(aBoolean);
-          }
-          break;
-        case INT32:
-          int anInt = valueDecoder.readInt(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putInt(anInt);
-          }
-          break;
-        case INT64:
-          long aLong = valueDecoder.readLong(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putLong(aLong);
-          }
-          break;
-        case FLOAT:
-          float aFloat = valueDecoder.readFloat(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putFloat(aFloat);
-          }
-          break;
-        case DOUBLE:
-          double aDouble = valueDecoder.readDouble(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putDouble(aDouble);
-          }
-          break;
-        case TEXT:
-          Binary aBinary = valueDecoder.readBinary(valueBuffer);
-          if (timestamp > deletedAt) {
-            pageData.putTime(timestamp);
-            pageData.putBinary(aBinary);
-          }
-          break;
-        default:
-          throw new UnSupportedDataTypeException(String.valueOf(dataType));
+  /**
+   * Timestamps are decoded first and checked against the time part of the filter. Values are then
+   * decoded only at the selected positions, the runs of values in between are skipped by the
+   * decoder, and the whole filter is checked on the decoded points only if it involves values.
+   */
+  private BatchData getPageDataWithTimeFilterFirst() throws IOException {
+    BatchData pageData = new BatchData(dataType, true);
+    long[] timestamps = new long[DECODE_BATCH_SIZE];
+    boolean[] selected = new boolean[DECODE_BATCH_SIZE];
+    int count;
+    while ((count = timeDecoder.decodeLongs(timeBuffer, timestamps, 0, DECODE_BATCH_SIZE)) > 0) {
+      boolean anySelected = false;
+      for (int i = 0; i < count; i++) {
+        long time = timestamps[i];
+        selected[i] = time > deletedAt && filter.satisfyStartEndTime(time, time);
+        anySelected |= selected[i];
+      }
+      if (!anySelected) {
+        checkValueNum(valueDecoder.skip(valueBuffer, dataType, count), count);
+        continue;
+      }
+
+      int runStart = 0;
+      while (runStart < count) {
+        int runEnd = runStart + 1;
+        while (runEnd < count && selected[runEnd] == selected[runStart]) {
+          runEnd++;
+        }
+        int runLength = runEnd - runStart;
+        checkValueNum(selected[runStart] ? decodeValues(runStart, runLength)
+            : valueDecoder.skip(valueBuffer, dataType, runLength), runLength);
+        runStart = runEnd;
+      }
+
+      for (int i = 0; i < count; i++) {
+        if (selected[i] && (isTimeFilter || filter.satisfy(timestamps[i], getValue(i)))) {
+          pageData.putTime(timestamps[i]);
+          putValue(pageData, i);
+        }
       }
     }
     return pageData;
   }
 
+  private void checkValueNum(int valueNum, int expected) throws IOException {
+    if (valueNum != expected) {
+      throw new IOException(
+          "the value column has " + valueNum + " values for " + expected + " timestamps");
+    }
+  }
+
+  private Object getValue(int idx) {
+    switch (dataType) {
+      case BOOLEAN:
+        return booleans[idx];
+      case INT32:
+        return ints[idx];
+      case INT64:
+        return longs[idx];
+      case FLOAT:
+        return floats[idx];
+      case DOUBLE:
+        return doubles[idx];
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
+    }
+  }
+
+  private void putValue(BatchData pageData, int idx) {
+    switch (dataType) {
+      case BOOLEAN:
+        pageData.putBoolean(booleans[idx]);
+        break;
+      case INT32:
+        pageData.putInt(ints[idx]);
+        break;
+      case INT64:
+        pageData.putLong(longs[idx]);
+        break;
+      case FLOAT:
+        pageData.putFloat(floats[idx]);
+        break;
+      case DOUBLE:
+        pageData.putDouble(doubles[idx]);
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
+    }
+  }
+
   private BatchData getAllPageDataWithFilter() throws IOException {
     BatchData pageData = new BatchData(dataType, true);
 
@@ -37,8 +37,39 @@ public abstract class FileSeriesReader {
   protected ChunkReader chunkReader;
   private int chunkToRead;
 
+  /**
+   * the satisfied chunk returned by {@link #nextChunkMetaData()} but not loaded yet
+   */
+  private ChunkMetaData pendingChunkMetaData;
+
+  /**
+   * chunks (and the points in them) whose metadata does not satisfy the condition or which are
+   * skipped by {@link #skipChunkData()}, and bytes skipped inside the chunks that have been read
+   * through, see {@link ChunkReader#getSkippedBytes()}.
+   */
+  private long skippedChunkNum;
+  private long skippedPointNum;
+  private long skippedBytes;
+
+  /**
+   * chunks loaded, and the pages and bytes of the chunks already read through, see {@link
+   * ChunkReader#getReadPageNum()}.
+   */
+  private long readChunkNum;
+  private long readPageNum;
+  private long skippedPageNum;
+  private long uncompressedBytes;
+  private long decodedPointNum;
+
   private BatchData data;
 
+  /**
+   * whether the pages of each chunk are read from the last to the first in descending time order,
+   * see {@link ChunkReader#setDescending(boolean)}. The order of the chunks is the order of
+   * chunkMetaDataList, which should then be reversed by the caller.
+   */
+  private boolean descending;
+
   /**
    * constructor of FileSeriesReader.
    */
@@ -60,22 +91,48 @@ public abstract class FileSeriesReader {
       return true;
     }
 
+    // the chunk peeked by nextChunkMetaData() is read now
+    if (pendingChunkMetaData != null) {
+      ChunkMetaData chunkMetaData = pendingChunkMetaData;
+      pendingChunkMetaData = null;
+      loadChunk(chunkMetaData);
+      if (chunkReader.hasNextBatch()) {
+        return true;
+      }
+    }
+
     // current chunk does not have additional batch, init new chunk reader
     while (chunkToRead < chunkMetaDataList.size()) {
 
       ChunkMetaData chunkMetaData = nextChunkMeta();
       if (chunkSatisfied(chunkMetaData)) {
         // chunk metadata satisfy the condition
-        initChunkReader(chunkMetaData);
+        loadChunk(chunkMetaData);
 
         if (chunkReader.hasNextBatch()) {
           return true;
         }
+      } else {
+        skippedChunkNum++;
+        skippedPointNum += chunkMetaData.getNumOfPoints();
       }
     }
     return false;
   }
 
+  private void loadChunk(ChunkMetaData chunkMetaData) throws IOException {
+    if (chunkReader != null) {
+      skippedBytes += chunkReader.getSkippedBytes();
+      readPageNum += chunkReader.getReadPageNum();
+      skippedPageNum += chunkReader.getSkippedPageNum();
+      uncompressedBytes += chunkReader.getUncompressedBytes();
+      decodedPointNum += chunkReader.getDecodedPointNum();
+    }
+    initChunkReader(chunkMetaData);
+    chunkReader.setDescending(descending);
+    readChunkNum++;
+  }
+
   /**
    * get next batch data.
    */
@@ -96,10 +153,87 @@ public abstract class FileSeriesReader {
     chunkReader.skipPageData();
   }
 
+  /**
+   * If the current chunk has been read through, find the next chunk satisfying the condition and
+   * return its metadata without loading it. The caller may then skip the whole chunk by {@link
+   * #skipChunkData()}, e.g. when its statistics are enough for an aggregation, or read it as usual
+   * by {@link #hasNextBatch()}.
+   *
+   * @return the metadata of the next chunk, or null if the current chunk still has data or there
+   * is no more chunk
+   */
+  public ChunkMetaData nextChunkMetaData() throws IOException {
+    if (pendingChunkMetaData != null) {
+      return pendingChunkMetaData;
+    }
+    if (chunkReader != null && chunkReader.hasNextBatch()) {
+      return null;
+    }
+    while (chunkToRead < chunkMetaDataList.size()) {
+      ChunkMetaData chunkMetaData = nextChunkMeta();
+      if (chunkSatisfied(chunkMetaData)) {
+        pendingChunkMetaData = chunkMetaData;
+        return chunkMetaData;
+      }
+      skippedChunkNum++;
+      skippedPointNum += chunkMetaData.getNumOfPoints();
+    }
+    return null;
+  }
+
+  /**
+   * skip the chunk returned by {@link #nextChunkMetaData()}.
+   */
+  public void skipChunkData() {
+    if (pendingChunkMetaData != null) {
+      skippedChunkNum++;
+      skippedPointNum += pendingChunkMetaData.getNumOfPoints();
+    }
+    pendingChunkMetaData = null;
+  }
+
+  public void setDescending(boolean descending) {
+    this.descending = descending;
+  }
+
   protected abstract void initChunkReader(ChunkMetaData chunkMetaData) throws IOException;
 
   protected abstract boolean chunkSatisfied(ChunkMetaData chunkMetaData);
 
+  public long getSkippedChunkNum() {
+    return skippedChunkNum;
+  }
+
+  public long getSkippedPointNum() {
+    return skippedPointNum;
+  }
+
+  public long getSkippedBytes() {
+    return chunkReader == null ? skippedBytes : skippedBytes + chunkReader.getSkippedBytes();
+  }
+
+  public long getReadChunkNum() {
+    return readChunkNum;
+  }
+
+  public long getReadPageNum() {
+    return chunkReader == null ? readPageNum : readPageNum + chunkReader.getReadPageNum();
+  }
+
+  public long getSkippedPageNum() {
+    return chunkReader == null ? skippedPageNum : skippedPageNum + chunkReader.getSkippedPageNum();
+  }
+
+  public long getUncompressedBytes() {
+    return chunkReader == null ? uncompressedBytes
+        : uncompressedBytes + chunkReader.getUncompressedBytes();
+  }
+
+  public long getDecodedPointNum() {
+    return chunkReader == null ? decodedPointNum
+        : decodedPointNum + chunkReader.getDecodedPointNum();
+  }
+
   public void close() throws IOException {
     chunkLoader.close();
   }
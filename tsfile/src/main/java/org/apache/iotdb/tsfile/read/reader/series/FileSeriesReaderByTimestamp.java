@@ -104,6 +104,37 @@ public class FileSeriesReaderByTimestamp {
     return null;
   }
 
+  /**
+   * get the values with time equals the first length timestamps, which are in ascending order. The
+   * value of a timestamp without point is null. The timestamps are merged with the points of the
+   * current batch data in one pass, the next batch data is loaded by {@code getValueInTimestamp}.
+   */
+  public Object[] getValuesInTimestamps(long[] timestamps, int length) throws IOException {
+    Object[] values = new Object[length];
+    int index = 0;
+    while (index < length) {
+      if (data == null || !data.hasNext()) {
+        values[index] = getValueInTimestamp(timestamps[index]);
+        index++;
+        continue;
+      }
+      while (index < length && data.hasNext()) {
+        long time = data.currentTime();
+        if (time < timestamps[index]) {
+          data.next();
+        } else {
+          if (time == timestamps[index]) {
+            values[index] = data.currentValue();
+            data.next();
+          }
+          this.currentTimestamp = timestamps[index];
+          index++;
+        }
+      }
+    }
+    return values;
+  }
+
   /**
    * Judge if the series reader has next time-value pair.
    *
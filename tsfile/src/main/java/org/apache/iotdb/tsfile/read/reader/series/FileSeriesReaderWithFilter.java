@@ -19,9 +19,12 @@
 package org.apache.iotdb.tsfile.read.reader.series;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
 import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.TsDigest;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.controller.ChunkLoader;
 import org.apache.iotdb.tsfile.read.filter.DigestForFilter;
@@ -50,11 +53,16 @@ public class FileSeriesReaderWithFilter extends FileSeriesReader {
 
   @Override
   protected boolean chunkSatisfied(ChunkMetaData chunkMetaData) {
+    TsDigest tsDigest = chunkMetaData.getDigest();
+    Map<String, ByteBuffer> statistics = tsDigest == null ? null : tsDigest.getStatistics();
+    ByteBuffer minValue = statistics == null ? null : statistics.get(StatisticConstant.MIN_VALUE);
+    ByteBuffer maxValue = statistics == null ? null : statistics.get(StatisticConstant.MAX_VALUE);
+    if (minValue == null || maxValue == null) {
+      // without value statistics only the time range of the chunk can be checked
+      return filter.satisfyStartEndTime(chunkMetaData.getStartTime(), chunkMetaData.getEndTime());
+    }
     DigestForFilter digest = new DigestForFilter(chunkMetaData.getStartTime(),
-        chunkMetaData.getEndTime(),
-        chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MIN_VALUE),
-        chunkMetaData.getDigest().getStatistics().get(StatisticConstant.MAX_VALUE),
-        chunkMetaData.getTsDataType());
+        chunkMetaData.getEndTime(), minValue, maxValue, chunkMetaData.getTsDataType());
     return filter.satisfy(digest);
   }
 
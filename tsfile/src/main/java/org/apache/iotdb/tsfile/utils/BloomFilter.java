@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * BloomFilter over the full paths of the series stored in a TsFile. It is written into the
+ * {@link org.apache.iotdb.tsfile.file.metadata.TsFileMetaData} so that a reader can tell that a
+ * series is absent from a file without deserializing any device metadata.
+ * <p>
+ * The k bit positions of a value are derived from two independent 32-bit hashes
+ * (h1 + i * h2), so only two passes over the string are needed regardless of k.
+ */
+public class BloomFilter {
+
+  private static final int MINIMAL_SIZE = 256;
+  private static final int MAXIMAL_HASH_FUNCTION_SIZE = 8;
+  private static final int MINIMAL_HASH_FUNCTION_SIZE = 1;
+
+  private final int size;
+  private final int hashFunctionSize;
+  private final BitSet bits;
+
+  private BloomFilter(int size, int hashFunctionSize, BitSet bits) {
+    this.size = size;
+    this.hashFunctionSize = hashFunctionSize;
+    this.bits = bits;
+  }
+
+  /**
+   * get an empty bloom filter sized for the expected number of values.
+   *
+   * @param errorPercent the expected false positive rate, in (0, 1)
+   * @param numOfString the expected number of values
+   */
+  public static BloomFilter getEmptyBloomFilter(double errorPercent, int numOfString) {
+    errorPercent = Math.max(errorPercent, 0.0001);
+    errorPercent = Math.min(errorPercent, 0.5);
+    numOfString = Math.max(numOfString, 1);
+
+    double ln2 = Math.log(2);
+    int size = (int) Math.ceil(-numOfString * Math.log(errorPercent) / ln2 / ln2);
+    size = Math.max(size, MINIMAL_SIZE);
+    int hashFunctionSize = (int) Math.round((double) size / numOfString * ln2);
+    hashFunctionSize = Math.max(hashFunctionSize, MINIMAL_HASH_FUNCTION_SIZE);
+    hashFunctionSize = Math.min(hashFunctionSize, MAXIMAL_HASH_FUNCTION_SIZE);
+    return new BloomFilter(size, hashFunctionSize, new BitSet(size));
+  }
+
+  public void add(String value) {
+    int h1 = value.hashCode();
+    int h2 = fnvHash(value);
+    for (int i = 0; i < hashFunctionSize; i++) {
+      bits.set(index(h1, h2, i));
+    }
+  }
+
+  /**
+   * @return false if the value is definitely not in the filter, true if it might be.
+   */
+  public boolean contains(String value) {
+    int h1 = value.hashCode();
+    int h2 = fnvHash(value);
+    for (int i = 0; i < hashFunctionSize; i++) {
+      if (!bits.get(index(h1, h2, i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int index(int h1, int h2, int i) {
+    int combined = h1 + i * h2;
+    return (combined & Integer.MAX_VALUE) % size;
+  }
+
+  /**
+   * 32-bit FNV-1a over the chars of the string, independent from String.hashCode().
+   */
+  private static int fnvHash(String value) {
+    int hash = 0x811c9dc5;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      hash ^= (c & 0xff);
+      hash *= 0x01000193;
+      hash ^= (c >>> 8);
+      hash *= 0x01000193;
+    }
+    return hash;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public int getHashFunctionSize() {
+    return hashFunctionSize;
+  }
+
+  public int serializeTo(OutputStream outputStream) throws IOException {
+    int byteLen = 0;
+    byteLen += ReadWriteIOUtils.write(size, outputStream);
+    byteLen += ReadWriteIOUtils.write(hashFunctionSize, outputStream);
+    byteLen += ReadWriteIOUtils.write(ByteBuffer.wrap(bits.toByteArray()), outputStream);
+    return byteLen;
+  }
+
+  public int serializeTo(ByteBuffer buffer) {
+    int byteLen = 0;
+    byteLen += ReadWriteIOUtils.write(size, buffer);
+    byteLen += ReadWriteIOUtils.write(hashFunctionSize, buffer);
+    byteLen += ReadWriteIOUtils.write(ByteBuffer.wrap(bits.toByteArray()), buffer);
+    return byteLen;
+  }
+
+  public static BloomFilter deserializeFrom(InputStream inputStream) throws IOException {
+    int size = ReadWriteIOUtils.readInt(inputStream);
+    int hashFunctionSize = ReadWriteIOUtils.readInt(inputStream);
+    byte[] bytes = ReadWriteIOUtils.readBytesWithSelfDescriptionLength(inputStream);
+    return new BloomFilter(size, hashFunctionSize, BitSet.valueOf(bytes));
+  }
+
+  public static BloomFilter deserializeFrom(ByteBuffer buffer) {
+    int size = ReadWriteIOUtils.readInt(buffer);
+    int hashFunctionSize = ReadWriteIOUtils.readInt(buffer);
+    ByteBuffer bytes = ReadWriteIOUtils.readByteBufferWithSelfDescriptionLength(buffer);
+    return new BloomFilter(size, hashFunctionSize, BitSet.valueOf(bytes));
+  }
+
+  @Override
+  public String toString() {
+    return "BloomFilter{" + "size=" + size + ", hashFunctionSize=" + hashFunctionSize + '}';
+  }
+}
@@ -22,9 +22,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.compress.ICompressor;
 import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.ChunkPageIndex;
+import org.apache.iotdb.tsfile.file.metadata.ChunkRollup;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
@@ -51,6 +55,16 @@ public class ChunkBuffer {
    */
   private PublicBAOS pageBuffer;
 
+  /**
+   * offsets and time ranges of the pages in pageBuffer.
+   */
+  private ChunkPageIndex pageIndex = new ChunkPageIndex();
+
+  /**
+   * the points of this column aggregated by time buckets, computed by the caller, may be null.
+   */
+  private List<ChunkRollup> rollups;
+
   private long totalValueCount;
   private long maxTimestamp;
   private long minTimestamp = -1;
@@ -67,6 +81,10 @@ public class ChunkBuffer {
     this.pageBuffer = new PublicBAOS();
   }
 
+  public void setRollups(List<ChunkRollup> rollups) {
+    this.rollups = rollups;
+  }
+
   public int getNumOfPages() {
     return numOfPages;
   }
@@ -124,6 +142,7 @@ public class ChunkBuffer {
       PageHeader header = new PageHeader(uncompressedSize, compressedSize, valueCount, statistics,
           maxTimestamp,
           minTimestamp);
+      pageIndex.addPage(pageBuffer.size(), minTimestamp, maxTimestamp);
       headerSize = header.getSerializedSize();
       LOG.debug("start to flush a page header into buffer, buffer position {} ", pageBuffer.size());
       header.serializeTo(pageBuffer);
@@ -195,7 +214,9 @@ public class ChunkBuffer {
     long size = writer.getPos() - totalByteSize;
     assert size == pageBuffer.size();
 
-    writer.endChunk(totalValueCount);
+    int minPageNum = TSFileConfig.pageIndexMinPageNum;
+    writer.endChunk(totalValueCount,
+        minPageNum > 0 && pageIndex.size() >= minPageNum ? pageIndex : null, rollups);
     return headerSize + size;
   }
 
@@ -205,6 +226,8 @@ public class ChunkBuffer {
   public void reset() {
     minTimestamp = -1;
     pageBuffer.reset();
+    pageIndex.reset();
+    rollups = null;
     totalValueCount = 0;
   }
 
@@ -25,16 +25,21 @@ import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.MetaMarker;
 import org.apache.iotdb.tsfile.file.footer.ChunkGroupFooter;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetaData;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkPageIndex;
+import org.apache.iotdb.tsfile.file.metadata.ChunkRollup;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadata;
 import org.apache.iotdb.tsfile.file.metadata.TsDeviceMetadataIndex;
 import org.apache.iotdb.tsfile.file.metadata.TsDigest;
@@ -43,6 +48,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
 import org.apache.iotdb.tsfile.utils.BytesUtils;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
@@ -70,6 +76,7 @@ public class TsFileIOWriter {
   private ChunkGroupMetaData currentChunkGroupMetaData;
   private ChunkMetaData currentChunkMetaData;
   protected boolean canWrite = true;
+  private BloomFilter bloomFilter;
 
   private long markedPosition;
 
@@ -211,12 +218,42 @@ public class TsFileIOWriter {
    * @param totalValueCount -set the number of points to the currentChunkMetaData
    */
   public void endChunk(long totalValueCount) {
+    endChunk(totalValueCount, null);
+  }
+
+  /**
+   * end chunk and attach the page index of its pages to the chunk metadata.
+   *
+   * @param totalValueCount -set the number of points to the currentChunkMetaData
+   * @param pageIndex -offsets and time ranges of the pages in this chunk, null to write none
+   */
+  public void endChunk(long totalValueCount, ChunkPageIndex pageIndex) {
     currentChunkMetaData.setNumOfPoints(totalValueCount);
+    if (pageIndex != null) {
+      currentChunkMetaData.getDigest()
+          .addStatistics(StatisticConstant.PAGE_INDEX, pageIndex.serialize());
+    }
     currentChunkGroupMetaData.addTimeSeriesChunkMetaData(currentChunkMetaData);
     LOG.debug("end series chunk:{},totalvalue:{}", currentChunkMetaData, totalValueCount);
     currentChunkMetaData = null;
   }
 
+  /**
+   * end chunk and attach the page index and the rollups of its points to the chunk metadata.
+   *
+   * @param totalValueCount -set the number of points to the currentChunkMetaData
+   * @param pageIndex -offsets and time ranges of the pages in this chunk, null to write none
+   * @param rollups -the points of this chunk aggregated by time buckets, null to write none
+   */
+  public void endChunk(long totalValueCount, ChunkPageIndex pageIndex, List<ChunkRollup> rollups)
+      throws IOException {
+    if (rollups != null && !rollups.isEmpty()) {
+      currentChunkMetaData.getDigest()
+          .addStatistics(StatisticConstant.ROLLUP, ChunkRollup.serialize(rollups));
+    }
+    endChunk(totalValueCount, pageIndex);
+  }
+
   /**
    * write {@linkplain TsFileMetaData TSFileMetaData} to output stream and close it.
    *
@@ -238,6 +275,9 @@ public class TsFileIOWriter {
     TsFileMetaData tsFileMetaData = new TsFileMetaData(tsDeviceMetadataIndexMap, schemaDescriptors,
         TSFileConfig.CURRENT_VERSION);
 
+    bloomFilter = buildBloomFilter(this.chunkGroupMetaDataList);
+    tsFileMetaData.setBloomFilter(bloomFilter);
+
     long footerIndex = out.getPosition();
     LOG.debug("start to flush the footer,file pos:{}", footerIndex);
 
@@ -291,6 +331,28 @@ public class TsFileIOWriter {
     return tsDeviceMetadataIndexMap;
   }
 
+  /**
+   * build a bloom filter over the full paths of all series written into this file.
+   *
+   * @param chunkGroupMetaDataList all chunk group metadata in memory
+   * @return the bloom filter to be written into TsFileMetaData
+   */
+  private BloomFilter buildBloomFilter(List<ChunkGroupMetaData> chunkGroupMetaDataList) {
+    Set<String> paths = new HashSet<>();
+    for (ChunkGroupMetaData chunkGroupMetaData : chunkGroupMetaDataList) {
+      for (ChunkMetaData chunkMetaData : chunkGroupMetaData.getChunkMetaDataList()) {
+        paths.add(chunkGroupMetaData.getDeviceID() + TsFileConstant.PATH_SEPARATOR
+            + chunkMetaData.getMeasurementUid());
+      }
+    }
+    BloomFilter filter = BloomFilter
+        .getEmptyBloomFilter(TSFileConfig.bloomFilterErrorRate, paths.size());
+    for (String path : paths) {
+      filter.add(path);
+    }
+    return filter;
+  }
+
   /**
    * group all chunk group metadata by device.
    *
@@ -335,6 +397,13 @@ public class TsFileIOWriter {
     return chunkGroupMetaDataList;
   }
 
+  /**
+   * @return the bloom filter written into the footer, null before endFile() is called
+   */
+  public BloomFilter getBloomFilter() {
+    return bloomFilter;
+  }
+
   public boolean canWrite() {
     return canWrite;
   }
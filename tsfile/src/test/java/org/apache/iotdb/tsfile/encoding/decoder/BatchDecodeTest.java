@@ -0,0 +1,286 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.encoding.decoder;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.apache.iotdb.tsfile.encoding.common.EndianType;
+import org.apache.iotdb.tsfile.encoding.encoder.DeltaBinaryEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.DoublePrecisionEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.FloatEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.IntRleEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.LongRleEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.RegularDataEncoder;
+import org.apache.iotdb.tsfile.encoding.encoder.SinglePrecisionEncoder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.junit.Test;
+
+/**
+ * check the values returned by the bulk decode and skip methods against the encoded ones.
+ */
+public class BatchDecodeTest {
+
+  private static final int NUM = 3000;
+  private static final int[] BATCH_SIZES = {1, 7, 128, NUM * 2};
+
+  private long[] longValues() {
+    Random random = new Random(1);
+    long[] values = new long[NUM];
+    long value = 1000;
+    for (int i = 0; i < NUM; i++) {
+      // runs of repeated values mixed with random steps, to hit both rle and bit-packing
+      if (i % 100 >= 50) {
+        value += random.nextInt(1000);
+      }
+      values[i] = value;
+    }
+    return values;
+  }
+
+  private int[] intValues() {
+    long[] longs = longValues();
+    int[] values = new int[NUM];
+    for (int i = 0; i < NUM; i++) {
+      values[i] = (int) longs[i];
+    }
+    return values;
+  }
+
+  private long[] regularValues(boolean withMissingPoint) {
+    long[] values = new long[withMissingPoint ? NUM - NUM / 100 : NUM];
+    int idx = 0;
+    for (int i = 0; i < NUM; i++) {
+      if (withMissingPoint && i % 100 == 42) {
+        continue;
+      }
+      values[idx++] = 1000L + i * 10L;
+    }
+    return values;
+  }
+
+  private ByteBuffer encode(Encoder encoder, long[] values) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (long value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  private ByteBuffer encode(Encoder encoder, int[] values) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int value : values) {
+      encoder.encode(value, out);
+    }
+    encoder.flush(out);
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  private void checkLongs(Encoder encoder, Decoder decoder, long[] values) throws IOException {
+    for (int batchSize : BATCH_SIZES) {
+      ByteBuffer buffer = encode(encoder, values);
+      decoder.reset();
+      long[] decoded = new long[values.length + batchSize];
+      int count = 0;
+      int n;
+      while ((n = decoder.decodeLongs(buffer, decoded, count, batchSize)) > 0) {
+        count += n;
+      }
+      assertEquals(values.length, count);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], decoded[i]);
+      }
+    }
+  }
+
+  private void checkInts(Encoder encoder, Decoder decoder, int[] values) throws IOException {
+    for (int batchSize : BATCH_SIZES) {
+      ByteBuffer buffer = encode(encoder, values);
+      decoder.reset();
+      int[] decoded = new int[values.length + batchSize];
+      int count = 0;
+      int n;
+      while ((n = decoder.decodeInts(buffer, decoded, count, batchSize)) > 0) {
+        count += n;
+      }
+      assertEquals(values.length, count);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], decoded[i]);
+      }
+    }
+  }
+
+  /**
+   * skip and decode runs of growing length alternately.
+   */
+  private void checkSkipLongs(Encoder encoder, Decoder decoder, long[] values)
+      throws IOException {
+    ByteBuffer buffer = encode(encoder, values);
+    decoder.reset();
+    long[] decoded = new long[values.length];
+    int idx = 0;
+    int run = 1;
+    while (idx < values.length) {
+      idx += decoder.skip(buffer, TSDataType.INT64, run);
+      int n = decoder.decodeLongs(buffer, decoded, 0, run);
+      for (int i = 0; i < n; i++) {
+        assertEquals(values[idx + i], decoded[i]);
+      }
+      idx += n;
+      run = run * 3 / 2 + 1;
+    }
+    assertEquals(values.length, idx);
+    assertEquals(0, decoder.skip(buffer, TSDataType.INT64, 1));
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    checkSkipLongs(new DeltaBinaryEncoder.LongDeltaEncoder(),
+        new DeltaBinaryDecoder.LongDeltaDecoder(), longValues());
+    checkSkipLongs(new LongRleEncoder(EndianType.LITTLE_ENDIAN),
+        new LongRleDecoder(EndianType.LITTLE_ENDIAN), longValues());
+    checkSkipLongs(new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.INT64, 0),
+        new PlainDecoder(EndianType.LITTLE_ENDIAN), longValues());
+    checkSkipLongs(new RegularDataEncoder.LongRegularEncoder(),
+        new RegularDataDecoder.LongRegularDecoder(), regularValues(true));
+  }
+
+  @Test
+  public void testDeltaBinary() throws IOException {
+    checkLongs(new DeltaBinaryEncoder.LongDeltaEncoder(), new DeltaBinaryDecoder.LongDeltaDecoder(),
+        longValues());
+    checkInts(new DeltaBinaryEncoder.IntDeltaEncoder(), new DeltaBinaryDecoder.IntDeltaDecoder(),
+        intValues());
+  }
+
+  @Test
+  public void testRle() throws IOException {
+    checkLongs(new LongRleEncoder(EndianType.LITTLE_ENDIAN),
+        new LongRleDecoder(EndianType.LITTLE_ENDIAN), longValues());
+    checkInts(new IntRleEncoder(EndianType.LITTLE_ENDIAN),
+        new IntRleDecoder(EndianType.LITTLE_ENDIAN), intValues());
+  }
+
+  @Test
+  public void testPlain() throws IOException {
+    checkLongs(new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.INT64, 0),
+        new PlainDecoder(EndianType.LITTLE_ENDIAN), longValues());
+    checkInts(new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.INT32, 0),
+        new PlainDecoder(EndianType.LITTLE_ENDIAN), intValues());
+
+    double[] values = new double[NUM];
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Encoder encoder = new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.DOUBLE, 0);
+    for (int i = 0; i < NUM; i++) {
+      values[i] = i * 0.37;
+      encoder.encode(values[i], out);
+    }
+    encoder.flush(out);
+    double[] decoded = new double[NUM];
+    int count = new PlainDecoder(EndianType.LITTLE_ENDIAN)
+        .decodeDoubles(ByteBuffer.wrap(out.toByteArray()), decoded, 0, NUM * 2);
+    assertEquals(NUM, count);
+    for (int i = 0; i < NUM; i++) {
+      assertEquals(values[i], decoded[i], 0);
+    }
+  }
+
+  @Test
+  public void testRegular() throws IOException {
+    checkLongs(new RegularDataEncoder.LongRegularEncoder(),
+        new RegularDataDecoder.LongRegularDecoder(), regularValues(false));
+    checkLongs(new RegularDataEncoder.LongRegularEncoder(),
+        new RegularDataDecoder.LongRegularDecoder(), regularValues(true));
+  }
+
+  @Test
+  public void testGorilla() throws IOException {
+    double[] values = new double[NUM];
+    long[] longs = longValues();
+    for (int i = 0; i < NUM; i++) {
+      values[i] = longs[i] / 7.0;
+    }
+    for (int batchSize : BATCH_SIZES) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      Encoder encoder = new DoublePrecisionEncoder();
+      for (double value : values) {
+        encoder.encode(value, out);
+      }
+      encoder.flush(out);
+      ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+      Decoder decoder = new DoublePrecisionDecoder();
+      double[] decoded = new double[NUM + batchSize];
+      int count = 0;
+      int n;
+      while ((n = decoder.decodeDoubles(buffer, decoded, count, batchSize)) > 0) {
+        count += n;
+      }
+      assertEquals(NUM, count);
+      for (int i = 0; i < NUM; i++) {
+        assertEquals(values[i], decoded[i], 0);
+      }
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Encoder encoder = new SinglePrecisionEncoder();
+    for (double value : values) {
+      encoder.encode((float) value, out);
+    }
+    encoder.flush(out);
+    float[] decoded = new float[NUM];
+    int count = new SinglePrecisionDecoder()
+        .decodeFloats(ByteBuffer.wrap(out.toByteArray()), decoded, 0, NUM * 2);
+    assertEquals(NUM, count);
+    for (int i = 0; i < NUM; i++) {
+      assertEquals((float) values[i], decoded[i], 0);
+    }
+  }
+
+  @Test
+  public void testFloat() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Encoder encoder = new FloatEncoder(TSEncoding.RLE, TSDataType.DOUBLE, 2);
+    double[] values = new double[NUM];
+    long[] longs = longValues();
+    for (int i = 0; i < NUM; i++) {
+      values[i] = longs[i] / 100.0;
+      encoder.encode(values[i], out);
+    }
+    encoder.flush(out);
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    Decoder decoder = new FloatDecoder(TSEncoding.RLE, TSDataType.DOUBLE);
+    double[] decoded = new double[NUM + 7];
+    int count = 0;
+    int n;
+    while ((n = decoder.decodeDoubles(buffer, decoded, count, 7)) > 0) {
+      count += n;
+    }
+    assertEquals(NUM, count);
+    for (int i = 0; i < NUM; i++) {
+      assertEquals(values[i], decoded[i], 0.001);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.file.metadata;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.junit.Test;
+
+public class ChunkRollupTest {
+
+  private static final double maxError = 0.0001d;
+
+  @Test
+  public void testUpdate() {
+    ChunkRollup rollup = new ChunkRollup(10, TSDataType.INT64);
+    for (long time = -5; time < 25; time += 2) {
+      rollup.update(time, time * 2);
+    }
+
+    // [-10, 0), [0, 10), [10, 20), [20, 30)
+    assertEquals(4, rollup.size());
+    assertEquals(-5, rollup.getMinTimestamp(0));
+    assertEquals(-1, rollup.getMaxTimestamp(0));
+    assertEquals(3, rollup.getCount(0));
+    assertEquals(1, rollup.getMinTimestamp(1));
+    assertEquals(9, rollup.getMaxTimestamp(1));
+    assertEquals(5, rollup.getCount(1));
+    assertEquals(2L, rollup.getStatistics(1).getFirst());
+    assertEquals(18L, rollup.getStatistics(1).getLast());
+    assertEquals(50, rollup.getStatistics(1).getSum(), maxError);
+    assertEquals(21, rollup.getMinTimestamp(3));
+    assertEquals(23, rollup.getMaxTimestamp(3));
+
+    assertEquals(0, rollup.firstBucketEndingAtOrAfter(-100));
+    assertEquals(1, rollup.firstBucketEndingAtOrAfter(0));
+    assertEquals(1, rollup.firstBucketEndingAtOrAfter(9));
+    assertEquals(2, rollup.firstBucketEndingAtOrAfter(10));
+    assertEquals(4, rollup.firstBucketEndingAtOrAfter(24));
+  }
+
+  @Test
+  public void testSerialize() throws IOException {
+    ChunkRollup fine = new ChunkRollup(10, TSDataType.INT64);
+    ChunkRollup coarse = new ChunkRollup(100, TSDataType.INT64);
+    for (long time = 0; time < 1000; time += 3) {
+      fine.update(time, time);
+      coarse.update(time, time);
+    }
+    ByteBuffer buffer = ChunkRollup.serialize(Arrays.asList(fine, coarse));
+    List<ChunkRollup> rollups = ChunkRollup.deserializeFrom(buffer, TSDataType.INT64);
+
+    assertEquals(2, rollups.size());
+    assertRollupEquals(fine, rollups.get(0));
+    assertRollupEquals(coarse, rollups.get(1));
+  }
+
+  @Test
+  public void testSerializeText() throws IOException {
+    ChunkRollup rollup = new ChunkRollup(60000, TSDataType.TEXT);
+    rollup.update(1000, new Binary("b"));
+    rollup.update(2000, new Binary("abc"));
+    rollup.update(70000, new Binary("c"));
+    ByteBuffer buffer = ChunkRollup.serialize(Arrays.asList(rollup));
+    ChunkRollup deserialized = ChunkRollup.deserializeFrom(buffer, TSDataType.TEXT).get(0);
+
+    assertRollupEquals(rollup, deserialized);
+    assertEquals("abc", deserialized.getStatistics(0).getMin().toString());
+    assertEquals("b", deserialized.getStatistics(0).getMax().toString());
+    assertEquals("abc", deserialized.getStatistics(0).getLast().toString());
+  }
+
+  private void assertRollupEquals(ChunkRollup expected, ChunkRollup actual) {
+    assertEquals(expected.getInterval(), actual.getInterval());
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.getMinTimestamp(i), actual.getMinTimestamp(i));
+      assertEquals(expected.getMaxTimestamp(i), actual.getMaxTimestamp(i));
+      assertEquals(expected.getCount(i), actual.getCount(i));
+      assertEquals(expected.getStatistics(i).getMin(), actual.getStatistics(i).getMin());
+      assertEquals(expected.getStatistics(i).getMax(), actual.getStatistics(i).getMax());
+      assertEquals(expected.getStatistics(i).getFirst(), actual.getStatistics(i).getFirst());
+      assertEquals(expected.getStatistics(i).getLast(), actual.getStatistics(i).getLast());
+      assertEquals(expected.getStatistics(i).getSum(), actual.getStatistics(i).getSum(),
+          maxError);
+    }
+  }
+}
@@ -22,8 +22,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.apache.iotdb.tsfile.file.metadata.utils.TestHelper;
 import org.apache.iotdb.tsfile.file.metadata.utils.Utils;
+import org.apache.iotdb.tsfile.utils.BloomFilter;
+import org.junit.Assert;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -55,6 +58,42 @@ public class TsFileMetaDataTest {
     serialized(readMetaData);
   }
 
+  @Test
+  public void testBloomFilter() throws IOException {
+    TsFileMetaData tsfMetaData = TestHelper.createSimpleFileMetaData();
+    BloomFilter bloomFilter = BloomFilter.getEmptyBloomFilter(0.05, 10);
+    for (int i = 0; i < 10; i++) {
+      bloomFilter.add("device_0.sensor_" + i);
+    }
+    tsfMetaData.setBloomFilter(bloomFilter);
+
+    serialized(tsfMetaData);
+    checkBloomFilter(bloomFilter, deSerialized());
+
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    tsfMetaData.serializeTo(buffer);
+    buffer.flip();
+    checkBloomFilter(bloomFilter, TsFileMetaData.deserializeFrom(buffer));
+
+    // the files written without a bloom filter may contain any series of their devices
+    tsfMetaData.setBloomFilter(null);
+    serialized(tsfMetaData);
+    TsFileMetaData readMetaData = deSerialized();
+    Assert.assertNull(readMetaData.getBloomFilter());
+    Assert.assertTrue(readMetaData.mayContainSeries("device_0", "device_0.sensor_10"));
+  }
+
+  private void checkBloomFilter(BloomFilter expected, TsFileMetaData readMetaData) {
+    BloomFilter readFilter = readMetaData.getBloomFilter();
+    Assert.assertNotNull(readFilter);
+    Assert.assertEquals(expected.getSize(), readFilter.getSize());
+    Assert.assertEquals(expected.getHashFunctionSize(), readFilter.getHashFunctionSize());
+    for (int i = 0; i < 10; i++) {
+      Assert.assertTrue(readMetaData.mayContainSeries("device_0", "device_0.sensor_" + i));
+    }
+    Assert.assertFalse(readMetaData.mayContainSeries("device_5", "device_5.sensor_0"));
+  }
+
   private TsFileMetaData deSerialized() {
     FileInputStream fis = null;
     TsFileMetaData metaData = null;
@@ -21,6 +21,11 @@ package org.apache.iotdb.tsfile.file.metadata.statistics;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.file.metadata.TsDigest;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.junit.Test;
 
 public class LongStatisticsTest {
@@ -90,4 +95,34 @@ public class LongStatisticsTest {
     assertEquals(max2, (long) longStats3.getLast());
   }
 
+  @Test
+  public void testDeserializeFromDigest() throws IOException {
+    Statistics<Long> longStats = new LongStatistics();
+    longStats.updateStats(3L);
+    longStats.updateStats(-7L);
+    longStats.updateStats(5L);
+
+    ByteBuffer emptyDigest = ByteBuffer.allocate(TsDigest.getNullDigestSize());
+    TsDigest.serializeNullTo(emptyDigest);
+    emptyDigest.flip();
+    assertEquals(null, Statistics.deserialize(TsDigest.deserializeFrom(emptyDigest),
+        TSDataType.INT64));
+
+    TsDigest digest = new TsDigest();
+    digest.addStatistics(StatisticConstant.MIN_VALUE, ByteBuffer.wrap(longStats.getMinBytes()));
+    digest.addStatistics(StatisticConstant.MAX_VALUE, ByteBuffer.wrap(longStats.getMaxBytes()));
+    digest.addStatistics(StatisticConstant.FIRST, ByteBuffer.wrap(longStats.getFirstBytes()));
+    digest.addStatistics(StatisticConstant.SUM, ByteBuffer.wrap(longStats.getSumBytes()));
+    assertEquals(null, Statistics.deserialize(digest, TSDataType.INT64));
+
+    digest.addStatistics(StatisticConstant.LAST, ByteBuffer.wrap(longStats.getLastBytes()));
+    Statistics<Long> deserialized = Statistics.deserialize(digest, TSDataType.INT64);
+    assertEquals(false, deserialized.isEmpty());
+    assertEquals(-7L, (long) deserialized.getMin());
+    assertEquals(5L, (long) deserialized.getMax());
+    assertEquals(3L, (long) deserialized.getFirst());
+    assertEquals(5L, (long) deserialized.getLast());
+    assertEquals(1L, (long) deserialized.getSum());
+  }
+
 }
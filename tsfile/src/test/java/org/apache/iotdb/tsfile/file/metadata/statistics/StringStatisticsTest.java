@@ -20,6 +20,11 @@ package org.apache.iotdb.tsfile.file.metadata.statistics;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.apache.iotdb.tsfile.common.constant.StatisticConstant;
+import org.apache.iotdb.tsfile.file.metadata.TsDigest;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.junit.Test;
 
@@ -67,4 +72,26 @@ public class StringStatisticsTest {
     assertEquals("aaa", (String) stringStats3.getFirst().getStringValue());
     assertEquals("ddd", stringStats3.getLast().getStringValue());
   }
+
+  @Test
+  public void testDeserializeFromDigest() throws IOException {
+    Statistics<Binary> binaryStats = new BinaryStatistics();
+    binaryStats.updateStats(new Binary("bbb"));
+    binaryStats.updateStats(new Binary("a"));
+    binaryStats.updateStats(new Binary("cccc"));
+
+    TsDigest digest = new TsDigest();
+    digest.addStatistics(StatisticConstant.MIN_VALUE, ByteBuffer.wrap(binaryStats.getMinBytes()));
+    digest.addStatistics(StatisticConstant.MAX_VALUE, ByteBuffer.wrap(binaryStats.getMaxBytes()));
+    digest.addStatistics(StatisticConstant.FIRST, ByteBuffer.wrap(binaryStats.getFirstBytes()));
+    digest.addStatistics(StatisticConstant.SUM, ByteBuffer.wrap(binaryStats.getSumBytes()));
+    digest.addStatistics(StatisticConstant.LAST, ByteBuffer.wrap(binaryStats.getLastBytes()));
+    Statistics<Binary> deserialized = Statistics.deserialize(digest, TSDataType.TEXT);
+    assertEquals("a", deserialized.getMin().getStringValue());
+    assertEquals("cccc", deserialized.getMax().getStringValue());
+    assertEquals("bbb", deserialized.getFirst().getStringValue());
+    assertEquals("cccc", deserialized.getLast().getStringValue());
+    assertEquals(0, deserialized.getSum(), maxError);
+  }
+
 }
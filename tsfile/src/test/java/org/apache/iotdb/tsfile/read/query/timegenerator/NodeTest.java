@@ -19,6 +19,7 @@
 package org.apache.iotdb.tsfile.read.query.timegenerator;
 
 import java.io.IOException;
+import java.util.Arrays;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
@@ -66,6 +67,12 @@ public class NodeTest {
       Assert.assertEquals(ret[index++], value);
     }
     Assert.assertEquals(ret.length, index);
+
+    for (int blockSize = 1; blockSize <= 4; blockSize++) {
+      orNode = new OrNode(new LeafNode(new FakedFileSeriesReader(left)),
+          new LeafNode(new FakedFileSeriesReader(right)));
+      Assert.assertArrayEquals(ret, readInBlocks(orNode, blockSize));
+    }
   }
 
   @Test
@@ -86,6 +93,85 @@ public class NodeTest {
       Assert.assertEquals(ret[index++], value);
     }
     Assert.assertEquals(ret.length, index);
+
+    for (int blockSize = 1; blockSize <= 4; blockSize++) {
+      andNode = new AndNode(new LeafNode(new FakedFileSeriesReader(left)),
+          new LeafNode(new FakedFileSeriesReader(right)));
+      Assert.assertArrayEquals(ret, readInBlocks(andNode, blockSize));
+    }
+  }
+
+  @Test
+  public void testNestedNodeInBlocks() throws IOException {
+    // (a or b) and (c or d)
+    long[] a = new long[]{1, 4, 7, 10, 13};
+    long[] b = new long[]{2, 4, 8, 14};
+    long[] c = new long[]{1, 2, 3, 13};
+    long[] d = new long[]{8, 9, 10, 11, 12};
+    long[] ret = new long[]{1, 2, 8, 10, 13};
+    for (int blockSize = 1; blockSize <= 6; blockSize++) {
+      Node node = new AndNode(
+          new OrNode(new LeafNode(new FakedFileSeriesReader(a)),
+              new LeafNode(new FakedFileSeriesReader(b))),
+          new OrNode(new LeafNode(new FakedFileSeriesReader(c)),
+              new LeafNode(new FakedFileSeriesReader(d))));
+      Assert.assertArrayEquals(ret, readInBlocks(node, blockSize));
+    }
+  }
+
+  @Test
+  public void testNextTimesAfterNext() throws IOException {
+    Node andNode = new AndNode(new LeafNode(new FakedFileSeriesReader(new long[]{1, 2, 3, 5})),
+        new LeafNode(new FakedFileSeriesReader(new long[]{2, 3, 4, 5})));
+    Assert.assertTrue(andNode.hasNext());
+    Assert.assertArrayEquals(new long[]{2, 3, 5}, readInBlocks(andNode, 2));
+
+    Node orNode = new OrNode(new LeafNode(new FakedFileSeriesReader(new long[]{1, 4})),
+        new LeafNode(new FakedFileSeriesReader(new long[]{2, 3})));
+    Assert.assertEquals(1, orNode.next());
+    Assert.assertArrayEquals(new long[]{2, 3, 4}, readInBlocks(orNode, 2));
+  }
+
+  @Test
+  public void testSkipTo() throws IOException {
+    long[] left = new long[]{1, 3, 5, 7, 9, 11, 13};
+    long[] right = new long[]{1, 2, 3, 5, 6, 7, 8, 9, 13};
+
+    Node andNode = new AndNode(new LeafNode(new FakedFileSeriesReader(left)),
+        new LeafNode(new FakedFileSeriesReader(right)));
+    Assert.assertEquals(1, andNode.next());
+    andNode.skipTo(6);
+    Assert.assertArrayEquals(new long[]{7, 9, 13}, readInBlocks(andNode, 2));
+
+    Node orNode = new OrNode(new LeafNode(new FakedFileSeriesReader(left)),
+        new LeafNode(new FakedFileSeriesReader(right)));
+    Assert.assertEquals(1, orNode.next());
+    Assert.assertEquals(2, orNode.next());
+    orNode.skipTo(8);
+    Assert.assertEquals(8, orNode.next());
+    orNode.skipTo(10);
+    Assert.assertArrayEquals(new long[]{11, 13}, readInBlocks(orNode, 3));
+
+    // seek in blocks
+    andNode = new AndNode(new LeafNode(new FakedFileSeriesReader(left)),
+        new LeafNode(new FakedFileSeriesReader(right)));
+    long[] block = new long[2];
+    Assert.assertEquals(2, andNode.nextTimes(block));
+    Assert.assertArrayEquals(new long[]{1, 3}, block);
+    andNode.skipTo(8);
+    Assert.assertArrayEquals(new long[]{9, 13}, readInBlocks(andNode, 2));
+  }
+
+  private long[] readInBlocks(Node node, int blockSize) throws IOException {
+    long[] ret = new long[0];
+    long[] block = new long[blockSize];
+    int length;
+    while ((length = node.nextTimes(block)) > 0) {
+      int offset = ret.length;
+      ret = Arrays.copyOf(ret, offset + length);
+      System.arraycopy(block, 0, ret, offset, length);
+    }
+    return ret;
   }
 
   private static class FakedFileSeriesReader extends FileSeriesReader {
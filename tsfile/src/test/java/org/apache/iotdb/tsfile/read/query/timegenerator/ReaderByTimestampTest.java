@@ -104,4 +104,45 @@ public class ReaderByTimestampTest {
     System.out.println("SeriesReadWithFilterTest. [Time used]: " + (endTimestamp - startTimestamp)
         + " ms. [Read Count]: " + count);
   }
+
+  @Test
+  public void readByTimestamps() throws IOException {
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1"));
+    FileSeriesReader seriesReader = new FileSeriesReaderWithoutFilter(seriesChunkLoader,
+        chunkMetaDataList);
+
+    // every third point and the timestamps between them
+    List<Long> timeList = new ArrayList<>();
+    List<Object> valueList = new ArrayList<>();
+    int count = 0;
+    while (seriesReader.hasNextBatch()) {
+      BatchData data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        if (count++ % 3 == 0) {
+          timeList.add(data.currentTime() - 1);
+          valueList.add(null);
+          timeList.add(data.currentTime());
+          valueList.add(data.currentValue());
+        }
+        data.next();
+      }
+    }
+
+    FileSeriesReaderByTimestamp seriesReaderByTimestamp = new FileSeriesReaderByTimestamp(
+        seriesChunkLoader, chunkMetaDataList);
+    long[] timestamps = new long[1000];
+    for (int start = 0; start < timeList.size(); start += timestamps.length) {
+      int length = Math.min(timestamps.length, timeList.size() - start);
+      for (int i = 0; i < length; i++) {
+        timestamps[i] = timeList.get(start + i);
+      }
+      Object[] values = seriesReaderByTimestamp.getValuesInTimestamps(timestamps, length);
+      Assert.assertEquals(length, values.length);
+      for (int i = 0; i < length; i++) {
+        Assert.assertEquals(valueList.get(start + i), values[i]);
+      }
+    }
+  }
 }
@@ -37,6 +37,10 @@ import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.SinglePrecisionEncoder;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.reader.page.PageReader;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.page.PageWriter;
@@ -142,6 +146,52 @@ public class PageReaderTest {
     test.test();
   }
 
+  @Test
+  public void testReadWithFilter() throws IOException {
+    Filter timeFilter = FilterFactory.or(
+        FilterFactory.and(TimeFilter.gtEq(1000L), TimeFilter.lt(1100L)),
+        TimeFilter.eq(500000L));
+    Filter valueFilter = FilterFactory.and(TimeFilter.lt(300000L), ValueFilter.gt(100000L));
+    Filter notFilter = FilterFactory.not(TimeFilter.lt(400000L));
+    Encoder[] encoders = {new DeltaBinaryEncoder.LongDeltaEncoder(),
+        new LongRleEncoder(EndianType.LITTLE_ENDIAN),
+        new PlainEncoder(EndianType.LITTLE_ENDIAN, TSDataType.INT64, 0)};
+    Decoder[] decoders = {new DeltaBinaryDecoder.LongDeltaDecoder(),
+        new LongRleDecoder(EndianType.LITTLE_ENDIAN), new PlainDecoder(EndianType.LITTLE_ENDIAN)};
+
+    for (int i = 0; i < encoders.length; i++) {
+      PageWriter writer = new PageWriter();
+      writer.setTimeEncoder(new DeltaBinaryEncoder.LongDeltaEncoder());
+      writer.setValueEncoder(encoders[i]);
+      for (long time = 0; time < POINTS_COUNT_IN_ONE_PAGE; time++) {
+        // value is time / 2
+        writer.write(time, time / 2);
+      }
+      byte[] page = writer.getUncompressedBytes().array();
+
+      for (Filter filter : new Filter[]{timeFilter, valueFilter, notFilter}) {
+        decoders[i].reset();
+        PageReader pageReader = new PageReader(ByteBuffer.wrap(page), TSDataType.INT64,
+            decoders[i], new DeltaBinaryDecoder.LongDeltaDecoder(), filter);
+        pageReader.setDeletedAt(1049L);
+        BatchData data = pageReader.nextBatch();
+
+        int count = 0;
+        for (long time = 0; time < POINTS_COUNT_IN_ONE_PAGE; time++) {
+          if (time > 1049L && filter.satisfy(time, time / 2)) {
+            Assert.assertTrue(data.hasNext());
+            Assert.assertEquals(time, data.currentTime());
+            Assert.assertEquals(time / 2, data.getLong());
+            data.next();
+            count++;
+          }
+        }
+        Assert.assertFalse(data.hasNext());
+        Assert.assertTrue(count > 0);
+      }
+    }
+  }
+
   private abstract static class LoopWriteReadTest {
 
     private Encoder encoder;
@@ -19,10 +19,13 @@
 package org.apache.iotdb.tsfile.read.reader;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetaData;
+import org.apache.iotdb.tsfile.file.metadata.ChunkPageIndex;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Path;
@@ -100,6 +103,105 @@ public class ReaderTest {
     }
   }
 
+  @Test
+  public void readWithPageIndexTest() throws IOException {
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1"));
+    for (ChunkMetaData chunkMetaData : chunkMetaDataList) {
+      ChunkPageIndex pageIndex = chunkMetaData.getPageIndex();
+      Assert.assertNotNull(pageIndex);
+      Assert.assertEquals(chunkMetaData.getStartTime(), pageIndex.getMinTimestamp(0));
+      Assert.assertEquals(chunkMetaData.getEndTime(),
+          pageIndex.getMaxTimestamp(pageIndex.size() - 1));
+    }
+
+    // a narrow range in the middle of the series, most pages are jumped over by the index
+    long startTime = TsFileGeneratorForTest.START_TIMESTAMP + rowCount / 2;
+    long endTime = startTime + 100;
+    Filter filter = FilterFactory.and(TimeFilter.gtEq(startTime), TimeFilter.lt(endTime));
+    FileSeriesReader seriesReader = new FileSeriesReaderWithFilter(seriesChunkLoader,
+        chunkMetaDataList, filter);
+
+    long aimedTimestamp = startTime;
+    while (seriesReader.hasNextBatch()) {
+      BatchData data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        Assert.assertEquals(aimedTimestamp++, data.currentTime());
+        data.next();
+      }
+    }
+    Assert.assertEquals(endTime, aimedTimestamp);
+  }
+
+  @Test
+  public void readDescendingTest() throws IOException {
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = new ArrayList<>(metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1")));
+    Collections.reverse(chunkMetaDataList);
+
+    // all the points from the newest to the oldest
+    FileSeriesReader seriesReader = new FileSeriesReaderWithoutFilter(seriesChunkLoader,
+        chunkMetaDataList);
+    seriesReader.setDescending(true);
+    long aimedTimestamp = TsFileGeneratorForTest.START_TIMESTAMP + rowCount - 1;
+    while (seriesReader.hasNextBatch()) {
+      BatchData data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        Assert.assertEquals(aimedTimestamp--, data.currentTime());
+        data.next();
+      }
+    }
+    Assert.assertEquals(TsFileGeneratorForTest.START_TIMESTAMP - 1, aimedTimestamp);
+
+    // the pages before the range are neither deserialized nor uncompressed
+    long startTime = TsFileGeneratorForTest.START_TIMESTAMP + rowCount / 2;
+    long endTime = startTime + 100;
+    Filter filter = FilterFactory.and(TimeFilter.gtEq(startTime), TimeFilter.lt(endTime));
+    seriesReader = new FileSeriesReaderWithFilter(seriesChunkLoader, chunkMetaDataList, filter);
+    seriesReader.setDescending(true);
+    aimedTimestamp = endTime - 1;
+    while (seriesReader.hasNextBatch()) {
+      BatchData data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        Assert.assertEquals(aimedTimestamp--, data.currentTime());
+        data.next();
+      }
+    }
+    Assert.assertEquals(startTime - 1, aimedTimestamp);
+  }
+
+  @Test
+  public void readWithValueStatisticsPruningTest() throws IOException {
+    ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
+    List<ChunkMetaData> chunkMetaDataList = metadataQuerierByFile
+        .getChunkMetaDataList(new Path("d1.s1"));
+
+    // values of d1.s1 are i * 10 + 1, only the last 100 points satisfy the filter
+    Filter filter = ValueFilter.gt((rowCount - 100) * 10);
+    FileSeriesReader seriesReader = new FileSeriesReaderWithFilter(seriesChunkLoader,
+        chunkMetaDataList, filter);
+
+    int count = 0;
+    while (seriesReader.hasNextBatch()) {
+      BatchData data = seriesReader.nextBatch();
+      while (data.hasNext()) {
+        Assert.assertTrue((Integer) data.currentValue() > (rowCount - 100) * 10);
+        count++;
+        data.next();
+      }
+    }
+    Assert.assertEquals(100, count);
+    Assert.assertEquals(chunkMetaDataList.size() - 1, seriesReader.getSkippedChunkNum());
+    Assert.assertTrue(seriesReader.getSkippedPointNum() > 0);
+    Assert.assertTrue(seriesReader.getSkippedBytes() > 0);
+    Assert.assertEquals(1, seriesReader.getReadChunkNum());
+    Assert.assertTrue(seriesReader.getReadPageNum() > 0);
+    Assert.assertTrue(seriesReader.getDecodedPointNum() >= count);
+    Assert.assertTrue(seriesReader.getUncompressedBytes() > 0);
+  }
+
   @Test
   public void readWithFilterTest() throws IOException {
     ChunkLoaderImpl seriesChunkLoader = new ChunkLoaderImpl(fileReader);
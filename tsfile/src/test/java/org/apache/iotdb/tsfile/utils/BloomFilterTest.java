@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+  @Test
+  public void testAddAndContains() {
+    BloomFilter filter = BloomFilter.getEmptyBloomFilter(0.05, 1000);
+    for (int i = 0; i < 1000; i++) {
+      filter.add("root.sg.d" + (i % 10) + ".s" + i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(filter.contains("root.sg.d" + (i % 10) + ".s" + i));
+    }
+
+    int falsePositive = 0;
+    for (int i = 1000; i < 11000; i++) {
+      if (filter.contains("root.sg.d" + (i % 10) + ".s" + i)) {
+        falsePositive++;
+      }
+    }
+    // 0.05 expected, leave some room for the hash quality
+    assertTrue(falsePositive < 1000);
+  }
+
+  @Test
+  public void testSerialize() throws IOException {
+    BloomFilter filter = BloomFilter.getEmptyBloomFilter(0.01, 3);
+    filter.add("root.sg.d1.s1");
+    filter.add("root.sg.d1.s2");
+    filter.add("root.sg.d2.s1");
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    int size = filter.serializeTo(outputStream);
+    assertEquals(size, outputStream.size());
+    BloomFilter fromStream = BloomFilter
+        .deserializeFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    filter.serializeTo(buffer);
+    buffer.flip();
+    BloomFilter fromBuffer = BloomFilter.deserializeFrom(buffer);
+
+    for (BloomFilter deserialized : new BloomFilter[]{fromStream, fromBuffer}) {
+      assertEquals(filter.getSize(), deserialized.getSize());
+      assertEquals(filter.getHashFunctionSize(), deserialized.getHashFunctionSize());
+      assertTrue(deserialized.contains("root.sg.d1.s1"));
+      assertTrue(deserialized.contains("root.sg.d1.s2"));
+      assertTrue(deserialized.contains("root.sg.d2.s1"));
+    }
+  }
+}